@@ -32,11 +32,14 @@ package org.sat4j;
 import java.io.BufferedReader;
 import java.io.FileNotFoundException;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.InputStreamReader;
 import java.io.ObjectInputStream;
 import java.io.PrintWriter;
 import java.io.Serializable;
 import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
 import java.util.Properties;
 
 import org.sat4j.core.ASolverFactory;
@@ -49,7 +52,9 @@ import org.sat4j.specs.ISolver;
 import org.sat4j.specs.ISolverService;
 import org.sat4j.specs.SearchListener;
 import org.sat4j.specs.TimeoutException;
+import org.sat4j.tools.BinaryDratSearchListener;
 import org.sat4j.tools.DotSearchTracing;
+import org.sat4j.tools.DratChecker;
 import org.sat4j.tools.ModelIteratorToSATAdapter;
 import org.sat4j.tools.RupSearchListener;
 import org.sat4j.tools.SearchEnumeratorListener;
@@ -95,6 +100,8 @@ public abstract class AbstractLauncher implements Serializable, ILogAble {
 
     protected IProblem problem;
 
+    private transient DratChecker proofChecker;
+
     public boolean silent = false;
 
     protected boolean prime = System.getProperty("prime") != null;
@@ -185,6 +192,12 @@ public abstract class AbstractLauncher implements Serializable, ILogAble {
     protected IProblem readProblem(String problemname)
             throws ParseFormatException, IOException, ContradictionException {
         log("solving " + problemname); //$NON-NLS-1$
+        if ("check".equalsIgnoreCase(System.getProperty("UNSATPROOF"))
+                && !isCheckableFormula(problemname)) {
+            throw new IOException(
+                    "-DUNSATPROOF=check needs a Dimacs CNF file (.cnf, .cnf.gz or .cnf.bz2), not " //$NON-NLS-1$
+                            + problemname);
+        }
         log("reading problem ... "); //$NON-NLS-1$
         SolverDecorator<ISolver> decorator = null;
         ISolver originalProblem;
@@ -211,14 +224,35 @@ public abstract class AbstractLauncher implements Serializable, ILogAble {
         }
         log("#constraints  " + aProblem.nConstraints()); //$NON-NLS-1$
         aProblem.printInfos(this.out);
-        if (System.getProperty("UNSATPROOF") != null) {
-            String proofFile = problemname + ".rupproof";
-            this.solver
-                    .setSearchListener(new RupSearchListener<ISolverService>(
-                            proofFile));
+        String proofFormat = System.getProperty("UNSATPROOF");
+        if (proofFormat != null) {
+            String proofFile;
+            if ("binary".equalsIgnoreCase(proofFormat)) {
+                proofFile = problemname + ".drat";
+                this.solver
+                        .setSearchListener(new BinaryDratSearchListener<ISolverService>(
+                                proofFile));
+            } else if ("check".equalsIgnoreCase(proofFormat)) {
+                // the proof is checked while it is produced
+                proofFile = null;
+                Pipe pipe = Pipe.open();
+                InputStream formula = Reader.openInputStream(problemname);
+                this.proofChecker = new DratChecker();
+                this.proofChecker.startChecking(formula,
+                        Channels.newInputStream(pipe.source()));
+                this.solver
+                        .setSearchListener(new BinaryDratSearchListener<ISolverService>(
+                                pipe.sink()));
+            } else {
+                proofFile = problemname + ".rupproof";
+                this.solver
+                        .setSearchListener(new RupSearchListener<ISolverService>(
+                                proofFile));
+            }
             if (!this.silent) {
                 System.out.println(this.solver.getLogPrefix()
-                        + "Generating unsat proof in file " + proofFile);
+                        + (proofFile == null ? "Checking unsat proof on the fly"
+                                : "Generating unsat proof in file " + proofFile));
             }
         }
         if (feedWithDecorated) {
@@ -227,6 +261,22 @@ public abstract class AbstractLauncher implements Serializable, ILogAble {
         return aProblem;
     }
 
+    /**
+     * The proof checker reads the formula again by itself, so it must be a
+     * Dimacs CNF file, possibly compressed.
+     * 
+     * @param problemname
+     *            the name of the problem given on the command line.
+     * @return true iff the formula can be read by the proof checker.
+     */
+    private static boolean isCheckableFormula(String problemname) {
+        String name = problemname;
+        if (name.endsWith(".gz") || name.endsWith(".bz2")) {
+            name = name.substring(0, name.lastIndexOf('.'));
+        }
+        return name.endsWith(".cnf");
+    }
+
     protected abstract Reader createReader(ISolver theSolver, String problemname);
 
     public void run(String[] args) {
@@ -254,6 +304,7 @@ public abstract class AbstractLauncher implements Serializable, ILogAble {
             } catch (TimeoutException e) {
                 log("timeout"); //$NON-NLS-1$
             }
+            checkProof();
         } catch (FileNotFoundException e) {
             System.err.println("FATAL " + e.getLocalizedMessage());
         } catch (IOException e) {
@@ -267,6 +318,35 @@ public abstract class AbstractLauncher implements Serializable, ILogAble {
         }
     }
 
+    /**
+     * Check the unsat proof produced by the solver, when requested using
+     * -DUNSATPROOF=check.
+     */
+    protected void checkProof() {
+        if (this.proofChecker == null
+                || this.exitCode != ExitCode.UNSATISFIABLE) {
+            return;
+        }
+        long begin = System.currentTimeMillis();
+        try {
+            if (this.proofChecker.verify()) {
+                log("unsat proof verified: " //$NON-NLS-1$
+                        + this.proofChecker.getNbCheckedLemmas() + "/" //$NON-NLS-1$
+                        + this.proofChecker.getNbLemmas()
+                        + " lemmas checked in " //$NON-NLS-1$
+                        + (System.currentTimeMillis() - begin) / 1000.0 + "s"); //$NON-NLS-1$
+            } else {
+                log("WARNING: the unsat proof could NOT be verified"); //$NON-NLS-1$
+            }
+        } catch (IOException e) {
+            log("WARNING: cannot check the unsat proof: " //$NON-NLS-1$
+                    + e.getLocalizedMessage());
+        } catch (ParseFormatException e) {
+            log("WARNING: cannot check the unsat proof: " //$NON-NLS-1$
+                    + e.getLocalizedMessage());
+        }
+    }
+
     protected void configureLauncher() {
         String all = System.getProperty("all");
         if (all != null) {
@@ -91,7 +91,12 @@ public class BasicLauncher<T extends ISolver> extends AbstractLauncher {
 
     @Override
     protected Reader createReader(ISolver theSolver, String problemname) {
-        return new InstanceReader(theSolver);
+        InstanceReader instanceReader = new InstanceReader(theSolver);
+        String threads = System.getProperty("parsingthreads");
+        if (threads != null) {
+            instanceReader.setNbParsingThreads(Integer.parseInt(threads));
+        }
+        return instanceReader;
     }
 
     @Override
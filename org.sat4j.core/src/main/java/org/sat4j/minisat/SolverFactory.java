@@ -32,27 +32,39 @@ package org.sat4j.minisat;
 import org.sat4j.core.ASolverFactory;
 import org.sat4j.minisat.constraints.MixedDataStructureDanielHT;
 import org.sat4j.minisat.constraints.MixedDataStructureDanielWL;
+import org.sat4j.minisat.constraints.MixedDataStructureDanielWLArena;
+import org.sat4j.minisat.constraints.MixedDataStructureDanielWLBlockers;
+import org.sat4j.minisat.constraints.MixedDataStructureDanielWLImplicationGraph;
 import org.sat4j.minisat.constraints.MixedDataStructureDanielWLConciseBinary;
 import org.sat4j.minisat.constraints.MixedDataStructureSingleWL;
 import org.sat4j.minisat.core.DataStructureFactory;
+import org.sat4j.minisat.core.FailedLiteralProbing;
 import org.sat4j.minisat.core.ICDCL;
 import org.sat4j.minisat.core.IOrder;
+import org.sat4j.minisat.core.IPhaseSelectionStrategy;
+import org.sat4j.minisat.core.LearntClausesVivification;
 import org.sat4j.minisat.core.SearchParams;
 import org.sat4j.minisat.core.Solver;
 import org.sat4j.minisat.learning.LimitedLearning;
 import org.sat4j.minisat.learning.MiniSATLearning;
 import org.sat4j.minisat.learning.NoLearningButHeuristics;
 import org.sat4j.minisat.learning.PercentLengthLearning;
+import org.sat4j.minisat.orders.AlternatingVarOrder;
+import org.sat4j.minisat.orders.CHBVarOrderHeap;
+import org.sat4j.minisat.orders.LRBVarOrderHeap;
 import org.sat4j.minisat.orders.PhaseCachingAutoEraseStrategy;
 import org.sat4j.minisat.orders.RSATLastLearnedClausesPhaseSelectionStrategy;
 import org.sat4j.minisat.orders.RSATPhaseSelectionStrategy;
 import org.sat4j.minisat.orders.RandomWalkDecorator;
+import org.sat4j.minisat.orders.TargetPhaseSelectionStrategy;
+import org.sat4j.minisat.orders.VMTFVarOrder;
 import org.sat4j.minisat.orders.VarOrderHeap;
 import org.sat4j.minisat.restarts.ArminRestarts;
 import org.sat4j.minisat.restarts.Glucose21Restarts;
 import org.sat4j.minisat.restarts.LubyRestarts;
 import org.sat4j.minisat.restarts.MiniSATRestarts;
 import org.sat4j.minisat.restarts.NoRestarts;
+import org.sat4j.minisat.restarts.StabilizingRestarts;
 import org.sat4j.opt.MinOneDecorator;
 import org.sat4j.specs.ISolver;
 import org.sat4j.tools.DimacsOutputSolver;
@@ -379,6 +391,118 @@ public final class SolverFactory extends ASolverFactory<ISolver> {
         return solver;
     }
 
+    /**
+     * 
+     * @return the default solver with a three tiers LCDS (core, tier 2 and
+     *         local learned clauses)
+     * @since 2.3.6
+     */
+    public static ISolver newThreeTiersLCDS() {
+        Solver<?> solver = (Solver<?>) newGlucose21();
+        solver.setLearnedConstraintsDeletionStrategy(solver.three_tiers_based);
+        return solver;
+    }
+
+    /**
+     * 
+     * @return the default solver backtracking chronologically when a
+     *         backjump would undo more than 100 decision levels.
+     * @since 2.3.6
+     */
+    public static ISolver newChronologicalBacktracking() {
+        Solver<?> solver = (Solver<?>) newGlucose21();
+        solver.getSearchParams().setChronologicalBacktrackingThreshold(100);
+        return solver;
+    }
+
+    /**
+     * 
+     * @return the default solver keeping on restart the part of the trail
+     *         the heuristics would rebuild.
+     * @since 2.3.6
+     */
+    public static ISolver newTrailReuse() {
+        Solver<?> solver = (Solver<?>) newGlucose21();
+        solver.getSearchParams().setTrailReuse(true);
+        return solver;
+    }
+
+    /**
+     * 
+     * @return the default solver using the learning rate based branching
+     *         heuristics (LRB) instead of VSIDS.
+     * @since 2.3.6
+     */
+    public static ISolver newLRB() {
+        Solver<?> solver = (Solver<?>) newGlucose21();
+        solver.setOrder(new LRBVarOrderHeap(new RSATPhaseSelectionStrategy()));
+        return solver;
+    }
+
+    /**
+     * 
+     * @return the default solver using the conflict history based branching
+     *         heuristics (CHB) instead of VSIDS.
+     * @since 2.3.6
+     */
+    public static ISolver newCHB() {
+        Solver<?> solver = (Solver<?>) newGlucose21();
+        solver.setOrder(new CHBVarOrderHeap(new RSATPhaseSelectionStrategy()));
+        return solver;
+    }
+
+    /**
+     * 
+     * @return the default solver alternating between VSIDS and LRB
+     *         heuristics on restarts.
+     * @since 2.3.6
+     */
+    public static ISolver newVSIDSLRB() {
+        Solver<?> solver = (Solver<?>) newGlucose21();
+        IPhaseSelectionStrategy phase = new RSATPhaseSelectionStrategy();
+        solver.setOrder(new AlternatingVarOrder(new VarOrderHeap(phase),
+                new LRBVarOrderHeap(phase)));
+        return solver;
+    }
+
+    /**
+     * 
+     * @return the default solver using the variable move to front heuristics
+     *         (VMTF) instead of VSIDS.
+     * @since 2.3.6
+     */
+    public static ISolver newVMTF() {
+        Solver<?> solver = (Solver<?>) newGlucose21();
+        solver.setOrder(new VMTFVarOrder(new RSATPhaseSelectionStrategy()));
+        return solver;
+    }
+
+    /**
+     * 
+     * @return the default solver branching toward target and best phases,
+     *         with rephasing.
+     * @since 2.3.6
+     */
+    public static ISolver newTargetPhase() {
+        Solver<?> solver = (Solver<?>) newGlucose21();
+        solver.setOrder(new VarOrderHeap(new TargetPhaseSelectionStrategy()));
+        return solver;
+    }
+
+    /**
+     * 
+     * @return the default solver alternating a focused mode (Glucose
+     *         restarts, fast activity decay) and a stable mode (Luby
+     *         restarts, slow activity decay, target phases).
+     * @since 2.3.6
+     */
+    public static ISolver newStabilization() {
+        Solver<?> solver = (Solver<?>) newGlucose21();
+        solver.setOrder(new VarOrderHeap(new TargetPhaseSelectionStrategy()));
+        solver.setRestartStrategy(new StabilizingRestarts());
+        return solver;
+    }
+
     /**
      * Default solver of the SolverFactory. This solver is meant to be used on
      * challenging SAT benchmarks.
@@ -469,6 +593,79 @@ public final class SolverFactory extends ASolverFactory<ISolver> {
         return solver;
     }
 
+    /**
+     * Glucose 2.1 like solver storing all its clauses in a single contiguous
+     * int array.
+     * 
+     * @return a solver with a low memory footprint for large CNF.
+     * @see MixedDataStructureDanielWLArena
+     * @since 2.3.6
+     */
+    public static Solver<DataStructureFactory> newArena() {
+        Solver<DataStructureFactory> solver = (Solver<DataStructureFactory>) newGlucose21();
+        solver.setDataStructureFactory(new MixedDataStructureDanielWLArena());
+        return solver;
+    }
+
+    /**
+     * Glucose 2.1 like solver using blocking literals in its watch lists.
+     * 
+     * @return a solver visiting less clauses during unit propagation.
+     * @see MixedDataStructureDanielWLBlockers
+     * @since 2.3.6
+     */
+    public static Solver<DataStructureFactory> newBlockers() {
+        Solver<DataStructureFactory> solver = (Solver<DataStructureFactory>) newGlucose21();
+        solver.setDataStructureFactory(new MixedDataStructureDanielWLBlockers());
+        return solver;
+    }
+
+    /**
+     * Glucose 2.1 like solver storing its binary clauses in an implication
+     * graph.
+     * 
+     * @return a solver for instances containing a lot of binary clauses.
+     * @see MixedDataStructureDanielWLImplicationGraph
+     * @since 2.3.6
+     */
+    public static Solver<DataStructureFactory> newImplicationGraph() {
+        Solver<DataStructureFactory> solver = (Solver<DataStructureFactory>) newGlucose21();
+        solver.setDataStructureFactory(new MixedDataStructureDanielWLImplicationGraph());
+        return solver;
+    }
+
+    /**
+     * Glucose 2.1 like solver vivifying its best learned clauses at restart
+     * boundaries.
+     * 
+     * @return a solver with inprocessing.
+     * @see LearntClausesVivification
+     * @since 2.3.6
+     */
+    public static Solver<DataStructureFactory> newVivification() {
+        Solver<DataStructureFactory> solver = (Solver<DataStructureFactory>) newGlucose21();
+        solver.addInprocessingStrategy(new LearntClausesVivification<DataStructureFactory>(
+                solver));
+        return solver;
+    }
+
+    /**
+     * Glucose 2.1 like solver using failed literal probing with hyper-binary
+     * resolution before the search and at restart boundaries.
+     * 
+     * @return a solver with probing.
+     * @see FailedLiteralProbing
+     * @since 2.3.6
+     */
+    public static Solver<DataStructureFactory> newProbing() {
+        Solver<DataStructureFactory> solver = (Solver<DataStructureFactory>) newGlucose21();
+        FailedLiteralProbing<DataStructureFactory> probing = new FailedLiteralProbing<DataStructureFactory>(
+                solver);
+        solver.addPreprocessingStrategy(probing);
+        solver.addInprocessingStrategy(probing);
+        return solver;
+    }
+
     public static Solver newNoSimplification() {
         Solver solver = (Solver) newGlucose21();
         solver.setSimplifier(solver.NO_SIMPLIFICATION);
@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.constraints;
+
+import org.sat4j.minisat.constraints.card.AtLeast;
+import org.sat4j.minisat.constraints.cnf.ClauseArena;
+import org.sat4j.minisat.constraints.cnf.Clauses;
+import org.sat4j.minisat.constraints.cnf.LearntArenaClause;
+import org.sat4j.minisat.constraints.cnf.Lits;
+import org.sat4j.minisat.constraints.cnf.OriginalArenaClause;
+import org.sat4j.minisat.constraints.cnf.UnitClause;
+import org.sat4j.minisat.core.ILits;
+import org.sat4j.specs.Constr;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IVecInt;
+
+/**
+ * Watched literals data structure in which all the clauses (original and
+ * learned ones) are stored in a single {@link ClauseArena}, to reduce the
+ * memory footprint of the clauses and improve the locality of the
+ * propagation.
+ * 
+ * @since 2.3.6
+ */
+public class MixedDataStructureDanielWLArena extends
+        AbstractDataStructureFactory {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ClauseArena arena;
+
+    public MixedDataStructureDanielWLArena() {
+        this.arena = new ClauseArena(getVocabulary());
+    }
+
+    @Override
+    public Constr createCardinalityConstraint(IVecInt literals, int degree)
+            throws ContradictionException {
+        return AtLeast.atLeastNew(this.solver, getVocabulary(), literals,
+                degree);
+    }
+
+    @Override
+    public Constr createUnregisteredCardinalityConstraint(IVecInt literals,
+            int degree) {
+        return new AtLeast(getVocabulary(), literals, degree);
+    }
+
+    public Constr createClause(IVecInt literals) throws ContradictionException {
+        IVecInt v = Clauses.sanityCheck(literals, getVocabulary(), this.solver);
+        if (v == null) {
+            // tautological clause
+            return null;
+        }
+        if (v.size() == 1) {
+            return new UnitClause(v.last());
+        }
+        return OriginalArenaClause.brandNewClause(this.solver, this.arena, v);
+    }
+
+    public Constr createUnregisteredClause(IVecInt literals) {
+        if (literals.size() == 1) {
+            return new UnitClause(literals.last());
+        }
+        return new LearntArenaClause(literals, this.arena);
+    }
+
+    @Override
+    public void reset() {
+        this.arena.clear();
+    }
+
+    /**
+     * Access to the arena storing the clauses.
+     * 
+     * @return the arena used by that data structure.
+     */
+    public ClauseArena getArena() {
+        return this.arena;
+    }
+
+    @Override
+    protected ILits createLits() {
+        return new Lits();
+    }
+}
@@ -0,0 +1,320 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.constraints.cnf;
+
+import static org.sat4j.core.LiteralsUtils.var;
+
+import java.io.Serializable;
+
+import org.sat4j.core.LiteralsUtils;
+import org.sat4j.minisat.core.ILits;
+import org.sat4j.specs.Constr;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.Propagatable;
+import org.sat4j.specs.UnitPropagationListener;
+import org.sat4j.specs.VarMapper;
+
+/**
+ * Watched literals clause whose literals and activity are stored in a
+ * {@link ClauseArena}. The object itself only holds the offset of the clause
+ * in the arena. The two first literals of the clause are the watched ones,
+ * exactly as in {@link WLClause}.
+ * 
+ * A clause which is not stored yet in the arena keeps its literals in its own
+ * array, with the same layout as in the arena, until it is registered: the
+ * clauses that are never registered (e.g. learned clauses when learning is
+ * disabled) do not consume space in the arena.
+ * 
+ * @since 2.3.6
+ */
+public abstract class ArenaClause implements Propagatable, Constr, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    static final int FREED = -1;
+
+    protected final ClauseArena arena;
+
+    /**
+     * Offset of the clause header in the arena. Updated by the arena when it
+     * is compacted.
+     */
+    int offset;
+
+    /**
+     * Header and literals of the clause while it is not stored in the arena,
+     * null once stored.
+     */
+    private int[] unstored;
+
+    /**
+     * Creates a new clause.
+     * 
+     * @param ps
+     *            A VecInt that WILL BE EMPTY after calling that method.
+     * @param arena
+     *            the arena in which the clause is stored.
+     * @param store
+     *            true to store the clause in the arena right away, false to
+     *            wait until {@link #store()} is called.
+     */
+    protected ArenaClause(IVecInt ps, ClauseArena arena, boolean store) {
+        this.arena = arena;
+        if (store) {
+            this.offset = arena.allocate(ps, this);
+        } else {
+            this.unstored = ClauseArena.newClause(ps);
+            this.offset = 0;
+        }
+    }
+
+    /**
+     * Move the clause to the arena, if it is not stored there yet.
+     */
+    protected final void store() {
+        if (this.unstored != null) {
+            this.offset = this.arena.allocate(this.unstored, this);
+            this.unstored = null;
+        }
+    }
+
+    /**
+     * @return the array in which the clause is stored, at offset
+     *         {@link #offset}.
+     */
+    protected final int[] memory() {
+        return this.unstored == null ? this.arena.memory : this.unstored;
+    }
+
+    public void calcReason(int p, IVecInt outReason) {
+        final int[] mem = memory();
+        final int start = this.offset + ClauseArena.HEADER_SIZE;
+        final int end = start + mem[this.offset];
+        for (int i = p == ILits.UNDEFINED ? start : start + 1; i < end; i++) {
+            assert this.arena.getVocabulary().isFalsified(mem[i]);
+            outReason.push(mem[i] ^ 1);
+        }
+    }
+
+    public void remove(UnitPropagationListener upl) {
+        if (this.offset == FREED || this.unstored != null) {
+            return;
+        }
+        ILits voc = this.arena.getVocabulary();
+        voc.watches(get(0) ^ 1).remove(this);
+        voc.watches(get(1) ^ 1).remove(this);
+        this.arena.free(this);
+    }
+
+    public boolean simplify() {
+        ILits voc = this.arena.getVocabulary();
+        final int[] mem = memory();
+        final int start = this.offset + ClauseArena.HEADER_SIZE;
+        final int end = start + mem[this.offset];
+        for (int i = start; i < end; i++) {
+            if (voc.isSatisfied(mem[i])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean propagate(UnitPropagationListener s, int p) {
+        final ILits voc = this.arena.getVocabulary();
+        final int[] mem = memory();
+        final int first = this.offset + ClauseArena.HEADER_SIZE;
+        final int second = first + 1;
+        final int end = first + mem[this.offset];
+        // mem[second] must contain a falsified literal
+        if (mem[first] == (p ^ 1)) {
+            mem[first] = mem[second];
+            mem[second] = p ^ 1;
+        }
+        if (voc.isSatisfied(mem[first])) {
+            voc.watch(p, this);
+            return true;
+        }
+        int previous = p ^ 1, tmp;
+        // look for new literal to watch: applying move to front strategy
+        for (int i = second + 1; i < end; i++) {
+            if (voc.isFalsified(mem[i])) {
+                tmp = previous;
+                previous = mem[i];
+                mem[i] = tmp;
+            } else {
+                mem[second] = mem[i];
+                mem[i] = previous;
+                voc.watch(mem[second] ^ 1, this);
+                return true;
+            }
+        }
+        // the clause is now either unit or null
+        // move back the literals to their initial position
+        System.arraycopy(mem, second + 1, mem, second, end - second - 1);
+        mem[end - 1] = previous;
+        voc.watch(p, this);
+        // propagates first watched literal
+        return s.enqueue(mem[first], this);
+    }
+
+    public boolean locked() {
+        return this.arena.getVocabulary().getReason(get(0)) == this;
+    }
+
+    public double getActivity() {
+        return Float.intBitsToFloat(memory()[this.offset
+                + ClauseArena.ACTIVITY]);
+    }
+
+    public void setActivity(double d) {
+        memory()[this.offset + ClauseArena.ACTIVITY] = Float
+                .floatToRawIntBits((float) d);
+    }
+
+    public void rescaleBy(double d) {
+        setActivity(getActivity() * d);
+    }
+
+    /**
+     * Increase the activity stored in the arena.
+     * 
+     * @param claInc
+     */
+    protected void addToActivity(double claInc) {
+        setActivity(getActivity() + claInc);
+    }
+
+    public int get(int i) {
+        return memory()[this.offset + ClauseArena.HEADER_SIZE + i];
+    }
+
+    public int size() {
+        return memory()[this.offset];
+    }
+
+    /**
+     * @return the offset of the clause in its arena, or a negative value if
+     *         the clause has been removed. Meaningless if the clause is not
+     *         stored in the arena.
+     */
+    public int getOffset() {
+        return this.offset;
+    }
+
+    public void assertConstraint(UnitPropagationListener s) {
+        boolean ret = s.enqueue(get(0), this);
+        assert ret;
+    }
+
+    public void assertConstraintIfNeeded(UnitPropagationListener s) {
+        if (this.arena.getVocabulary().isFalsified(get(1))) {
+            boolean ret = s.enqueue(get(0), this);
+            assert ret;
+        }
+    }
+
+    public ILits getVocabulary() {
+        return this.arena.getVocabulary();
+    }
+
+    public int[] getLits() {
+        int[] tmp = new int[size()];
+        System.arraycopy(memory(), this.offset + ClauseArena.HEADER_SIZE,
+                tmp, 0, tmp.length);
+        return tmp;
+    }
+
+    public boolean canBePropagatedMultipleTimes() {
+        return false;
+    }
+
+    public Constr toConstraint() {
+        return this;
+    }
+
+    public void calcReasonOnTheFly(int p, IVecInt trail, IVecInt outReason) {
+        calcReason(p, outReason);
+    }
+
+    public boolean canBeSatisfiedByCountingLiterals() {
+        return true;
+    }
+
+    public int requiredNumberOfSatisfiedLiterals() {
+        return 1;
+    }
+
+    public boolean isSatisfied() {
+        return simplify();
+    }
+
+    public int getAssertionLevel(IVecInt trail, int decisionLevel) {
+        int v = var(get(0));
+        for (int i = trail.size() - 1; i >= 0; i--) {
+            if (var(trail.get(i)) == v) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        if (this.offset == FREED) {
+            return "<removed clause>"; //$NON-NLS-1$
+        }
+        ILits voc = this.arena.getVocabulary();
+        StringBuffer stb = new StringBuffer();
+        for (int i = 0; i < size(); i++) {
+            stb.append(Lits.toString(get(i)));
+            stb.append("["); //$NON-NLS-1$
+            stb.append(voc.valueToString(get(i)));
+            stb.append("]"); //$NON-NLS-1$
+            stb.append(" "); //$NON-NLS-1$
+        }
+        return stb.toString();
+    }
+
+    public String toString(VarMapper mapper) {
+        if (mapper == null) {
+            return toString();
+        }
+        ILits voc = this.arena.getVocabulary();
+        StringBuffer stb = new StringBuffer();
+        for (int i = 0; i < size(); i++) {
+            stb.append(mapper.map(LiteralsUtils.toDimacs(get(i))));
+            stb.append("["); //$NON-NLS-1$
+            stb.append(voc.valueToString(get(i)));
+            stb.append("]"); //$NON-NLS-1$
+            stb.append(" "); //$NON-NLS-1$
+        }
+        return stb.toString();
+    }
+}
@@ -0,0 +1,209 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.constraints.cnf;
+
+import java.io.Serializable;
+
+import org.sat4j.core.LiteralsUtils;
+import org.sat4j.minisat.core.ILits;
+import org.sat4j.specs.Constr;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.UnitPropagationListener;
+import org.sat4j.specs.VarMapper;
+
+/**
+ * Lightweight explanation of a propagation or a conflict coming from the
+ * implication graph of the binary clauses.
+ * 
+ * An instance describes the binary clauses -p v q for a given satisfied
+ * literal p. When used as the reason of an implied literal q, q is not known
+ * by the object: it is provided by the solver when calling
+ * {@link #calcReason(int, IVecInt)}. When used to describe a conflict, q is
+ * the falsified implied literal.
+ * 
+ * Those objects are not stored in the solver: they cannot be removed,
+ * simplified or learned.
+ * 
+ * @since 2.3.6
+ */
+public final class BinaryImplication implements Constr, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final ILits voc;
+
+    private int satisfied;
+
+    private int implied = ILits.UNDEFINED;
+
+    BinaryImplication(ILits voc, int p) {
+        this.voc = voc;
+        this.satisfied = p;
+    }
+
+    /**
+     * Reuse the object to describe a conflicting binary clause.
+     * 
+     * @param p
+     *            the satisfied literal
+     * @param q
+     *            the falsified literal implied by p
+     */
+    void setConflict(int p, int q) {
+        this.satisfied = p;
+        this.implied = q;
+    }
+
+    public boolean learnt() {
+        return false;
+    }
+
+    public int size() {
+        return 2;
+    }
+
+    /**
+     * The first literal is the implied literal if known, else the satisfied
+     * literal: in both cases a literal that is not falsified when the object
+     * is used as a reason. The second literal is the falsified one.
+     */
+    public int get(int i) {
+        if (i == 0) {
+            return this.implied == ILits.UNDEFINED ? this.satisfied
+                    : this.implied;
+        }
+        return this.satisfied ^ 1;
+    }
+
+    public double getActivity() {
+        return 0;
+    }
+
+    public boolean canBePropagatedMultipleTimes() {
+        return false;
+    }
+
+    public void remove(UnitPropagationListener upl) {
+        throw new UnsupportedOperationException();
+    }
+
+    public boolean simplify() {
+        return false;
+    }
+
+    public void calcReason(int p, IVecInt outReason) {
+        outReason.push(this.satisfied);
+        if (p == ILits.UNDEFINED) {
+            assert this.implied != ILits.UNDEFINED;
+            outReason.push(this.implied ^ 1);
+        }
+    }
+
+    public void calcReasonOnTheFly(int p, IVecInt trail, IVecInt outReason) {
+        calcReason(p, outReason);
+    }
+
+    public void incActivity(double claInc) {
+        // no activity
+    }
+
+    @Deprecated
+    public void forwardActivity(double claInc) {
+        // no activity
+    }
+
+    public boolean locked() {
+        return false;
+    }
+
+    public void setLearnt() {
+        throw new UnsupportedOperationException();
+    }
+
+    public void register() {
+        throw new UnsupportedOperationException();
+    }
+
+    public void rescaleBy(double d) {
+        // no activity
+    }
+
+    public void setActivity(double d) {
+        // no activity
+    }
+
+    public void assertConstraint(UnitPropagationListener s) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void assertConstraintIfNeeded(UnitPropagationListener s) {
+        throw new UnsupportedOperationException();
+    }
+
+    public boolean canBeSatisfiedByCountingLiterals() {
+        return true;
+    }
+
+    public int requiredNumberOfSatisfiedLiterals() {
+        return 1;
+    }
+
+    public boolean isSatisfied() {
+        return this.voc.isSatisfied(this.satisfied ^ 1)
+                || this.implied != ILits.UNDEFINED
+                && this.voc.isSatisfied(this.implied);
+    }
+
+    public int getAssertionLevel(IVecInt trail, int decisionLevel) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public String toString() {
+        StringBuffer stb = new StringBuffer();
+        stb.append(Lits.toString(this.satisfied ^ 1));
+        stb.append(" "); //$NON-NLS-1$
+        stb.append(this.implied == ILits.UNDEFINED ? "?" //$NON-NLS-1$
+                : Lits.toString(this.implied));
+        return stb.toString();
+    }
+
+    public String toString(VarMapper mapper) {
+        if (mapper == null) {
+            return toString();
+        }
+        StringBuffer stb = new StringBuffer();
+        stb.append(mapper.map(LiteralsUtils.toDimacs(this.satisfied ^ 1)));
+        stb.append(" "); //$NON-NLS-1$
+        stb.append(this.implied == ILits.UNDEFINED ? "?" //$NON-NLS-1$
+                : mapper.map(LiteralsUtils.toDimacs(this.implied)));
+        return stb.toString();
+    }
+}
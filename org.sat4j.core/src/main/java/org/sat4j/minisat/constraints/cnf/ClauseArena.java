@@ -0,0 +1,276 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.constraints.cnf;
+
+import java.io.Serializable;
+
+import org.sat4j.core.Vec;
+import org.sat4j.minisat.core.ILits;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+
+/**
+ * Contiguous storage for clauses. Each clause is stored inline in a single
+ * int array as a small header followed by its literals:
+ * 
+ * <pre>
+ * [size][activity][lit_0]...[lit_size-1]
+ * </pre>
+ * 
+ * Clauses are addressed by their offset in the arena. The
+ * {@link ArenaClause} objects are only lightweight handles (arena + offset)
+ * so that the clauses can still be used as regular {@link org.sat4j.specs.Constr} by the
+ * solver. Learned clauses are only stored in the arena once registered.
+ * 
+ * Freed clauses leave holes in the arena. When the wasted space exceeds the
+ * space used by live clauses, the arena is compacted: since clauses are only
+ * massively removed when the learned clauses database is reduced, this
+ * happens in practice during <code>reduceDB()</code>.
+ * 
+ * @since 2.3.6
+ */
+public final class ClauseArena implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Number of int used in front of the literals of each clause.
+     */
+    static final int HEADER_SIZE = 2;
+
+    static final int SIZE = 0;
+
+    /**
+     * The activity is stored as a float: activities are rescaled by the
+     * solver long before reaching the float limits, and LBD values are
+     * stored exactly.
+     */
+    static final int ACTIVITY = 1;
+
+    private static final int INITIAL_CAPACITY = 1 << 12;
+
+    /**
+     * The memory of the arena. Package visible for efficiency reasons: the
+     * handles directly access the literals during propagation.
+     */
+    int[] memory;
+
+    private int top;
+
+    private int wasted;
+
+    private int nbCompactions;
+
+    private final IVec<ArenaClause> registry = new Vec<ArenaClause>();
+
+    private final ILits voc;
+
+    public ClauseArena(ILits voc) {
+        this.voc = voc;
+        this.memory = new int[INITIAL_CAPACITY];
+    }
+
+    public ILits getVocabulary() {
+        return this.voc;
+    }
+
+    /**
+     * Store a new clause in the arena.
+     * 
+     * @param ps
+     *            the literals of the clause. That vector WILL BE EMPTY after
+     *            calling that method.
+     * @param handle
+     *            the handle to associate to the clause.
+     * @return the offset of the clause in the arena.
+     */
+    int allocate(IVecInt ps, ArenaClause handle) {
+        final int size = ps.size();
+        ensure(this.top + HEADER_SIZE + size);
+        final int offset = this.top;
+        final int[] mem = this.memory;
+        mem[offset + SIZE] = size;
+        mem[offset + ACTIVITY] = 0;
+        for (int i = 0; i < size; i++) {
+            mem[offset + HEADER_SIZE + i] = ps.get(i);
+        }
+        ps.clear();
+        this.top += HEADER_SIZE + size;
+        this.registry.push(handle);
+        return offset;
+    }
+
+    /**
+     * Store in the arena a clause built by {@link #newClause(IVecInt)}.
+     * 
+     * @param clause
+     *            the header and literals of the clause.
+     * @param handle
+     *            the handle to associate to the clause.
+     * @return the offset of the clause in the arena.
+     */
+    int allocate(int[] clause, ArenaClause handle) {
+        ensure(this.top + clause.length);
+        final int offset = this.top;
+        System.arraycopy(clause, 0, this.memory, offset, clause.length);
+        this.top += clause.length;
+        this.registry.push(handle);
+        return offset;
+    }
+
+    /**
+     * Build a clause outside the arena, with the same layout as in the arena.
+     * 
+     * @param ps
+     *            the literals of the clause. That vector WILL BE EMPTY after
+     *            calling that method.
+     * @return the header of the clause followed by its literals.
+     */
+    static int[] newClause(IVecInt ps) {
+        final int size = ps.size();
+        int[] clause = new int[HEADER_SIZE + size];
+        clause[SIZE] = size;
+        for (int i = 0; i < size; i++) {
+            clause[HEADER_SIZE + i] = ps.get(i);
+        }
+        ps.clear();
+        return clause;
+    }
+
+    /**
+     * Mark the space used by a clause as wasted. The handle is invalidated.
+     * 
+     * @param handle
+     *            the handle of a clause of that arena.
+     */
+    void free(ArenaClause handle) {
+        if (handle.offset < 0) {
+            return;
+        }
+        this.wasted += HEADER_SIZE + this.memory[handle.offset + SIZE];
+        handle.offset = ArenaClause.FREED;
+        if (this.wasted > this.top - this.wasted) {
+            compact();
+        }
+    }
+
+    private void ensure(int capacity) {
+        if (capacity > this.memory.length) {
+            int newCapacity = this.memory.length + (this.memory.length >> 1);
+            if (newCapacity < capacity) {
+                newCapacity = capacity;
+            }
+            int[] newMemory = new int[newCapacity];
+            System.arraycopy(this.memory, 0, newMemory, 0, this.top);
+            this.memory = newMemory;
+        }
+    }
+
+    /**
+     * Move all live clauses to the beginning of the arena, keeping their
+     * relative order, and update the offsets of their handles.
+     */
+    public void compact() {
+        final int[] mem = this.memory;
+        int newTop = 0;
+        int j = 0;
+        ArenaClause handle;
+        for (int i = 0; i < this.registry.size(); i++) {
+            handle = this.registry.get(i);
+            if (handle.offset < 0) {
+                continue;
+            }
+            int length = HEADER_SIZE + mem[handle.offset + SIZE];
+            if (handle.offset != newTop) {
+                System.arraycopy(mem, handle.offset, mem, newTop, length);
+                handle.offset = newTop;
+            }
+            newTop += length;
+            this.registry.set(j++, handle);
+        }
+        this.registry.shrinkTo(j);
+        this.top = newTop;
+        this.wasted = 0;
+        this.nbCompactions++;
+    }
+
+    /**
+     * Remove all the clauses from the arena.
+     */
+    public void clear() {
+        for (int i = 0; i < this.registry.size(); i++) {
+            this.registry.get(i).offset = ArenaClause.FREED;
+        }
+        this.registry.clear();
+        this.top = 0;
+        this.wasted = 0;
+    }
+
+    /**
+     * @return the number of clauses living in the arena.
+     */
+    public int numberOfClauses() {
+        int count = 0;
+        for (int i = 0; i < this.registry.size(); i++) {
+            if (this.registry.get(i).offset >= 0) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the number of ints used in the arena, including wasted space.
+     */
+    public int used() {
+        return this.top;
+    }
+
+    /**
+     * @return the number of ints occupied by freed clauses.
+     */
+    public int wasted() {
+        return this.wasted;
+    }
+
+    /**
+     * @return the number of ints allocated for the arena.
+     */
+    public int capacity() {
+        return this.memory.length;
+    }
+
+    /**
+     * @return the number of compactions performed so far.
+     */
+    public int numberOfCompactions() {
+        return this.nbCompactions;
+    }
+}
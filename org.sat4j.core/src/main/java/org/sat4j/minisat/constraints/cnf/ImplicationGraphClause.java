@@ -0,0 +1,236 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.constraints.cnf;
+
+import java.io.Serializable;
+
+import org.sat4j.core.LiteralsUtils;
+import org.sat4j.minisat.core.ILits;
+import org.sat4j.specs.Constr;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.UnitPropagationListener;
+import org.sat4j.specs.VarMapper;
+
+/**
+ * Binary clause stored in the implication graph of a
+ * {@link LitsWithImplicationGraph}. The object is only used to manage the
+ * clause (registration, removal, activity): propagation and conflict analysis
+ * only rely on the implication graph.
+ * 
+ * @since 2.3.6
+ */
+public final class ImplicationGraphClause implements Constr, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final LitsWithImplicationGraph voc;
+
+    private final int head;
+
+    private final int tail;
+
+    private boolean learnt;
+
+    private double activity;
+
+    /**
+     * Creates a new binary clause.
+     * 
+     * @param ps
+     *            A VecInt of size 2 that WILL BE EMPTY after calling that
+     *            method.
+     * @param voc
+     *            the vocabulary of the formula
+     */
+    public ImplicationGraphClause(IVecInt ps, LitsWithImplicationGraph voc) {
+        assert ps.size() == 2;
+        this.head = ps.get(0);
+        this.tail = ps.get(1);
+        ps.clear();
+        this.voc = voc;
+    }
+
+    /**
+     * Creates a brand new clause, presumably from external data.
+     * 
+     * @param voc
+     *            the vocabulary
+     * @param literals
+     *            the two literals of the clause
+     * @return the created clause
+     */
+    public static ImplicationGraphClause brandNewClause(
+            LitsWithImplicationGraph voc, IVecInt literals) {
+        ImplicationGraphClause c = new ImplicationGraphClause(literals, voc);
+        c.register();
+        return c;
+    }
+
+    public void register() {
+        this.voc.addImplication(this.head ^ 1, this.tail);
+        this.voc.addImplication(this.tail ^ 1, this.head);
+    }
+
+    public void remove(UnitPropagationListener upl) {
+        this.voc.removeImplication(this.head ^ 1, this.tail);
+        this.voc.removeImplication(this.tail ^ 1, this.head);
+    }
+
+    public boolean learnt() {
+        return this.learnt;
+    }
+
+    public void setLearnt() {
+        this.learnt = true;
+    }
+
+    public int size() {
+        return 2;
+    }
+
+    public int get(int i) {
+        return i == 0 ? this.head : this.tail;
+    }
+
+    public boolean simplify() {
+        return isSatisfied();
+    }
+
+    public void calcReason(int p, IVecInt outReason) {
+        if (this.voc.isFalsified(this.head)) {
+            outReason.push(this.head ^ 1);
+        }
+        if (this.voc.isFalsified(this.tail)) {
+            outReason.push(this.tail ^ 1);
+        }
+    }
+
+    public void calcReasonOnTheFly(int p, IVecInt trail, IVecInt outReason) {
+        calcReason(p, outReason);
+    }
+
+    public boolean locked() {
+        return this.voc.getReason(this.head) == this.voc
+                .impliedBy(this.tail ^ 1)
+                || this.voc.getReason(this.tail) == this.voc
+                        .impliedBy(this.head ^ 1);
+    }
+
+    public double getActivity() {
+        return this.activity;
+    }
+
+    public void incActivity(double claInc) {
+        if (this.learnt) {
+            this.activity += claInc;
+        }
+    }
+
+    @Deprecated
+    public void forwardActivity(double claInc) {
+        if (!this.learnt) {
+            this.activity += claInc;
+        }
+    }
+
+    public void rescaleBy(double d) {
+        this.activity *= d;
+    }
+
+    public void setActivity(double d) {
+        this.activity = d;
+    }
+
+    /**
+     * The head of the clause is propagated, with the implication of the
+     * negation of the tail as reason.
+     */
+    public void assertConstraint(UnitPropagationListener s) {
+        boolean ret = s.enqueue(this.head, this.voc.impliedBy(this.tail ^ 1));
+        assert ret;
+    }
+
+    public void assertConstraintIfNeeded(UnitPropagationListener s) {
+        if (this.voc.isFalsified(this.tail)) {
+            assertConstraint(s);
+        }
+    }
+
+    public boolean canBePropagatedMultipleTimes() {
+        return false;
+    }
+
+    public boolean canBeSatisfiedByCountingLiterals() {
+        return true;
+    }
+
+    public int requiredNumberOfSatisfiedLiterals() {
+        return 1;
+    }
+
+    public boolean isSatisfied() {
+        return this.voc.isSatisfied(this.head)
+                || this.voc.isSatisfied(this.tail);
+    }
+
+    public int getAssertionLevel(IVecInt trail, int decisionLevel) {
+        for (int i = trail.size() - 1; i >= 0; i--) {
+            if (trail.get(i) >> 1 == this.head >> 1) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public String toString() {
+        return Lits.toString(this.head) + "[" //$NON-NLS-1$
+                + this.voc.valueToString(this.head) + "] " //$NON-NLS-1$
+                + Lits.toString(this.tail) + "[" //$NON-NLS-1$
+                + this.voc.valueToString(this.tail) + "]"; //$NON-NLS-1$
+    }
+
+    public String toString(VarMapper mapper) {
+        if (mapper == null) {
+            return toString();
+        }
+        return mapper.map(LiteralsUtils.toDimacs(this.head)) + "[" //$NON-NLS-1$
+                + this.voc.valueToString(this.head) + "] " //$NON-NLS-1$
+                + mapper.map(LiteralsUtils.toDimacs(this.tail)) + "[" //$NON-NLS-1$
+                + this.voc.valueToString(this.tail) + "]"; //$NON-NLS-1$
+    }
+
+    /**
+     * @return the vocabulary of the clause
+     */
+    public ILits getVocabulary() {
+        return this.voc;
+    }
+}
@@ -0,0 +1,106 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.constraints.cnf;
+
+import org.sat4j.minisat.core.ILits;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.MandatoryLiteralListener;
+
+/**
+ * Learned clause stored in a {@link ClauseArena}.
+ * 
+ * @since 2.3.6
+ */
+public final class LearntArenaClause extends ArenaClause {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new clause, which is only stored in the arena when it is
+     * registered.
+     * 
+     * @param ps
+     *            A VecInt that WILL BE EMPTY after calling that method.
+     * @param arena
+     *            the arena in which the clause will be stored.
+     */
+    public LearntArenaClause(IVecInt ps, ClauseArena arena) {
+        super(ps, arena, false);
+    }
+
+    public void register() {
+        if (size() == 0) {
+            return;
+        }
+        assert size() > 1;
+        store();
+        final ILits voc = this.arena.getVocabulary();
+        final int[] mem = this.arena.memory;
+        final int first = this.offset + ClauseArena.HEADER_SIZE;
+        final int end = first + mem[this.offset];
+        // watch the literal with the highest decision level as second literal
+        int maxi = first + 1;
+        int maxlevel = voc.getLevel(mem[maxi]);
+        for (int i = first + 2; i < end; i++) {
+            int level = voc.getLevel(mem[i]);
+            if (level > maxlevel) {
+                maxi = i;
+                maxlevel = level;
+            }
+        }
+        int l = mem[first + 1];
+        mem[first + 1] = mem[maxi];
+        mem[maxi] = l;
+        voc.watch(mem[first] ^ 1, this);
+        voc.watch(mem[first + 1] ^ 1, this);
+    }
+
+    public boolean learnt() {
+        return true;
+    }
+
+    public void setLearnt() {
+        // do nothing
+    }
+
+    @Deprecated
+    public void forwardActivity(double claInc) {
+
+    }
+
+    public void incActivity(double claInc) {
+        addToActivity(claInc);
+    }
+
+    public boolean propagatePI(MandatoryLiteralListener s, int p) {
+        this.arena.getVocabulary().watch(p, this);
+        return true;
+    }
+}
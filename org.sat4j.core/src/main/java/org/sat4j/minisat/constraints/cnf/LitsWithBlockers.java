@@ -0,0 +1,97 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.constraints.cnf;
+
+import org.sat4j.minisat.core.ILitsWithBlockers;
+import org.sat4j.minisat.core.WatchesWithBlockers;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.Propagatable;
+
+/**
+ * Vocabulary whose watch lists store, for each watching clause, the other
+ * watched literal of the clause as blocking literal.
+ * 
+ * The clauses do not need to know about the blocking literals: they still
+ * use {@link #watch(int, Propagatable)} and the blocking literal is computed
+ * here from the first two literals of the clause. Constraints other than
+ * watched literals clauses get no blocking literal and are always visited.
+ * 
+ * @since 2.3.6
+ */
+public class LitsWithBlockers extends Lits implements ILitsWithBlockers {
+
+    private static final long serialVersionUID = 1L;
+
+    @Override
+    protected IVec<Propagatable> createWatches() {
+        return new WatchesWithBlockers();
+    }
+
+    @Override
+    public void watch(int lit, Propagatable c) {
+        blockingWatches(lit).push(c, blockerFor(lit, c));
+    }
+
+    public WatchesWithBlockers blockingWatches(int lit) {
+        return (WatchesWithBlockers) watches(lit);
+    }
+
+    /**
+     * Compute the blocking literal of a clause watching the negation of lit,
+     * i.e. its other watched literal.
+     * 
+     * @param lit
+     *            the literal whose negation is watched.
+     * @param c
+     *            the watcher.
+     * @return the other watched literal of the clause if c is a watched
+     *         literals clause, else {@link #UNDEFINED}.
+     */
+    static int blockerFor(int lit, Propagatable c) {
+        int first;
+        int second;
+        if (c instanceof WLClause) {
+            WLClause clause = (WLClause) c;
+            first = clause.get(0);
+            second = clause.get(1);
+        } else if (c instanceof ArenaClause) {
+            ArenaClause clause = (ArenaClause) c;
+            first = clause.get(0);
+            second = clause.get(1);
+        } else if (c instanceof BinaryClause) {
+            BinaryClause clause = (BinaryClause) c;
+            first = clause.get(0);
+            second = clause.get(1);
+        } else {
+            return UNDEFINED;
+        }
+        return first == (lit ^ 1) ? second : first;
+    }
+}
@@ -0,0 +1,160 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.constraints.cnf;
+
+import org.sat4j.minisat.core.ILitsWithImplicationGraph;
+import org.sat4j.specs.Constr;
+
+/**
+ * Vocabulary storing the binary clauses in an implication graph, using one
+ * array of implied literals per literal. The watch lists, used for the other
+ * constraints, maintain blocking literals.
+ * 
+ * @since 2.3.6
+ */
+public class LitsWithImplicationGraph extends LitsWithBlockers implements
+        ILitsWithImplicationGraph {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int[] EMPTY = new int[0];
+
+    private static final int INITIAL_IMPLICATIONS_SIZE = 4;
+
+    // those fields are initialized by init(), called by the super constructor
+    private int[][] implications;
+
+    private int[] nbImplications;
+
+    private BinaryImplication[] impliedBy;
+
+    private BinaryImplication conflict;
+
+    @Override
+    public void init(int nvar) {
+        super.init(nvar);
+        int nlits = 2 * capacity() + 2;
+        if (this.implications == null) {
+            this.implications = new int[nlits][];
+            this.nbImplications = new int[nlits];
+            this.impliedBy = new BinaryImplication[nlits];
+            this.conflict = new BinaryImplication(this, UNDEFINED);
+        } else if (nlits > this.implications.length) {
+            int[][] nimplications = new int[nlits][];
+            System.arraycopy(this.implications, 0, nimplications, 0,
+                    this.implications.length);
+            this.implications = nimplications;
+            int[] nnbImplications = new int[nlits];
+            System.arraycopy(this.nbImplications, 0, nnbImplications, 0,
+                    this.nbImplications.length);
+            this.nbImplications = nnbImplications;
+            BinaryImplication[] nimpliedBy = new BinaryImplication[nlits];
+            System.arraycopy(this.impliedBy, 0, nimpliedBy, 0,
+                    this.impliedBy.length);
+            this.impliedBy = nimpliedBy;
+        }
+    }
+
+    @Override
+    public void reset(int lit) {
+        super.reset(lit);
+        this.nbImplications[lit] = 0;
+        this.nbImplications[lit ^ 1] = 0;
+    }
+
+    /**
+     * Record that q must be satisfied when p is satisfied, i.e. the binary
+     * clause -p v q.
+     * 
+     * @param p
+     *            a literal
+     * @param q
+     *            another literal
+     */
+    public void addImplication(int p, int q) {
+        int[] implied = this.implications[p];
+        int size = this.nbImplications[p];
+        if (implied == null) {
+            implied = new int[INITIAL_IMPLICATIONS_SIZE];
+            this.implications[p] = implied;
+        } else if (size == implied.length) {
+            int[] nimplied = new int[size << 1];
+            System.arraycopy(implied, 0, nimplied, 0, size);
+            implied = nimplied;
+            this.implications[p] = implied;
+        }
+        implied[size] = q;
+        this.nbImplications[p] = size + 1;
+    }
+
+    /**
+     * Remove one occurrence of the implication p -&gt; q.
+     * 
+     * @param p
+     *            a literal
+     * @param q
+     *            another literal
+     */
+    public void removeImplication(int p, int q) {
+        int[] implied = this.implications[p];
+        int size = this.nbImplications[p];
+        for (int i = 0; i < size; i++) {
+            if (implied[i] == q) {
+                System.arraycopy(implied, i + 1, implied, i, size - i - 1);
+                this.nbImplications[p] = size - 1;
+                return;
+            }
+        }
+    }
+
+    public int[] implications(int lit) {
+        int[] implied = this.implications[lit];
+        return implied == null ? EMPTY : implied;
+    }
+
+    public int nbImplications(int lit) {
+        return this.nbImplications[lit];
+    }
+
+    public Constr impliedBy(int lit) {
+        BinaryImplication reason = this.impliedBy[lit];
+        if (reason == null) {
+            // created once for all
+            reason = new BinaryImplication(this, lit);
+            this.impliedBy[lit] = reason;
+        }
+        return reason;
+    }
+
+    public Constr binaryConflict(int lit, int implied) {
+        this.conflict.setConflict(lit, implied);
+        return this.conflict;
+    }
+}
@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.constraints.cnf;
+
+import org.sat4j.minisat.core.ILits;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.MandatoryLiteralListener;
+import org.sat4j.specs.UnitPropagationListener;
+
+/**
+ * Original clause stored in a {@link ClauseArena}.
+ * 
+ * @since 2.3.6
+ */
+public final class OriginalArenaClause extends ArenaClause {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new clause directly stored in the arena, since original
+     * clauses are always registered.
+     * 
+     * @param ps
+     *            A VecInt that WILL BE EMPTY after calling that method.
+     * @param arena
+     *            the arena in which the clause is stored.
+     */
+    public OriginalArenaClause(IVecInt ps, ClauseArena arena) {
+        super(ps, arena, true);
+    }
+
+    public void register() {
+        assert size() > 1;
+        ILits voc = this.arena.getVocabulary();
+        voc.watch(get(0) ^ 1, this);
+        voc.watch(get(1) ^ 1, this);
+    }
+
+    public boolean learnt() {
+        return false;
+    }
+
+    public void setLearnt() {
+        // do nothing
+    }
+
+    /**
+     * Creates a brand new clause, presumably from external data.
+     * 
+     * @param s
+     *            the object responsible for unit propagation
+     * @param arena
+     *            the arena in which to store the clause
+     * @param literals
+     *            the literals to store in the clause
+     * @return the created clause
+     */
+    public static OriginalArenaClause brandNewClause(UnitPropagationListener s,
+            ClauseArena arena, IVecInt literals) {
+        OriginalArenaClause c = new OriginalArenaClause(literals, arena);
+        c.register();
+        return c;
+    }
+
+    @Deprecated
+    public void forwardActivity(double claInc) {
+        addToActivity(claInc);
+    }
+
+    public void incActivity(double claInc) {
+
+    }
+
+    public boolean propagatePI(MandatoryLiteralListener s, int p) {
+        final ILits voc = this.arena.getVocabulary();
+        final int[] mem = this.arena.memory;
+        final int first = this.offset + ClauseArena.HEADER_SIZE;
+        final int second = first + 1;
+        final int end = first + mem[this.offset];
+        // mem[second] must contain a falsified literal
+        if (mem[first] == (p ^ 1)) {
+            mem[first] = mem[second];
+            mem[second] = p ^ 1;
+        }
+        int previous = p ^ 1;
+        // look for a new satisfied literal to watch
+        for (int i = second + 1; i < end; i++) {
+            if (voc.isSatisfied(mem[i])) {
+                mem[second] = mem[i];
+                mem[i] = previous;
+                voc.watch(mem[second] ^ 1, this);
+                return true;
+            }
+        }
+        // the clause is now either unit
+        voc.watch(p, this);
+        // first literal is mandatory
+        s.isMandatory(mem[first]);
+        return true;
+    }
+}
@@ -0,0 +1,355 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import org.sat4j.core.LiteralsUtils;
+import org.sat4j.core.VecInt;
+import org.sat4j.specs.Constr;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+
+/**
+ * Failed literal probing with hyper-binary resolution, at decision level 0.
+ * 
+ * The candidate literals are the ones implying other literals through binary
+ * clauses, the roots of the binary implication graph first. Each candidate is
+ * assumed and propagated:
+ * <ul>
+ * <li>if a conflict occurs, its negation is learned as a unit;</li>
+ * <li>each literal propagated by a non binary constraint gives a hyper-binary
+ * resolvent, linking it to its dominator in the tree of binary implications,
+ * which is learned as a binary clause;</li>
+ * <li>when both phases of a variable are probed, the literals implied by both
+ * of them are learned as units, and the literals implied with opposite
+ * phases are equivalent to the probed variable (their equivalence is made
+ * explicit by the hyper-binary resolvents).</li>
+ * </ul>
+ * 
+ * All the constraints derived by probing are learned ones, so they are removed
+ * with the other learned constraints when needed in incremental mode.
+ * 
+ * @since 2.3.6
+ */
+public class FailedLiteralProbing<D extends DataStructureFactory> implements
+        InprocessingStrategy {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Solver<D> solver;
+
+    private boolean[] hasImplications = new boolean[0];
+
+    private boolean[] isImplied = new boolean[0];
+
+    private int[] parent = new int[0];
+
+    private int[] depth = new int[0];
+
+    private int[] stamps = new int[0];
+
+    private int stamp;
+
+    private final IVecInt candidates = new VecInt();
+
+    private final IVecInt units = new VecInt();
+
+    private final IVecInt reason = new VecInt();
+
+    private int offset;
+
+    private int[] probedWith = new int[0];
+
+    private int lastNbConstraints = -1;
+
+    public FailedLiteralProbing(Solver<D> solver) {
+        this.solver = solver;
+    }
+
+    public boolean inprocess(long budget) {
+        long begin = System.currentTimeMillis();
+        try {
+            return probe(this.solver.stats.propagations + budget);
+        } finally {
+            this.solver.stats.probingTime += System.currentTimeMillis()
+                    - begin;
+        }
+    }
+
+    private boolean probe(long limit) {
+        ILits voc = this.solver.voc;
+        int nbLits = 2 * voc.nVars() + 2;
+        if (this.stamps.length < nbLits) {
+            this.hasImplications = new boolean[nbLits];
+            this.isImplied = new boolean[nbLits];
+            this.stamps = new int[nbLits];
+            this.probedWith = new int[nbLits];
+            this.parent = new int[voc.nVars() + 1];
+            this.depth = new int[voc.nVars() + 1];
+        }
+        if (this.lastNbConstraints != this.solver.nConstraints()) {
+            // new problem: forget about the literals already probed
+            for (int i = 0; i < this.probedWith.length; i++) {
+                this.probedWith[i] = 0;
+            }
+            this.lastNbConstraints = this.solver.nConstraints();
+        }
+        computeCandidates();
+        int size = this.candidates.size();
+        if (size == 0) {
+            return true;
+        }
+        int i;
+        int p;
+        int fixed;
+        for (i = 0; i < size && this.solver.stats.propagations < limit; i++) {
+            p = this.candidates.get((this.offset + i) % size);
+            // a literal is probed again only when new units have been found
+            fixed = this.solver.trail.size() + 1;
+            if (!voc.isUnassigned(p) || !this.hasImplications[p]
+                    || this.probedWith[p] == fixed) {
+                continue;
+            }
+            this.probedWith[p] = fixed;
+            this.units.clear();
+            if (!probe(p, false)) {
+                this.units.push(p ^ 1);
+                this.solver.stats.failedLiterals++;
+            } else if (this.hasImplications[p ^ 1]) {
+                // p ^ 1 is a candidate as well: probe it now to compare
+                this.probedWith[p ^ 1] = fixed;
+                if (!probe(p ^ 1, true)) {
+                    this.units.push(p);
+                    this.solver.stats.failedLiterals++;
+                }
+                // do not probe it again in that round
+                this.hasImplications[p ^ 1] = false;
+            }
+            if (!learnUnits()) {
+                return false;
+            }
+        }
+        this.offset = (this.offset + i) % size;
+        return true;
+    }
+
+    private void computeCandidates() {
+        for (int i = 0; i < this.hasImplications.length; i++) {
+            this.hasImplications[i] = false;
+            this.isImplied[i] = false;
+        }
+        computeBinaryImplications(this.solver.constrs);
+        computeBinaryImplications(this.solver.learnts);
+        this.candidates.clear();
+        int nVars = this.solver.voc.nVars();
+        // the roots of the binary implication graph first
+        for (int p = 2; p <= 2 * nVars + 1; p++) {
+            if (this.hasImplications[p] && !this.isImplied[p]) {
+                this.candidates.push(p);
+            }
+        }
+        for (int p = 2; p <= 2 * nVars + 1; p++) {
+            if (this.hasImplications[p] && this.isImplied[p]) {
+                this.candidates.push(p);
+            }
+        }
+    }
+
+    private void computeBinaryImplications(IVec<Constr> constrs) {
+        ILits voc = this.solver.voc;
+        Constr c;
+        int p, q;
+        for (int i = 0; i < constrs.size(); i++) {
+            c = constrs.get(i);
+            if (!isBinaryClause(c)) {
+                continue;
+            }
+            p = c.get(0);
+            q = c.get(1);
+            if (voc.isUnassigned(p) && voc.isUnassigned(q)) {
+                // not p implies q and not q implies p
+                this.hasImplications[p ^ 1] = true;
+                this.hasImplications[q ^ 1] = true;
+                this.isImplied[p] = true;
+                this.isImplied[q] = true;
+            }
+        }
+    }
+
+    private static boolean isBinaryClause(Constr c) {
+        try {
+            return c.size() == 2 && c.canBeSatisfiedByCountingLiterals()
+                    && c.requiredNumberOfSatisfiedLiterals() == 1;
+        } catch (UnsupportedOperationException e) {
+            // constraints grouping several clauses, e.g. unit clauses
+            return false;
+        }
+    }
+
+    /**
+     * Assume and propagate a literal, then learn the hyper-binary resolvents.
+     * 
+     * @param p
+     *            the probed literal
+     * @param lifting
+     *            true iff the negation of p has just been probed: the
+     *            literals implied by both are stored as units.
+     * @return false iff p is a failed literal.
+     */
+    private boolean probe(int p, boolean lifting) {
+        this.solver.stats.probedLiterals++;
+        int start = this.solver.trail.size();
+        this.solver.assume(p);
+        if (this.solver.propagate() != null) {
+            this.solver.cancelUntil(0);
+            return false;
+        }
+        IVecInt trail = this.solver.trail;
+        ILits voc = this.solver.voc;
+        if (!lifting) {
+            this.stamp++;
+        }
+        int q, dominator, var;
+        Constr constr;
+        for (int i = start; i < trail.size(); i++) {
+            q = trail.get(i);
+            var = LiteralsUtils.var(q);
+            if (i == start) {
+                this.parent[var] = q;
+                this.depth[var] = 0;
+            } else {
+                constr = voc.getReason(q);
+                this.reason.clear();
+                constr.calcReason(q, this.reason);
+                dominator = dominator(this.reason);
+                if (dominator == ILits.UNDEFINED) {
+                    dominator = p;
+                }
+                if (this.reason.size() > 1) {
+                    learnHyperBinaryResolvent(dominator, q);
+                }
+                this.parent[var] = dominator;
+                this.depth[var] = this.depth[LiteralsUtils.var(dominator)] + 1;
+            }
+            if (lifting) {
+                if (this.stamps[q] == this.stamp) {
+                    // implied by both phases
+                    this.units.push(q);
+                    this.solver.stats.necessaryAssignments++;
+                } else if (this.stamps[q ^ 1] == this.stamp && i > start) {
+                    this.solver.stats.equivalentLiterals++;
+                }
+            } else {
+                this.stamps[q] = this.stamp;
+            }
+        }
+        this.solver.cancelUntil(0);
+        return true;
+    }
+
+    /**
+     * 
+     * @param lits
+     *            satisfied literals at the current decision level
+     * @return their closest common dominator in the tree of implications
+     *         rooted by the probed literal.
+     */
+    private int dominator(IVecInt lits) {
+        ILits voc = this.solver.voc;
+        int dominator = ILits.UNDEFINED;
+        int q;
+        for (int i = 0; i < lits.size(); i++) {
+            q = lits.get(i);
+            if (voc.getLevel(q) == 0) {
+                continue;
+            }
+            if (dominator == ILits.UNDEFINED) {
+                dominator = q;
+            } else {
+                dominator = commonAncestor(dominator, q);
+            }
+        }
+        return dominator;
+    }
+
+    private int commonAncestor(int p, int q) {
+        int a = p;
+        int b = q;
+        while (this.depth[LiteralsUtils.var(a)] > this.depth[LiteralsUtils
+                .var(b)]) {
+            a = this.parent[LiteralsUtils.var(a)];
+        }
+        while (this.depth[LiteralsUtils.var(b)] > this.depth[LiteralsUtils
+                .var(a)]) {
+            b = this.parent[LiteralsUtils.var(b)];
+        }
+        while (a != b) {
+            a = this.parent[LiteralsUtils.var(a)];
+            b = this.parent[LiteralsUtils.var(b)];
+        }
+        return a;
+    }
+
+    private void learnHyperBinaryResolvent(int dominator, int q) {
+        IVecInt clause = new VecInt(2);
+        clause.push(q);
+        clause.push(dominator ^ 1);
+        Constr resolvent = this.solver.dsfactory
+                .createUnregisteredClause(clause);
+        this.solver.learn(resolvent);
+        this.solver.learnedConstraintsDeletionStrategy
+                .onClauseLearning(resolvent);
+        this.solver.stats.hyperBinaryResolvents++;
+    }
+
+    /**
+     * @return false iff the formula has been found unsatisfiable.
+     */
+    private boolean learnUnits() {
+        ILits voc = this.solver.voc;
+        int p;
+        for (int i = 0; i < this.units.size(); i++) {
+            p = this.units.get(i);
+            if (voc.isSatisfied(p)) {
+                continue;
+            }
+            this.solver.stats.learnedliterals++;
+            this.solver.slistener.learnUnit(LiteralsUtils.toDimacs(p));
+            if (!this.solver.enqueue(p) || this.solver.propagate() != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public String toString() {
+        return "Failed literal probing with hyper-binary resolution";
+    }
+}
@@ -121,6 +121,12 @@ public final class Heap implements Serializable {
         percolateUp(this.indices.get(n));
     }
 
+    public void decrease(int n) {
+        assert ok(n);
+        assert inHeap(n);
+        percolateDown(this.indices.get(n));
+    }
+
     public boolean empty() {
         return this.heap.size() == 1;
     }
@@ -152,6 +158,15 @@ public final class Heap implements Serializable {
         return get(1);
     }
 
+    /**
+     * @return the best element of the heap, without removing it.
+     * @since 2.3.6
+     */
+    public int peekmin() {
+        assert !empty();
+        return this.heap.get(1);
+    }
+
     public boolean heapProperty() {
         return heapProperty(1);
     }
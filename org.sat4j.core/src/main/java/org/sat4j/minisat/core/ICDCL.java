@@ -31,6 +31,7 @@ package org.sat4j.minisat.core;
 
 import org.sat4j.specs.ILogAble;
 import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVec;
 import org.sat4j.specs.UnitPropagationListener;
 
 /**
@@ -106,6 +107,44 @@ public interface ICDCL<D extends DataStructureFactory> extends ISolver,
 
     ISimplifier getSimplifier();
 
+    /**
+     * Add a strategy to simplify the constraints database at restart
+     * boundaries. The strategies are applied in the order they have been
+     * added.
+     * 
+     * @param strategy
+     *            an inprocessing strategy.
+     * @since 2.3.6
+     */
+    void addInprocessingStrategy(InprocessingStrategy strategy);
+
+    /**
+     * 
+     * @return the inprocessing strategies used by the solver.
+     * @since 2.3.6
+     */
+    IVec<InprocessingStrategy> getInprocessingStrategies();
+
+    /**
+     * Add a strategy to simplify the constraints database once before the
+     * search, at decision level 0 and before the assumptions are satisfied.
+     * The strategies are applied again only if new constraints have been
+     * added to the solver.
+     * 
+     * @param strategy
+     *            a simplification strategy.
+     * @see SearchParams#setPreprocessingBudget(long)
+     * @since 2.3.6
+     */
+    void addPreprocessingStrategy(InprocessingStrategy strategy);
+
+    /**
+     * 
+     * @return the preprocessing strategies used by the solver.
+     * @since 2.3.6
+     */
+    IVec<InprocessingStrategy> getPreprocessingStrategies();
+
     /**
      * @param lcds
      * @since 2.1
@@ -0,0 +1,83 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import org.sat4j.specs.Constr;
+
+/**
+ * Vocabulary storing binary clauses as an implication graph: for each literal,
+ * the array of the literals implied when it is satisfied.
+ * 
+ * The solver propagates those implications before visiting the watch list of
+ * the literal, without any object allocation: the reason of an implied literal
+ * is a constraint shared by all the literals implied by the same literal.
+ * 
+ * @since 2.3.6
+ */
+public interface ILitsWithImplicationGraph extends ILits {
+
+    /**
+     * 
+     * @param lit
+     *            a literal
+     * @return the literals implied by lit. Only the first
+     *         {@link #nbImplications(int)} elements are meaningful.
+     */
+    int[] implications(int lit);
+
+    /**
+     * 
+     * @param lit
+     *            a literal
+     * @return the number of literals implied by lit.
+     */
+    int nbImplications(int lit);
+
+    /**
+     * 
+     * @param lit
+     *            a satisfied literal
+     * @return the reason of the literals implied by lit.
+     */
+    Constr impliedBy(int lit);
+
+    /**
+     * Describe the binary clause falsified when lit is satisfied and implied
+     * is falsified. The returned constraint may be reused by the next call to
+     * that method.
+     * 
+     * @param lit
+     *            a satisfied literal
+     * @param implied
+     *            a falsified literal implied by lit
+     * @return the conflicting binary clause.
+     */
+    Constr binaryConflict(int lit, int implied);
+}
@@ -0,0 +1,69 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import org.sat4j.specs.IVecInt;
+
+/**
+ * Phase selection strategy which needs to observe the trail of the solver on
+ * conflicts and to know when the solver restarts, for instance to remember the
+ * longest assignment found without conflict.
+ * 
+ * @since 2.3.6
+ */
+public interface ITrailAwarePhaseSelectionStrategy extends
+        IPhaseSelectionStrategy {
+
+    /**
+     * Method called on each conflict, before conflict analysis.
+     * 
+     * @param trail
+     *            the trail of the solver. DO NOT MODIFY IT.
+     * @param conflictFreeSize
+     *            the number of literals at the beginning of the trail which
+     *            were propagated without conflict.
+     */
+    void onConflict(IVecInt trail, int conflictFreeSize);
+
+    /**
+     * Method called each time the solver restarts.
+     */
+    void onRestart();
+
+    /**
+     * Method called before each search when the restart strategy alternates
+     * between focused and stable modes.
+     * 
+     * @param stable
+     *            true iff the search is in stable mode.
+     * @see ModeSwitchingRestartStrategy
+     */
+    void onModeSwitch(boolean stable);
+}
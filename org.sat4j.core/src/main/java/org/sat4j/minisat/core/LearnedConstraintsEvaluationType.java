@@ -51,5 +51,14 @@ public enum LearnedConstraintsEvaluationType {
      * LBD updated also when the unit propagation is performed on the unit
      * clauses.
      */
-    LBD2;
+    LBD2,
+
+    /**
+     * LBD used to split the clauses into three tiers: core clauses kept
+     * forever, tier 2 clauses kept while they are used, local clauses reduced
+     * at each cleanup.
+     * 
+     * @since 2.3.6
+     */
+    THREE_TIERS;
 }
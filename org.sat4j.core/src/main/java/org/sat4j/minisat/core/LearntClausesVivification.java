@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+
+import org.sat4j.core.LiteralsUtils;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.specs.Constr;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+
+/**
+ * Vivification of the learned clauses. For each learned clause, the negation
+ * of its literals are propagated one by one: the literals falsified by the
+ * propagation of the previous ones are removed, and the clause is cut as soon
+ * as a literal is satisfied or a conflict occurs.
+ * 
+ * The best learned clauses are processed first: the ones with the smallest
+ * LBD when the learned constraints deletion strategy is LBD based, else the
+ * shortest ones. A clause is vivified only once.
+ * 
+ * @since 2.3.6
+ */
+public class LearntClausesVivification<D extends DataStructureFactory>
+        implements InprocessingStrategy {
+
+    private static final long serialVersionUID = 1L;
+
+    private final Solver<D> solver;
+
+    private Map<Constr, Boolean> vivified = new IdentityHashMap<Constr, Boolean>();
+
+    private final IVecInt literals = new VecInt();
+
+    public LearntClausesVivification(Solver<D> solver) {
+        this.solver = solver;
+    }
+
+    public boolean inprocess(long budget) {
+        long begin = System.currentTimeMillis();
+        try {
+            return vivify(this.solver.stats.propagations + budget);
+        } finally {
+            this.solver.stats.vivificationTime += System.currentTimeMillis()
+                    - begin;
+        }
+    }
+
+    private boolean vivify(long limit) {
+        IVec<Constr> learnts = this.solver.learnts;
+        Map<Constr, Boolean> alreadyVivified = new IdentityHashMap<Constr, Boolean>();
+        IVec<Constr> candidates = new Vec<Constr>();
+        for (int i = 0; i < learnts.size(); i++) {
+            Constr c = learnts.get(i);
+            if (this.vivified.containsKey(c)) {
+                alreadyVivified.put(c, Boolean.TRUE);
+            } else if (c.size() > 2) {
+                candidates.push(c);
+            }
+        }
+        this.vivified = alreadyVivified;
+        if (this.solver.learnedConstraintsDeletionStrategy instanceof GlucoseLCDS<?>) {
+            candidates.sort(new ActivityComparator());
+        } else {
+            candidates.sort(new SizeComparator());
+        }
+        Map<Constr, Constr> replacements = new IdentityHashMap<Constr, Constr>();
+        boolean consistent = true;
+        for (int i = 0; i < candidates.size()
+                && this.solver.stats.propagations < limit; i++) {
+            Constr c = candidates.get(i);
+            if (c.locked()) {
+                continue;
+            }
+            this.vivified.put(c, Boolean.TRUE);
+            consistent = vivify(c, replacements);
+            if (!consistent) {
+                break;
+            }
+        }
+        if (!replacements.isEmpty()) {
+            int j = 0;
+            for (int i = 0; i < learnts.size(); i++) {
+                Constr c = learnts.get(i);
+                if (replacements.containsKey(c)) {
+                    c = replacements.get(c);
+                }
+                if (c != null) {
+                    learnts.set(j++, c);
+                }
+            }
+            learnts.shrinkTo(j);
+        }
+        return consistent;
+    }
+
+    /**
+     * @return false iff the formula has been found unsatisfiable.
+     */
+    private boolean vivify(Constr c, Map<Constr, Constr> replacements) {
+        ILits voc = this.solver.voc;
+        int[] lits = new int[c.size()];
+        for (int i = 0; i < lits.length; i++) {
+            lits[i] = c.get(i);
+        }
+        this.literals.clear();
+        boolean satisfiedAtRootLevel = false;
+        for (int p : lits) {
+            if (voc.isSatisfied(p)) {
+                if (voc.getLevel(p) == 0) {
+                    satisfiedAtRootLevel = true;
+                } else {
+                    this.literals.push(p);
+                }
+                break;
+            }
+            if (voc.isFalsified(p)) {
+                continue;
+            }
+            this.literals.push(p);
+            this.solver.assume(p ^ 1);
+            if (this.solver.propagate() != null) {
+                break;
+            }
+        }
+        this.solver.cancelUntil(0);
+        if (!satisfiedAtRootLevel && this.literals.size() == lits.length) {
+            return true;
+        }
+        this.solver.stats.vivifiedClauses++;
+        this.solver.stats.vivifiedLiterals += lits.length
+                - this.literals.size();
+        c.remove(this.solver);
+        this.solver.slistener.delete(c);
+        if (satisfiedAtRootLevel) {
+            replacements.put(c, null);
+            return true;
+        }
+        switch (this.literals.size()) {
+        case 0:
+            return false;
+        case 1:
+            replacements.put(c, null);
+            this.solver.stats.learnedliterals++;
+            this.solver.slistener.learnUnit(LiteralsUtils
+                    .toDimacs(this.literals.get(0)));
+            return this.solver.enqueue(this.literals.get(0))
+                    && this.solver.propagate() == null;
+        default:
+            IVecInt clause = new VecInt(this.literals.size());
+            this.literals.copyTo(clause);
+            Constr shorter = this.solver.dsfactory
+                    .createUnregisteredClause(clause);
+            shorter.setLearnt();
+            shorter.register();
+            shorter.setActivity(c.getActivity());
+            this.solver.slistener.learn(shorter);
+            replacements.put(c, shorter);
+            return true;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Vivification of the learned clauses";
+    }
+}
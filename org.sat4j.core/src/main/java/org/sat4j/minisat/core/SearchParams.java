@@ -102,6 +102,16 @@ public class SearchParams implements Serializable {
 
     private int initConflictBound;
 
+    private double inprocessingEffort = 0.1;
+
+    private int chronologicalBacktrackingThreshold = -1;
+
+    private boolean trailReuse = false;
+
+    private double stableVarDecay = 0.99;
+
+    private long preprocessingBudget = 1000000;
+
     /*
      * (non-Javadoc)
      * 
@@ -173,4 +183,112 @@ public class SearchParams implements Serializable {
     public void setVarDecay(double varDecay) {
         this.varDecay = varDecay;
     }
+
+    /**
+     * @return the ratio of the propagations of the search that can be spent
+     *         by inprocessing
+     * @since 2.3.6
+     */
+    public double getInprocessingEffort() {
+        return this.inprocessingEffort;
+    }
+
+    /**
+     * @param inprocessingEffort
+     *            the ratio of the propagations of the search that can be
+     *            spent by inprocessing
+     * @since 2.3.6
+     */
+    public void setInprocessingEffort(double inprocessingEffort) {
+        this.inprocessingEffort = inprocessingEffort;
+    }
+
+    /**
+     * @return the maximal number of decision levels the solver may jump over
+     *         after a conflict before backtracking chronologically instead,
+     *         or a negative value if chronological backtracking is disabled.
+     * @since 2.3.6
+     */
+    public int getChronologicalBacktrackingThreshold() {
+        return this.chronologicalBacktrackingThreshold;
+    }
+
+    /**
+     * Enable chronological backtracking: when the backjump computed by
+     * conflict analysis would undo more than <code>threshold</code> decision
+     * levels, the solver only cancels the last decision level and assigns the
+     * asserting literal at its actual level, out of the order of the trail.
+     * 
+     * @param threshold
+     *            the maximal backjump distance, or a negative value to
+     *            disable chronological backtracking (default).
+     * @since 2.3.6
+     */
+    public void setChronologicalBacktrackingThreshold(int threshold) {
+        this.chronologicalBacktrackingThreshold = threshold;
+    }
+
+    /**
+     * @return true iff the solver keeps on restart the decisions that the
+     *         heuristics would take again.
+     * @since 2.3.6
+     */
+    public boolean isTrailReuse() {
+        return this.trailReuse;
+    }
+
+    /**
+     * Enable partial restarts: on restart, the solver only backtracks to the
+     * first decision on a variable less active than the next variable the
+     * heuristics would pick, saving the propagation of the reused part of
+     * the trail.
+     * 
+     * @param trailReuse
+     *            true to backtrack partially on restarts.
+     * @since 2.3.6
+     */
+    public void setTrailReuse(boolean trailReuse) {
+        this.trailReuse = trailReuse;
+    }
+
+    /**
+     * @return the variable decay used when the restart strategy is in stable
+     *         mode.
+     * @see ModeSwitchingRestartStrategy
+     * @since 2.3.6
+     */
+    public double getStableVarDecay() {
+        return this.stableVarDecay;
+    }
+
+    /**
+     * @param stableVarDecay
+     *            the variable decay to use when the restart strategy is in
+     *            stable mode, usually closer to 1 than the variable decay of
+     *            the focused mode.
+     * @see ModeSwitchingRestartStrategy
+     * @since 2.3.6
+     */
+    public void setStableVarDecay(double stableVarDecay) {
+        this.stableVarDecay = stableVarDecay;
+    }
+
+    /**
+     * @return the number of propagations the preprocessing strategies are
+     *         allowed to perform.
+     * @since 2.3.6
+     */
+    public long getPreprocessingBudget() {
+        return this.preprocessingBudget;
+    }
+
+    /**
+     * @param preprocessingBudget
+     *            the number of propagations the preprocessing strategies are
+     *            allowed to perform.
+     * @since 2.3.6
+     */
+    public void setPreprocessingBudget(long preprocessingBudget) {
+        this.preprocessingBudget = preprocessingBudget;
+    }
 }
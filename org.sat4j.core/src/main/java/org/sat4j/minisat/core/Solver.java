@@ -45,8 +45,7 @@ import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
+import java.util.concurrent.ScheduledFuture;
 
 import org.sat4j.core.ConstrGroup;
 import org.sat4j.core.LiteralsUtils;
@@ -143,6 +142,14 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
 
     private boolean timeBasedTimeout = true;
 
+    private boolean workBasedTimeout = false;
+
+    /**
+     * number of units of work (propagations and inspections) after which the
+     * solver stops.
+     */
+    private long workLimit = Long.MAX_VALUE;
+
     protected D dsfactory;
 
     private SearchParams params;
@@ -153,6 +160,31 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
 
     private RestartStrategy restarter;
 
+    private final IVec<InprocessingStrategy> inprocessingStrategies = new Vec<InprocessingStrategy>();
+
+    private final IVec<InprocessingStrategy> preprocessingStrategies = new Vec<InprocessingStrategy>();
+
+    /**
+     * number of constraints when the last preprocessing occurred.
+     */
+    private int lastPreprocessing = -1;
+
+    /**
+     * number of propagations when the last inprocessing ended.
+     */
+    private long lastInprocessing;
+
+    /**
+     * inprocessing is skipped when the budget is below that number of
+     * propagations.
+     */
+    private static final long MIN_INPROCESSING_BUDGET = 10000;
+
+    /**
+     * true while the inprocessing strategies are running.
+     */
+    private boolean inprocessing;
+
     private final Map<String, Counter> constrTypes = new HashMap<String, Counter>();
 
     private boolean isDBSimplificationAllowed = false;
@@ -163,6 +195,28 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
 
     private boolean keepHot = false;
 
+    private boolean keepAssumptionPrefix = false;
+
+    /**
+     * The assumptions of the last call still assigned on the trail, and the
+     * decision level reached after each of them.
+     */
+    private final IVecInt keptAssumptions = new VecInt();
+
+    private final IVecInt keptAssumptionLevels = new VecInt();
+
+    /**
+     * The size of the trail before the literals learned at level 0, when the
+     * trail is kept between two calls, -1 else.
+     */
+    private int keptLearnedLiteralsLimit = -1;
+
+    /**
+     * The highest decision level that can be kept on the trail at the end of
+     * the current call.
+     */
+    private int reusableLevel;
+
     private String prefix = "c ";
     private int declaredMaxVarId = 0;
 
@@ -240,6 +294,16 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         this.dsfactory.setUnitPropagationListener(this);
         this.dsfactory.setLearner(this);
         this.voc = dsf.getVocabulary();
+        if (this.voc instanceof ILitsWithBlockers) {
+            this.blockingVoc = (ILitsWithBlockers) this.voc;
+        } else {
+            this.blockingVoc = null;
+        }
+        if (this.voc instanceof ILitsWithImplicationGraph) {
+            this.implicationVoc = (ILitsWithImplicationGraph) this.voc;
+        } else {
+            this.implicationVoc = null;
+        }
         this.order.setLits(this.voc);
     }
 
@@ -307,21 +371,41 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
     public void setTimeout(int t) {
         this.timeout = t * 1000L;
         this.timeBasedTimeout = true;
+        this.workBasedTimeout = false;
+        this.workLimit = Long.MAX_VALUE;
         this.undertimeout = true;
     }
 
     public void setTimeoutMs(long t) {
         this.timeout = t;
         this.timeBasedTimeout = true;
+        this.workBasedTimeout = false;
+        this.workLimit = Long.MAX_VALUE;
         this.undertimeout = true;
     }
 
     public void setTimeoutOnConflicts(int count) {
         this.timeout = count;
         this.timeBasedTimeout = false;
+        this.workBasedTimeout = false;
+        this.workLimit = Long.MAX_VALUE;
+        this.undertimeout = true;
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public void setTimeoutOnWork(long ticks) {
+        this.timeout = ticks;
+        this.timeBasedTimeout = false;
+        this.workBasedTimeout = true;
         this.undertimeout = true;
     }
 
+    private long work() {
+        return this.stats.propagations + this.stats.inspects;
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -359,10 +443,7 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
     public void expireTimeout() {
         this.undertimeout = false;
         if (this.timeBasedTimeout) {
-            if (this.timer != null) {
-                this.timer.cancel();
-                this.timer = null;
-            }
+            cancelTimer();
         } else {
             if (this.conflictCount != null) {
                 this.conflictCount = null;
@@ -414,6 +495,7 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
     }
 
     public IConstr addClause(IVecInt literals) throws ContradictionException {
+        cancelKeptAssumptions();
         IVecInt vlits = dimacs2internal(literals);
         return addConstr(this.dsfactory.createClause(vlits));
     }
@@ -423,6 +505,7 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
             throw new IllegalArgumentException(
                     "Reference to the constraint to remove needed!"); //$NON-NLS-1$
         }
+        cancelKeptAssumptions();
         Constr c = (Constr) co;
         c.remove(this);
         this.constrs.remove(c);
@@ -444,6 +527,7 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
             throw new IllegalArgumentException(
                     "Can only remove latest added constraint!!!"); //$NON-NLS-1$
         }
+        cancelKeptAssumptions();
         Constr c = (Constr) co;
         c.remove(this);
         this.constrs.pop();
@@ -460,6 +544,68 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         }
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public void addClauses(int[] flatLits, int[] offsets)
+            throws ContradictionException {
+        int nbClauses = offsets.length - 1;
+        if (nbClauses <= 0) {
+            return;
+        }
+        cancelKeptAssumptions();
+        int from = offsets[0];
+        int to = offsets[nbClauses];
+        // translate all the literals at once, the pool being extended only
+        // once for the greatest variable
+        int maxVar = 0;
+        for (int i = from; i < to; i++) {
+            int p = flatLits[i];
+            if (p == 0) {
+                throw new IllegalArgumentException(
+                        "0 is not a valid variable identifier");
+            }
+            if (p < 0) {
+                p = -p;
+            }
+            if (p > maxVar) {
+                maxVar = p;
+            }
+        }
+        if (maxVar > 0) {
+            this.voc.getFromPool(maxVar);
+        }
+        int[] internal = new int[to - from];
+        for (int i = from; i < to; i++) {
+            internal[i - from] = this.voc.getFromPool(flatLits[i]);
+        }
+        // size the watch lists for the clauses watching their two first
+        // literals
+        int[] nbWatches = new int[(maxVar + 1) << 1];
+        for (int i = 0; i < nbClauses; i++) {
+            if (offsets[i + 1] - offsets[i] > 2) {
+                nbWatches[internal[offsets[i] - from] ^ 1]++;
+                nbWatches[internal[offsets[i] - from + 1] ^ 1]++;
+            }
+        }
+        for (int p = 2; p < nbWatches.length; p++) {
+            if (nbWatches[p] > 0) {
+                IVec<Propagatable> watches = this.voc.watches(p);
+                watches.ensure(watches.size() + nbWatches[p]);
+            }
+        }
+        this.constrs.ensure(this.constrs.size() + nbClauses);
+        IVecInt vlits = this.__dimacs_out;
+        for (int i = 0; i < nbClauses; i++) {
+            vlits.clear();
+            vlits.ensure(offsets[i + 1] - offsets[i]);
+            for (int j = offsets[i] - from; j < offsets[i + 1] - from; j++) {
+                vlits.unsafePush(internal[j]);
+            }
+            addConstr(this.dsfactory.createClause(vlits));
+        }
+    }
+
     public IConstr addAtMost(IVecInt literals, int degree)
             throws ContradictionException {
         int n = literals.size();
@@ -472,6 +618,7 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
 
     public IConstr addAtLeast(IVecInt literals, int degree)
             throws ContradictionException {
+        cancelKeptAssumptions();
         IVecInt vlits = dimacs2internal(literals);
         return addConstr(this.dsfactory.createCardinalityConstraint(vlits,
                 degree));
@@ -551,7 +698,7 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         this.voc.setLevel(p, decisionLevel());
         this.voc.setReason(p, from);
         this.trail.push(p);
-        if (from != null && from.learnt()) {
+        if (from != null && from.learnt() && !this.inprocessing) {
             this.learnedConstraintsDeletionStrategy.onPropagation(from);
         }
         return true;
@@ -563,6 +710,8 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
 
     private final IVecInt moutLearnt = new VecInt();
 
+    private final IVecInt mpostponed = new VecInt();
+
     /**
      * @throws TimeoutException
      *             if the timeout is reached during conflict analysis.
@@ -573,6 +722,7 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         final boolean[] seen = this.mseen;
         final IVecInt outLearnt = this.moutLearnt;
         final IVecInt preason = this.mpreason;
+        final IVecInt postponed = this.mpostponed;
 
         outLearnt.clear();
         assert outLearnt.size() == 0;
@@ -617,14 +767,29 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
             }
             prevConfl = confl;
             // select next reason to look at
-            do {
+            for (;;) {
                 p = this.trail.last();
-                confl = this.voc.getReason(p);
-                undoOne();
-            } while (!seen[p >> 1]);
+                if (this.chronologicalTrail
+                        && this.voc.getLevel(p) < decisionLevel()) {
+                    // assigned out of order after a chronological backtrack:
+                    // it stays assigned, the backtrack will decide its fate
+                    this.trail.pop();
+                    postponed.push(p);
+                } else {
+                    confl = this.voc.getReason(p);
+                    undoOne();
+                    if (seen[p >> 1]) {
+                        break;
+                    }
+                }
+            }
             // seen[p.var] indique que p se trouve dans outLearnt ou dans
             // le dernier niveau de d?cision
         } while (--counter > 0);
+        for (int i = postponed.size() - 1; i >= 0; i--) {
+            this.trail.push(postponed.get(i));
+        }
+        postponed.clear();
 
         outLearnt.set(0, p ^ 1);
         this.simplifier.simplify(outLearnt);
@@ -831,6 +996,112 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         return this.simplifier;
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * org.sat4j.minisat.core.ICDCL#addInprocessingStrategy(org.sat4j.minisat
+     * .core.InprocessingStrategy)
+     */
+    public void addInprocessingStrategy(InprocessingStrategy strategy) {
+        this.inprocessingStrategies.push(strategy);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.sat4j.minisat.core.ICDCL#getInprocessingStrategies()
+     */
+    public IVec<InprocessingStrategy> getInprocessingStrategies() {
+        return this.inprocessingStrategies;
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see
+     * org.sat4j.minisat.core.ICDCL#addPreprocessingStrategy(org.sat4j.minisat
+     * .core.InprocessingStrategy)
+     */
+    public void addPreprocessingStrategy(InprocessingStrategy strategy) {
+        this.preprocessingStrategies.push(strategy);
+    }
+
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.sat4j.minisat.core.ICDCL#getPreprocessingStrategies()
+     */
+    public IVec<InprocessingStrategy> getPreprocessingStrategies() {
+        return this.preprocessingStrategies;
+    }
+
+    /**
+     * Apply the preprocessing strategies at decision level 0, before the
+     * assumptions are satisfied, if the constraints have changed since the
+     * last preprocessing.
+     * 
+     * @return false iff the formula has been found unsatisfiable.
+     */
+    private boolean preprocess() {
+        if (this.preprocessingStrategies.isEmpty()
+                || this.lastPreprocessing == this.constrs.size()) {
+            return true;
+        }
+        assert decisionLevel() == 0;
+        this.lastPreprocessing = this.constrs.size();
+        long budget = this.params.getPreprocessingBudget();
+        this.inprocessing = true;
+        try {
+            for (int i = 0; i < this.preprocessingStrategies.size()
+                    && budget > 0; i++) {
+                long before = this.stats.propagations;
+                if (!this.preprocessingStrategies.get(i).inprocess(budget)) {
+                    return false;
+                }
+                budget -= this.stats.propagations - before;
+            }
+        } finally {
+            this.inprocessing = false;
+        }
+        return true;
+    }
+
+    /**
+     * Apply the inprocessing strategies at decision level 0. The strategies
+     * share a budget of propagations which is a fraction of the number of
+     * propagations performed by the search since the last inprocessing.
+     * 
+     * @return false iff the formula has been found unsatisfiable.
+     */
+    private boolean inprocess() {
+        if (this.inprocessingStrategies.isEmpty() || this.rootLevel != 0) {
+            return true;
+        }
+        long budget = (long) ((this.stats.propagations - this.lastInprocessing) * this.params
+                .getInprocessingEffort());
+        if (budget < MIN_INPROCESSING_BUDGET) {
+            return true;
+        }
+        cancelUntil(0);
+        this.stats.inprocessings++;
+        this.inprocessing = true;
+        try {
+            for (int i = 0; i < this.inprocessingStrategies.size()
+                    && budget > 0; i++) {
+                long before = this.stats.propagations;
+                if (!this.inprocessingStrategies.get(i).inprocess(budget)) {
+                    return false;
+                }
+                budget -= this.stats.propagations - before;
+            }
+        } finally {
+            this.inprocessing = false;
+            this.lastInprocessing = this.stats.propagations;
+        }
+        return true;
+    }
+
     // MiniSat -- Copyright (c) 2003-2005, Niklas Een, Niklas Sorensson
     //
     // Permission is hereby granted, free of charge, to any person obtaining a
@@ -1055,6 +1326,20 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
 
     final IVec<Propagatable> watched = new Vec<Propagatable>();
 
+    /**
+     * Not null iff the vocabulary maintains blocking literals in its watch
+     * lists.
+     */
+    private ILitsWithBlockers blockingVoc;
+
+    private final WatchesWithBlockers blockingWatched = new WatchesWithBlockers();
+
+    /**
+     * Not null iff the vocabulary stores the binary clauses in an implication
+     * graph.
+     */
+    private ILitsWithImplicationGraph implicationVoc;
+
     /**
      * @return null if not conflict is found, else a conflicting constraint.
      */
@@ -1066,6 +1351,11 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         // ltrail.size() changes due to propagation
         // cannot cache that value.
         while (this.qhead < ltrail.size()) {
+            if (lstats.propagations + lstats.inspects >= this.workLimit) {
+                // deterministic timeout: finish the propagation and let the
+                // search stop
+                this.undertimeout = false;
+            }
             lstats.propagations++;
             int p = ltrail.get(this.qhead++);
             lslistener.propagating(toDimacs(p));
@@ -1083,6 +1373,16 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         // Moved original MiniSAT code to dsfactory to avoid
         // watches manipulation in counter Based clauses for instance.
         assert p > 1;
+        if (this.implicationVoc != null) {
+            // binary clauses are propagated first
+            Constr confl = propagateImplications(p);
+            if (confl != null) {
+                return confl;
+            }
+        }
+        if (this.blockingVoc != null) {
+            return reduceClausesContainingTheNegationOfWithBlockers(p);
+        }
         IVec<Propagatable> lwatched = this.watched;
         lwatched.clear();
         this.voc.watches(p).moveTo(lwatched);
@@ -1112,6 +1412,56 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         return null;
     }
 
+    private Constr propagateImplications(int p) {
+        final ILitsWithImplicationGraph lvoc = this.implicationVoc;
+        final int size = lvoc.nbImplications(p);
+        if (size == 0) {
+            return null;
+        }
+        final int[] implied = lvoc.implications(p);
+        final Constr reason = lvoc.impliedBy(p);
+        for (int i = 0; i < size; i++) {
+            if (!enqueue(implied[i], reason)) {
+                this.qhead = this.trail.size(); // propQ.clear();
+                return lvoc.binaryConflict(p, implied[i]);
+            }
+        }
+        return null;
+    }
+
+    private Constr reduceClausesContainingTheNegationOfWithBlockers(int p) {
+        final WatchesWithBlockers watchesOfP = this.blockingVoc
+                .blockingWatches(p);
+        final WatchesWithBlockers lwatched = this.blockingWatched;
+        lwatched.clear();
+        watchesOfP.moveTo(lwatched);
+        final Propagatable[] watchers = lwatched.toArray();
+        final int[] blockers = lwatched.blockers();
+        final int size = lwatched.size();
+        int blocker;
+        for (int i = 0; i < size; i++) {
+            blocker = blockers[i];
+            if (blocker != ILits.UNDEFINED && this.voc.isSatisfied(blocker)) {
+                // the constraint is satisfied, no need to visit it
+                watchesOfP.push(watchers[i], blocker);
+                this.stats.shortcuts++;
+                continue;
+            }
+            this.stats.inspects++;
+            if (!watchers[i].propagate(this, p)) {
+                // Constraint is conflicting: copy remaining watches to
+                // watches[p]
+                // and return constraint
+                for (int j = i + 1; j < size; j++) {
+                    watchesOfP.push(watchers[j], blockers[j]);
+                }
+                this.qhead = this.trail.size(); // propQ.clear();
+                return watchers[i].toConstraint();
+            }
+        }
+        return null;
+    }
+
     void record(Constr constr) {
         constr.assertConstraint(this);
         int p = toDimacs(constr.get(0));
@@ -1140,6 +1490,10 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
      * Revert to the state before the last assume()
      */
     void cancel() {
+        if (this.chronologicalTrail) {
+            cancelUntil(decisionLevel() - 1);
+            return;
+        }
         // assert trail.size() == qhead || !undertimeout;
         int decisionvar = this.trail.unsafeGet(this.trailLim.last());
         this.slistener.backtracking(toDimacs(decisionvar));
@@ -1164,41 +1518,256 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         // learnedLiterals = 0;
     }
 
+    /**
+     * Backtrack at the end of a call to isSatisfiable(). Unless the
+     * assumptions are kept between calls, the solver goes back to level 0 and
+     * the literals learned at that level are saved in learnedLiterals.
+     * Otherwise, the assumptions assigned at a level not greater than
+     * maxLevel remain on the trail for the next call.
+     * 
+     * Note that the trail cannot be kept once the final conflict has been
+     * analyzed in terms of assumptions, since the analysis undoes it.
+     * 
+     * @param learnedLiteralsLimit
+     *            the size of the trail before the literals learned at level 0.
+     * @param maxLevel
+     *            the highest decision level that can be kept, -1 if the
+     *            trail cannot be kept.
+     */
+    private void backtrackAfterCall(int learnedLiteralsLimit, int maxLevel) {
+        if (this.keepAssumptionPrefix && maxLevel >= 0) {
+            int n = 0;
+            while (n < this.keptAssumptionLevels.size()
+                    && this.keptAssumptionLevels.get(n) <= maxLevel) {
+                n++;
+            }
+            int level = n == 0 ? 0 : this.keptAssumptionLevels.get(n - 1);
+            if (decisionLevel() >= level) {
+                cancelUntil(level);
+                if (this.qhead == this.trail.size()) {
+                    this.keptAssumptions.shrinkTo(n);
+                    this.keptAssumptionLevels.shrinkTo(n);
+                    this.keptLearnedLiteralsLimit = learnedLiteralsLimit;
+                    return;
+                }
+            }
+        }
+        this.keptAssumptions.clear();
+        this.keptAssumptionLevels.clear();
+        cancelUntil(0);
+        cancelLearntLiterals(learnedLiteralsLimit);
+    }
+
+    /**
+     * Backtrack to the longest common prefix of the assumptions kept on the
+     * trail by the previous call and of the new assumptions.
+     * 
+     * @param assumps
+     *            the new assumptions, in internal representation.
+     * @return the number of assumptions already assigned on the trail.
+     */
+    private int reuseKeptAssumptions(IVecInt assumps) {
+        int common = 0;
+        int max = Math.min(assumps.size(), this.keptAssumptions.size());
+        while (common < max
+                && this.keptAssumptions.get(common) == assumps.get(common)) {
+            common++;
+        }
+        this.keptAssumptions.shrinkTo(common);
+        this.keptAssumptionLevels.shrinkTo(common);
+        cancelUntil(common == 0 ? 0 : this.keptAssumptionLevels.last());
+        if (propagate() != null) {
+            cancelKeptAssumptions();
+            return 0;
+        }
+        this.stats.reusedAssumptions += common;
+        return common;
+    }
+
+    /**
+     * Give back to the solver the trail kept since the last call to
+     * isSatisfiable() with the assumptions. This must be done before any
+     * change to the constraints of the solver, since the constraints are
+     * always handled at decision level 0 between two calls.
+     * 
+     * @since 2.3.6
+     */
+    protected void cancelKeptAssumptions() {
+        this.keptAssumptions.clear();
+        this.keptAssumptionLevels.clear();
+        if (this.keptLearnedLiteralsLimit >= 0) {
+            cancelUntil(0);
+            cancelLearntLiterals(this.keptLearnedLiteralsLimit);
+            this.keptLearnedLiteralsLimit = -1;
+        }
+    }
+
     /**
      * Cancel several levels of assumptions
      * 
      * @param level
      */
     protected void cancelUntil(int level) {
+        if (!this.chronologicalTrail) {
+            while (decisionLevel() > level) {
+                cancel();
+            }
+            return;
+        }
+        if (decisionLevel() <= level) {
+            return;
+        }
+        // the literals assigned out of order at a level lower or equal to
+        // level must survive the backtrack
+        int p;
         while (decisionLevel() > level) {
-            cancel();
+            this.slistener.backtracking(toDimacs(this.trail
+                    .unsafeGet(this.trailLim.last())));
+            for (int c = this.trail.size() - this.trailLim.last(); c > 0; c--) {
+                p = this.trail.last();
+                if (this.voc.getLevel(p) <= level) {
+                    keepOutOfOrderLiteral(p);
+                }
+                undoOne();
+            }
+            this.trailLim.pop();
+        }
+        this.qhead = this.trail.size();
+        restoreOutOfOrderLiterals(level);
+        if (level == 0) {
+            this.chronologicalTrail = false;
         }
     }
 
     protected void cancelUntilTrailLevel(int level) {
+        int p;
         while (!trail.isEmpty() && trail.size() > level) {
+            p = trail.last();
+            if (this.chronologicalTrail && trail.size() - 1 > level
+                    && this.voc.getLevel(p) < decisionLevel()) {
+                keepOutOfOrderLiteral(p);
+            }
             undoOne();
             if (!trailLim.isEmpty() && trailLim.last() == trail.size()) {
                 trailLim.pop();
                 decisions.pop();
             }
         }
+        this.qhead = this.trail.size();
+        restoreOutOfOrderLiterals(decisionLevel());
+    }
+
+    /**
+     * Save a literal assigned out of the order of the trail before it is
+     * undone, so that it can be put back on the trail after backtracking.
+     * 
+     * @param p
+     *            a literal of the trail.
+     */
+    private void keepOutOfOrderLiteral(int p) {
+        this.outOfOrderLiterals.push(p);
+        this.outOfOrderLevels.push(this.voc.getLevel(p));
+        this.outOfOrderReasons.push(this.voc.getReason(p));
+    }
+
+    /**
+     * Put back on the trail, in their original order, the literals saved
+     * while backtracking whose level is not greater than level. Those
+     * literals are propagated again.
+     * 
+     * @param level
+     *            the decision level reached by the backtrack.
+     */
+    private void restoreOutOfOrderLiterals(int level) {
+        int start = this.trail.size();
+        int p;
+        for (int i = this.outOfOrderLiterals.size() - 1; i >= 0; i--) {
+            p = this.outOfOrderLiterals.get(i);
+            if (this.outOfOrderLevels.get(i) <= level) {
+                this.voc.satisfies(p);
+                this.voc.setLevel(p, this.outOfOrderLevels.get(i));
+                this.voc.setReason(p, this.outOfOrderReasons.get(i));
+                this.trail.push(p);
+            }
+        }
+        this.outOfOrderLiterals.clear();
+        this.outOfOrderLevels.clear();
+        this.outOfOrderReasons.clear();
+        if (this.trail.size() > start) {
+            this.qhead = Math.min(this.qhead, start);
+        }
+    }
+
+    /**
+     * Compute the highest decision level of the literals falsified by a
+     * conflict. After a chronological backtrack, it may be lower than the
+     * current decision level.
+     * 
+     * @param confl
+     *            a conflicting constraint
+     * @return the level at which the constraint became conflicting.
+     */
+    private int conflictLevel(Constr confl) {
+        IVecInt reason = this.mpreason;
+        reason.clear();
+        confl.calcReason(ILits.UNDEFINED, reason);
+        int level = 0;
+        for (int i = 0; i < reason.size(); i++) {
+            level = Math.max(level, this.voc.getLevel(reason.get(i)));
+        }
+        return level;
     }
 
     private final Pair analysisResult = new Pair();
 
+    /**
+     * true iff some literals of the trail may have been assigned at a lower
+     * level than the one of the decision preceding them.
+     */
+    private boolean chronologicalTrail;
+
+    private final IVecInt outOfOrderLiterals = new VecInt();
+
+    private final IVecInt outOfOrderLevels = new VecInt();
+
+    private final IVec<Constr> outOfOrderReasons = new Vec<Constr>();
+
     private boolean[] userbooleanmodel;
 
     private IVecInt unsatExplanationInTermsOfAssumptions;
 
     Lbool search(IVecInt assumps) {
-        assert this.rootLevel == decisionLevel();
+        assert this.rootLevel <= decisionLevel();
         this.stats.starts++;
         int backjumpLevel;
 
+        IPhaseSelectionStrategy phaseStrategy = this.order
+                .getPhaseSelectionStrategy();
+        final ITrailAwarePhaseSelectionStrategy trailAwarePhase;
+        if (phaseStrategy instanceof ITrailAwarePhaseSelectionStrategy) {
+            trailAwarePhase = (ITrailAwarePhaseSelectionStrategy) phaseStrategy;
+        } else {
+            trailAwarePhase = null;
+        }
+        boolean stable = false;
+        if (this.restarter instanceof ModeSwitchingRestartStrategy) {
+            stable = ((ModeSwitchingRestartStrategy) this.restarter)
+                    .isStable();
+            if (trailAwarePhase != null) {
+                trailAwarePhase.onModeSwitch(stable);
+            }
+        }
         // varDecay = 1 / params.varDecay;
-        this.order.setVarDecay(1 / this.params.getVarDecay());
+        if (stable) {
+            this.stats.stableStarts++;
+            this.order.setVarDecay(1 / this.params.getStableVarDecay());
+        } else {
+            this.order.setVarDecay(1 / this.params.getVarDecay());
+        }
         this.claDecay = 1 / this.params.getClaDecay();
+        final int chronoThreshold = this.params
+                .getChronologicalBacktrackingThreshold();
+        int cancelLevel;
 
         do {
             this.slistener.beginLoop();
@@ -1224,6 +1793,7 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
                         return Lbool.TRUE;
                     } else {
                         // this.sharedConflict;
+                        this.reusableLevel = -1;
                         if (decisionLevel() == rootLevel) {
                             confl = this.sharedConflict;
                             this.sharedConflict = null;
@@ -1231,7 +1801,6 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
                             int level = this.sharedConflict.getAssertionLevel(
                                     trail, decisionLevel());
                             cancelUntilTrailLevel(level);
-                            this.qhead = this.trail.size();
                             this.sharedConflict.assertConstraint(this);
                             this.sharedConflict = null;
 
@@ -1240,7 +1809,7 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
                     }
                 } else {
                     if (this.restarter.shouldRestart()) {
-                        cancelUntil(this.rootLevel);
+                        cancelUntil(reusedTrailLevel());
                         return Lbool.UNDEFINED;
                     }
                     if (this.needToReduceDB) {
@@ -1279,6 +1848,7 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
                             assert ret;
                         }
                     } else {
+                        this.reusableLevel = -1;
                         confl = this.sharedConflict;
                     }
                 }
@@ -1290,6 +1860,10 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
                         this.trail.size());
                 this.conflictCount.newConflict();
 
+                if (this.chronologicalTrail && decisionLevel() > this.rootLevel) {
+                    // the conflict may not involve the current decision level
+                    cancelUntil(Math.max(conflictLevel(confl), this.rootLevel));
+                }
                 if (decisionLevel() == this.rootLevel) {
                     if (this.lastConflictMeansUnsat) {
                         // conflict at root level, the formula is inconsistent
@@ -1299,6 +1873,10 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
                     }
                     return Lbool.UNDEFINED;
                 }
+                if (trailAwarePhase != null) {
+                    trailAwarePhase.onConflict(this.trail,
+                            this.trailLim.last());
+                }
                 int conflictTrailLevel = this.trail.size();
                 // analyze conflict
                 try {
@@ -1309,8 +1887,22 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
                 assert this.analysisResult.backtrackLevel < decisionLevel();
                 backjumpLevel = Math.max(this.analysisResult.backtrackLevel,
                         this.rootLevel);
-                this.slistener.backjump(backjumpLevel);
-                cancelUntil(backjumpLevel);
+                if (this.analysisResult.backtrackLevel < this.rootLevel) {
+                    // the learned constraint is already unit below the
+                    // assumptions, the levels from there must not be kept
+                    this.reusableLevel = Math.min(this.reusableLevel,
+                            this.analysisResult.backtrackLevel - 1);
+                }
+                if (chronoThreshold >= 0
+                        && decisionLevel() - backjumpLevel > chronoThreshold) {
+                    // keep the trail, only undo the conflict level
+                    cancelLevel = decisionLevel() - 1;
+                    this.stats.chronologicalBacktracks++;
+                } else {
+                    cancelLevel = backjumpLevel;
+                }
+                this.slistener.backjump(cancelLevel);
+                cancelUntil(cancelLevel);
                 if (backjumpLevel == this.rootLevel) {
                     this.restarter.onBackjumpToRootLevel();
                 }
@@ -1320,6 +1912,12 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
                     return Lbool.FALSE;
                 }
                 record(this.analysisResult.reason);
+                if (cancelLevel > backjumpLevel) {
+                    // the asserting literal is implied at backjumpLevel
+                    this.voc.setLevel(this.analysisResult.reason.get(0),
+                            backjumpLevel);
+                    this.chronologicalTrail = true;
+                }
                 this.restarter.newLearnedClause(this.analysisResult.reason,
                         conflictTrailLevel);
                 this.analysisResult.reason = null;
@@ -1329,6 +1927,35 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         return Lbool.UNDEFINED; // timeout occured
     }
 
+    /**
+     * Compute the level to backtrack to on restart. When trail reuse is
+     * enabled, the decisions on variables more active than the next decision
+     * variable would be taken again by the heuristics right after the
+     * restart, so they are kept on the trail.
+     * 
+     * @return the decision level to backtrack to.
+     */
+    private int reusedTrailLevel() {
+        if (!this.params.isTrailReuse() || decisionLevel() == this.rootLevel) {
+            return this.rootLevel;
+        }
+        // peek the next decision literal
+        int next = this.order.select();
+        if (next == ILits.UNDEFINED) {
+            return this.rootLevel;
+        }
+        this.order.undo(next >> 1);
+        double activity = this.order.varActivity(next);
+        int level = this.rootLevel;
+        while (level < decisionLevel()
+                && this.order.varActivity(this.trail.get(this.trailLim
+                        .get(level))) > activity) {
+            level++;
+        }
+        this.stats.reusedDecisions += level - this.rootLevel;
+        return level;
+    }
+
     private Constr preventTheSameDecisionsToBeMade() {
         IVecInt clause = new VecInt(nVars());
         int p;
@@ -1429,6 +2056,7 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
     protected int[] prime;
 
     public int[] primeImplicant() {
+        cancelKeptAssumptions();
         String primeApproach = System.getProperty("prime");
         PrimeImplicantStrategy strategy;
         if ("OLD".equals(primeApproach)) {
@@ -1468,6 +2096,7 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
     }
 
     public void clearLearntClauses() {
+        cancelKeptAssumptions();
         for (Iterator<Constr> iterator = this.learnts.iterator(); iterator
                 .hasNext();) {
             iterator.next().remove(this);
@@ -1524,7 +2153,19 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
 
     private ConflictTimerContainer conflictCount;
 
-    private transient Timer timer;
+    /**
+     * the task expiring the time based timeout, shared by successive calls in
+     * global mode.
+     */
+    private transient ScheduledFuture<?> timer;
+
+    private void cancelTimer() {
+        ScheduledFuture<?> task = this.timer;
+        if (task != null) {
+            TimeoutScheduler.cancel(task);
+            this.timer = null;
+        }
+    }
 
     public boolean isSatisfiable(IVecInt assumps) throws TimeoutException {
         return isSatisfiable(assumps, false);
@@ -1635,6 +2276,12 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
     public final LearnedConstraintsDeletionStrategy size_based = new SizeLCDS(
             this, this.lbdTimer);
 
+    /**
+     * @since 2.3.6
+     */
+    public final LearnedConstraintsDeletionStrategy three_tiers_based = new ThreeTiersLCDS<D>(
+            this, this.lbdTimer);
+
     protected LearnedConstraintsDeletionStrategy learnedConstraintsDeletionStrategy = this.lbd_based;
 
     /*
@@ -1688,41 +2335,60 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
             this.order.init();
         }
         this.learnedConstraintsDeletionStrategy.init();
-        int learnedLiteralsLimit = this.trail.size();
-
-        // Fix for Bug SAT37
-        this.qhead = 0;
-        // Apply undos on unit literals because they are getting propagated
-        // again now that qhead is 0.
-        for (int i = learnedLiteralsLimit - 1; i >= 0; i--) {
-            int p = this.trail.get(i);
-            IVec<Undoable> undos = this.voc.undos(p);
-            assert undos != null;
-            for (int size = undos.size(); size > 0; size--) {
-                undos.last().undo(p);
-                undos.pop();
-            }
-        }
-        // push previously learned literals
-        for (IteratorInt iterator = this.learnedLiterals.iterator(); iterator
-                .hasNext();) {
-            enqueue(iterator.next());
+        int assumed = 0;
+        if (this.keptLearnedLiteralsLimit >= 0) {
+            assumed = reuseKeptAssumptions(localAssumps);
         }
+        final int learnedLiteralsLimit;
+        Constr confl;
+        if (this.keptLearnedLiteralsLimit >= 0) {
+            // the trail left by the previous call is still propagated
+            learnedLiteralsLimit = this.keptLearnedLiteralsLimit;
+            this.keptLearnedLiteralsLimit = -1;
+        } else {
+            learnedLiteralsLimit = this.trail.size();
+
+            // Fix for Bug SAT37
+            this.qhead = 0;
+            // Apply undos on unit literals because they are getting propagated
+            // again now that qhead is 0.
+            for (int i = learnedLiteralsLimit - 1; i >= 0; i--) {
+                int p = this.trail.get(i);
+                IVec<Undoable> undos = this.voc.undos(p);
+                assert undos != null;
+                for (int size = undos.size(); size > 0; size--) {
+                    undos.last().undo(p);
+                    undos.pop();
+                }
+            }
+            // push previously learned literals
+            for (IteratorInt iterator = this.learnedLiterals.iterator(); iterator
+                    .hasNext();) {
+                enqueue(iterator.next());
+            }
 
-        // propagate constraints
-        Constr confl = propagate();
-        if (confl != null) {
-            analyzeAtRootLevel(confl);
-            this.slistener.conflictFound(confl, 0, 0);
-            this.slistener.end(Lbool.FALSE);
-            cancelUntil(0);
-            cancelLearntLiterals(learnedLiteralsLimit);
-            return false;
+            // propagate constraints
+            confl = propagate();
+            if (confl != null) {
+                analyzeAtRootLevel(confl);
+                this.slistener.conflictFound(confl, 0, 0);
+                this.slistener.end(Lbool.FALSE);
+                cancelUntil(0);
+                cancelLearntLiterals(learnedLiteralsLimit);
+                return false;
+            }
+            if (!preprocess()) {
+                this.slistener.end(Lbool.FALSE);
+                cancelUntil(0);
+                cancelLearntLiterals(learnedLiteralsLimit);
+                return false;
+            }
         }
 
         // push incremental assumptions
-        for (IteratorInt iterator = localAssumps.iterator(); iterator.hasNext();) {
-            int p = iterator.next();
+        for (int i = assumed; i < localAssumps.size(); i++) {
+            int p = localAssumps.get(i);
+            confl = null;
             if (!this.voc.isSatisfied(p) && !assume(p)
                     || (confl = propagate()) != null) {
                 if (confl == null) {
@@ -1738,12 +2404,14 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
                 }
 
                 this.slistener.end(Lbool.FALSE);
-                cancelUntil(0);
-                cancelLearntLiterals(learnedLiteralsLimit);
+                backtrackAfterCall(learnedLiteralsLimit, Integer.MAX_VALUE);
                 return false;
             }
+            this.keptAssumptions.push(p);
+            this.keptAssumptionLevels.push(decisionLevel());
         }
         this.rootLevel = decisionLevel();
+        this.reusableLevel = Integer.MAX_VALUE;
         // moved initialization here if new literals are added in the
         // assumptions.
         this.learner.init();
@@ -1756,20 +2424,22 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         }
         boolean firstTimeGlobal = false;
         if (this.timeBasedTimeout) {
-            if (!global || this.timer == null) {
+            if (!global || this.timer == null || this.timer.isDone()) {
                 firstTimeGlobal = true;
                 this.undertimeout = true;
-                TimerTask stopMe = new TimerTask() {
-                    @Override
+                Runnable stopMe = new Runnable() {
                     public void run() {
                         Solver.this.undertimeout = false;
-                        Solver.this.timer.cancel();
-                        Solver.this.timer = null;
                     }
                 };
-                this.timer = new Timer(true);
-                this.timer.schedule(stopMe, this.timeout);
-
+                cancelTimer();
+                this.timer = TimeoutScheduler.schedule(stopMe, this.timeout);
+            }
+        } else if (this.workBasedTimeout) {
+            if (!global || !alreadylaunched) {
+                firstTimeGlobal = true;
+                this.undertimeout = true;
+                this.workLimit = work() + this.timeout;
             }
         } else {
             if (!global || !alreadylaunched) {
@@ -1798,26 +2468,48 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         // Solve
         while (status == Lbool.UNDEFINED && this.undertimeout
                 && this.lastConflictMeansUnsat) {
+            if (this.unitClauseProvider != UnitClauseProvider.VOID) {
+                // imported unit clauses must be assigned at root level
+                cancelUntil(this.rootLevel);
+            }
             int before = this.trail.size();
             unitClauseProvider.provideUnitClauses(this);
             this.stats.importedUnits += this.trail.size() - before;
             status = search(assumps);
             if (status == Lbool.UNDEFINED) {
                 this.restarter.onRestart();
+                if (this.order instanceof IRestartAwareOrder) {
+                    ((IRestartAwareOrder) this.order).onRestart();
+                }
+                IPhaseSelectionStrategy phaseStrategy = this.order
+                        .getPhaseSelectionStrategy();
+                if (phaseStrategy instanceof ITrailAwarePhaseSelectionStrategy) {
+                    ((ITrailAwarePhaseSelectionStrategy) phaseStrategy)
+                            .onRestart();
+                }
                 this.slistener.restarting();
+                if (this.undertimeout && !inprocess()) {
+                    status = Lbool.FALSE;
+                }
             }
         }
 
-        cancelUntil(0);
-        cancelLearntLiterals(learnedLiteralsLimit);
-        if (!global && this.timeBasedTimeout && this.timer != null) {
-            this.timer.cancel();
-            this.timer = null;
+        if (status == Lbool.TRUE) {
+            backtrackAfterCall(learnedLiteralsLimit, this.reusableLevel);
+        } else if (status == Lbool.FALSE) {
+            // the root level itself is conflicting
+            backtrackAfterCall(learnedLiteralsLimit,
+                    Math.min(this.reusableLevel, this.rootLevel - 1));
+        } else {
+            backtrackAfterCall(learnedLiteralsLimit, -1);
+        }
+        if (!global && this.timeBasedTimeout) {
+            cancelTimer();
         }
         this.slistener.end(status);
         if (!this.undertimeout) {
             String message = " Timeout (" + this.timeout
-                    + (this.timeBasedTimeout ? "s" : " conflicts")
+                    + (this.timeBasedTimeout ? "s" : timeoutUnit())
                     + ") exceeded";
             throw new TimeoutException(message);
         }
@@ -1905,13 +2597,14 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
     }
 
     public void reset() {
-        if (this.timer != null) {
-            this.timer.cancel();
-            this.timer = null;
-        }
+        cancelTimer();
+        this.keptAssumptions.clear();
+        this.keptAssumptionLevels.clear();
+        this.keptLearnedLiteralsLimit = -1;
         this.trail.clear();
         this.trailLim.clear();
         this.qhead = 0;
+        this.chronologicalTrail = false;
         for (Iterator<Constr> iterator = this.constrs.iterator(); iterator
                 .hasNext();) {
             iterator.next().remove(this);
@@ -1921,6 +2614,8 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         this.voc.resetPool();
         this.dsfactory.reset();
         this.stats.reset();
+        this.lastInprocessing = 0;
+        this.lastPreprocessing = -1;
         this.constrTypes.clear();
         this.undertimeout = true;
     }
@@ -1938,6 +2633,7 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
      * @return a reference to the constraint for external use.
      */
     public IConstr addConstr(Constr constr) {
+        cancelKeptAssumptions();
         if (constr == null) {
             Counter count = this.constrTypes
                     .get("ignored satisfied constraints");
@@ -2028,7 +2724,19 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
             stb.append("s\n");
         } else {
             stb.append(this.timeout);
-            stb.append(" conflicts\n");
+            stb.append(timeoutUnit());
+            stb.append("\n");
+        }
+        for (int i = 0; i < this.inprocessingStrategies.size(); i++) {
+            stb.append(prefix);
+            stb.append(this.inprocessingStrategies.get(i));
+            stb.append("\n"); //$NON-NLS-1$
+        }
+        for (int i = 0; i < this.preprocessingStrategies.size(); i++) {
+            stb.append(prefix);
+            stb.append("Preprocessing: "); //$NON-NLS-1$
+            stb.append(this.preprocessingStrategies.get(i));
+            stb.append("\n"); //$NON-NLS-1$
         }
         stb.append(prefix);
         stb.append("DB Simplification allowed=");
@@ -2039,6 +2747,10 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
             stb.append("Heuristics kept accross calls (keep the solver \"hot\")\n");
             stb.append(prefix);
         }
+        if (isAssumptionPrefixKept()) {
+            stb.append("Common prefix of the assumptions kept accross calls\n");
+            stb.append(prefix);
+        }
         stb.append("Listener: ");
         stb.append(slistener);
         stb.append("\n");
@@ -2057,6 +2769,10 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         return toString(""); //$NON-NLS-1$
     }
 
+    private String timeoutUnit() {
+        return this.workBasedTimeout ? " ticks" : " conflicts"; //$NON-NLS-1$ //$NON-NLS-2$
+    }
+
     public int getTimeout() {
         return (int) (this.timeBasedTimeout ? this.timeout / 1000
                 : this.timeout);
@@ -2067,8 +2783,10 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
      */
     public long getTimeoutMs() {
         if (!this.timeBasedTimeout) {
-            throw new UnsupportedOperationException(
-                    "The timeout is given in number of conflicts!");
+            String unit = this.workBasedTimeout ? "units of work" //$NON-NLS-1$
+                    : "number of conflicts"; //$NON-NLS-1$
+            throw new UnsupportedOperationException("The timeout is given in " //$NON-NLS-1$
+                    + unit + "!"); //$NON-NLS-1$
         }
         return this.timeout;
     }
@@ -2330,6 +3048,10 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
             this.learnedConstraintsDeletionStrategy = new Glucose2LCDS<D>(this,
                     timer);
             break;
+        case THREE_TIERS:
+            this.learnedConstraintsDeletionStrategy = new ThreeTiersLCDS<D>(
+                    this, timer);
+            break;
         }
         if (this.conflictCount != null) {
             this.learnedConstraintsDeletionStrategy.init();
@@ -2356,6 +3078,10 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
             this.learnedConstraintsDeletionStrategy = new Glucose2LCDS<D>(this,
                     aTimer);
             break;
+        case THREE_TIERS:
+            this.learnedConstraintsDeletionStrategy = new ThreeTiersLCDS<D>(
+                    this, aTimer);
+            break;
         }
         if (this.conflictCount != null) {
             this.learnedConstraintsDeletionStrategy.init();
@@ -2370,6 +3096,17 @@ public class Solver<D extends DataStructureFactory> implements ISolverService,
         this.keepHot = keepHot;
     }
 
+    public boolean isAssumptionPrefixKept() {
+        return this.keepAssumptionPrefix;
+    }
+
+    public void setKeepAssumptionPrefix(boolean keepPrefix) {
+        this.keepAssumptionPrefix = keepPrefix;
+        if (!keepPrefix) {
+            cancelKeptAssumptions();
+        }
+    }
+
     private final Comparator<Integer> dimacsLevel = new Comparator<Integer>() {
         public int compare(Integer i1, Integer i2) {
             return voc.getLevel(Math.abs(i2)) - voc.getLevel(Math.abs(i1));
@@ -72,12 +72,40 @@ public class SolverStats implements Serializable {
 
     public int reduceddb;
 
-    public int shortcuts;
+    public long shortcuts;
 
     public long updateLBD;
 
     public int importedUnits;
 
+    public int inprocessings;
+
+    public long vivificationTime;
+
+    public long vivifiedClauses;
+
+    public long vivifiedLiterals;
+
+    public long chronologicalBacktracks;
+
+    public long reusedDecisions;
+
+    public long stableStarts;
+
+    public long probingTime;
+
+    public long probedLiterals;
+
+    public long failedLiterals;
+
+    public long necessaryAssignments;
+
+    public long equivalentLiterals;
+
+    public long hyperBinaryResolvents;
+
+    public long reusedAssumptions;
+
     public void reset() {
         this.starts = 0;
         this.decisions = 0;
@@ -96,6 +124,20 @@ public class SolverStats implements Serializable {
         this.reduceddb = 0;
         this.updateLBD = 0;
         this.importedUnits = 0;
+        this.inprocessings = 0;
+        this.vivificationTime = 0;
+        this.vivifiedClauses = 0;
+        this.vivifiedLiterals = 0;
+        this.chronologicalBacktracks = 0;
+        this.reusedDecisions = 0;
+        this.stableStarts = 0;
+        this.probingTime = 0;
+        this.probedLiterals = 0;
+        this.failedLiterals = 0;
+        this.necessaryAssignments = 0;
+        this.equivalentLiterals = 0;
+        this.hyperBinaryResolvents = 0;
+        this.reusedAssumptions = 0;
     }
 
     public void printStat(PrintWriter out, String prefix) {
@@ -123,6 +165,28 @@ public class SolverStats implements Serializable {
                 + this.updateLBD);
         out.println(prefix + "Imported unit clauses\t: "
                 + this.importedUnits);
+        out.println(prefix + "Inprocessing rounds\t: " + this.inprocessings);
+        out.println(prefix + "vivification time (ms)\t: "
+                + this.vivificationTime);
+        out.println(prefix + "vivified clauses\t: " + this.vivifiedClauses);
+        out.println(prefix + "removed literals (vivification)\t: "
+                + this.vivifiedLiterals);
+        out.println(prefix + "chronological backtracks\t: "
+                + this.chronologicalBacktracks);
+        out.println(prefix + "decisions kept on restart\t: "
+                + this.reusedDecisions);
+        out.println(prefix + "starts in stable mode\t: " + this.stableStarts);
+        out.println(prefix + "probing time (ms)\t: " + this.probingTime);
+        out.println(prefix + "probed literals\t: " + this.probedLiterals);
+        out.println(prefix + "failed literals\t: " + this.failedLiterals);
+        out.println(prefix + "necessary assignments (probing)\t: "
+                + this.necessaryAssignments);
+        out.println(prefix + "equivalent literals (probing)\t: "
+                + this.equivalentLiterals);
+        out.println(prefix + "hyper-binary resolvents\t: "
+                + this.hyperBinaryResolvents);
+        out.println(prefix + "assumptions kept between calls\t: "
+                + this.reusedAssumptions);
     }
 
     public Map<String, Number> toMap() {
@@ -0,0 +1,195 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import org.sat4j.specs.Constr;
+import org.sat4j.specs.IVec;
+
+/**
+ * Learned constraints deletion strategy splitting the learned clauses in three
+ * tiers according to their LBD:
+ * <ul>
+ * <li>core clauses (LBD &lt;= 2) are kept forever,</li>
+ * <li>tier 2 clauses (LBD &lt;= 6) are kept as long as they are used during
+ * conflict analysis between two reductions,</li>
+ * <li>local clauses (the others and the tier 2 clauses not used recently) are
+ * reduced by half at each reduction.</li>
+ * </ul>
+ * 
+ * The LBD is stored in the activity of the clause. A fraction is added to it
+ * when the clause is used in conflict analysis. Only the local clauses are
+ * ordered during reduction, using a partial selection instead of a full sort:
+ * the clauses used since the last reduction first, then the ones with the
+ * smallest LBD.
+ * 
+ * @since 2.3.6
+ */
+class ThreeTiersLCDS<D extends DataStructureFactory> extends Glucose2LCDS<D> {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int CORE_LBD = 2;
+
+    private static final int TIER2_LBD = 6;
+
+    private static final double USED = 0.5;
+
+    private static final int NOT_USED = 1 << 20;
+
+    private final Solver<D> solver;
+
+    private Constr[] local = new Constr[0];
+
+    private int[] keys = new int[0];
+
+    ThreeTiersLCDS(Solver<D> solver, ConflictTimer timer) {
+        super(solver, timer);
+        this.solver = solver;
+    }
+
+    @Override
+    public void reduce(IVec<Constr> learnedConstrs) {
+        if (this.local.length < learnedConstrs.size()) {
+            this.local = new Constr[learnedConstrs.size()];
+            this.keys = new int[learnedConstrs.size()];
+        }
+        int i, j, nbLocal = 0;
+        for (i = j = 0; i < learnedConstrs.size(); i++) {
+            Constr c = learnedConstrs.get(i);
+            double activity = c.getActivity();
+            int lbd = (int) activity;
+            boolean used = activity > lbd;
+            if (used) {
+                c.setActivity(lbd);
+            }
+            if (lbd <= CORE_LBD || used && lbd <= TIER2_LBD) {
+                learnedConstrs.set(j++, c);
+            } else {
+                this.local[nbLocal] = c;
+                this.keys[nbLocal++] = used ? lbd : lbd + NOT_USED;
+            }
+        }
+        int limit = nbLocal / 2;
+        select(0, nbLocal, limit);
+        int removed = 0;
+        for (i = 0; i < nbLocal; i++) {
+            Constr c = this.local[i];
+            this.local[i] = null;
+            if (i < limit || c.locked()) {
+                learnedConstrs.set(j++, c);
+            } else {
+                c.remove(this.solver);
+                this.solver.slistener.delete(c);
+                removed++;
+            }
+        }
+        if (this.solver.isVerbose()) {
+            this.solver.out.log(this.solver.getLogPrefix()
+                    + "cleaning " + removed //$NON-NLS-1$
+                    + " clauses out of " + learnedConstrs.size() //$NON-NLS-1$
+                    + " (" + nbLocal + " local)"); //$NON-NLS-1$ //$NON-NLS-2$
+        }
+        learnedConstrs.shrinkTo(j);
+    }
+
+    /**
+     * Moves the local clauses such that the ones in [from,k[ have a smaller
+     * key than the ones in [k,to[.
+     */
+    private void select(int from, int to, int k) {
+        while (to - from > 1) {
+            int pivot = this.keys[(from + to) >>> 1];
+            int i = from;
+            int j = to - 1;
+            while (i <= j) {
+                while (this.keys[i] < pivot) {
+                    i++;
+                }
+                while (this.keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    swap(i++, j--);
+                }
+            }
+            if (k <= j) {
+                to = j + 1;
+            } else if (k >= i) {
+                from = i;
+            } else {
+                return;
+            }
+        }
+    }
+
+    private void swap(int i, int j) {
+        Constr c = this.local[i];
+        this.local[i] = this.local[j];
+        this.local[j] = c;
+        int key = this.keys[i];
+        this.keys[i] = this.keys[j];
+        this.keys[j] = key;
+    }
+
+    @Override
+    public void onClauseLearning(Constr constr) {
+        constr.setActivity(computeLBD(constr) + USED);
+    }
+
+    @Override
+    public void onConflictAnalysis(Constr reason) {
+        if (reason.learnt()) {
+            double activity = reason.getActivity();
+            int lbd = (int) activity;
+            if (activity == lbd) {
+                reason.setActivity(lbd + USED);
+            }
+        }
+    }
+
+    @Override
+    public void onPropagation(Constr from) {
+        double activity = from.getActivity();
+        int lbd = (int) activity;
+        if (lbd > CORE_LBD) {
+            int nblevel = computeLBD(from);
+            if (nblevel < lbd) {
+                this.solver.stats.updateLBD++;
+                from.setActivity(nblevel + activity - lbd);
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "Three tiers (core/tier2/local) learned constraints deletion strategy with timer "
+                + getTimer();
+    }
+}
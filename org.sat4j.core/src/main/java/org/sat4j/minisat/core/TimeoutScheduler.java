@@ -0,0 +1,99 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Single daemon thread shared by all the solvers to expire their time based
+ * timeouts. The thread is started the first time a timeout is scheduled, so
+ * that short solver calls do not pay for the creation of a thread, and stops
+ * once no timeout has been pending for a while, so that no thread is left
+ * behind by solvers which are no longer used.
+ * 
+ * @since 2.3.6
+ */
+final class TimeoutScheduler {
+
+    /**
+     * how long the thread waits for a new timeout before stopping.
+     */
+    private static final long KEEP_ALIVE_MS = 100;
+
+    private static final ScheduledThreadPoolExecutor EXECUTOR = createExecutor();
+
+    private TimeoutScheduler() {
+        // no instances
+    }
+
+    private static ScheduledThreadPoolExecutor createExecutor() {
+        ScheduledThreadPoolExecutor executor = new ScheduledThreadPoolExecutor(
+                1, new ThreadFactory() {
+                    public Thread newThread(Runnable r) {
+                        Thread thread = new Thread(r, "Sat4j timeout"); //$NON-NLS-1$
+                        thread.setDaemon(true);
+                        return thread;
+                    }
+                });
+        // the timeouts are usually far longer than the solver calls: a
+        // cancelled task is removed from the queue right away, so the queue
+        // only holds the timeouts of running calls.
+        executor.setRemoveOnCancelPolicy(true);
+        executor.setKeepAliveTime(KEEP_ALIVE_MS, TimeUnit.MILLISECONDS);
+        executor.allowCoreThreadTimeOut(true);
+        return executor;
+    }
+
+    /**
+     * Schedule a task.
+     * 
+     * @param task
+     *            the task to run when the timeout is reached.
+     * @param delay
+     *            the timeout in milliseconds.
+     * @return a handle to cancel the task.
+     */
+    static ScheduledFuture<?> schedule(Runnable task, long delay) {
+        return EXECUTOR.schedule(task, delay, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Cancel a task if it has not been run yet.
+     * 
+     * @param future
+     *            the handle returned when the task was scheduled.
+     */
+    static void cancel(ScheduledFuture<?> future) {
+        future.cancel(false);
+    }
+}
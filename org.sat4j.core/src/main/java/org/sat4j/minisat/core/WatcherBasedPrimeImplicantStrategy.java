@@ -140,6 +140,14 @@ public class WatcherBasedPrimeImplicantStrategy implements
     Constr reduceClausesContainingTheNegationOfPI(
             Solver<? extends DataStructureFactory> solver, int p) {
         assert p > 1;
+        if (solver.voc instanceof ILitsWithImplicationGraph) {
+            // binary clauses are not in the watch lists
+            ILitsWithImplicationGraph lvoc = (ILitsWithImplicationGraph) solver.voc;
+            int[] implied = lvoc.implications(p);
+            for (int i = 0; i < lvoc.nbImplications(p); i++) {
+                isMandatory(implied[i]);
+            }
+        }
         IVec<Propagatable> lwatched = solver.watched;
         lwatched.clear();
         solver.voc.watches(p).moveTo(lwatched);
@@ -0,0 +1,335 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.Propagatable;
+
+/**
+ * Watch list storing a blocking literal next to each watcher, in two parallel
+ * arrays.
+ * 
+ * The blocking literal of a watcher is a literal of the watching constraint:
+ * if it is satisfied, there is no need to look at the constraint. Watchers
+ * added through the regular {@link IVec} methods get
+ * {@link ILits#UNDEFINED} as blocking literal, i.e. they are always visited.
+ * 
+ * @since 2.3.6
+ */
+public final class WatchesWithBlockers implements IVec<Propagatable> {
+
+    private static final long serialVersionUID = 1L;
+
+    private Propagatable[] watchers;
+
+    private int[] blockers;
+
+    private int nbelem;
+
+    public WatchesWithBlockers() {
+        this(5);
+    }
+
+    public WatchesWithBlockers(int size) {
+        this.watchers = new Propagatable[size];
+        this.blockers = new int[size];
+    }
+
+    public int size() {
+        return this.nbelem;
+    }
+
+    public void shrink(int nofelems) {
+        while (nofelems-- > 0) {
+            this.watchers[--this.nbelem] = null;
+        }
+    }
+
+    public void shrinkTo(int newsize) {
+        for (int i = this.nbelem; i > newsize; i--) {
+            this.watchers[i - 1] = null;
+        }
+        this.nbelem = newsize;
+    }
+
+    public void pop() {
+        this.watchers[--this.nbelem] = null;
+    }
+
+    public void growTo(int newsize, Propagatable pad) {
+        ensure(newsize);
+        for (int i = this.nbelem; i < newsize; i++) {
+            this.watchers[i] = pad;
+            this.blockers[i] = ILits.UNDEFINED;
+        }
+        this.nbelem = newsize;
+    }
+
+    public void ensure(int nsize) {
+        if (nsize >= this.watchers.length) {
+            int capacity = Math.max(nsize, this.nbelem * 2);
+            Propagatable[] nwatchers = new Propagatable[capacity];
+            System.arraycopy(this.watchers, 0, nwatchers, 0, this.nbelem);
+            this.watchers = nwatchers;
+            int[] nblockers = new int[capacity];
+            System.arraycopy(this.blockers, 0, nblockers, 0, this.nbelem);
+            this.blockers = nblockers;
+        }
+    }
+
+    public IVec<Propagatable> push(Propagatable elem) {
+        push(elem, ILits.UNDEFINED);
+        return this;
+    }
+
+    /**
+     * Add a new watcher with its blocking literal.
+     * 
+     * @param elem
+     *            a constraint
+     * @param blocker
+     *            a literal of that constraint, or {@link ILits#UNDEFINED}.
+     */
+    public void push(Propagatable elem, int blocker) {
+        ensure(this.nbelem + 1);
+        this.watchers[this.nbelem] = elem;
+        this.blockers[this.nbelem++] = blocker;
+    }
+
+    public void unsafePush(Propagatable elem) {
+        this.watchers[this.nbelem] = elem;
+        this.blockers[this.nbelem++] = ILits.UNDEFINED;
+    }
+
+    public void insertFirst(Propagatable elem) {
+        if (this.nbelem > 0) {
+            push(this.watchers[0], this.blockers[0]);
+            this.watchers[0] = elem;
+            this.blockers[0] = ILits.UNDEFINED;
+            return;
+        }
+        push(elem);
+    }
+
+    public void insertFirstWithShifting(Propagatable elem) {
+        ensure(this.nbelem + 1);
+        System.arraycopy(this.watchers, 0, this.watchers, 1, this.nbelem);
+        System.arraycopy(this.blockers, 0, this.blockers, 1, this.nbelem);
+        this.watchers[0] = elem;
+        this.blockers[0] = ILits.UNDEFINED;
+        this.nbelem++;
+    }
+
+    public void clear() {
+        Arrays.fill(this.watchers, 0, this.nbelem, null);
+        this.nbelem = 0;
+    }
+
+    public Propagatable last() {
+        return this.watchers[this.nbelem - 1];
+    }
+
+    public Propagatable get(int i) {
+        return this.watchers[i];
+    }
+
+    /**
+     * 
+     * @param i
+     *            the index of a watcher
+     * @return the blocking literal of the ith watcher.
+     */
+    public int getBlocker(int i) {
+        return this.blockers[i];
+    }
+
+    public void set(int i, Propagatable o) {
+        this.watchers[i] = o;
+        this.blockers[i] = ILits.UNDEFINED;
+    }
+
+    public void remove(Propagatable elem) {
+        int j = 0;
+        for (; this.watchers[j] != elem; j++) {
+            if (j == size())
+                throw new NoSuchElementException();
+        }
+        System.arraycopy(this.watchers, j + 1, this.watchers, j, size() - j
+                - 1);
+        System.arraycopy(this.blockers, j + 1, this.blockers, j, size() - j
+                - 1);
+        this.watchers[--this.nbelem] = null;
+    }
+
+    public Propagatable delete(int i) {
+        Propagatable ith = this.watchers[i];
+        this.watchers[i] = this.watchers[--this.nbelem];
+        this.blockers[i] = this.blockers[this.nbelem];
+        this.watchers[this.nbelem] = null;
+        return ith;
+    }
+
+    public void copyTo(IVec<Propagatable> copy) {
+        if (copy instanceof WatchesWithBlockers) {
+            WatchesWithBlockers ncopy = (WatchesWithBlockers) copy;
+            int nsize = this.nbelem + ncopy.nbelem;
+            ncopy.ensure(nsize);
+            System.arraycopy(this.watchers, 0, ncopy.watchers, ncopy.nbelem,
+                    this.nbelem);
+            System.arraycopy(this.blockers, 0, ncopy.blockers, ncopy.nbelem,
+                    this.nbelem);
+            ncopy.nbelem = nsize;
+        } else {
+            copy.ensure(copy.size() + this.nbelem);
+            for (int i = 0; i < this.nbelem; i++) {
+                copy.unsafePush(this.watchers[i]);
+            }
+        }
+    }
+
+    public <E> void copyTo(E[] dest) {
+        System.arraycopy(this.watchers, 0, dest, 0, this.nbelem);
+    }
+
+    public Propagatable[] toArray() {
+        return this.watchers;
+    }
+
+    /**
+     * Direct access to the blocking literals, for efficiency.
+     * 
+     * @return the array of the blocking literals, parallel to
+     *         {@link #toArray()}.
+     */
+    public int[] blockers() {
+        return this.blockers;
+    }
+
+    /**
+     * Move the content of the vector to another one. If the destination is
+     * empty, the internal arrays are simply swapped, in constant time.
+     */
+    public void moveTo(IVec<Propagatable> dest) {
+        if (dest instanceof WatchesWithBlockers
+                && ((WatchesWithBlockers) dest).nbelem == 0) {
+            WatchesWithBlockers ndest = (WatchesWithBlockers) dest;
+            Propagatable[] tmpwatchers = ndest.watchers;
+            int[] tmpblockers = ndest.blockers;
+            ndest.watchers = this.watchers;
+            ndest.blockers = this.blockers;
+            ndest.nbelem = this.nbelem;
+            this.watchers = tmpwatchers;
+            this.blockers = tmpblockers;
+            this.nbelem = 0;
+            return;
+        }
+        copyTo(dest);
+        clear();
+    }
+
+    public void moveTo(int dest, int source) {
+        if (dest != source) {
+            this.watchers[dest] = this.watchers[source];
+            this.blockers[dest] = this.blockers[source];
+            this.watchers[source] = null;
+        }
+    }
+
+    public void sort(Comparator<Propagatable> comparator) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void sortUnique(Comparator<Propagatable> comparator) {
+        throw new UnsupportedOperationException();
+    }
+
+    public boolean isEmpty() {
+        return this.nbelem == 0;
+    }
+
+    public Iterator<Propagatable> iterator() {
+        return new Iterator<Propagatable>() {
+            private int i = 0;
+
+            public boolean hasNext() {
+                return this.i < WatchesWithBlockers.this.nbelem;
+            }
+
+            public Propagatable next() {
+                if (this.i == WatchesWithBlockers.this.nbelem) {
+                    throw new NoSuchElementException();
+                }
+                return WatchesWithBlockers.this.watchers[this.i++];
+            }
+
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    public boolean contains(Propagatable element) {
+        return indexOf(element) >= 0;
+    }
+
+    public int indexOf(Propagatable element) {
+        for (int i = 0; i < this.nbelem; i++) {
+            if (this.watchers[i].equals(element)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public IVec<Propagatable> clone() {
+        WatchesWithBlockers cloned = new WatchesWithBlockers(Math.max(
+                this.nbelem, 1));
+        copyTo(cloned);
+        return cloned;
+    }
+
+    @Override
+    public String toString() {
+        StringBuffer stb = new StringBuffer();
+        for (int i = 0; i < this.nbelem; i++) {
+            if (i > 0) {
+                stb.append(","); //$NON-NLS-1$
+            }
+            stb.append(this.watchers[i]);
+        }
+        return stb.toString();
+    }
+}
@@ -0,0 +1,181 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.orders;
+
+import java.io.PrintWriter;
+import java.io.Serializable;
+
+import org.sat4j.minisat.core.ILits;
+import org.sat4j.minisat.core.IOrder;
+import org.sat4j.minisat.core.IPhaseSelectionStrategy;
+import org.sat4j.minisat.core.IRestartAwareOrder;
+
+/**
+ * Alternates between two heuristics, typically VSIDS and LRB, by phases of a
+ * given number of conflicts. The switch from one heuristics to the other
+ * happens on the first restart once the phase is over.
+ * 
+ * Both heuristics are kept up to date during the whole search, only the
+ * selection of the decision variable depends on the current phase.
+ * 
+ * @since 2.3.6
+ */
+public class AlternatingVarOrder implements IRestartAwareOrder, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final long DEFAULT_PHASE_LENGTH = 10000;
+
+    private final IOrder first;
+
+    private final IOrder second;
+
+    private final long phaseLength;
+
+    private IOrder current;
+
+    private long conflictsInPhase;
+
+    private int switches;
+
+    public AlternatingVarOrder(IOrder first, IOrder second) {
+        this(first, second, DEFAULT_PHASE_LENGTH);
+    }
+
+    /**
+     * 
+     * @param first
+     *            the heuristics used in the first phase
+     * @param second
+     *            the heuristics used in the second phase
+     * @param phaseLength
+     *            the minimal number of conflicts of a phase
+     */
+    public AlternatingVarOrder(IOrder first, IOrder second, long phaseLength) {
+        this.first = first;
+        this.second = second;
+        this.phaseLength = phaseLength;
+        this.current = first;
+    }
+
+    public void onRestart() {
+        if (this.conflictsInPhase >= this.phaseLength) {
+            this.current = this.current == this.first ? this.second
+                    : this.first;
+            this.conflictsInPhase = 0;
+            this.switches++;
+        }
+    }
+
+    /**
+     * @return the heuristics used to select the decision variables in the
+     *         current phase.
+     */
+    public IOrder getCurrentOrder() {
+        return this.current;
+    }
+
+    public void setLits(ILits lits) {
+        this.first.setLits(lits);
+        this.second.setLits(lits);
+    }
+
+    public int select() {
+        return this.current.select();
+    }
+
+    public void undo(int x) {
+        this.first.undo(x);
+        this.second.undo(x);
+    }
+
+    public void updateVar(int p) {
+        this.first.updateVar(p);
+        this.second.updateVar(p);
+    }
+
+    public void init() {
+        this.first.init();
+        this.second.init();
+        this.current = this.first;
+        this.conflictsInPhase = 0;
+        this.switches = 0;
+    }
+
+    public void printStat(PrintWriter out, String prefix) {
+        out.println(prefix + "heuristics switches\t: " + this.switches); //$NON-NLS-1$
+        this.first.printStat(out, prefix);
+        this.second.printStat(out, prefix);
+    }
+
+    public void setVarDecay(double d) {
+        this.first.setVarDecay(d);
+        this.second.setVarDecay(d);
+    }
+
+    public void varDecayActivity() {
+        this.conflictsInPhase++;
+        this.first.varDecayActivity();
+        this.second.varDecayActivity();
+    }
+
+    public double varActivity(int p) {
+        return this.current.varActivity(p);
+    }
+
+    public void assignLiteral(int p) {
+        this.first.assignLiteral(p);
+        this.second.assignLiteral(p);
+    }
+
+    public void setPhaseSelectionStrategy(IPhaseSelectionStrategy strategy) {
+        this.first.setPhaseSelectionStrategy(strategy);
+        this.second.setPhaseSelectionStrategy(strategy);
+    }
+
+    public IPhaseSelectionStrategy getPhaseSelectionStrategy() {
+        return this.current.getPhaseSelectionStrategy();
+    }
+
+    public void updateVarAtDecisionLevel(int q) {
+        this.first.updateVarAtDecisionLevel(q);
+        this.second.updateVarAtDecisionLevel(q);
+    }
+
+    public double[] getVariableHeuristics() {
+        return this.current.getVariableHeuristics();
+    }
+
+    @Override
+    public String toString() {
+        return "alternating every " + this.phaseLength + " conflicts between " //$NON-NLS-1$ //$NON-NLS-2$
+                + this.first + " and " + this.second; //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,96 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.orders;
+
+import static org.sat4j.core.LiteralsUtils.var;
+
+import org.sat4j.minisat.core.IPhaseSelectionStrategy;
+
+/**
+ * Conflict history based branching heuristics (CHB) from MapleSAT. A variable
+ * is rewarded each time it is assigned or participates to conflict analysis,
+ * with a reward inversely proportional to the number of conflicts since the
+ * last conflict it participated to.
+ * 
+ * @since 2.3.6
+ */
+public class CHBVarOrderHeap extends ERWAVarOrderHeap {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * multiplier of the reward of assignments, which usually do not lead to a
+     * conflict.
+     */
+    private static final double NO_CONFLICT_MULTIPLIER = 0.9;
+
+    /**
+     * last conflict the variable participated to.
+     */
+    private long[] lastConflict = new long[1];
+
+    public CHBVarOrderHeap() {
+        this(new PhaseInLastLearnedClauseSelectionStrategy());
+    }
+
+    public CHBVarOrderHeap(IPhaseSelectionStrategy strategy) {
+        super(strategy);
+    }
+
+    @Override
+    public void assignLiteral(int p) {
+        super.assignLiteral(p);
+        int var = var(p);
+        reward(var, NO_CONFLICT_MULTIPLIER
+                / (conflicts() - this.lastConflict[var] + 1));
+    }
+
+    @Override
+    public void updateVar(int p) {
+        this.phaseStrategy.updateVar(p);
+        int var = var(p);
+        long conflict = conflictAnalysis();
+        if (this.lastConflict[var] != conflict) {
+            this.lastConflict[var] = conflict;
+            reward(var, 1.0);
+        }
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        this.lastConflict = new long[this.lits.nVars() + 1];
+    }
+
+    @Override
+    public String toString() {
+        return "CHB conflict history based branching heuristics from MapleSAT using a heap " + this.phaseStrategy; //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,130 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.orders;
+
+import org.sat4j.minisat.core.IPhaseSelectionStrategy;
+
+/**
+ * Base class for the branching heuristics based on an exponential recency
+ * weighted average (ERWA) of a reward given to each variable, as introduced by
+ * Liang, Ganesh, Poupart and Czarnecki in MapleSAT. The value of the average
+ * is stored in the activity array, so that the heap always selects the
+ * unassigned variable with the highest average.
+ * 
+ * The step size of the average decreases from 0.4 to 0.06 by 1e-6 at each
+ * conflict.
+ * 
+ * @since 2.3.6
+ */
+public abstract class ERWAVarOrderHeap extends VarOrderHeap {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final double ALPHA_INIT = 0.4;
+
+    private static final double ALPHA_MIN = 0.06;
+
+    private static final double ALPHA_DECAY = 1e-6;
+
+    private double alpha = ALPHA_INIT;
+
+    /**
+     * number of conflicts analyzed so far.
+     */
+    private long conflicts;
+
+    /**
+     * true between the first participation of a variable to a conflict
+     * analysis and the end of the processing of that conflict.
+     */
+    private boolean analyzing;
+
+    public ERWAVarOrderHeap(IPhaseSelectionStrategy strategy) {
+        super(strategy);
+    }
+
+    /**
+     * @return the index of the current conflict: during the analysis of a
+     *         conflict, that conflict is already counted.
+     */
+    protected final long conflicts() {
+        return this.analyzing ? this.conflicts + 1 : this.conflicts;
+    }
+
+    /**
+     * To be called when a variable participates to conflict analysis.
+     * 
+     * @return the index of the conflict being analyzed.
+     */
+    protected final long conflictAnalysis() {
+        this.analyzing = true;
+        return this.conflicts + 1;
+    }
+
+    /**
+     * Update the average of a variable with a new reward.
+     * 
+     * @param var
+     *            a variable
+     * @param reward
+     *            the reward obtained by that variable.
+     */
+    protected final void reward(int var, double reward) {
+        double old = this.activity[var];
+        this.activity[var] = (1 - this.alpha) * old + this.alpha * reward;
+        if (this.heap.inHeap(var)) {
+            if (this.activity[var] > old) {
+                this.heap.increase(var);
+            } else if (this.activity[var] < old) {
+                this.heap.decrease(var);
+            }
+        }
+    }
+
+    /**
+     * Called once per conflict, after conflict analysis.
+     */
+    @Override
+    public void varDecayActivity() {
+        this.conflicts++;
+        this.analyzing = false;
+        if (this.alpha > ALPHA_MIN) {
+            this.alpha -= ALPHA_DECAY;
+        }
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        this.alpha = ALPHA_INIT;
+        this.conflicts = 0;
+        this.analyzing = false;
+    }
+}
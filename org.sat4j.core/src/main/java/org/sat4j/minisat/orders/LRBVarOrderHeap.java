@@ -0,0 +1,155 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.orders;
+
+import static org.sat4j.core.LiteralsUtils.var;
+
+import org.sat4j.minisat.core.ILits;
+import org.sat4j.minisat.core.IPhaseSelectionStrategy;
+
+/**
+ * Learning rate based branching heuristics (LRB) from MapleSAT. The reward of
+ * a variable is its learning rate: the number of conflicts it participated to
+ * divided by the number of conflicts occurring while it was assigned. The
+ * reward is computed when the variable is unassigned.
+ * 
+ * The locality extension decays the average of a variable by 0.95 for each
+ * conflict occurring while it is unassigned. That decay is lazily applied to
+ * the best variable of the heap when selecting a decision.
+ * 
+ * @since 2.3.6
+ */
+public class LRBVarOrderHeap extends ERWAVarOrderHeap {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final double LOCALITY_DECAY = 0.95;
+
+    /**
+     * index of the conflict at which the variable was assigned, -1 if the
+     * variable is not assigned.
+     */
+    private long[] assigned = new long[1];
+
+    /**
+     * number of conflicts the variable participated to since its assignment.
+     */
+    private int[] participated = new int[1];
+
+    /**
+     * last conflict the variable participated to.
+     */
+    private long[] lastParticipation = new long[1];
+
+    /**
+     * index of the conflict at which the variable was unassigned or decayed
+     * for the last time.
+     */
+    private long[] canceled = new long[1];
+
+    public LRBVarOrderHeap() {
+        this(new PhaseInLastLearnedClauseSelectionStrategy());
+    }
+
+    public LRBVarOrderHeap(IPhaseSelectionStrategy strategy) {
+        super(strategy);
+    }
+
+    @Override
+    public int select() {
+        int var;
+        long age;
+        while (!this.heap.empty()) {
+            var = this.heap.peekmin();
+            if (!this.lits.isUnassigned(var << 1)) {
+                this.heap.getmin();
+                continue;
+            }
+            age = conflicts() - this.canceled[var];
+            if (age <= 0) {
+                return super.select();
+            }
+            this.activity[var] *= Math.pow(LOCALITY_DECAY, age);
+            this.canceled[var] = conflicts();
+            this.heap.decrease(var);
+        }
+        return ILits.UNDEFINED;
+    }
+
+    @Override
+    public void assignLiteral(int p) {
+        super.assignLiteral(p);
+        int var = var(p);
+        this.assigned[var] = conflicts();
+        this.participated[var] = 0;
+    }
+
+    @Override
+    public void updateVar(int p) {
+        this.phaseStrategy.updateVar(p);
+        int var = var(p);
+        long conflict = conflictAnalysis();
+        if (this.lastParticipation[var] != conflict) {
+            this.lastParticipation[var] = conflict;
+            this.participated[var]++;
+        }
+    }
+
+    @Override
+    public void undo(int x) {
+        if (this.assigned[x] >= 0) {
+            long interval = conflicts() - this.assigned[x];
+            if (interval > 0) {
+                reward(x, (double) this.participated[x] / interval);
+            }
+            this.assigned[x] = -1;
+            this.canceled[x] = conflicts();
+        }
+        super.undo(x);
+    }
+
+    @Override
+    public void init() {
+        super.init();
+        int nlength = this.lits.nVars() + 1;
+        this.assigned = new long[nlength];
+        this.participated = new int[nlength];
+        this.lastParticipation = new long[nlength];
+        this.canceled = new long[nlength];
+        for (int i = 0; i < nlength; i++) {
+            this.assigned[i] = -1;
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "LRB learning rate based branching heuristics from MapleSAT using a heap " + this.phaseStrategy; //$NON-NLS-1$
+    }
+}
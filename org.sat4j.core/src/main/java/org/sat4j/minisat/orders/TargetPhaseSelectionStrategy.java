@@ -0,0 +1,217 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.orders;
+
+import static org.sat4j.core.LiteralsUtils.negLit;
+import static org.sat4j.core.LiteralsUtils.posLit;
+import static org.sat4j.core.LiteralsUtils.var;
+
+import java.util.Random;
+
+import org.sat4j.minisat.core.ITrailAwarePhaseSelectionStrategy;
+import org.sat4j.specs.IVecInt;
+
+/**
+ * Phase saving extended with target and best phases, and rephasing, as found
+ * in CaDiCaL.
+ * 
+ * The target phase is the assignment of the longest trail found without
+ * conflict since the last restart: when enabled, the solver branches toward
+ * it instead of the last assignment. The best phase is the longest such trail
+ * since the last rephasing. Every few thousands conflicts, on a restart, all
+ * the saved phases are reset according to the schedule original, best,
+ * inverted, best, random, best.
+ * 
+ * @since 2.3.6
+ */
+public class TargetPhaseSelectionStrategy extends
+        AbstractPhaserecordingSelectionStrategy implements
+        ITrailAwarePhaseSelectionStrategy {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_REPHASE_INTERVAL = 1000;
+
+    private static final char[] SCHEDULE = { 'O', 'B', 'I', 'B', 'R', 'B' };
+
+    private int[] target = new int[0];
+
+    private int targetSize;
+
+    private int[] best = new int[0];
+
+    private int bestSize;
+
+    private boolean targetPhases = true;
+
+    private final int rephaseInterval;
+
+    private long conflicts;
+
+    private long nextRephase;
+
+    private int rephases;
+
+    private final Random random = new Random(123456789);
+
+    public TargetPhaseSelectionStrategy() {
+        this(DEFAULT_REPHASE_INTERVAL);
+    }
+
+    /**
+     * 
+     * @param rephaseInterval
+     *            the base number of conflicts between two rephasings, 0 to
+     *            disable rephasing.
+     */
+    public TargetPhaseSelectionStrategy(int rephaseInterval) {
+        this.rephaseInterval = rephaseInterval;
+    }
+
+    /**
+     * 
+     * @param targetPhases
+     *            true to branch toward the target phase, false to only use
+     *            the saved phases.
+     */
+    public void setTargetPhases(boolean targetPhases) {
+        this.targetPhases = targetPhases;
+    }
+
+    public boolean isTargetPhases() {
+        return this.targetPhases;
+    }
+
+    /**
+     * 
+     * @return the number of rephasings so far.
+     */
+    public int getRephases() {
+        return this.rephases;
+    }
+
+    @Override
+    public void init(int nlength) {
+        super.init(nlength);
+        this.target = new int[nlength];
+        this.best = new int[nlength];
+        this.targetSize = 0;
+        this.bestSize = 0;
+        this.conflicts = 0;
+        this.rephases = 0;
+        this.nextRephase = this.rephaseInterval;
+    }
+
+    @Override
+    public int select(int var) {
+        if (this.targetPhases && this.target[var] != 0) {
+            return this.target[var];
+        }
+        return this.phase[var];
+    }
+
+    public void assignLiteral(int p) {
+        this.phase[var(p)] = p;
+    }
+
+    public void updateVar(int p) {
+    }
+
+    public void updateVarAtDecisionLevel(int q) {
+    }
+
+    public void onConflict(IVecInt trail, int conflictFreeSize) {
+        this.conflicts++;
+        if (conflictFreeSize > this.targetSize) {
+            this.targetSize = conflictFreeSize;
+            copy(trail, conflictFreeSize, this.target);
+            if (conflictFreeSize > this.bestSize) {
+                this.bestSize = conflictFreeSize;
+                copy(trail, conflictFreeSize, this.best);
+            }
+        }
+    }
+
+    private static void copy(IVecInt trail, int size, int[] phases) {
+        int p;
+        for (int i = 0; i < size; i++) {
+            p = trail.get(i);
+            phases[var(p)] = p;
+        }
+    }
+
+    public void onRestart() {
+        this.targetSize = 0;
+        if (this.rephaseInterval > 0 && this.conflicts >= this.nextRephase) {
+            rephase();
+        }
+    }
+
+    /**
+     * Target phases are only used in stable mode, as in CaDiCaL.
+     */
+    public void onModeSwitch(boolean stable) {
+        this.targetPhases = stable;
+    }
+
+    private void rephase() {
+        char kind = SCHEDULE[this.rephases % SCHEDULE.length];
+        for (int i = 1; i < this.phase.length; i++) {
+            switch (kind) {
+            case 'O':
+                this.phase[i] = negLit(i);
+                break;
+            case 'I':
+                this.phase[i] = posLit(i);
+                break;
+            case 'R':
+                this.phase[i] = this.random.nextBoolean() ? posLit(i)
+                        : negLit(i);
+                break;
+            default:
+                if (this.best[i] != 0) {
+                    this.phase[i] = this.best[i];
+                }
+            }
+            this.target[i] = 0;
+        }
+        this.bestSize = 0;
+        this.rephases++;
+        this.nextRephase = this.conflicts + (long) this.rephaseInterval
+                * (this.rephases + 1);
+    }
+
+    @Override
+    public String toString() {
+        return "phase saving with " //$NON-NLS-1$
+                + (this.targetPhases ? "target phases, " : "") //$NON-NLS-1$ //$NON-NLS-2$
+                + "best phases and rephasing"; //$NON-NLS-1$
+    }
+}
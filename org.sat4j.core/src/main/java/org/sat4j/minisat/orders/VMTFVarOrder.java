@@ -0,0 +1,271 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.orders;
+
+import static org.sat4j.core.LiteralsUtils.var;
+
+import java.io.PrintWriter;
+import java.io.Serializable;
+import java.util.Arrays;
+
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.core.ILits;
+import org.sat4j.minisat.core.IOrder;
+import org.sat4j.minisat.core.IPhaseSelectionStrategy;
+import org.sat4j.specs.IVecInt;
+
+/**
+ * Variable move to front (VMTF) heuristics. The variables are kept in a queue,
+ * implemented as a doubly linked list over int arrays. The variables involved
+ * in a conflict are moved to the front of the queue at the end of the conflict,
+ * in the order of their previous position, and the solver branches on the
+ * unassigned variable closest to the front.
+ * 
+ * Each variable receives a timestamp when it is enqueued. A search pointer
+ * caches the position of the last variable selected: all the variables after
+ * it are assigned, so selecting a variable does not usually walk the queue.
+ * Bumping and selecting do not need any heap operation.
+ * 
+ * @since 2.3.6
+ */
+public class VMTFVarOrder implements IOrder, Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * previous variable in the queue (closer to the end), 0 if none.
+     */
+    private int[] prev = new int[1];
+
+    /**
+     * next variable in the queue (closer to the front), 0 if none.
+     */
+    private int[] next = new int[1];
+
+    /**
+     * timestamp of the variables, increasing from the end to the front of the
+     * queue.
+     */
+    private int[] stamp = new int[1];
+
+    private int first;
+
+    private int last;
+
+    private int search;
+
+    private int timestamp;
+
+    /**
+     * conflict at which the variable was bumped for the last time.
+     */
+    private long[] bumped = new long[1];
+
+    private long conflicts = 1;
+
+    private final IVecInt toBump = new VecInt();
+
+    private long[] sortedBumps = new long[0];
+
+    private double[] heuristics = new double[1];
+
+    private long moves;
+
+    protected ILits lits;
+
+    protected IPhaseSelectionStrategy phaseStrategy;
+
+    public VMTFVarOrder() {
+        this(new PhaseInLastLearnedClauseSelectionStrategy());
+    }
+
+    public VMTFVarOrder(IPhaseSelectionStrategy strategy) {
+        this.phaseStrategy = strategy;
+    }
+
+    public void setLits(ILits lits) {
+        this.lits = lits;
+    }
+
+    public void setPhaseSelectionStrategy(IPhaseSelectionStrategy strategy) {
+        this.phaseStrategy = strategy;
+    }
+
+    public IPhaseSelectionStrategy getPhaseSelectionStrategy() {
+        return this.phaseStrategy;
+    }
+
+    public int select() {
+        int var = this.search;
+        while (var != 0 && !this.lits.isUnassigned(var << 1)) {
+            var = this.prev[var];
+        }
+        if (var == 0) {
+            return ILits.UNDEFINED;
+        }
+        this.search = var;
+        return this.phaseStrategy.select(var);
+    }
+
+    public void undo(int x) {
+        if (this.search == 0 || this.stamp[x] > this.stamp[this.search]) {
+            this.search = x;
+        }
+    }
+
+    /**
+     * The variable will be moved to the front of the queue at the end of the
+     * conflict analysis.
+     */
+    public void updateVar(int p) {
+        this.phaseStrategy.updateVar(p);
+        int var = var(p);
+        if (this.bumped[var] != this.conflicts) {
+            this.bumped[var] = this.conflicts;
+            this.toBump.push(var);
+        }
+    }
+
+    public void updateVarAtDecisionLevel(int q) {
+        this.phaseStrategy.updateVarAtDecisionLevel(q);
+    }
+
+    public void assignLiteral(int p) {
+        this.phaseStrategy.assignLiteral(p);
+    }
+
+    /**
+     * Called once per conflict: move the variables involved in the conflict
+     * to the front of the queue, keeping their relative order.
+     */
+    public void varDecayActivity() {
+        int size = this.toBump.size();
+        if (this.sortedBumps.length < size) {
+            this.sortedBumps = new long[size];
+        }
+        int var;
+        for (int i = 0; i < size; i++) {
+            var = this.toBump.get(i);
+            this.sortedBumps[i] = (long) this.stamp[var] << 32 | var;
+        }
+        Arrays.sort(this.sortedBumps, 0, size);
+        for (int i = 0; i < size; i++) {
+            moveToFront((int) this.sortedBumps[i]);
+        }
+        this.toBump.clear();
+        this.conflicts++;
+    }
+
+    private void moveToFront(int var) {
+        if (var != this.first) {
+            // dequeue
+            int p = this.prev[var];
+            int n = this.next[var];
+            if (p != 0) {
+                this.next[p] = n;
+            } else {
+                this.last = n;
+            }
+            this.prev[n] = p;
+            // enqueue at the front
+            this.prev[var] = this.first;
+            this.next[var] = 0;
+            this.next[this.first] = var;
+            this.first = var;
+        }
+        if (this.timestamp == Integer.MAX_VALUE) {
+            renumber();
+        }
+        this.stamp[var] = ++this.timestamp;
+        if (this.lits.isUnassigned(var << 1)) {
+            this.search = var;
+        }
+        this.moves++;
+    }
+
+    private void renumber() {
+        this.timestamp = 0;
+        for (int var = this.last; var != 0; var = this.next[var]) {
+            this.stamp[var] = ++this.timestamp;
+        }
+    }
+
+    public void setVarDecay(double d) {
+        // no decay in VMTF
+    }
+
+    public double varActivity(int p) {
+        return this.stamp[var(p)];
+    }
+
+    public void init() {
+        int nlength = this.lits.nVars() + 1;
+        this.prev = new int[nlength];
+        this.next = new int[nlength];
+        this.stamp = new int[nlength];
+        this.bumped = new long[nlength];
+        this.heuristics = new double[nlength];
+        this.phaseStrategy.init(nlength);
+        this.first = 0;
+        this.last = 0;
+        this.timestamp = 0;
+        this.conflicts = 1;
+        this.toBump.clear();
+        for (int i = 1; i < nlength; i++) {
+            if (this.lits.belongsToPool(i)) {
+                this.prev[i] = this.first;
+                if (this.first != 0) {
+                    this.next[this.first] = i;
+                } else {
+                    this.last = i;
+                }
+                this.first = i;
+                this.stamp[i] = ++this.timestamp;
+            }
+        }
+        this.search = this.first;
+    }
+
+    public void printStat(PrintWriter out, String prefix) {
+        out.println(prefix + "moves to front\t" + this.moves); //$NON-NLS-1$
+    }
+
+    public double[] getVariableHeuristics() {
+        for (int i = 1; i < this.stamp.length; i++) {
+            this.heuristics[i] = this.stamp[i];
+        }
+        return this.heuristics;
+    }
+
+    @Override
+    public String toString() {
+        return "VMTF variable move to front queue " + this.phaseStrategy; //$NON-NLS-1$
+    }
+}
@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.restarts;
+
+import org.sat4j.minisat.core.ModeSwitchingRestartStrategy;
+import org.sat4j.minisat.core.RestartStrategy;
+import org.sat4j.minisat.core.SearchParams;
+import org.sat4j.minisat.core.SolverStats;
+import org.sat4j.specs.Constr;
+
+/**
+ * Stabilization as found in CaDiCaL and Kissat: the search alternates between
+ * a focused mode, using a dynamic restart strategy such as Glucose's one, and
+ * a stable mode, using a restart strategy with few restarts such as Luby's
+ * one with a large factor. The length of each mode, in conflicts, grows
+ * geometrically.
+ * 
+ * @since 2.3.6
+ */
+public class StabilizingRestarts implements ModeSwitchingRestartStrategy {
+
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 1L;
+
+    public static final int DEFAULT_MODE_LENGTH = 1000;
+
+    public static final double DEFAULT_MODE_LENGTH_FACTOR = 2.0;
+
+    private final RestartStrategy focused;
+
+    private final RestartStrategy stable;
+
+    private final int initialModeLength;
+
+    private final double modeLengthFactor;
+
+    private RestartStrategy current;
+
+    private double modeLength;
+
+    private long conflicts;
+
+    private long nextSwitch;
+
+    private int switches;
+
+    public StabilizingRestarts() {
+        this(new Glucose21Restarts(), new LubyRestarts(1024));
+    }
+
+    public StabilizingRestarts(RestartStrategy focused, RestartStrategy stable) {
+        this(focused, stable, DEFAULT_MODE_LENGTH, DEFAULT_MODE_LENGTH_FACTOR);
+    }
+
+    /**
+     * 
+     * @param focused
+     *            the restart strategy used in focused mode.
+     * @param stable
+     *            the restart strategy used in stable mode.
+     * @param initialModeLength
+     *            the number of conflicts of the first focused mode.
+     * @param modeLengthFactor
+     *            the factor applied to the length of a mode on each switch.
+     */
+    public StabilizingRestarts(RestartStrategy focused,
+            RestartStrategy stable, int initialModeLength,
+            double modeLengthFactor) {
+        this.focused = focused;
+        this.stable = stable;
+        this.initialModeLength = initialModeLength;
+        this.modeLengthFactor = modeLengthFactor;
+        this.current = focused;
+    }
+
+    public void init(SearchParams params, SolverStats stats) {
+        this.focused.init(params, stats);
+        this.stable.init(params, stats);
+        this.current = this.focused;
+        this.modeLength = this.initialModeLength;
+        this.conflicts = 0;
+        this.nextSwitch = this.initialModeLength;
+        this.switches = 0;
+    }
+
+    public boolean isStable() {
+        return this.current == this.stable;
+    }
+
+    /**
+     * 
+     * @return the number of mode switches since the beginning of the search.
+     */
+    public int getSwitches() {
+        return this.switches;
+    }
+
+    @Deprecated
+    public long nextRestartNumberOfConflict() {
+        return this.current.nextRestartNumberOfConflict();
+    }
+
+    public boolean shouldRestart() {
+        return this.conflicts >= this.nextSwitch
+                || this.current.shouldRestart();
+    }
+
+    public void onRestart() {
+        this.current.onRestart();
+        if (this.conflicts >= this.nextSwitch) {
+            if (this.current == this.focused) {
+                this.current = this.stable;
+            } else {
+                this.current = this.focused;
+                this.modeLength *= this.modeLengthFactor;
+            }
+            // start the mode with fresh statistics
+            this.current.onRestart();
+            this.nextSwitch = this.conflicts + (long) this.modeLength;
+            this.switches++;
+        }
+    }
+
+    public void onBackjumpToRootLevel() {
+        this.current.onBackjumpToRootLevel();
+    }
+
+    public void newLearnedClause(Constr learned, int trailLevel) {
+        // both strategies keep track of the quality of learned clauses
+        this.focused.newLearnedClause(learned, trailLevel);
+        this.stable.newLearnedClause(learned, trailLevel);
+    }
+
+    public void reset() {
+        this.focused.reset();
+        this.stable.reset();
+    }
+
+    public void newConflict() {
+        this.conflicts++;
+        this.current.newConflict();
+    }
+
+    @Override
+    public String toString() {
+        return "stabilizing restarts strategy alternating " + this.focused
+                + " and " + this.stable;
+    }
+}
@@ -87,6 +87,12 @@ public final class MaxSatDecorator extends AbstractSelectorVariablesDecorator {
         return super.addClause(literals);
     }
 
+    @Override
+    public void addClauses(int[] flatLits, int[] offsets)
+            throws ContradictionException {
+        addClausesOneByOne(flatLits, offsets);
+    }
+
     @Override
     public void reset() {
         this.lits.clear();
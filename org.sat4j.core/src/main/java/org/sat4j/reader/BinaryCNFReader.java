@@ -0,0 +1,355 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.Serializable;
+import java.math.BigInteger;
+
+import org.sat4j.core.LiteralsUtils;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IProblem;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVecInt;
+
+/**
+ * Reader for the compact binary snapshots produced by
+ * {@link org.sat4j.tools.BinaryCNFOutputSolver}.
+ * 
+ * A snapshot starts with a header made of the magic bytes <code>S4J</code>, the
+ * kind of problem (<code>c</code> for CNF, <code>p</code> for pseudo boolean
+ * problems), the version of the format, then the number of variables and the
+ * number of constraints as 4 bytes big endian integers. Each constraint is then
+ * given by a tag followed by its size and its literals. All the integers are
+ * encoded as varints, i.e. 7 bits per byte, least significant bits first, the
+ * highest bit of each byte telling if another byte follows. Each literal is
+ * encoded as the (zigzag encoded) difference between its internal
+ * representation and the one of the previous literal of the constraint.
+ * 
+ * The file is read without any copy (see {@link MappedDimacsReader}), and the
+ * clauses are given to the solver in bulk (see
+ * {@link ISolver#addClauses(int[], int[])}), so reloading a snapshot is mostly
+ * bound by I/O.
+ * 
+ * @since 2.3.6
+ */
+public class BinaryCNFReader extends Reader implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * First bytes of the snapshots.
+     */
+    public static final byte[] MAGIC = { 'S', '4', 'J' };
+
+    /**
+     * Current version of the format.
+     */
+    public static final int VERSION = 1;
+
+    /**
+     * Size of the header, in bytes.
+     */
+    public static final int HEADER_SIZE = 13;
+
+    /**
+     * Kind of a snapshot containing only clauses.
+     */
+    public static final int CNF = 'c';
+
+    /**
+     * Kind of a snapshot containing pseudo boolean constraints.
+     */
+    public static final int PB = 'p';
+
+    /**
+     * Tag of a clause.
+     */
+    public static final int CLAUSE = 'c';
+
+    /**
+     * Tag of a "at least" pseudo boolean constraint.
+     */
+    public static final int AT_LEAST = '>';
+
+    /**
+     * Tag of a "at most" pseudo boolean constraint.
+     */
+    public static final int AT_MOST = '<';
+
+    /**
+     * Tag of an "exactly" pseudo boolean constraint.
+     */
+    public static final int EXACTLY = '=';
+
+    /**
+     * Tag of an objective function.
+     */
+    public static final int OBJECTIVE = 'o';
+
+    private final ISolver s;
+
+    private final int windowSize;
+
+    private transient MappedInput in;
+
+    private int kind;
+
+    public BinaryCNFReader(ISolver s) {
+        this(s, MappedDimacsReader.DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * 
+     * @param s
+     *            the solver to feed
+     * @param windowSize
+     *            the size of the part of the file mapped in memory, in bytes.
+     */
+    public BinaryCNFReader(ISolver s, int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Wrong window size: "
+                    + windowSize);
+        }
+        this.s = s;
+        this.windowSize = windowSize;
+    }
+
+    @Override
+    public IProblem parseInstance(final InputStream input)
+            throws ParseFormatException, ContradictionException, IOException {
+        try {
+            this.in = new MappedInput(input, this.windowSize);
+            return parse();
+        } finally {
+            this.in = null;
+            input.close();
+        }
+    }
+
+    private IProblem parse() throws IOException, ParseFormatException,
+            ContradictionException {
+        for (byte b : MAGIC) {
+            if (this.in.read() != b) {
+                throw new ParseFormatException("Not a binary Sat4j snapshot");
+            }
+        }
+        this.kind = this.in.read();
+        if (!isKnownKind(this.kind)) {
+            throw new ParseFormatException("Unsupported kind of problem: "
+                    + (char) this.kind);
+        }
+        int version = this.in.read();
+        if (version != VERSION) {
+            throw new ParseFormatException("Unsupported version: " + version);
+        }
+        int nbVars = readInt();
+        int nbConstraints = readInt();
+        if (nbVars < 0 || nbConstraints < 0) {
+            throw new ParseFormatException("Wrong header: " + nbVars + " "
+                    + nbConstraints);
+        }
+        this.s.reset();
+        this.s.newVar(nbVars);
+        this.s.setExpectedNumberOfClauses(nbConstraints);
+        ClauseBatch batch = new ClauseBatch(this.s);
+        int tag;
+        while ((tag = this.in.read()) != MappedInput.EOF) {
+            if (tag == CLAUSE) {
+                readClause(batch);
+            } else {
+                // keep the order of the constraints
+                batch.flush();
+                readConstraint(tag);
+            }
+        }
+        batch.flush();
+        endOfInstance();
+        return this.s;
+    }
+
+    /**
+     * 
+     * @param kind
+     *            the kind of problem found in the header
+     * @return true iff that reader can handle such problems.
+     */
+    protected boolean isKnownKind(int kind) {
+        return kind == CNF;
+    }
+
+    /**
+     * 
+     * @return the kind of problem of the last snapshot read.
+     */
+    protected int getKind() {
+        return this.kind;
+    }
+
+    /**
+     * Read a constraint which is not a clause.
+     * 
+     * @param tag
+     *            the tag of the constraint
+     * @throws ParseFormatException
+     *             if the tag is unknown
+     */
+    protected void readConstraint(int tag) throws IOException,
+            ParseFormatException, ContradictionException {
+        throw new ParseFormatException("Unknown tag "
+                + (tag < 0 ? "EOF" : String.valueOf((char) tag)));
+    }
+
+    /**
+     * Called once all the constraints have been read.
+     */
+    protected void endOfInstance() throws ContradictionException {
+    }
+
+    /**
+     * Read the literals of a constraint, in Dimacs format.
+     * 
+     * @param lits
+     *            a vector receiving the literals
+     */
+    protected final void readLiterals(IVecInt lits) throws IOException,
+            ParseFormatException {
+        lits.clear();
+        int n = readVarInt();
+        int p = 0;
+        for (int i = 0; i < n; i++) {
+            int delta = readVarInt();
+            p += (delta >>> 1) ^ -(delta & 1);
+            if (p < 2) {
+                throw new ParseFormatException("Wrong literal " + p);
+            }
+            lits.push(LiteralsUtils.toDimacs(p));
+        }
+    }
+
+    private void readClause(ClauseBatch batch) throws IOException,
+            ParseFormatException, ContradictionException {
+        int n = readVarInt();
+        int p = 0;
+        for (int i = 0; i < n; i++) {
+            int delta = readVarInt();
+            p += (delta >>> 1) ^ -(delta & 1);
+            if (p < 2) {
+                throw new ParseFormatException("Wrong literal " + p);
+            }
+            batch.push(LiteralsUtils.toDimacs(p));
+        }
+        batch.endClause();
+    }
+
+    /**
+     * Read a (possibly very large) integer.
+     */
+    protected final BigInteger readBigInteger() throws IOException,
+            ParseFormatException {
+        long header = readVarLong();
+        if ((header & 1) == 0) {
+            long zigzag = header >>> 1;
+            return BigInteger.valueOf((zigzag >>> 1) ^ -(zigzag & 1));
+        }
+        int size = (int) (header >>> 1);
+        byte[] bytes = new byte[size];
+        for (int i = 0; i < size; i++) {
+            bytes[i] = (byte) readByte();
+        }
+        return new BigInteger(bytes);
+    }
+
+    /**
+     * Read an unsigned varint.
+     */
+    protected final int readVarInt() throws IOException, ParseFormatException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = readByte();
+            value |= (b & 0x7F) << shift;
+            if (b < 0x80) {
+                return value;
+            }
+        }
+        throw new ParseFormatException("Malformed varint");
+    }
+
+    private long readVarLong() throws IOException, ParseFormatException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            int b = readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b < 0x80) {
+                return value;
+            }
+        }
+        throw new ParseFormatException("Malformed varint");
+    }
+
+    private int readInt() throws IOException, ParseFormatException {
+        int value = 0;
+        for (int i = 0; i < 4; i++) {
+            value = value << 8 | readByte();
+        }
+        return value;
+    }
+
+    private int readByte() throws IOException, ParseFormatException {
+        int b = this.in.read();
+        if (b == MappedInput.EOF) {
+            throw new ParseFormatException("Unexpected end of file");
+        }
+        return b;
+    }
+
+    @Deprecated
+    @Override
+    public String decode(int[] model) {
+        StringBuffer stb = new StringBuffer();
+        for (int element : model) {
+            stb.append(element);
+            stb.append(" ");
+        }
+        stb.append("0");
+        return stb.toString();
+    }
+
+    @Override
+    public void decode(int[] model, PrintWriter out) {
+        for (int element : model) {
+            out.print(element);
+            out.print(" ");
+        }
+        out.print("0");
+    }
+}
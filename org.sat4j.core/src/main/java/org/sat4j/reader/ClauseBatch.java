@@ -0,0 +1,107 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.reader;
+
+import org.sat4j.core.VecInt;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVecInt;
+
+/**
+ * Collect the clauses read in flat arrays and give them to the solver in bulk
+ * (see {@link ISolver#addClauses(int[], int[])}).
+ * 
+ * @since 2.3.6
+ */
+final class ClauseBatch {
+
+    /**
+     * Number of literals triggering the transfer of the clauses to the solver.
+     */
+    private static final int BATCH_SIZE = 1 << 18;
+
+    private final ISolver solver;
+
+    private final IVecInt literals = new VecInt(BATCH_SIZE + 1);
+
+    private final IVecInt offsets = new VecInt(BATCH_SIZE / 2);
+
+    ClauseBatch(ISolver solver) {
+        this.solver = solver;
+        this.offsets.push(0);
+    }
+
+    void push(int lit) {
+        this.literals.push(lit);
+    }
+
+    /**
+     * The literals pushed since the end of the previous clause form a new
+     * clause.
+     */
+    void endClause() throws ContradictionException {
+        this.offsets.push(this.literals.size());
+        if (this.literals.size() >= BATCH_SIZE) {
+            flush();
+        }
+    }
+
+    /**
+     * 
+     * @return true iff some literals have been pushed since the end of the
+     *         last clause.
+     */
+    boolean hasPendingLiterals() {
+        return this.literals.size() > this.offsets.last();
+    }
+
+    /**
+     * Give the complete clauses to the solver. The literals of a clause not
+     * ended yet are kept.
+     */
+    void flush() throws ContradictionException {
+        int nbOffsets = this.offsets.size();
+        int end = this.offsets.last();
+        if (nbOffsets > 1) {
+            int[] bounds = new int[nbOffsets];
+            System.arraycopy(this.offsets.toArray(), 0, bounds, 0, nbOffsets);
+            int[] lits = this.literals.toArray();
+            this.offsets.clear();
+            this.offsets.push(0);
+            try {
+                this.solver.addClauses(lits, bounds);
+            } finally {
+                int pending = this.literals.size() - end;
+                System.arraycopy(lits, end, lits, 0, pending);
+                this.literals.shrinkTo(pending);
+            }
+        }
+    }
+}
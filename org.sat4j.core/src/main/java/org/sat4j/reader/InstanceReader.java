@@ -54,10 +54,16 @@ public class InstanceReader extends Reader {
 
     private LecteurDimacs dimacs;
 
+    private MappedDimacsReader mappedDimacs;
+
+    private BinaryCNFReader binaryCnf;
+
     private Reader reader = null;
 
     private final ISolver solver;
 
+    private int nbParsingThreads = 1;
+
     public InstanceReader(ISolver solver) {
         // dimacs = new DimacsReader(solver);
         this.solver = solver;
@@ -71,6 +77,21 @@ public class InstanceReader extends Reader {
         return this.dimacs;
     }
 
+    private Reader getMappedSATReader() {
+        if (this.mappedDimacs == null) {
+            this.mappedDimacs = new MappedDimacsReader(this.solver);
+        }
+        this.mappedDimacs.setNbThreads(this.nbParsingThreads);
+        return this.mappedDimacs;
+    }
+
+    private Reader getBinarySATReader() {
+        if (this.binaryCnf == null) {
+            this.binaryCnf = new BinaryCNFReader(this.solver);
+        }
+        return this.binaryCnf;
+    }
+
     private Reader getEZSATReader() {
         if (this.ezdimacs == null) {
             this.ezdimacs = new DimacsReader(this.solver);// new
@@ -116,14 +137,38 @@ public class InstanceReader extends Reader {
         } else {
             fname = filename;
         }
-        this.reader = handleFileName(fname, prefix);
+        if (fname.equals(filename) && prefix.length() == 0
+                && fname.endsWith(".cnf")) {
+            // plain files are mapped in memory
+            this.reader = getMappedSATReader();
+        } else {
+            this.reader = handleFileName(fname, prefix);
+        }
         return this.reader.parseInstance(filename);
     }
 
+    /**
+     * Set the number of threads used to parse uncompressed CNF files.
+     * 
+     * @param nbThreads
+     *            the number of threads
+     * @since 2.3.6
+     */
+    public void setNbParsingThreads(int nbThreads) {
+        if (nbThreads <= 0) {
+            throw new IllegalArgumentException("Wrong number of threads: "
+                    + nbThreads);
+        }
+        this.nbParsingThreads = nbThreads;
+    }
+
     protected Reader handleFileName(String fname, String prefix) {
         if ("EZCNF".equals(prefix)) {
             return getEZSATReader();
         }
+        if (fname.endsWith(".bcnf")) {
+            return getBinarySATReader();
+        }
         if (fname.endsWith(".aag")) {
             return getAAGReader();
         }
@@ -37,11 +37,9 @@ import java.io.Serializable;
 import java.util.HashMap;
 import java.util.Map;
 
-import org.sat4j.core.VecInt;
 import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.IProblem;
 import org.sat4j.specs.ISolver;
-import org.sat4j.specs.IVecInt;
 
 /**
  * Dimacs Reader written by Frederic Laihem. It is much faster than DimacsReader
@@ -158,7 +156,7 @@ public class LecteurDimacs extends Reader implements Serializable {
      */
     private void ajouterClauses(char car) throws IOException,
             ContradictionException, ParseFormatException {
-        final IVecInt lit = new VecInt();
+        final ClauseBatch lit = new ClauseBatch(this.s);
         int val = 0;
         boolean neg = false;
         for (;;) {
@@ -185,8 +183,7 @@ public class LecteurDimacs extends Reader implements Serializable {
                 car = (char) this.in.read();
             }
             if (val == 0) { // on a lu toute la clause
-                this.s.addClause(lit);
-                lit.clear();
+                lit.endClause();
             } else {
                 /* on ajoute le literal au vecteur */
                 // s.newVar(val-1);
@@ -198,9 +195,10 @@ public class LecteurDimacs extends Reader implements Serializable {
                 car = passerEspaces();
             }
             if (car == EOF) {
-                if (!lit.isEmpty()) {
-                    this.s.addClause(lit);
+                if (lit.hasPendingLiterals()) {
+                    lit.endClause();
                 }
+                lit.flush();
                 break; /* on a lu tout le fichier */
             }
         }
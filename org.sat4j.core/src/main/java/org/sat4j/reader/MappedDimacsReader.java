@@ -0,0 +1,554 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.sat4j.core.VecInt;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IProblem;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVecInt;
+
+/**
+ * Dimacs reader parsing the input directly from a memory mapped file, without
+ * any stream in between. Large files are mapped piece by piece, using a
+ * sliding window, so files larger than 2GB can be read.
+ * 
+ * Inputs which are not plain files (e.g. compressed files) are read through a
+ * channel into a direct buffer, using the same parser.
+ * 
+ * The clauses are given to the solver in bulk, using
+ * {@link ISolver#addClauses(int[], int[])}.
+ * 
+ * The clauses of a plain file can also be parsed by several threads (see
+ * {@link #setNbThreads(int)}). The file is split into chunks ending with a
+ * new line, each chunk being parsed into a flat buffer of literals. The
+ * buffers are given to the solver in the order of the file, so the solver
+ * gets exactly the same clauses in the same order as with a single thread.
+ * 
+ * @since 2.3.6
+ */
+public class MappedDimacsReader extends Reader implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Default size of the part of the file mapped in memory.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 1 << 28;
+
+    private static final int EOF = MappedInput.EOF;
+
+    private static final int MIN_CHUNK_SIZE = 1 << 16;
+
+    private static final int MAX_CHUNK_SIZE = 1 << 23;
+
+    private final ISolver s;
+
+    private final int windowSize;
+
+    private int nbThreads = 1;
+
+    private final IVecInt literals = new VecInt();
+
+    private transient MappedInput in;
+
+    private int nbVars;
+
+    private int nbClauses;
+
+    private Map<Integer, String> mapping;
+
+    public MappedDimacsReader(ISolver s) {
+        this(s, DEFAULT_WINDOW_SIZE);
+    }
+
+    /**
+     * 
+     * @param s
+     *            the solver to feed
+     * @param windowSize
+     *            the size of the part of the file mapped in memory, in bytes.
+     */
+    public MappedDimacsReader(ISolver s, int windowSize) {
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException("Wrong window size: "
+                    + windowSize);
+        }
+        this.s = s;
+        this.windowSize = windowSize;
+    }
+
+    /**
+     * Set the number of threads used to parse the clauses of plain files.
+     * Comments are not read when several threads are used, so the mapping
+     * found in comments is only available with a single thread.
+     * 
+     * @param nbThreads
+     *            the number of threads.
+     */
+    public void setNbThreads(int nbThreads) {
+        if (nbThreads <= 0) {
+            throw new IllegalArgumentException("Wrong number of threads: "
+                    + nbThreads);
+        }
+        this.nbThreads = nbThreads;
+    }
+
+    public int getNbThreads() {
+        return this.nbThreads;
+    }
+
+    @Override
+    public IProblem parseInstance(final InputStream input)
+            throws ParseFormatException, ContradictionException, IOException {
+        try {
+            this.in = new MappedInput(input, this.windowSize);
+            return parse();
+        } finally {
+            this.in = null;
+            input.close();
+        }
+    }
+
+    private IProblem parse() throws IOException, ParseFormatException,
+            ContradictionException {
+        this.mapping = null;
+        this.nbVars = -1;
+        this.nbClauses = -1;
+        this.s.reset();
+        int c = skipSpaces(read());
+        while (c == 'c' || c == 'p') {
+            if (c == 'c') {
+                c = comment();
+            } else {
+                c = problemLine();
+            }
+        }
+        if (this.nbVars < 0) {
+            throw new ParseFormatException(
+                    "DIMACS error: wrong max number of variables");
+        }
+        this.s.newVar(this.nbVars);
+        this.s.setExpectedNumberOfClauses(this.nbClauses);
+        if (this.nbClauses > 0 && c == EOF) {
+            throw new ParseFormatException(
+                    "DIMACS error: the clauses are missing");
+        }
+        if (this.in.file() != null && this.nbThreads > 1 && !isUsingMapping()
+                && c != EOF) {
+            readClausesInParallel(this.in.position() - 1);
+        } else {
+            readClauses(c);
+        }
+        return this.s;
+    }
+
+    private void readClausesInParallel(long start) throws IOException,
+            ParseFormatException, ContradictionException {
+        // literals of a clause spanning several chunks
+        final IVecInt lits = this.literals;
+        final FileChannel file = this.in.file();
+        final long fileSize = this.in.size();
+        lits.clear();
+        long chunkSize = Math.max(MIN_CHUNK_SIZE, Math.min(MAX_CHUNK_SIZE,
+                (fileSize - start) / this.nbThreads));
+        ExecutorService pool = Executors.newFixedThreadPool(this.nbThreads);
+        LinkedList<Future<Block>> chunks = new LinkedList<Future<Block>>();
+        try {
+            long next = start;
+            boolean end = false;
+            while (!end && (next < fileSize || !chunks.isEmpty())) {
+                while (next < fileSize
+                        && chunks.size() < this.nbThreads + 2) {
+                    long limit = nextLine(next + chunkSize);
+                    chunks.add(pool.submit(new Chunk(file, next, limit)));
+                    next = limit;
+                }
+                Block block = get(chunks.removeFirst());
+                int[] offsets = block.offsets;
+                int nbClauses = offsets.length - 1;
+                if (nbClauses > 0 && !lits.isEmpty()) {
+                    // end of the clause started in a previous chunk
+                    for (int i = 0; i < offsets[1]; i++) {
+                        lits.push(block.literals[i]);
+                    }
+                    this.s.addClause(lits);
+                    lits.clear();
+                    offsets = new int[nbClauses];
+                    System.arraycopy(block.offsets, 1, offsets, 0, nbClauses);
+                }
+                this.s.addClauses(block.literals, offsets);
+                for (int i = block.offsets[nbClauses]; i < block.size; i++) {
+                    lits.push(block.literals[i]);
+                }
+                end = block.end;
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        if (!lits.isEmpty()) {
+            this.s.addClause(lits);
+        }
+    }
+
+    private static Block get(Future<Block> chunk) throws IOException,
+            ParseFormatException {
+        boolean interrupted = false;
+        try {
+            for (;;) {
+                try {
+                    return chunk.get();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof ParseFormatException) {
+                throw (ParseFormatException) cause;
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Find the beginning of the first line starting after a position of the
+     * file.
+     */
+    private long nextLine(long position) throws IOException {
+        ByteBuffer block = ByteBuffer.allocate(4096);
+        long current = position - 1;
+        while (current < this.in.size()) {
+            block.clear();
+            int n = this.in.file().read(block, current);
+            if (n <= 0) {
+                break;
+            }
+            for (int i = 0; i < n; i++) {
+                if (block.get(i) == '\n') {
+                    return current + i + 1;
+                }
+            }
+            current += n;
+        }
+        return this.in.size();
+    }
+
+    private void readClauses(int first) throws IOException,
+            ParseFormatException, ContradictionException {
+        final ClauseBatch batch = new ClauseBatch(this.s);
+        int c = first;
+        while (c != EOF) {
+            if (c == 'c') {
+                c = comment();
+                continue;
+            }
+            if (c == '%') {
+                // SATLIB end of file marker
+                break;
+            }
+            boolean negative = false;
+            if (c == '-') {
+                negative = true;
+                c = read();
+            } else if (c == '+') {
+                c = read();
+            }
+            if (c < '0' || c > '9') {
+                throw new ParseFormatException("Unknown character "
+                        + (c == EOF ? "EOF" : String.valueOf((char) c)));
+            }
+            int val = c - '0';
+            while ((c = read()) >= '0' && c <= '9') {
+                val = val * 10 + c - '0';
+            }
+            if (c != EOF && !isSpace(c)) {
+                throw new ParseFormatException("Unknown character "
+                        + (char) c);
+            }
+            if (val == 0) {
+                batch.endClause();
+            } else {
+                batch.push(negative ? -val : val);
+            }
+            c = skipSpaces(c);
+        }
+        if (batch.hasPendingLiterals()) {
+            batch.endClause();
+        }
+        batch.flush();
+    }
+
+    /**
+     * Read the number of variables and clauses on the p cnf line.
+     * 
+     * @return the first character after that line
+     */
+    private int problemLine() throws IOException, ParseFormatException {
+        int c = read();
+        while (c != EOF && (c < '0' || c > '9')) {
+            c = read();
+        }
+        this.nbVars = 0;
+        for (; c >= '0' && c <= '9'; c = read()) {
+            this.nbVars = 10 * this.nbVars + c - '0';
+        }
+        while (c != EOF && (c < '0' || c > '9')) {
+            c = read();
+        }
+        this.nbClauses = 0;
+        for (; c >= '0' && c <= '9'; c = read()) {
+            this.nbClauses = 10 * this.nbClauses + c - '0';
+        }
+        while (c != EOF && c != '\n') {
+            c = read();
+        }
+        return skipSpaces(c);
+    }
+
+    /**
+     * Skip a comment line, collecting the mapping if needed.
+     * 
+     * @return the first character after that line
+     */
+    private int comment() throws IOException {
+        int c;
+        if (isUsingMapping()) {
+            StringBuffer stb = new StringBuffer();
+            while ((c = read()) != EOF && c != '\n') {
+                stb.append((char) c);
+            }
+            String[] values = stb.toString().trim().split("=");
+            if (values.length == 2) {
+                if (this.mapping == null) {
+                    this.mapping = new HashMap<Integer, String>();
+                }
+                try {
+                    this.mapping.put(Integer.valueOf(values[0].trim()),
+                            values[1].trim());
+                } catch (NumberFormatException e) {
+                    // not a mapping
+                }
+            }
+        } else {
+            while ((c = read()) != EOF && c != '\n') {
+                // skip the comment
+            }
+        }
+        return skipSpaces(c);
+    }
+
+    private int skipSpaces(int first) throws IOException {
+        int c = first;
+        while (isSpace(c)) {
+            c = read();
+        }
+        return c;
+    }
+
+    private static boolean isSpace(int c) {
+        return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+    }
+
+    private int read() throws IOException {
+        return this.in.read();
+    }
+
+    @Deprecated
+    @Override
+    public String decode(int[] model) {
+        StringBuffer stb = new StringBuffer();
+        for (int element : model) {
+            stb.append(element);
+            stb.append(" ");
+        }
+        stb.append("0");
+        return stb.toString();
+    }
+
+    @Override
+    public void decode(int[] model, PrintWriter out) {
+        if (isUsingMapping() && hasAMapping()) {
+            for (int element : model) {
+                if (element > 0) {
+                    String mapped = this.mapping.get(element);
+                    out.print(mapped == null ? String.valueOf(element)
+                            : mapped);
+                    out.print(" ");
+                }
+            }
+        } else {
+            for (int element : model) {
+                out.print(element);
+                out.print(" ");
+            }
+        }
+        out.print("0");
+    }
+
+    @Override
+    public boolean hasAMapping() {
+        return this.mapping != null;
+    }
+
+    @Override
+    public Map<Integer, String> getMapping() {
+        return this.mapping;
+    }
+
+    /**
+     * The clauses found in a chunk.
+     */
+    private static final class Block {
+
+        /**
+         * The literals of the chunk, without the zeros ending the clauses.
+         */
+        final int[] literals;
+
+        final int size;
+
+        /**
+         * The index of the first literal of each clause ended in the chunk,
+         * followed by the index following its last clause. The literals found
+         * after that index belong to a clause ended in a next chunk.
+         */
+        final int[] offsets;
+
+        /**
+         * True iff the SATLIB end of file marker has been found.
+         */
+        final boolean end;
+
+        Block(IVecInt literals, IVecInt offsets, boolean end) {
+            this.literals = literals.toArray();
+            this.size = literals.size();
+            this.offsets = new int[offsets.size()];
+            System.arraycopy(offsets.toArray(), 0, this.offsets, 0,
+                    offsets.size());
+            this.end = end;
+        }
+    }
+
+    /**
+     * Parse a part of the file made of full lines into a flat buffer of
+     * literals.
+     */
+    private static final class Chunk implements Callable<Block> {
+
+        private final FileChannel file;
+
+        private final long from;
+
+        private final long to;
+
+        Chunk(FileChannel file, long from, long to) {
+            this.file = file;
+            this.from = from;
+            this.to = to;
+        }
+
+        public Block call() throws IOException, ParseFormatException {
+            ByteBuffer b = this.file.map(FileChannel.MapMode.READ_ONLY,
+                    this.from, this.to - this.from);
+            IVecInt literals = new VecInt(
+                    (int) ((this.to - this.from) / 4) + 1);
+            IVecInt offsets = new VecInt(
+                    (int) ((this.to - this.from) / 16) + 1);
+            offsets.push(0);
+            while (b.hasRemaining()) {
+                int c = b.get() & 0xFF;
+                if (isSpace(c)) {
+                    continue;
+                }
+                if (c == 'c') {
+                    while (b.hasRemaining() && b.get() != '\n') {
+                        // skip the comment
+                    }
+                    continue;
+                }
+                if (c == '%') {
+                    return new Block(literals, offsets, true);
+                }
+                boolean negative = c == '-';
+                if (negative || c == '+') {
+                    c = next(b);
+                }
+                if (c < '0' || c > '9') {
+                    throw new ParseFormatException("Unknown character "
+                            + (c == EOF ? "EOF" : String.valueOf((char) c)));
+                }
+                int val = c - '0';
+                while ((c = next(b)) >= '0' && c <= '9') {
+                    val = val * 10 + c - '0';
+                }
+                if (c != EOF && !isSpace(c)) {
+                    throw new ParseFormatException("Unknown character "
+                            + (char) c);
+                }
+                if (val == 0) {
+                    offsets.push(literals.size());
+                } else {
+                    literals.push(negative ? -val : val);
+                }
+            }
+            return new Block(literals, offsets, false);
+        }
+
+        private static int next(ByteBuffer b) {
+            return b.hasRemaining() ? b.get() & 0xFF : EOF;
+        }
+    }
+}
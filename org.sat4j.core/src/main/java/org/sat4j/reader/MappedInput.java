@@ -0,0 +1,148 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.reader;
+
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+
+/**
+ * Byte by byte access to an input stream without any copy for plain files.
+ * 
+ * A plain file is memory mapped piece by piece, using a sliding window, so
+ * files larger than 2GB can be read. Other inputs (e.g. compressed files) are
+ * read through a channel into a direct buffer.
+ * 
+ * @since 2.3.6
+ */
+final class MappedInput {
+
+    static final int EOF = -1;
+
+    private static final int STREAM_BUFFER_SIZE = 1 << 16;
+
+    private final int windowSize;
+
+    private final FileChannel file;
+
+    private final ReadableByteChannel channel;
+
+    private ByteBuffer buffer;
+
+    /**
+     * Position in the file of the beginning of the current window.
+     */
+    private long windowStart;
+
+    private long fileSize;
+
+    MappedInput(InputStream input, int windowSize) throws IOException {
+        this.windowSize = windowSize;
+        if (input instanceof FileInputStream) {
+            this.file = ((FileInputStream) input).getChannel();
+            this.channel = null;
+            this.fileSize = this.file.size();
+            this.windowStart = this.file.position();
+            this.buffer = ByteBuffer.allocate(0);
+        } else {
+            this.file = null;
+            this.channel = Channels.newChannel(input);
+            this.buffer = ByteBuffer.allocateDirect(STREAM_BUFFER_SIZE);
+            this.buffer.limit(0);
+        }
+    }
+
+    /**
+     * 
+     * @return the next byte, as an unsigned value, or {@link #EOF} at the end
+     *         of the input.
+     */
+    int read() throws IOException {
+        if (!this.buffer.hasRemaining() && !nextWindow()) {
+            return EOF;
+        }
+        return this.buffer.get() & 0xFF;
+    }
+
+    /**
+     * 
+     * @return the channel of the file read, or null if the input is not a
+     *         plain file.
+     */
+    FileChannel file() {
+        return this.file;
+    }
+
+    /**
+     * 
+     * @return the position in the file of the next byte to read. Only
+     *         meaningful for plain files.
+     */
+    long position() {
+        return this.windowStart + this.buffer.position();
+    }
+
+    /**
+     * 
+     * @return the size of the file read. Only meaningful for plain files.
+     */
+    long size() {
+        return this.fileSize;
+    }
+
+    /**
+     * Map the next part of the file, or read the next part of the stream.
+     * 
+     * @return false iff the end of the input is reached.
+     */
+    private boolean nextWindow() throws IOException {
+        if (this.file != null) {
+            this.windowStart += this.buffer.limit();
+            if (this.windowStart >= this.fileSize) {
+                return false;
+            }
+            this.buffer = this.file.map(FileChannel.MapMode.READ_ONLY,
+                    this.windowStart,
+                    Math.min(this.windowSize, this.fileSize - this.windowStart));
+            return true;
+        }
+        this.buffer.clear();
+        int n;
+        do {
+            n = this.channel.read(this.buffer);
+        } while (n == 0);
+        this.buffer.flip();
+        return n > 0;
+    }
+}
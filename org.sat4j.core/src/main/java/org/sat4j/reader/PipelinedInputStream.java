@@ -0,0 +1,248 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+/**
+ * An input stream reading another one in a background thread.
+ * 
+ * The background thread fills a ring of reusable byte buffers while the
+ * parser consumes the ones already filled. It is used to decompress gzip or
+ * bzip2 files while parsing them, the parser thread no longer spending its
+ * time in the decompressor.
+ * 
+ * @since 2.3.6
+ */
+public final class PipelinedInputStream extends InputStream {
+
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 16;
+
+    public static final int DEFAULT_NB_BUFFERS = 4;
+
+    private final InputStream source;
+
+    /**
+     * Buffers ready to be filled by the producer.
+     */
+    private final BlockingQueue<Chunk> free;
+
+    /**
+     * Buffers filled by the producer, in the order of the source.
+     */
+    private final BlockingQueue<Chunk> full;
+
+    private final Thread producer;
+
+    private Chunk current;
+
+    private byte[] buffer;
+
+    private int position;
+
+    private int limit;
+
+    private boolean eof;
+
+    private volatile boolean closed;
+
+    public PipelinedInputStream(InputStream source) {
+        this(source, DEFAULT_BUFFER_SIZE, DEFAULT_NB_BUFFERS);
+    }
+
+    /**
+     * 
+     * @param source
+     *            the stream to read in the background.
+     * @param bufferSize
+     *            the size of each buffer of the ring.
+     * @param nbBuffers
+     *            the number of buffers in the ring, i.e. how far the producer
+     *            can be ahead of the consumer.
+     */
+    public PipelinedInputStream(InputStream source, int bufferSize,
+            int nbBuffers) {
+        if (bufferSize <= 0 || nbBuffers <= 0) {
+            throw new IllegalArgumentException("Wrong ring of " + nbBuffers
+                    + " buffers of size " + bufferSize);
+        }
+        this.source = source;
+        this.free = new ArrayBlockingQueue<Chunk>(nbBuffers);
+        this.full = new ArrayBlockingQueue<Chunk>(nbBuffers);
+        for (int i = 0; i < nbBuffers; i++) {
+            this.free.add(new Chunk(bufferSize));
+        }
+        this.buffer = new byte[0];
+        this.producer = new Thread(new Producer(), "Sat4j input pipeline");
+        this.producer.setDaemon(true);
+        this.producer.start();
+    }
+
+    @Override
+    public int read() throws IOException {
+        if (this.position == this.limit && !nextChunk()) {
+            return -1;
+        }
+        return this.buffer[this.position++] & 0xFF;
+    }
+
+    @Override
+    public int read(byte[] b, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        if (this.position == this.limit && !nextChunk()) {
+            return -1;
+        }
+        int n = Math.min(len, this.limit - this.position);
+        System.arraycopy(this.buffer, this.position, b, off, n);
+        this.position += n;
+        return n;
+    }
+
+    @Override
+    public int available() {
+        return this.limit - this.position;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (this.closed) {
+            return;
+        }
+        this.closed = true;
+        this.producer.interrupt();
+        this.source.close();
+    }
+
+    /**
+     * Give back the current buffer to the producer and wait for the next one.
+     * 
+     * @return false iff the end of the source has been reached.
+     */
+    private boolean nextChunk() throws IOException {
+        if (this.eof) {
+            return false;
+        }
+        if (this.closed) {
+            throw new IOException("Stream closed");
+        }
+        try {
+            if (this.current != null) {
+                this.free.put(this.current);
+            }
+            this.current = this.full.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException();
+        }
+        if (this.current.error != null) {
+            IOException ioe = new IOException(this.current.error.getMessage());
+            ioe.initCause(this.current.error);
+            throw ioe;
+        }
+        if (this.current.length < 0) {
+            this.eof = true;
+            this.position = this.limit = 0;
+            return false;
+        }
+        this.buffer = this.current.data;
+        this.position = 0;
+        this.limit = this.current.length;
+        return true;
+    }
+
+    private static final class Chunk {
+
+        final byte[] data;
+
+        /**
+         * Number of bytes read in data, -1 at the end of the source.
+         */
+        int length;
+
+        /**
+         * The error raised by the source, if any.
+         */
+        IOException error;
+
+        Chunk(int size) {
+            this.data = new byte[size];
+        }
+    }
+
+    private final class Producer implements Runnable {
+
+        public void run() {
+            try {
+                int n;
+                do {
+                    Chunk chunk = PipelinedInputStream.this.free.take();
+                    n = fill(chunk);
+                    PipelinedInputStream.this.full.put(chunk);
+                } while (n >= 0);
+            } catch (InterruptedException e) {
+                // the consumer closed the stream
+            }
+        }
+
+        /**
+         * Fill the whole buffer unless the end of the source is reached, to
+         * avoid handing small pieces to the consumer.
+         * 
+         * @return the number of bytes read, or -1 if there is nothing left.
+         */
+        private int fill(Chunk chunk) {
+            byte[] data = chunk.data;
+            int total = 0;
+            try {
+                while (total < data.length) {
+                    int n = PipelinedInputStream.this.source.read(data, total,
+                            data.length - total);
+                    if (n < 0) {
+                        break;
+                    }
+                    total += n;
+                }
+            } catch (IOException e) {
+                if (!PipelinedInputStream.this.closed) {
+                    chunk.error = e;
+                }
+                total = 0;
+            }
+            chunk.length = total == 0 ? -1 : total;
+            return chunk.length;
+        }
+    }
+}
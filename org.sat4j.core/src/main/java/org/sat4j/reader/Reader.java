@@ -51,6 +51,9 @@ public abstract class Reader {
     /**
      * This is the usual method to feed a solver with a benchmark.
      * 
+     * Compressed files (.gz or .bz2) are decompressed by a background thread
+     * while being parsed (see {@link PipelinedInputStream}).
+     * 
      * @param filename
      *            the fully qualified name of the benchmark. The filename
      *            extension may by used to detect which type of benchmarks it is
@@ -67,18 +70,7 @@ public abstract class Reader {
             throws ParseFormatException, IOException, ContradictionException {
         InputStream in = null;
         try {
-            if (filename.startsWith("http://")) {
-                in = new URL(filename).openStream();
-            } else {
-                in = new FileInputStream(filename);
-            }
-            if (filename.endsWith(".gz")) {
-                in = new GZIPInputStream(in);
-            } else if (filename.endsWith(".bz2")) {
-                in.close();
-                in = Runtime.getRuntime().exec("bunzip2 -c " + filename)
-                        .getInputStream();
-            }
+            in = openInputStream(filename);
             IProblem problem;
             problem = parseInstance(in);
             return problem;
@@ -95,6 +87,42 @@ public abstract class Reader {
         }
     }
 
+    /**
+     * Open a benchmark for reading. Compressed files (.gz or .bz2) are
+     * decompressed by a background thread while being read (see
+     * {@link PipelinedInputStream}).
+     * 
+     * @param filename
+     *            the fully qualified name of the benchmark, or an http URL.
+     * @return a stream on the uncompressed content of the benchmark.
+     * @throws IOException
+     *             if the benchmark cannot be opened.
+     * @since 2.3.6
+     */
+    public static InputStream openInputStream(String filename)
+            throws IOException {
+        InputStream in;
+        if (filename.startsWith("http://")) {
+            in = new URL(filename).openStream();
+        } else {
+            in = new FileInputStream(filename);
+        }
+        if (filename.endsWith(".gz")) {
+            try {
+                return new PipelinedInputStream(new GZIPInputStream(in));
+            } catch (IOException e) {
+                in.close();
+                throw e;
+            }
+        }
+        if (filename.endsWith(".bz2")) {
+            in.close();
+            return new PipelinedInputStream(Runtime.getRuntime()
+                    .exec("bunzip2 -c " + filename).getInputStream());
+        }
+        return in;
+    }
+
     /**
      * Read a file from a stream.
      * 
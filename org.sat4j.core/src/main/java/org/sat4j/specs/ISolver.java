@@ -198,6 +198,33 @@ public interface ISolver extends IProblem, Serializable {
      */
     void addAllClauses(IVec<IVecInt> clauses) throws ContradictionException;
 
+    /**
+     * Create clauses from flat arrays of literals. This is the fastest way to
+     * give many clauses to the solver: the internal data structures are sized
+     * once for all the clauses, then the clauses are built in a tight loop.
+     * 
+     * The literals of the i-th clause are the ones found in
+     * <code>flatLits</code> from index <code>offsets[i]</code> (included) to
+     * index <code>offsets[i+1]</code> (excluded). So <code>offsets</code>
+     * contains one more element than the number of clauses.
+     * 
+     * @param flatLits
+     *            the literals of all the clauses, in the dimacs format. The
+     *            array can be reused since the solver is not supposed to keep
+     *            a reference to that array.
+     * @param offsets
+     *            the index in <code>flatLits</code> of the first literal of
+     *            each clause, followed by the index following the last
+     *            literal of the last clause.
+     * @throws ContradictionException
+     *             iff one of the clauses is empty or contains only falsified
+     *             literals after unit propagation
+     * @see #addClause(IVecInt)
+     * @since 2.3.6
+     */
+    void addClauses(int[] flatLits, int[] offsets)
+            throws ContradictionException;
+
     /**
      * Create a cardinality constraint of the type "at most n of those literals
      * must be satisfied"
@@ -285,6 +312,22 @@ public interface ISolver extends IProblem, Serializable {
      */
     void setTimeoutOnConflicts(int count);
 
+    /**
+     * To set the internal timeout of the solver. When the timeout is reached, a
+     * timeout exception is launched by the solver.
+     * 
+     * Here the timeout is given in units of work, the number of propagated
+     * literals and inspected constraints. Contrary to a timeout in seconds,
+     * the answer of the solver does not depend on the architecture or on the
+     * load of the computer. Contrary to a timeout in number of conflicts, the
+     * units of work are proportional to the time spent by the solver.
+     * 
+     * @param ticks
+     *            the timeout (in units of work)
+     * @since 2.3.6
+     */
+    void setTimeoutOnWork(long ticks);
+
     /**
      * To set the internal timeout of the solver. When the timeout is reached, a
      * timeout exception is launched by the solver.
@@ -535,6 +578,35 @@ public interface ISolver extends IProblem, Serializable {
      */
     void setKeepSolverHot(boolean keepHot);
 
+    /**
+     * Ask to the solver if it keeps the assumptions on its trail between
+     * successive calls to isSatisfiable(IVecInt).
+     * 
+     * @return true iff the longest common prefix of the assumptions of two
+     *         successive calls is reused by the second one.
+     * @see #setKeepAssumptionPrefix(boolean)
+     * @since 2.3.6
+     */
+    boolean isAssumptionPrefixKept();
+
+    /**
+     * Change the way the assumptions are handled between successive calls. If
+     * the value is true, then the solver keeps the assumptions of the last call
+     * and their propagation on its trail, and the next call only cancels and
+     * propagates again the assumptions following the longest common prefix of
+     * both lists of assumptions. This is useful when the lists of assumptions
+     * given to consecutive calls only differ by their last literals. The trail
+     * is given back to the solver as soon as the set of constraints is
+     * modified, so this setting does not change the answers of the solver.
+     * 
+     * @param keepPrefix
+     *            true to reuse the common prefix of the assumptions between
+     *            calls, false to propagate again all the assumptions on each
+     *            call.
+     * @since 2.3.6
+     */
+    void setKeepAssumptionPrefix(boolean keepPrefix);
+
     /**
      * Retrieve the real engine in case the engine is decorated by one or
      * several decorator. This can be used for instance to setup the engine,
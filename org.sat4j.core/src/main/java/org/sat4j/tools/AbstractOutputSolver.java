@@ -33,6 +33,7 @@ import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.util.Map;
 
+import org.sat4j.core.VecInt;
 import org.sat4j.specs.Constr;
 import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.IConstr;
@@ -70,6 +71,21 @@ public abstract class AbstractOutputSolver implements ISolver {
         throw new UnsupportedOperationException();
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public void addClauses(int[] flatLits, int[] offsets)
+            throws ContradictionException {
+        IVecInt clause = new VecInt();
+        for (int i = 0; i + 1 < offsets.length; i++) {
+            clause.clear();
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                clause.push(flatLits[j]);
+            }
+            addClause(clause);
+        }
+    }
+
     public void setTimeout(int t) {
         // TODO Auto-generated method stub
 
@@ -111,6 +127,10 @@ public abstract class AbstractOutputSolver implements ISolver {
 
     }
 
+    public void setTimeoutOnWork(long ticks) {
+
+    }
+
     public boolean isDBSimplificationAllowed() {
         return false;
     }
@@ -261,6 +281,13 @@ public abstract class AbstractOutputSolver implements ISolver {
     public void setKeepSolverHot(boolean value) {
     }
 
+    public boolean isAssumptionPrefixKept() {
+        return false;
+    }
+
+    public void setKeepAssumptionPrefix(boolean value) {
+    }
+
     public ISolver getSolvingEngine() {
         throw new UnsupportedOperationException();
     }
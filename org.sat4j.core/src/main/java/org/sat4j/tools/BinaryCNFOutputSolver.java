@@ -0,0 +1,397 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.tools;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+
+import org.sat4j.core.LiteralsUtils;
+import org.sat4j.core.VecInt;
+import org.sat4j.reader.BinaryCNFReader;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IConstr;
+import org.sat4j.specs.IVecInt;
+
+/**
+ * Solver used to write down a CNF as a compact binary snapshot, to be reloaded
+ * quickly by a {@link BinaryCNFReader}. See that class for a description of
+ * the format.
+ * 
+ * The counts of the header are updated when the solver is closed if the
+ * snapshot is written to a file, so they do not need to be known in advance.
+ * For other channels, they must be given before the first constraint does not
+ * fit anymore in the buffer, i.e. before the first 64KB are written.
+ * 
+ * The solver must be closed once the whole problem has been given.
+ * 
+ * @since 2.3.6
+ */
+public class BinaryCNFOutputSolver extends AbstractOutputSolver {
+
+    private static final long serialVersionUID = 1L;
+
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final int kind;
+
+    private transient WritableByteChannel channel;
+
+    private transient FileChannel file;
+
+    private transient ByteBuffer buffer;
+
+    private long start;
+
+    private boolean flushed;
+
+    private int maxVar;
+
+    private int nbConstraints;
+
+    /**
+     * 
+     * @param filename
+     *            the name of the snapshot file.
+     * @throws FileNotFoundException
+     *             if the file cannot be created
+     */
+    public BinaryCNFOutputSolver(String filename) throws FileNotFoundException {
+        this(new FileOutputStream(filename).getChannel());
+    }
+
+    /**
+     * 
+     * @param channel
+     *            the channel receiving the snapshot. If it is a file channel,
+     *            the snapshot is written at its current position.
+     */
+    public BinaryCNFOutputSolver(WritableByteChannel channel) {
+        this(channel, BinaryCNFReader.CNF);
+    }
+
+    protected BinaryCNFOutputSolver(WritableByteChannel channel, int kind) {
+        this.channel = channel;
+        this.kind = kind;
+        this.buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        if (channel instanceof FileChannel) {
+            this.file = (FileChannel) channel;
+            try {
+                this.start = this.file.position();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        writeHeader();
+    }
+
+    private void writeHeader() {
+        this.buffer.put(BinaryCNFReader.MAGIC);
+        this.buffer.put((byte) this.kind);
+        this.buffer.put((byte) BinaryCNFReader.VERSION);
+        this.buffer.putInt(0);
+        this.buffer.putInt(0);
+    }
+
+    @Deprecated
+    public int newVar() {
+        return 0;
+    }
+
+    @Override
+    public int newVar(int howmany) {
+        this.nbvars = howmany;
+        return 0;
+    }
+
+    public void setExpectedNumberOfClauses(int nb) {
+        this.nbclauses = nb;
+        this.fixedNbClauses = true;
+    }
+
+    public IConstr addClause(IVecInt literals) throws ContradictionException {
+        writeTag(BinaryCNFReader.CLAUSE);
+        writeLiterals(literals);
+        return null;
+    }
+
+    public IConstr addAtMost(IVecInt literals, int degree)
+            throws ContradictionException {
+        if (degree > 1) {
+            throw new UnsupportedOperationException(
+                    "Not a clausal problem! degree " + degree);
+        }
+        assert degree == 1;
+        IVecInt clause = new VecInt(2);
+        for (int i = 0; i < literals.size(); i++) {
+            for (int j = i + 1; j < literals.size(); j++) {
+                clause.clear();
+                clause.push(-literals.get(i)).push(-literals.get(j));
+                addClause(clause);
+            }
+        }
+        return null;
+    }
+
+    public IConstr addAtLeast(IVecInt literals, int degree)
+            throws ContradictionException {
+        if (degree > 1) {
+            throw new UnsupportedOperationException(
+                    "Not a clausal problem! degree " + degree);
+        }
+        assert degree == 1;
+        return addClause(literals);
+    }
+
+    public IConstr addExactly(IVecInt literals, int n)
+            throws ContradictionException {
+        if (n > 1) {
+            throw new UnsupportedOperationException(
+                    "Not a clausal problem! degree " + n);
+        }
+        assert n == 1;
+        addAtMost(literals, n);
+        addAtLeast(literals, n);
+        return null;
+    }
+
+    /**
+     * Start again the snapshot from scratch.
+     * 
+     * @throws IllegalStateException
+     *             if a part of the snapshot has already been written to a
+     *             channel which is not a file.
+     */
+    public void reset() {
+        if (this.flushed) {
+            if (this.file == null) {
+                throw new IllegalStateException(
+                        "Cannot reset a snapshot already sent");
+            }
+            try {
+                this.file.truncate(this.start);
+                this.file.position(this.start);
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+            this.flushed = false;
+        }
+        this.nbvars = 0;
+        this.nbclauses = 0;
+        this.fixedNbClauses = false;
+        this.maxVar = 0;
+        this.nbConstraints = 0;
+        this.buffer.clear();
+        writeHeader();
+    }
+
+    /**
+     * Write the end of the snapshot and close the underlying channel.
+     * 
+     * @throws IOException
+     *             if the snapshot cannot be written.
+     */
+    public void close() throws IOException {
+        if (this.channel == null) {
+            return;
+        }
+        try {
+            flush();
+            if (this.file != null) {
+                ByteBuffer header = ByteBuffer.allocate(8);
+                header.putInt(nVars()).putInt(this.nbConstraints).flip();
+                long position = this.start + BinaryCNFReader.HEADER_SIZE - 8;
+                while (header.hasRemaining()) {
+                    this.file.write(header, position + header.position());
+                }
+            }
+        } finally {
+            this.channel.close();
+            this.channel = null;
+            this.file = null;
+        }
+    }
+
+    /**
+     * Write the tag of a new constraint.
+     * 
+     * @param tag
+     *            one of the tags defined in {@link BinaryCNFReader}.
+     */
+    protected void writeTag(int tag) {
+        ensure(1);
+        this.buffer.put((byte) tag);
+        if (tag != BinaryCNFReader.OBJECTIVE) {
+            this.nbConstraints++;
+        }
+    }
+
+    /**
+     * Write the size of a constraint followed by its literals, given in Dimacs
+     * format.
+     */
+    protected void writeLiterals(IVecInt literals) {
+        int n = literals.size();
+        ensure(5);
+        putVarInt(n);
+        int previous = 0;
+        for (int i = 0; i < n; i++) {
+            int d = literals.get(i);
+            int p = LiteralsUtils.toInternal(d);
+            int delta = p - previous;
+            previous = p;
+            ensure(5);
+            putVarInt((delta << 1) ^ (delta >> 31));
+            if (d > this.maxVar) {
+                this.maxVar = d;
+            } else if (-d > this.maxVar) {
+                this.maxVar = -d;
+            }
+        }
+    }
+
+    /**
+     * Write a (possibly very large) integer. Integers fitting in a long are
+     * written as varints.
+     */
+    protected void writeBigInteger(BigInteger value) {
+        if (value.bitLength() < 63) {
+            long v = value.longValue();
+            ensure(10);
+            putVarLong(((v << 1) ^ (v >> 63)) << 1);
+            return;
+        }
+        byte[] bytes = value.toByteArray();
+        ensure(10);
+        putVarLong((long) bytes.length << 1 | 1);
+        int offset = 0;
+        while (offset < bytes.length) {
+            ensure(1);
+            int length = Math.min(this.buffer.remaining(), bytes.length
+                    - offset);
+            this.buffer.put(bytes, offset, length);
+            offset += length;
+        }
+    }
+
+    private void putVarInt(int value) {
+        int v = value;
+        while ((v & ~0x7F) != 0) {
+            this.buffer.put((byte) (v & 0x7F | 0x80));
+            v >>>= 7;
+        }
+        this.buffer.put((byte) v);
+    }
+
+    private void putVarLong(long value) {
+        long v = value;
+        while ((v & ~0x7FL) != 0) {
+            this.buffer.put((byte) (v & 0x7F | 0x80));
+            v >>>= 7;
+        }
+        this.buffer.put((byte) v);
+    }
+
+    private void ensure(int size) {
+        if (this.buffer.remaining() < size) {
+            try {
+                flush();
+            } catch (IOException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+    }
+
+    private void flush() throws IOException {
+        if (!this.flushed) {
+            // the counts known so far, updated at the end for files
+            this.buffer.putInt(BinaryCNFReader.HEADER_SIZE - 8, nVars());
+            this.buffer.putInt(BinaryCNFReader.HEADER_SIZE - 4, Math.max(
+                    this.nbclauses, this.nbConstraints));
+            this.flushed = true;
+        }
+        this.buffer.flip();
+        while (this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    public String toString(String prefix) {
+        return "Binary CNF output solver";
+    }
+
+    @Override
+    public int nConstraints() {
+        return this.nbConstraints;
+    }
+
+    @Override
+    public int nVars() {
+        return Math.max(this.nbvars, this.maxVar);
+    }
+
+    public int nextFreeVarId(boolean reserve) {
+        if (reserve) {
+            this.nbvars = nVars() + 1;
+            return this.nbvars;
+        }
+        return nVars() + 1;
+    }
+
+    public int[] modelWithInternalVariables() {
+        throw new UnsupportedOperationException();
+    }
+
+    public int realNumberOfVariables() {
+        return nVars();
+    }
+
+    public void registerLiteral(int p) {
+        throw new UnsupportedOperationException();
+    }
+
+    public boolean primeImplicant(int p) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void printStat(PrintWriter out) {
+        throw new UnsupportedOperationException();
+    }
+
+    public void printInfos(PrintWriter out) {
+        throw new UnsupportedOperationException();
+    }
+}
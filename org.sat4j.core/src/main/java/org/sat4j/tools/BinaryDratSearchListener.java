@@ -0,0 +1,333 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.tools;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+
+import org.sat4j.core.LiteralsUtils;
+import org.sat4j.specs.IConstr;
+import org.sat4j.specs.ISolverService;
+import org.sat4j.specs.Lbool;
+
+/**
+ * Output an unsat proof using the binary DRAT format.
+ * 
+ * Each added (resp. deleted) clause is written as the byte 'a' (resp. 'd')
+ * followed by its literals and by a zero. A literal x is encoded as 2x if it
+ * is positive, 2x+1 if it is negated, i.e. exactly as the internal literals of
+ * the solver, using a variable length encoding with 7 bits per byte, least
+ * significant bits first.
+ * 
+ * The proof is written in a large direct buffer. Full buffers are handed to a
+ * background thread which writes them to the file while the solver fills
+ * another buffer, so that the search is not slowed down by the I/O.
+ * 
+ * @param <S>
+ *            a solver service
+ * @since 2.3.6
+ */
+public class BinaryDratSearchListener<S extends ISolverService> extends
+        SearchListenerAdapter<S> {
+
+    /**
+     * 
+     */
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Default size of the buffers, in bytes.
+     */
+    public static final int DEFAULT_BUFFER_SIZE = 1 << 22;
+
+    private static final int NB_BUFFERS = 2;
+
+    /**
+     * The largest number of bytes needed to encode a literal.
+     */
+    private static final int MAX_LITERAL_SIZE = 5;
+
+    private static final byte ADD = 'a';
+
+    private static final byte DELETE = 'd';
+
+    private static final ByteBuffer END_OF_PROOF = ByteBuffer.allocate(0);
+
+    private final File file;
+
+    private final int bufferSize;
+
+    private transient WritableByteChannel channel;
+
+    private transient ByteBuffer buffer;
+
+    private transient BlockingQueue<ByteBuffer> toFill;
+
+    private transient BlockingQueue<ByteBuffer> toWrite;
+
+    private transient Thread writer;
+
+    private transient volatile IOException error;
+
+    public BinaryDratSearchListener(String filename) {
+        this(filename, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * 
+     * @param filename
+     *            the name of the proof file.
+     * @param bufferSize
+     *            the size of each of the buffers, in bytes.
+     */
+    public BinaryDratSearchListener(String filename, int bufferSize) {
+        if (bufferSize < MAX_LITERAL_SIZE + 2) {
+            throw new IllegalArgumentException("Buffer too small: "
+                    + bufferSize);
+        }
+        this.file = new File(filename);
+        this.bufferSize = bufferSize;
+    }
+
+    /**
+     * Write the proof to a channel instead of a file, e.g. to check it on the
+     * fly using {@link DratChecker}. The channel is closed at the end of the
+     * proof, so only the proof of a single call to isSatisfiable() can be
+     * written.
+     * 
+     * @param channel
+     *            the destination of the proof.
+     * @param bufferSize
+     *            the size of each of the buffers, in bytes.
+     */
+    public BinaryDratSearchListener(WritableByteChannel channel,
+            int bufferSize) {
+        if (bufferSize < MAX_LITERAL_SIZE + 2) {
+            throw new IllegalArgumentException("Buffer too small: "
+                    + bufferSize);
+        }
+        this.file = null;
+        this.channel = channel;
+        this.bufferSize = bufferSize;
+    }
+
+    public BinaryDratSearchListener(WritableByteChannel channel) {
+        this(channel, DEFAULT_BUFFER_SIZE);
+    }
+
+    @Override
+    public void init(S solverService) {
+        if (this.writer != null) {
+            // the previous proof was not ended
+            close();
+        }
+        if (this.buffer == null) {
+            this.toFill = new ArrayBlockingQueue<ByteBuffer>(NB_BUFFERS);
+            this.toWrite = new ArrayBlockingQueue<ByteBuffer>(NB_BUFFERS + 1);
+            for (int i = 1; i < NB_BUFFERS; i++) {
+                this.toFill.add(ByteBuffer.allocateDirect(this.bufferSize));
+            }
+            this.buffer = ByteBuffer.allocateDirect(this.bufferSize);
+        }
+        Writer task;
+        if (this.file == null) {
+            task = new Writer(this.channel, true);
+        } else {
+            try {
+                task = new Writer(
+                        new FileOutputStream(this.file).getChannel(), true);
+            } catch (FileNotFoundException e) {
+                task = new Writer(Channels.newChannel(System.out), false);
+            }
+        }
+        this.error = null;
+        this.writer = new Thread(task, "Sat4j proof writer");
+        this.writer.setDaemon(true);
+        this.writer.start();
+    }
+
+    @Override
+    public void end(Lbool result) {
+        if (this.writer == null) {
+            return;
+        }
+        if (result == Lbool.FALSE) {
+            ensureRoom(2);
+            this.buffer.put(ADD);
+            this.buffer.put((byte) 0);
+        }
+        close();
+        if (result != Lbool.FALSE && this.file != null) {
+            this.file.delete();
+        }
+    }
+
+    @Override
+    public void learn(IConstr c) {
+        writeConstr(ADD, c);
+    }
+
+    @Override
+    public void delete(IConstr c) {
+        writeConstr(DELETE, c);
+    }
+
+    @Override
+    public void learnUnit(int p) {
+        ensureRoom(MAX_LITERAL_SIZE + 2);
+        this.buffer.put(ADD);
+        writeLiteral(LiteralsUtils.toInternal(p));
+        this.buffer.put((byte) 0);
+    }
+
+    /**
+     * Check the status of the last proof, as PrintStream does.
+     * 
+     * @return true iff an I/O error occurred while writing the last proof.
+     */
+    public boolean checkError() {
+        return this.error != null;
+    }
+
+    private void writeConstr(byte kind, IConstr c) {
+        ensureRoom(1);
+        this.buffer.put(kind);
+        for (int i = 0; i < c.size(); i++) {
+            ensureRoom(MAX_LITERAL_SIZE);
+            writeLiteral(c.get(i));
+        }
+        ensureRoom(1);
+        this.buffer.put((byte) 0);
+    }
+
+    private void writeLiteral(int p) {
+        int x = p;
+        while ((x & ~0x7F) != 0) {
+            this.buffer.put((byte) ((x & 0x7F) | 0x80));
+            x >>>= 7;
+        }
+        this.buffer.put((byte) x);
+    }
+
+    private void ensureRoom(int nbBytes) {
+        if (this.buffer.remaining() < nbBytes) {
+            this.toWrite.add(this.buffer);
+            this.buffer = take(this.toFill);
+        }
+    }
+
+    /**
+     * Hand the current buffer to the writer and wait for the end of the
+     * writing.
+     */
+    private void close() {
+        this.toWrite.add(this.buffer);
+        this.toWrite.add(END_OF_PROOF);
+        boolean interrupted = false;
+        while (this.writer.isAlive()) {
+            try {
+                this.writer.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        this.writer = null;
+        this.buffer = take(this.toFill);
+    }
+
+    private static ByteBuffer take(BlockingQueue<ByteBuffer> queue) {
+        boolean interrupted = false;
+        try {
+            for (;;) {
+                try {
+                    return queue.take();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Write the full buffers to the proof file, and give them back to the
+     * solver.
+     */
+    private class Writer implements Runnable {
+
+        private final WritableByteChannel channel;
+
+        private final boolean closeChannel;
+
+        Writer(WritableByteChannel channel, boolean closeChannel) {
+            this.channel = channel;
+            this.closeChannel = closeChannel;
+        }
+
+        public void run() {
+            ByteBuffer full;
+            while ((full = take(toWrite)) != END_OF_PROOF) {
+                full.flip();
+                try {
+                    while (error == null && full.hasRemaining()) {
+                        this.channel.write(full);
+                    }
+                } catch (IOException e) {
+                    error = e;
+                }
+                full.clear();
+                toFill.add(full);
+            }
+            if (!this.closeChannel) {
+                return;
+            }
+            try {
+                this.channel.close();
+            } catch (IOException e) {
+                if (error == null) {
+                    error = e;
+                }
+            }
+        }
+    }
+}
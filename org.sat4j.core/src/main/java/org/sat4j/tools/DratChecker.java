@@ -0,0 +1,1126 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.tools;
+
+import static org.sat4j.core.LiteralsUtils.toDimacs;
+import static org.sat4j.core.LiteralsUtils.toInternal;
+import static org.sat4j.core.LiteralsUtils.var;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.reader.ParseFormatException;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+
+/**
+ * A DRAT proof checker, to verify the unsat proofs produced by
+ * {@link RupSearchListener} or {@link BinaryDratSearchListener} without
+ * relying on an external tool.
+ * 
+ * The checker follows the approach of drat-trim. The proof is first read
+ * forward: each lemma is added to the formula and unit propagated, until a
+ * conflict is reached by unit propagation. The lemmas are then checked
+ * backward, starting from that conflict: only the lemmas which are needed to
+ * derive a conflict (the core lemmas) are checked, each of them being RUP (or
+ * else RAT on its first literal) with respect to the formula at the time it
+ * was added. Unit propagation is performed on the core clauses first, so that
+ * the checked lemmas tend to rely on clauses which are already in the core.
+ * 
+ * The forward pass is done while the proof is read, so the checker can run in
+ * parallel with the solver producing the proof (see
+ * {@link #startChecking(InputStream, InputStream)}): only the backward pass is
+ * left once the solver has answered.
+ * 
+ * As in drat-trim, the deletion of a clause which is the reason of a literal
+ * propagated at the top level is ignored.
+ * 
+ * @since 2.3.6
+ */
+public class DratChecker {
+
+    private static final int NONE = -1;
+
+    private static final byte TRUE = 1;
+
+    private static final byte FALSE = -1;
+
+    private static final int ACTIVE = 1;
+
+    private static final int CORE = 2;
+
+    private static final int TAUTOLOGY = 4;
+
+    /**
+     * The number of bytes looked at to decide if a proof is a binary one.
+     */
+    private static final int FORMAT_DETECTION_SIZE = 10;
+
+    private final IVec<int[]> clauses = new Vec<int[]>();
+
+    private final IVecInt flags = new VecInt();
+
+    /**
+     * The first literal of each clause, as found in the input, for RAT checks.
+     */
+    private final IVecInt pivots = new VecInt();
+
+    private final Map<Integer, IVecInt> clausesByHash = new HashMap<Integer, IVecInt>();
+
+    /**
+     * The proof steps: the id of added lemmas, the complement of the id of
+     * deleted clauses.
+     */
+    private final IVecInt steps = new VecInt();
+
+    /**
+     * The size of the top level trail before each step.
+     */
+    private final IVecInt trailSizes = new VecInt();
+
+    private final IVecInt trail = new VecInt();
+
+    private final IVecInt literals = new VecInt();
+
+    private IVecInt[] watches = new IVecInt[2];
+
+    private byte[] values = new byte[2];
+
+    private int[] marks = new int[2];
+
+    private int[] reasons = new int[1];
+
+    private int[] positions = new int[1];
+
+    private boolean[] seen = new boolean[1];
+
+    private int nVars;
+
+    private int stamp;
+
+    private int coreHead;
+
+    private int head;
+
+    private int pending;
+
+    private int conflict = NONE;
+
+    private int conflictStep = NONE;
+
+    private boolean proofStarted;
+
+    private int nbLemmas;
+
+    private int nbDeletions;
+
+    private int nbIgnoredDeletions;
+
+    private int nbUnmatchedDeletions;
+
+    private int nbCheckedLemmas;
+
+    private int[] failedLemma;
+
+    private Boolean result;
+
+    private Thread reader;
+
+    private Exception readingError;
+
+    /**
+     * Add a clause of the original formula. All the clauses of the formula
+     * must be given before the proof.
+     * 
+     * @param clause
+     *            a clause in Dimacs format.
+     */
+    public void addClause(IVecInt clause) {
+        if (this.proofStarted) {
+            throw new IllegalStateException(
+                    "The formula must be given before the proof");
+        }
+        if (this.conflict != NONE) {
+            return;
+        }
+        toInternalLiterals(clause);
+        int id = newClause();
+        if ((this.flags.get(id) & TAUTOLOGY) != 0) {
+            return;
+        }
+        int confl = attach(id);
+        if (confl == NONE) {
+            confl = propagate();
+        }
+        this.conflict = confl;
+    }
+
+    /**
+     * Add a lemma of the proof.
+     * 
+     * @param lemma
+     *            a clause in Dimacs format, the first literal being the pivot
+     *            for RAT lemmas.
+     */
+    public void addLemma(IVecInt lemma) {
+        toInternalLiterals(lemma);
+        addLemma();
+    }
+
+    /**
+     * Delete a clause of the formula or a lemma of the proof.
+     * 
+     * @param clause
+     *            a clause in Dimacs format.
+     */
+    public void deleteClause(IVecInt clause) {
+        toInternalLiterals(clause);
+        deleteClause();
+    }
+
+    /**
+     * Read the original formula in Dimacs format.
+     * 
+     * @param in
+     *            the formula
+     * @throws IOException
+     * @throws ParseFormatException
+     *             if the input is not a CNF in Dimacs format
+     */
+    public void readDimacs(InputStream in) throws IOException,
+            ParseFormatException {
+        Input input = new Input(in);
+        IVecInt clause = new VecInt();
+        int c;
+        while ((c = input.skipSpaces()) != -1) {
+            if (c == 'c') {
+                input.skipLine();
+            } else if (c == 'p') {
+                input.read();
+                if (input.skipSpaces() != 'c' || input.read() != 'c'
+                        || input.read() != 'n' || input.read() != 'f') {
+                    throw new ParseFormatException("CNF header expected");
+                }
+                ensureVariable(input.readInt());
+                input.readInt();
+            } else if (c == '%') {
+                break;
+            } else {
+                int lit = input.readInt();
+                if (lit == 0) {
+                    addClause(clause);
+                    clause.clear();
+                } else {
+                    clause.push(lit);
+                }
+            }
+        }
+        if (!clause.isEmpty()) {
+            addClause(clause);
+        }
+    }
+
+    /**
+     * Read a DRAT proof, either in text or in binary format. The forward pass
+     * of the check is done while the proof is read, so the proof may be read
+     * while it is produced.
+     * 
+     * @param in
+     *            the proof
+     * @throws IOException
+     * @throws ParseFormatException
+     *             if the proof is malformed
+     */
+    public void readProof(InputStream in) throws IOException,
+            ParseFormatException {
+        this.proofStarted = true;
+        Input input = new Input(in);
+        if (isBinary(input)) {
+            readBinaryProof(input);
+        } else {
+            readTextProof(input);
+        }
+    }
+
+    /**
+     * Read the formula and then the proof in a background thread. Both
+     * streams are closed once read. Use {@link #verify()} to get the result.
+     * 
+     * @param formula
+     *            the formula in Dimacs format
+     * @param proof
+     *            the proof, in text or binary DRAT format
+     */
+    public void startChecking(final InputStream formula,
+            final InputStream proof) {
+        this.reader = new Thread(new Runnable() {
+            public void run() {
+                try {
+                    readDimacs(formula);
+                    readProof(proof);
+                } catch (IOException e) {
+                    readingError = e;
+                } catch (ParseFormatException e) {
+                    readingError = e;
+                } catch (RuntimeException e) {
+                    readingError = e;
+                } finally {
+                    // the producer of the proof must never be blocked
+                    drain(proof);
+                    close(formula);
+                    close(proof);
+                }
+            }
+        }, "Sat4j proof checker");
+        this.reader.setDaemon(true);
+        this.reader.start();
+    }
+
+    /**
+     * Check the proof. That method waits for the end of the reading when
+     * {@link #startChecking(InputStream, InputStream)} is used.
+     * 
+     * @return true iff the formula is proved unsatisfiable by the proof.
+     * @throws IOException
+     *             if the formula or the proof could not be read in the
+     *             background
+     * @throws ParseFormatException
+     *             if the formula or the proof read in the background is
+     *             malformed
+     */
+    public boolean verify() throws IOException, ParseFormatException {
+        waitForReader();
+        if (this.result == null) {
+            this.result = Boolean.valueOf(backwardCheck());
+        }
+        return this.result.booleanValue();
+    }
+
+    /**
+     * 
+     * @return the number of lemmas read before a conflict is reached.
+     */
+    public int getNbLemmas() {
+        return this.nbLemmas;
+    }
+
+    /**
+     * 
+     * @return the number of lemmas checked by {@link #verify()}.
+     */
+    public int getNbCheckedLemmas() {
+        return this.nbCheckedLemmas;
+    }
+
+    /**
+     * 
+     * @return the number of clauses deleted by the proof.
+     */
+    public int getNbDeletions() {
+        return this.nbDeletions;
+    }
+
+    /**
+     * 
+     * @return the number of deletions of reason clauses which were ignored.
+     */
+    public int getNbIgnoredDeletions() {
+        return this.nbIgnoredDeletions;
+    }
+
+    /**
+     * 
+     * @return the number of deletions of clauses which are not in the
+     *         formula.
+     */
+    public int getNbUnmatchedDeletions() {
+        return this.nbUnmatchedDeletions;
+    }
+
+    /**
+     * 
+     * @return the lemma, in Dimacs format, which could not be checked by
+     *         {@link #verify()}, or null.
+     */
+    public int[] getFailedLemma() {
+        return this.failedLemma;
+    }
+
+    private void addLemma() {
+        this.proofStarted = true;
+        if (this.conflict != NONE) {
+            // the proof is already complete
+            return;
+        }
+        this.nbLemmas++;
+        this.trailSizes.push(this.trail.size());
+        int id = newClause();
+        this.steps.push(id);
+        if ((this.flags.get(id) & TAUTOLOGY) != 0) {
+            return;
+        }
+        int confl = attach(id);
+        if (confl == NONE) {
+            confl = propagate();
+        }
+        if (confl != NONE) {
+            this.conflict = confl;
+            this.conflictStep = this.steps.size() - 1;
+        }
+    }
+
+    private void deleteClause() {
+        this.proofStarted = true;
+        if (this.conflict != NONE) {
+            return;
+        }
+        int id = removeFromIndex();
+        if (id == NONE) {
+            this.nbUnmatchedDeletions++;
+            return;
+        }
+        int[] c = this.clauses.get(id);
+        if (c.length > 0 && this.reasons[var(c[0])] == id
+                && this.values[c[0]] == TRUE) {
+            this.nbIgnoredDeletions++;
+            this.clausesByHash.get(hash(c)).push(id);
+            return;
+        }
+        this.nbDeletions++;
+        int f = this.flags.get(id);
+        this.flags.set(id, f & ~ACTIVE);
+        if ((f & TAUTOLOGY) == 0) {
+            detach(id);
+        }
+        this.trailSizes.push(this.trail.size());
+        this.steps.push(~id);
+    }
+
+    private boolean backwardCheck() {
+        if (this.conflict == NONE) {
+            return false;
+        }
+        analyze(this.conflict, NONE);
+        for (int s = this.conflictStep; s >= 0; s--) {
+            int step = this.steps.get(s);
+            if (step >= 0) {
+                undo(this.trailSizes.get(s));
+                int f = this.flags.get(step);
+                this.flags.set(step, f & ~ACTIVE);
+                if ((f & TAUTOLOGY) == 0) {
+                    detach(step);
+                }
+                if ((f & CORE) != 0) {
+                    this.nbCheckedLemmas++;
+                    if (!check(step)) {
+                        int[] c = this.clauses.get(step);
+                        this.failedLemma = new int[c.length];
+                        for (int i = 0; i < c.length; i++) {
+                            this.failedLemma[i] = toDimacs(c[i]);
+                        }
+                        return false;
+                    }
+                }
+            } else {
+                int id = ~step;
+                int f = this.flags.get(id);
+                this.flags.set(id, f | ACTIVE);
+                if ((f & TAUTOLOGY) == 0) {
+                    // the clause was neither unit nor falsified then
+                    attach(id);
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Check that a lemma is RUP, or else RAT on its pivot, with respect to the
+     * active clauses.
+     */
+    private boolean check(int id) {
+        int[] lemma = this.clauses.get(id);
+        this.literals.clear();
+        for (int p : lemma) {
+            this.literals.push(p);
+        }
+        if (isRup()) {
+            return true;
+        }
+        int pivot = this.pivots.get(id);
+        if (pivot == NONE) {
+            return false;
+        }
+        IVecInt candidates = new VecInt();
+        for (int i = 0; i < id; i++) {
+            if ((this.flags.get(i) & (ACTIVE | TAUTOLOGY)) != ACTIVE) {
+                continue;
+            }
+            int[] c = this.clauses.get(i);
+            for (int p : c) {
+                if (p == (pivot ^ 1)) {
+                    candidates.push(i);
+                    break;
+                }
+            }
+        }
+        for (int k = 0; k < candidates.size(); k++) {
+            int other = candidates.get(k);
+            this.literals.clear();
+            for (int p : lemma) {
+                this.literals.push(p);
+            }
+            for (int p : this.clauses.get(other)) {
+                if (p != (pivot ^ 1)) {
+                    this.literals.push(p);
+                }
+            }
+            if (!isRup()) {
+                return false;
+            }
+            markCore(other, NONE);
+        }
+        return true;
+    }
+
+    /**
+     * Check by unit propagation that the clause in {@link #literals} is
+     * implied by the active clauses, and mark the clauses used as core.
+     */
+    private boolean isRup() {
+        int saved = this.trail.size();
+        boolean rup = false;
+        for (int i = 0; i < this.literals.size(); i++) {
+            int p = this.literals.get(i);
+            if (this.values[p] == TRUE) {
+                this.seen[var(p)] = true;
+                this.pending = 1;
+                analyzeTrail();
+                rup = true;
+                break;
+            }
+            if (this.values[p] == 0) {
+                assign(p ^ 1, NONE);
+            }
+        }
+        if (!rup) {
+            int confl = propagate();
+            if (confl != NONE) {
+                analyze(confl, NONE);
+                rup = true;
+            }
+        }
+        undo(saved);
+        return rup;
+    }
+
+    private void analyze(int confl, int skipVar) {
+        markCore(confl, skipVar);
+        analyzeTrail();
+    }
+
+    private void markCore(int id, int skipVar) {
+        this.flags.set(id, this.flags.get(id) | CORE);
+        for (int p : this.clauses.get(id)) {
+            int v = var(p);
+            if (v != skipVar && !this.seen[v] && this.values[p] != 0) {
+                this.seen[v] = true;
+                this.pending++;
+            }
+        }
+    }
+
+    private void analyzeTrail() {
+        for (int i = this.trail.size() - 1; this.pending > 0; i--) {
+            int v = var(this.trail.get(i));
+            if (this.seen[v]) {
+                this.seen[v] = false;
+                this.pending--;
+                if (this.reasons[v] != NONE) {
+                    markCore(this.reasons[v], v);
+                }
+            }
+        }
+    }
+
+    /**
+     * Unit propagation, using the core clauses first.
+     * 
+     * @return a falsified clause or NONE.
+     */
+    private int propagate() {
+        for (;;) {
+            while (this.coreHead < this.trail.size()) {
+                int confl = propagate(this.trail.get(this.coreHead++), true);
+                if (confl != NONE) {
+                    return confl;
+                }
+            }
+            if (this.head == this.trail.size()) {
+                return NONE;
+            }
+            int confl = propagate(this.trail.get(this.head++), false);
+            if (confl != NONE) {
+                return confl;
+            }
+        }
+    }
+
+    private int propagate(int p, boolean core) {
+        int falsified = p ^ 1;
+        IVecInt ws = this.watches[falsified];
+        int n = ws.size();
+        int j = 0;
+        int i = 0;
+        while (i < n) {
+            int id = ws.get(i++);
+            if (((this.flags.get(id) & CORE) != 0) != core) {
+                ws.set(j++, id);
+                continue;
+            }
+            int[] c = this.clauses.get(id);
+            if (c[0] == falsified) {
+                c[0] = c[1];
+                c[1] = falsified;
+            }
+            if (this.values[c[0]] == TRUE) {
+                ws.set(j++, id);
+                continue;
+            }
+            boolean moved = false;
+            for (int k = 2; k < c.length; k++) {
+                if (this.values[c[k]] != FALSE) {
+                    c[1] = c[k];
+                    c[k] = falsified;
+                    this.watches[c[1]].push(id);
+                    moved = true;
+                    break;
+                }
+            }
+            if (moved) {
+                continue;
+            }
+            ws.set(j++, id);
+            if (this.values[c[0]] == FALSE) {
+                while (i < n) {
+                    ws.set(j++, ws.get(i++));
+                }
+                ws.shrinkTo(j);
+                return id;
+            }
+            assign(c[0], id);
+        }
+        ws.shrinkTo(j);
+        return NONE;
+    }
+
+    private void assign(int p, int reason) {
+        int v = var(p);
+        this.values[p] = TRUE;
+        this.values[p ^ 1] = FALSE;
+        this.reasons[v] = reason;
+        this.positions[v] = this.trail.size();
+        this.trail.push(p);
+    }
+
+    private void undo(int size) {
+        while (this.trail.size() > size) {
+            int p = this.trail.last();
+            this.trail.pop();
+            this.values[p] = 0;
+            this.values[p ^ 1] = 0;
+            this.reasons[var(p)] = NONE;
+        }
+        this.coreHead = size;
+        this.head = size;
+    }
+
+    /**
+     * Watch a clause, assigning its last literal if it is unit.
+     * 
+     * The watched literals are the non falsified ones, else the ones falsified
+     * last. That way, a falsified watched literal is only unassigned on
+     * backtracking together with the other watched literal it implied.
+     * 
+     * @return the clause if it is falsified, else NONE.
+     */
+    private int attach(int id) {
+        int[] c = this.clauses.get(id);
+        if (c.length == 0) {
+            return id;
+        }
+        if (c.length == 1) {
+            if (this.values[c[0]] == FALSE) {
+                return id;
+            }
+            if (this.values[c[0]] == 0) {
+                assign(c[0], id);
+            }
+            return NONE;
+        }
+        selectWatch(c, 0);
+        selectWatch(c, 1);
+        this.watches[c[0]].push(id);
+        this.watches[c[1]].push(id);
+        if (this.values[c[0]] == FALSE) {
+            return id;
+        }
+        if (this.values[c[1]] == FALSE && this.values[c[0]] == 0) {
+            assign(c[0], id);
+        }
+        return NONE;
+    }
+
+    private void selectWatch(int[] c, int index) {
+        int best = index;
+        int bestRank = rank(c[index]);
+        for (int k = index + 1; k < c.length
+                && bestRank != Integer.MAX_VALUE; k++) {
+            int r = rank(c[k]);
+            if (r > bestRank) {
+                best = k;
+                bestRank = r;
+            }
+        }
+        int tmp = c[index];
+        c[index] = c[best];
+        c[best] = tmp;
+    }
+
+    private int rank(int p) {
+        if (this.values[p] == FALSE) {
+            return this.positions[var(p)];
+        }
+        return Integer.MAX_VALUE;
+    }
+
+    private void detach(int id) {
+        int[] c = this.clauses.get(id);
+        if (c.length < 2) {
+            return;
+        }
+        for (int i = 0; i < 2; i++) {
+            IVecInt ws = this.watches[c[i]];
+            ws.delete(ws.indexOf(id));
+        }
+    }
+
+    /**
+     * Create a clause from the internal literals found in {@link #literals}.
+     */
+    private int newClause() {
+        nextStamp();
+        int n = 0;
+        boolean tautology = false;
+        int[] c = new int[this.literals.size()];
+        for (int i = 0; i < this.literals.size(); i++) {
+            int p = this.literals.get(i);
+            if (this.marks[p] != this.stamp) {
+                this.marks[p] = this.stamp;
+                tautology |= this.marks[p ^ 1] == this.stamp;
+                c[n++] = p;
+            }
+        }
+        if (n < c.length) {
+            int[] tmp = new int[n];
+            System.arraycopy(c, 0, tmp, 0, n);
+            c = tmp;
+        }
+        int id = this.clauses.size();
+        this.clauses.push(c);
+        this.flags.push(tautology ? ACTIVE | TAUTOLOGY : ACTIVE);
+        this.pivots.push(n == 0 ? NONE : this.literals.get(0));
+        Integer key = hash(c);
+        IVecInt sameHash = this.clausesByHash.get(key);
+        if (sameHash == null) {
+            sameHash = new VecInt(1);
+            this.clausesByHash.put(key, sameHash);
+        }
+        sameHash.push(id);
+        return id;
+    }
+
+    /**
+     * Find the last active clause having the literals found in
+     * {@link #literals} and remove it from the index.
+     */
+    private int removeFromIndex() {
+        nextStamp();
+        int n = 0;
+        for (int i = 0; i < this.literals.size(); i++) {
+            int p = this.literals.get(i);
+            if (this.marks[p] != this.stamp) {
+                this.marks[p] = this.stamp;
+                this.literals.set(n++, p);
+            }
+        }
+        this.literals.shrinkTo(n);
+        IVecInt sameHash = this.clausesByHash.get(hash(this.literals));
+        if (sameHash == null) {
+            return NONE;
+        }
+        for (int i = sameHash.size() - 1; i >= 0; i--) {
+            int id = sameHash.get(i);
+            int[] c = this.clauses.get(id);
+            if (c.length != n || (this.flags.get(id) & ACTIVE) == 0) {
+                continue;
+            }
+            boolean same = true;
+            for (int p : c) {
+                if (this.marks[p] != this.stamp) {
+                    same = false;
+                    break;
+                }
+            }
+            if (same) {
+                sameHash.delete(i);
+                return id;
+            }
+        }
+        return NONE;
+    }
+
+    private static Integer hash(int[] c) {
+        int h = 0;
+        for (int p : c) {
+            h += mix(p);
+        }
+        return h;
+    }
+
+    private static Integer hash(IVecInt c) {
+        int h = 0;
+        for (int i = 0; i < c.size(); i++) {
+            h += mix(c.get(i));
+        }
+        return h;
+    }
+
+    private static int mix(int p) {
+        int h = p * 0x9E3779B1;
+        return h ^ (h >>> 16);
+    }
+
+    private void nextStamp() {
+        if (++this.stamp == Integer.MAX_VALUE) {
+            for (int i = 0; i < this.marks.length; i++) {
+                this.marks[i] = 0;
+            }
+            this.stamp = 1;
+        }
+    }
+
+    private void toInternalLiterals(IVecInt clause) {
+        this.literals.clear();
+        for (int i = 0; i < clause.size(); i++) {
+            int d = clause.get(i);
+            if (d == 0) {
+                throw new IllegalArgumentException(
+                        "0 is not a valid Dimacs literal");
+            }
+            ensureVariable(Math.abs(d));
+            this.literals.push(toInternal(d));
+        }
+    }
+
+    private void ensureVariable(int v) {
+        if (v <= this.nVars) {
+            return;
+        }
+        int size = Math.max(v, 2 * this.nVars) + 1;
+        IVecInt[] newWatches = new IVecInt[2 * size];
+        System.arraycopy(this.watches, 0, newWatches, 0, this.watches.length);
+        for (int i = this.watches.length; i < newWatches.length; i++) {
+            newWatches[i] = new VecInt();
+        }
+        this.watches = newWatches;
+        byte[] newValues = new byte[2 * size];
+        System.arraycopy(this.values, 0, newValues, 0, this.values.length);
+        this.values = newValues;
+        int[] newMarks = new int[2 * size];
+        System.arraycopy(this.marks, 0, newMarks, 0, this.marks.length);
+        this.marks = newMarks;
+        int[] newReasons = new int[size];
+        System.arraycopy(this.reasons, 0, newReasons, 0, this.reasons.length);
+        for (int i = this.reasons.length; i < size; i++) {
+            newReasons[i] = NONE;
+        }
+        this.reasons = newReasons;
+        int[] newPositions = new int[size];
+        System.arraycopy(this.positions, 0, newPositions, 0,
+                this.positions.length);
+        this.positions = newPositions;
+        boolean[] newSeen = new boolean[size];
+        System.arraycopy(this.seen, 0, newSeen, 0, this.seen.length);
+        this.seen = newSeen;
+        this.nVars = size - 1;
+    }
+
+    /**
+     * A binary proof is expected to contain bytes which cannot be found in a
+     * text proof within its first bytes, as in drat-trim.
+     */
+    private static boolean isBinary(Input input) throws IOException {
+        for (int i = 0; i < FORMAT_DETECTION_SIZE; i++) {
+            int c = input.peek(i);
+            if (c == -1) {
+                return false;
+            }
+            if (!(c >= '0' && c <= '9') && c != '-' && c != 'd' && c != 'c'
+                    && c != ' ' && c != '\t' && c != '\n' && c != '\r') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void readTextProof(Input input) throws IOException,
+            ParseFormatException {
+        boolean deletion = false;
+        this.literals.clear();
+        int c;
+        while ((c = input.skipSpaces()) != -1) {
+            if (c == 'c') {
+                input.skipLine();
+            } else if (c == 'd') {
+                input.read();
+                deletion = true;
+            } else {
+                int lit = input.readInt();
+                if (lit != 0) {
+                    ensureVariable(Math.abs(lit));
+                    this.literals.push(toInternal(lit));
+                    continue;
+                }
+                if (deletion) {
+                    deleteClause();
+                } else {
+                    addLemma();
+                }
+                this.literals.clear();
+                deletion = false;
+            }
+        }
+    }
+
+    private void readBinaryProof(Input input) throws IOException,
+            ParseFormatException {
+        int c;
+        while ((c = input.read()) != -1) {
+            if (c != 'a' && c != 'd') {
+                throw new ParseFormatException("Unexpected byte " + c
+                        + " in binary proof");
+            }
+            this.literals.clear();
+            int p;
+            while ((p = input.readUnsigned()) != 0) {
+                if (p < 2) {
+                    throw new ParseFormatException("Wrong literal " + p
+                            + " in binary proof");
+                }
+                ensureVariable(var(p));
+                this.literals.push(p);
+            }
+            if (c == 'a') {
+                addLemma();
+            } else {
+                deleteClause();
+            }
+        }
+    }
+
+    private void waitForReader() throws IOException, ParseFormatException {
+        if (this.reader == null) {
+            return;
+        }
+        boolean interrupted = false;
+        while (this.reader.isAlive()) {
+            try {
+                this.reader.join();
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        this.reader = null;
+        Exception e = this.readingError;
+        this.readingError = null;
+        if (e instanceof IOException) {
+            throw (IOException) e;
+        }
+        if (e instanceof ParseFormatException) {
+            throw (ParseFormatException) e;
+        }
+        if (e instanceof RuntimeException) {
+            throw (RuntimeException) e;
+        }
+    }
+
+    private static void drain(InputStream in) {
+        byte[] buffer = new byte[Input.BUFFER_SIZE];
+        try {
+            while (in.read(buffer) != -1) {
+                // skip the remaining of the proof
+            }
+        } catch (IOException e) {
+            // nothing more can be read
+        }
+    }
+
+    private static void close(InputStream in) {
+        try {
+            in.close();
+        } catch (IOException e) {
+            // nothing to do
+        }
+    }
+
+    /**
+     * A minimal buffered input, reading formulas and proofs byte by byte.
+     */
+    private static final class Input {
+
+        static final int BUFFER_SIZE = 1 << 16;
+
+        private final InputStream in;
+
+        private final byte[] buffer = new byte[BUFFER_SIZE];
+
+        private int position;
+
+        private int limit;
+
+        Input(InputStream in) {
+            this.in = in;
+        }
+
+        int read() throws IOException {
+            if (this.position == this.limit && !fill()) {
+                return -1;
+            }
+            return this.buffer[this.position++] & 0xFF;
+        }
+
+        int peek(int offset) throws IOException {
+            while (this.position + offset >= this.limit) {
+                if (!fill()) {
+                    return -1;
+                }
+            }
+            return this.buffer[this.position + offset] & 0xFF;
+        }
+
+        /**
+         * Skip the white spaces.
+         * 
+         * @return the next byte, which is not consumed, or -1.
+         */
+        int skipSpaces() throws IOException {
+            int c;
+            while ((c = peek(0)) == ' ' || c == '\n' || c == '\r' || c == '\t') {
+                this.position++;
+            }
+            return c;
+        }
+
+        void skipLine() throws IOException {
+            int c;
+            do {
+                c = read();
+            } while (c != -1 && c != '\n');
+        }
+
+        int readInt() throws IOException, ParseFormatException {
+            skipSpaces();
+            int c = read();
+            boolean negative = c == '-';
+            if (negative) {
+                c = read();
+            }
+            if (c < '0' || c > '9') {
+                throw new ParseFormatException("Number expected, found "
+                        + (c == -1 ? "end of file" : "'" + (char) c + "'"));
+            }
+            int value = 0;
+            do {
+                value = value * 10 + c - '0';
+                c = read();
+            } while (c >= '0' && c <= '9');
+            if (c != -1 && c != ' ' && c != '\n' && c != '\r' && c != '\t') {
+                throw new ParseFormatException("Unexpected character '"
+                        + (char) c + "'");
+            }
+            return negative ? -value : value;
+        }
+
+        int readUnsigned() throws IOException, ParseFormatException {
+            int value = 0;
+            int shift = 0;
+            int c;
+            do {
+                c = read();
+                if (c == -1) {
+                    throw new ParseFormatException("Truncated binary proof");
+                }
+                value |= (c & 0x7F) << shift;
+                shift += 7;
+            } while ((c & 0x80) != 0);
+            return value;
+        }
+
+        /**
+         * Append available bytes to the buffer, moving the unread bytes at the
+         * beginning of the buffer.
+         */
+        private boolean fill() throws IOException {
+            int remaining = this.limit - this.position;
+            if (remaining == this.buffer.length) {
+                return false;
+            }
+            System.arraycopy(this.buffer, this.position, this.buffer, 0,
+                    remaining);
+            this.position = 0;
+            this.limit = remaining;
+            int n = this.in.read(this.buffer, remaining, this.buffer.length
+                    - remaining);
+            if (n <= 0) {
+                return false;
+            }
+            this.limit += n;
+            return true;
+        }
+    }
+}
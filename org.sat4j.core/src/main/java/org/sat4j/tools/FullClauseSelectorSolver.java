@@ -86,6 +86,12 @@ public class FullClauseSelectorSolver<T extends ISolver> extends
         return addControlableClause(literals);
     }
 
+    @Override
+    public void addClauses(int[] flatLits, int[] offsets)
+            throws ContradictionException {
+        addClausesOneByOne(flatLits, offsets);
+    }
+
     @Override
     public int[] model() {
         int[] fullmodel = super.modelWithInternalVariables();
@@ -143,6 +143,16 @@ public class ManyCore<S extends ISolver> extends
         }
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public void addClauses(int[] flatLits, int[] offsets)
+            throws ContradictionException {
+        for (int i = 0; i < this.numberOfSolvers; i++) {
+            this.solvers.get(i).addClauses(flatLits, offsets);
+        }
+    }
+
     public IConstr addAtLeast(IVecInt literals, int degree)
             throws ContradictionException {
         ConstrGroup group = new ConstrGroup(false);
@@ -286,6 +296,12 @@ public class ManyCore<S extends ISolver> extends
         }
     }
 
+    public void setTimeoutOnWork(long ticks) {
+        for (int i = 0; i < this.numberOfSolvers; i++) {
+            this.solvers.get(i).setTimeoutOnWork(ticks);
+        }
+    }
+
     public String toString(String prefix) {
         StringBuffer res = new StringBuffer();
         res.append(prefix);
@@ -542,6 +558,16 @@ public class ManyCore<S extends ISolver> extends
 
     }
 
+    public boolean isAssumptionPrefixKept() {
+        return this.solvers.get(0).isAssumptionPrefixKept();
+    }
+
+    public void setKeepAssumptionPrefix(boolean value) {
+        for (int i = 0; i < this.numberOfSolvers; i++) {
+            this.solvers.get(i).setKeepAssumptionPrefix(value);
+        }
+    }
+
     public ISolver getSolvingEngine() {
         throw new UnsupportedOperationException("Not supported yet in ManyCore");
     }
@@ -78,6 +78,12 @@ public class NegationDecorator<T extends ISolver> extends
         return group;
     }
 
+    @Override
+    public void addClauses(int[] flatLits, int[] offsets)
+            throws ContradictionException {
+        addClausesOneByOne(flatLits, offsets);
+    }
+
     @Override
     public IConstr addAtMost(IVecInt literals, int degree)
             throws ContradictionException {
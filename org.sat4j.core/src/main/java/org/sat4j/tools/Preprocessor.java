@@ -0,0 +1,974 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.tools;
+
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.sat4j.core.LiteralsUtils;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IConstr;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+/**
+ * SatELite like preprocessor. The clauses added before the first call to
+ * isSatisfiable() are kept in the decorator and simplified using backward
+ * subsumption, self-subsuming resolution and bounded variable elimination
+ * before being sent to the decorated solver.
+ * 
+ * The clauses removed when eliminating a variable are kept on an elimination
+ * stack, which is used to extend the model found by the decorated solver to
+ * the eliminated variables: model(), model(int) and findModel() always
+ * return a model of the original formula.
+ * 
+ * Variables which must keep their meaning for the caller can be frozen. The
+ * variables appearing in the assumptions of the first call, in non clausal
+ * constraints (cardinality constraints for instance) and the ones explicitly
+ * frozen using {@link #freeze(int)} are never eliminated. Once the formula
+ * has been simplified, the decorator can still be used incrementally: if a new
+ * constraint or an assumption contains an eliminated variable, the clauses of
+ * the elimination stack are given back to the decorated solver first.
+ * 
+ * Since the clauses are buffered, addClause() returns null until the first
+ * call to isSatisfiable(). Those clauses cannot be removed.
+ * 
+ * @param <T>
+ *            a solver
+ * @since 2.3.6
+ */
+public class Preprocessor<T extends ISolver> extends SolverDecorator<T> {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Maximum size of a resolvent produced by variable elimination.
+     */
+    private static final int RESOLVENT_LENGTH_LIMIT = 20;
+
+    /**
+     * Occurrence lists longer than that limit are not used for subsumption.
+     */
+    private static final int SUBSUMPTION_OCCURRENCE_LIMIT = 1000;
+
+    /**
+     * Default number of literals to visit during preprocessing.
+     */
+    public static final long DEFAULT_BUDGET = 100000000L;
+
+    private long budget = DEFAULT_BUDGET;
+
+    private long steps;
+
+    private final IVec<SimpClause> clauses = new Vec<SimpClause>();
+
+    private final IVec<IVec<SimpClause>> occurrences = new Vec<IVec<SimpClause>>();
+
+    private final IVec<SimpClause> subsumptionQueue = new Vec<SimpClause>();
+
+    private final IVecInt units = new VecInt();
+
+    /**
+     * the elimination stack: for each clause, its literals, starting with the
+     * eliminated one, followed by the size of the clause.
+     */
+    private final IVecInt eliminationStack = new VecInt();
+
+    private int[] values = new int[0];
+
+    private boolean[] frozen = new boolean[0];
+
+    private boolean[] eliminated = new boolean[0];
+
+    private boolean[] touched = new boolean[0];
+
+    private int[] marks = new int[0];
+
+    private int stamp;
+
+    private int maxVar;
+
+    private int propagated;
+
+    private boolean preprocessed;
+
+    private boolean contradiction;
+
+    private int nbEliminated;
+
+    private int[] extendedModel;
+
+    private boolean[] extendedValues;
+
+    private int eliminatedVariables;
+
+    private int subsumedClauses;
+
+    private int strengthenedClauses;
+
+    private long preprocessingTime;
+
+    public Preprocessor(T solver) {
+        super(solver);
+    }
+
+    /**
+     * Prevents a variable from being eliminated. If the variable has already
+     * been eliminated, the eliminated clauses are given back to the decorated
+     * solver.
+     * 
+     * @param var
+     *            a variable in Dimacs format
+     */
+    public void freeze(int var) {
+        ensureVariable(var);
+        this.frozen[var] = true;
+        if (this.eliminated[var]) {
+            restoreEliminatedClauses();
+        }
+    }
+
+    /**
+     * 
+     * @param var
+     *            a variable in Dimacs format
+     * @return true iff the variable has been eliminated by the preprocessor.
+     */
+    public boolean isEliminated(int var) {
+        return var < this.eliminated.length && this.eliminated[var];
+    }
+
+    /**
+     * Set the maximum number of literals to visit when simplifying the
+     * formula.
+     * 
+     * @param budget
+     *            a number of literals.
+     */
+    public void setPreprocessingBudget(long budget) {
+        this.budget = budget;
+    }
+
+    @Override
+    public IConstr addClause(IVecInt literals) throws ContradictionException {
+        if (this.preprocessed || literals.size() == 0) {
+            prepareFor(literals);
+            return super.addClause(literals);
+        }
+        int[] lits = new int[literals.size()];
+        int size = 0;
+        newStamp();
+        for (int i = 0; i < literals.size(); i++) {
+            int p = literals.get(i);
+            ensureVariable(Math.abs(p));
+            if (isMarked(-p)) {
+                // tautology, its variables must still appear in the model
+                for (int j = i + 1; j < literals.size(); j++) {
+                    ensureVariable(Math.abs(literals.get(j)));
+                }
+                return null;
+            }
+            if (!isMarked(p)) {
+                mark(p);
+                lits[size++] = p;
+            }
+        }
+        if (size < lits.length) {
+            int[] tmp = new int[size];
+            System.arraycopy(lits, 0, tmp, 0, size);
+            lits = tmp;
+        }
+        if (!addInternalClause(lits)) {
+            this.contradiction = true;
+            throw new ContradictionException("Contradictory unit clauses");
+        }
+        return null;
+    }
+
+    @Override
+    public void addAllClauses(IVec<IVecInt> clauses)
+            throws ContradictionException {
+        for (int i = 0; i < clauses.size(); i++) {
+            addClause(clauses.get(i));
+        }
+    }
+
+    @Override
+    public void addClauses(int[] flatLits, int[] offsets)
+            throws ContradictionException {
+        addClausesOneByOne(flatLits, offsets);
+    }
+
+    @Override
+    public IConstr addBlockingClause(IVecInt literals)
+            throws ContradictionException {
+        if (!this.preprocessed) {
+            return addClause(literals);
+        }
+        prepareFor(literals);
+        return super.addBlockingClause(literals);
+    }
+
+    @Override
+    public IConstr discardCurrentModel() throws ContradictionException {
+        return addBlockingClause(createBlockingClauseForCurrentModel());
+    }
+
+    @Override
+    public IVecInt createBlockingClauseForCurrentModel() {
+        int[] model = model();
+        IVecInt clause = new VecInt(model.length);
+        for (int p : model) {
+            clause.push(-p);
+        }
+        return clause;
+    }
+
+    @Override
+    public IConstr addAtMost(IVecInt literals, int degree)
+            throws ContradictionException {
+        freezeAll(literals);
+        return super.addAtMost(literals, degree);
+    }
+
+    @Override
+    public IConstr addAtLeast(IVecInt literals, int degree)
+            throws ContradictionException {
+        freezeAll(literals);
+        return super.addAtLeast(literals, degree);
+    }
+
+    @Override
+    public IConstr addExactly(IVecInt literals, int n)
+            throws ContradictionException {
+        freezeAll(literals);
+        return super.addExactly(literals, n);
+    }
+
+    @Override
+    public boolean isSatisfiable() throws TimeoutException {
+        return isSatisfiable(VecInt.EMPTY, false);
+    }
+
+    @Override
+    public boolean isSatisfiable(boolean global) throws TimeoutException {
+        return isSatisfiable(VecInt.EMPTY, global);
+    }
+
+    @Override
+    public boolean isSatisfiable(IVecInt assumps) throws TimeoutException {
+        return isSatisfiable(assumps, false);
+    }
+
+    @Override
+    public boolean isSatisfiable(IVecInt assumps, boolean global)
+            throws TimeoutException {
+        this.extendedModel = null;
+        freezeAll(assumps);
+        flush();
+        if (this.contradiction) {
+            return false;
+        }
+        return super.isSatisfiable(assumps, global);
+    }
+
+    @Override
+    public int[] findModel() throws TimeoutException {
+        return findModel(VecInt.EMPTY);
+    }
+
+    @Override
+    public int[] findModel(IVecInt assumps) throws TimeoutException {
+        if (isSatisfiable(assumps)) {
+            return model();
+        }
+        return null;
+    }
+
+    /**
+     * The model is always extended: besides the eliminated variables, the
+     * variables only found in tautologies never reach the decorated solver.
+     */
+    @Override
+    public int[] model() {
+        if (this.extendedModel == null) {
+            this.extendedModel = extendModel(super.model());
+        }
+        return this.extendedModel;
+    }
+
+    @Override
+    public int[] modelWithInternalVariables() {
+        return extendModel(super.modelWithInternalVariables());
+    }
+
+    @Override
+    public boolean model(int var) {
+        if (this.extendedModel == null) {
+            this.extendedModel = extendModel(super.model());
+        }
+        if (var < this.extendedValues.length) {
+            return this.extendedValues[var];
+        }
+        return super.model(var);
+    }
+
+    @Override
+    public int nConstraints() {
+        if (this.preprocessed) {
+            return super.nConstraints();
+        }
+        int nbClauses = this.units.size();
+        for (int i = 0; i < this.clauses.size(); i++) {
+            if (!this.clauses.get(i).removed) {
+                nbClauses++;
+            }
+        }
+        return super.nConstraints() + nbClauses;
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.clauses.clear();
+        this.occurrences.clear();
+        this.subsumptionQueue.clear();
+        this.units.clear();
+        this.propagated = 0;
+        this.eliminationStack.clear();
+        this.values = new int[0];
+        this.frozen = new boolean[0];
+        this.eliminated = new boolean[0];
+        this.touched = new boolean[0];
+        this.marks = new int[0];
+        this.maxVar = 0;
+        this.preprocessed = false;
+        this.contradiction = false;
+        this.nbEliminated = 0;
+        this.extendedModel = null;
+        this.eliminatedVariables = 0;
+        this.subsumedClauses = 0;
+        this.strengthenedClauses = 0;
+        this.preprocessingTime = 0;
+    }
+
+    @Override
+    public Map<String, Number> getStat() {
+        Map<String, Number> stats = new HashMap<String, Number>(
+                super.getStat());
+        stats.put("eliminatedVariables", this.eliminatedVariables);
+        stats.put("subsumedClauses", this.subsumedClauses);
+        stats.put("strengthenedClauses", this.strengthenedClauses);
+        stats.put("preprocessingTime", this.preprocessingTime);
+        return stats;
+    }
+
+    @Deprecated
+    @Override
+    public void printStat(PrintStream out, String prefix) {
+        printStat(new PrintWriter(out, true), prefix);
+    }
+
+    @Override
+    public void printStat(PrintWriter out, String prefix) {
+        out.println(prefix + "eliminated variables\t: "
+                + this.eliminatedVariables);
+        out.println(prefix + "subsumed clauses\t: " + this.subsumedClauses);
+        out.println(prefix + "strengthened clauses\t: "
+                + this.strengthenedClauses);
+        out.println(prefix + "preprocessing time (ms)\t: "
+                + this.preprocessingTime);
+        super.printStat(out, prefix);
+    }
+
+    @Override
+    public String toString(String prefix) {
+        return prefix + "SatELite like preprocessing\n"
+                + super.toString(prefix);
+    }
+
+    /**
+     * Freezes the variables of the given literals.
+     * 
+     * @param literals
+     *            literals in Dimacs format
+     */
+    protected void freezeAll(IVecInt literals) {
+        for (int i = 0; i < literals.size(); i++) {
+            freeze(Math.abs(literals.get(i)));
+        }
+    }
+
+    /**
+     * Make sure that the decorated solver knows about all the clauses
+     * containing the variables of the given literals.
+     * 
+     * @param literals
+     *            literals in Dimacs format
+     */
+    protected void prepareFor(IVecInt literals) {
+        for (int i = 0; i < literals.size(); i++) {
+            if (isEliminated(Math.abs(literals.get(i)))) {
+                restoreEliminatedClauses();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Simplifies the clauses buffered so far and give them to the decorated
+     * solver. Does nothing if this has already been done.
+     */
+    protected void flush() {
+        if (this.preprocessed) {
+            return;
+        }
+        this.preprocessed = true;
+        long begin = System.currentTimeMillis();
+        if (!this.contradiction) {
+            this.contradiction = !simplify();
+        }
+        this.preprocessingTime += System.currentTimeMillis() - begin;
+        if (this.contradiction) {
+            return;
+        }
+        try {
+            IVecInt literals = new VecInt();
+            for (int i = 0; i < this.units.size(); i++) {
+                literals.clear();
+                literals.push(this.units.get(i));
+                decorated().addClause(literals);
+            }
+            for (int i = 0; i < this.clauses.size(); i++) {
+                SimpClause c = this.clauses.get(i);
+                if (!c.removed) {
+                    literals.clear();
+                    for (int p : c.lits) {
+                        literals.push(p);
+                    }
+                    decorated().addClause(literals);
+                }
+            }
+        } catch (ContradictionException e) {
+            this.contradiction = true;
+        }
+        this.clauses.clear();
+        this.occurrences.clear();
+        this.subsumptionQueue.clear();
+        this.units.clear();
+        this.propagated = 0;
+    }
+
+    private void restoreEliminatedClauses() {
+        if (this.nbEliminated == 0) {
+            return;
+        }
+        IVecInt literals = new VecInt();
+        try {
+            for (int i = this.eliminationStack.size() - 1; i > 0;) {
+                int size = this.eliminationStack.get(i);
+                int start = i - size;
+                literals.clear();
+                for (int j = start; j < i; j++) {
+                    literals.push(this.eliminationStack.get(j));
+                }
+                decorated().addClause(literals);
+                i = start - 1;
+            }
+        } catch (ContradictionException e) {
+            // cannot happen, the formula was satisfiable with those clauses
+            this.contradiction = true;
+        }
+        this.eliminationStack.clear();
+        Arrays.fill(this.eliminated, false);
+        this.nbEliminated = 0;
+        this.extendedModel = null;
+    }
+
+    private int[] extendModel(int[] model) {
+        int maxVar = this.maxVar;
+        for (int p : model) {
+            maxVar = Math.max(maxVar, Math.abs(p));
+        }
+        int[] assignment = new int[maxVar + 1];
+        for (int var = 1; var <= maxVar; var++) {
+            // the variables unknown from the solver can take any value
+            assignment[var] = -var;
+        }
+        for (int p : model) {
+            assignment[Math.abs(p)] = p;
+        }
+        for (int i = this.eliminationStack.size() - 1; i > 0;) {
+            int size = this.eliminationStack.get(i);
+            int start = i - size;
+            boolean satisfied = false;
+            for (int j = start + 1; j < i && !satisfied; j++) {
+                int p = this.eliminationStack.get(j);
+                satisfied = assignment[Math.abs(p)] == p;
+            }
+            if (!satisfied) {
+                int pivot = this.eliminationStack.get(start);
+                assignment[Math.abs(pivot)] = pivot;
+            }
+            i = start - 1;
+        }
+        IVecInt extended = new VecInt(maxVar);
+        this.extendedValues = new boolean[maxVar + 1];
+        for (int var = 1; var <= maxVar; var++) {
+            extended.push(assignment[var]);
+            this.extendedValues[var] = assignment[var] > 0;
+        }
+        int[] result = new int[extended.size()];
+        extended.copyTo(result);
+        return result;
+    }
+
+    /**
+     * Simplifies the buffered clauses.
+     * 
+     * @return false iff the formula has been found unsatisfiable.
+     */
+    private boolean simplify() {
+        this.steps = 0;
+        if (!propagateUnits()) {
+            return false;
+        }
+        Arrays.fill(this.touched, true);
+        boolean changed;
+        do {
+            if (!backwardSubsumption()) {
+                return false;
+            }
+            int before = this.nbEliminated;
+            if (!eliminateVariables()) {
+                return false;
+            }
+            changed = this.nbEliminated > before;
+        } while (changed && this.steps < this.budget);
+        return true;
+    }
+
+    private boolean backwardSubsumption() {
+        while (!this.subsumptionQueue.isEmpty() && this.steps < this.budget) {
+            SimpClause c = this.subsumptionQueue.last();
+            this.subsumptionQueue.pop();
+            c.queued = false;
+            if (c.removed) {
+                continue;
+            }
+            int best = c.lits[0];
+            int bestSize = occurrences(best).size()
+                    + occurrences(-best).size();
+            for (int i = 1; i < c.lits.length; i++) {
+                int p = c.lits[i];
+                int size = occurrences(p).size() + occurrences(-p).size();
+                if (size < bestSize) {
+                    best = p;
+                    bestSize = size;
+                }
+            }
+            if (bestSize > SUBSUMPTION_OCCURRENCE_LIMIT) {
+                continue;
+            }
+            if (!subsumeWith(c, best) || !subsumeWith(c, -best)) {
+                return false;
+            }
+            if (!propagateUnits()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Removes or strengthens the clauses containing p that are subsumed or
+     * self subsumed by c.
+     */
+    private boolean subsumeWith(SimpClause c, int p) {
+        IVec<SimpClause> list = occurrences(p);
+        int i = 0;
+        while (i < list.size() && !c.removed) {
+            SimpClause d = list.get(i);
+            if (d != c && !d.removed && d.lits.length >= c.lits.length
+                    && (c.abstraction & ~d.abstraction) == 0) {
+                int l = subsumes(c, d);
+                if (l == 0) {
+                    removeClause(d);
+                    this.subsumedClauses++;
+                } else if (l != Integer.MAX_VALUE) {
+                    if (!strengthen(d, -l)) {
+                        return false;
+                    }
+                    if (i < list.size() && list.get(i) != d) {
+                        continue;
+                    }
+                }
+            }
+            i++;
+        }
+        return true;
+    }
+
+    /**
+     * Checks if c subsumes d.
+     * 
+     * @return 0 if c subsumes d, a literal l if d can be strengthened by
+     *         removing -l (self-subsuming resolution) and Integer.MAX_VALUE
+     *         otherwise.
+     */
+    private int subsumes(SimpClause c, SimpClause d) {
+        this.steps += c.lits.length + d.lits.length;
+        newStamp();
+        for (int p : d.lits) {
+            mark(p);
+        }
+        int flipped = 0;
+        for (int p : c.lits) {
+            if (!isMarked(p)) {
+                if (flipped == 0 && isMarked(-p)) {
+                    flipped = p;
+                } else {
+                    return Integer.MAX_VALUE;
+                }
+            }
+        }
+        return flipped;
+    }
+
+    private boolean strengthen(SimpClause c, int p) {
+        this.strengthenedClauses++;
+        int[] lits = new int[c.lits.length - 1];
+        int j = 0;
+        for (int q : c.lits) {
+            if (q != p) {
+                lits[j++] = q;
+            }
+        }
+        occurrences(p).remove(c);
+        touch(p);
+        if (lits.length == 1) {
+            removeClause(c);
+            return assign(lits[0]);
+        }
+        c.setLiterals(lits);
+        if (!c.queued) {
+            c.queued = true;
+            this.subsumptionQueue.push(c);
+        }
+        return true;
+    }
+
+    private boolean eliminateVariables() {
+        IVecInt candidates = new VecInt();
+        for (int var = 1; var < this.touched.length; var++) {
+            if (this.touched[var] && !this.frozen[var] && !this.eliminated[var]
+                    && this.values[var] == 0) {
+                candidates.push(var);
+            }
+            this.touched[var] = false;
+        }
+        long[] ordered = new long[candidates.size()];
+        for (int i = 0; i < ordered.length; i++) {
+            int var = candidates.get(i);
+            long cost = (long) cleanOccurrences(var).size()
+                    * cleanOccurrences(-var).size();
+            ordered[i] = cost << 32 | var;
+        }
+        Arrays.sort(ordered);
+        for (int i = 0; i < ordered.length && this.steps < this.budget; i++) {
+            int var = (int) ordered[i];
+            if (this.values[var] != 0) {
+                continue;
+            }
+            if (!tryToEliminate(var) || !backwardSubsumption()) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Eliminates var by distribution if that does not increase the number of
+     * clauses.
+     * 
+     * @return false iff the formula has been found unsatisfiable.
+     */
+    private boolean tryToEliminate(int var) {
+        IVec<SimpClause> pos = cleanOccurrences(var);
+        IVec<SimpClause> neg = cleanOccurrences(-var);
+        if (pos.size() + neg.size() == 0) {
+            return true;
+        }
+        int limit = pos.size() + neg.size();
+        int nbResolvents = 0;
+        for (int i = 0; i < pos.size(); i++) {
+            for (int j = 0; j < neg.size(); j++) {
+                int size = resolve(pos.get(i), neg.get(j), var, null);
+                if (size >= 0) {
+                    if (++nbResolvents > limit
+                            || size > RESOLVENT_LENGTH_LIMIT) {
+                        return true;
+                    }
+                }
+            }
+        }
+        this.eliminated[var] = true;
+        this.nbEliminated++;
+        this.eliminatedVariables++;
+        IVec<int[]> resolvents = new Vec<int[]>(nbResolvents);
+        IVecInt resolvent = new VecInt();
+        for (int i = 0; i < pos.size(); i++) {
+            for (int j = 0; j < neg.size(); j++) {
+                resolvent.clear();
+                if (resolve(pos.get(i), neg.get(j), var, resolvent) >= 0) {
+                    int[] lits = new int[resolvent.size()];
+                    resolvent.copyTo(lits);
+                    resolvents.push(lits);
+                }
+            }
+        }
+        saveAndRemove(pos, var);
+        saveAndRemove(neg, -var);
+        for (int i = 0; i < resolvents.size(); i++) {
+            if (!addInternalClause(resolvents.get(i))) {
+                return false;
+            }
+        }
+        return propagateUnits();
+    }
+
+    private void saveAndRemove(IVec<SimpClause> list, int pivot) {
+        while (!list.isEmpty()) {
+            SimpClause c = list.last();
+            this.eliminationStack.push(pivot);
+            for (int p : c.lits) {
+                if (p != pivot) {
+                    this.eliminationStack.push(p);
+                }
+            }
+            this.eliminationStack.push(c.lits.length);
+            removeClause(c);
+            list.pop();
+        }
+    }
+
+    /**
+     * Computes the resolvent of c and d on var.
+     * 
+     * @return the size of the resolvent, or -1 if it is a tautology.
+     */
+    private int resolve(SimpClause c, SimpClause d, int var, IVecInt resolvent) {
+        this.steps += c.lits.length + d.lits.length;
+        newStamp();
+        int size = 0;
+        for (int p : c.lits) {
+            if (p != var) {
+                mark(p);
+                size++;
+                if (resolvent != null) {
+                    resolvent.push(p);
+                }
+            }
+        }
+        for (int p : d.lits) {
+            if (p != -var && !isMarked(p)) {
+                if (isMarked(-p)) {
+                    return -1;
+                }
+                size++;
+                if (resolvent != null) {
+                    resolvent.push(p);
+                }
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Adds a clause without duplicate literals to the clause database.
+     * 
+     * @return false if the clause is empty or contradicts a unit clause.
+     */
+    private boolean addInternalClause(int[] lits) {
+        if (lits.length == 0) {
+            return false;
+        }
+        if (lits.length == 1) {
+            return assign(lits[0]);
+        }
+        SimpClause c = new SimpClause(lits);
+        this.clauses.push(c);
+        for (int p : lits) {
+            occurrences(p).push(c);
+            touch(p);
+        }
+        c.queued = true;
+        this.subsumptionQueue.push(c);
+        return true;
+    }
+
+    private boolean assign(int p) {
+        int var = Math.abs(p);
+        if (this.values[var] != 0) {
+            return this.values[var] == p;
+        }
+        this.values[var] = p;
+        this.units.push(p);
+        return true;
+    }
+
+    /**
+     * Removes the satisfied clauses and the falsified literals from the clause
+     * database.
+     * 
+     * @return false iff a clause became empty.
+     */
+    private boolean propagateUnits() {
+        for (; this.propagated < this.units.size(); this.propagated++) {
+            int p = this.units.get(this.propagated);
+            IVec<SimpClause> satisfied = occurrences(p);
+            for (int j = 0; j < satisfied.size(); j++) {
+                removeClause(satisfied.get(j));
+            }
+            satisfied.clear();
+            IVec<SimpClause> falsified = occurrences(-p);
+            while (!falsified.isEmpty()) {
+                SimpClause c = falsified.last();
+                if (c.removed) {
+                    falsified.pop();
+                } else if (!strengthen(c, -p)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void removeClause(SimpClause c) {
+        if (!c.removed) {
+            c.removed = true;
+            for (int p : c.lits) {
+                touch(p);
+            }
+        }
+    }
+
+    private IVec<SimpClause> occurrences(int p) {
+        return this.occurrences.get(LiteralsUtils.toInternal(p));
+    }
+
+    private IVec<SimpClause> cleanOccurrences(int p) {
+        IVec<SimpClause> list = occurrences(p);
+        for (int i = 0; i < list.size();) {
+            if (list.get(i).removed) {
+                list.delete(i);
+            } else {
+                i++;
+            }
+        }
+        return list;
+    }
+
+    private void touch(int p) {
+        this.touched[Math.abs(p)] = true;
+    }
+
+    private void newStamp() {
+        this.stamp++;
+    }
+
+    private void mark(int p) {
+        this.marks[LiteralsUtils.toInternal(p)] = this.stamp;
+    }
+
+    private boolean isMarked(int p) {
+        return this.marks[LiteralsUtils.toInternal(p)] == this.stamp;
+    }
+
+    private void ensureVariable(int var) {
+        this.maxVar = Math.max(this.maxVar, var);
+        if (var < this.frozen.length) {
+            return;
+        }
+        int size = Math.max(var + 1, this.frozen.length * 2);
+        this.values = grow(this.values, size);
+        this.frozen = grow(this.frozen, size);
+        this.eliminated = grow(this.eliminated, size);
+        this.touched = grow(this.touched, size);
+        this.marks = grow(this.marks, 2 * size);
+        while (!this.preprocessed && this.occurrences.size() < 2 * size) {
+            this.occurrences.push(new Vec<SimpClause>());
+        }
+    }
+
+    private static int[] grow(int[] array, int size) {
+        int[] tmp = new int[size];
+        System.arraycopy(array, 0, tmp, 0, array.length);
+        return tmp;
+    }
+
+    private static boolean[] grow(boolean[] array, int size) {
+        boolean[] tmp = new boolean[size];
+        System.arraycopy(array, 0, tmp, 0, array.length);
+        return tmp;
+    }
+
+    /**
+     * A clause of the preprocessor, in Dimacs format.
+     */
+    private static final class SimpClause {
+        int[] lits;
+
+        long abstraction;
+
+        boolean removed;
+
+        boolean queued;
+
+        SimpClause(int[] lits) {
+            setLiterals(lits);
+        }
+
+        void setLiterals(int[] lits) {
+            this.lits = lits;
+            this.abstraction = 0;
+            for (int p : lits) {
+                this.abstraction |= 1L << (Math.abs(p) & 63);
+            }
+        }
+    }
+}
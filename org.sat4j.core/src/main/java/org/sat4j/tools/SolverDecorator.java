@@ -33,6 +33,7 @@ import java.io.PrintStream;
 import java.io.PrintWriter;
 import java.util.Map;
 
+import org.sat4j.core.VecInt;
 import org.sat4j.specs.Constr;
 import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.IConstr;
@@ -75,6 +76,15 @@ public abstract class SolverDecorator<T extends ISolver> implements ISolver {
         this.solver.setTimeoutOnConflicts(count);
     }
 
+    /*
+     * (non-Javadoc)
+     * 
+     * @see org.sat4j.specs.ISolver#setTimeoutOnWork(long)
+     */
+    public void setTimeoutOnWork(long ticks) {
+        this.solver.setTimeoutOnWork(ticks);
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -241,6 +251,33 @@ public abstract class SolverDecorator<T extends ISolver> implements ISolver {
         this.solver.addAllClauses(clauses);
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public void addClauses(int[] flatLits, int[] offsets)
+            throws ContradictionException {
+        this.solver.addClauses(flatLits, offsets);
+    }
+
+    /**
+     * Give the clauses found in flat arrays one by one to
+     * {@link #addClause(IVecInt)}. Decorators redefining that method must use
+     * it to implement {@link #addClauses(int[], int[])}.
+     * 
+     * @since 2.3.6
+     */
+    protected final void addClausesOneByOne(int[] flatLits, int[] offsets)
+            throws ContradictionException {
+        IVecInt clause = new VecInt();
+        for (int i = 0; i + 1 < offsets.length; i++) {
+            clause.clear();
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                clause.push(flatLits[j]);
+            }
+            addClause(clause);
+        }
+    }
+
     /**
      * @since 2.1
      */
@@ -520,6 +557,20 @@ public abstract class SolverDecorator<T extends ISolver> implements ISolver {
         this.solver.setKeepSolverHot(value);
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public boolean isAssumptionPrefixKept() {
+        return this.solver.isAssumptionPrefixKept();
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public void setKeepAssumptionPrefix(boolean value) {
+        this.solver.setKeepAssumptionPrefix(value);
+    }
+
     /**
      * @since 2.3.2
      */
@@ -247,6 +247,11 @@ public class StatisticsSolver implements ISolver {
         throw new UnsupportedOperationException(NOT_IMPLEMENTED_YET);
     }
 
+    public void addClauses(int[] flatLits, int[] offsets)
+            throws ContradictionException {
+        throw new UnsupportedOperationException(NOT_IMPLEMENTED_YET);
+    }
+
     public IConstr addAtMost(IVecInt literals, int degree)
             throws ContradictionException {
         throw new UnsupportedOperationException(NOT_IMPLEMENTED_YET);
@@ -269,6 +274,10 @@ public class StatisticsSolver implements ISolver {
         throw new UnsupportedOperationException(NOT_IMPLEMENTED_YET);
     }
 
+    public void setTimeoutOnWork(long ticks) {
+        throw new UnsupportedOperationException(NOT_IMPLEMENTED_YET);
+    }
+
     public void setTimeoutMs(long t) {
         throw new UnsupportedOperationException(NOT_IMPLEMENTED_YET);
     }
@@ -441,6 +450,14 @@ public class StatisticsSolver implements ISolver {
         throw new UnsupportedOperationException(NOT_IMPLEMENTED_YET);
     }
 
+    public boolean isAssumptionPrefixKept() {
+        throw new UnsupportedOperationException(NOT_IMPLEMENTED_YET);
+    }
+
+    public void setKeepAssumptionPrefix(boolean keepPrefix) {
+        throw new UnsupportedOperationException(NOT_IMPLEMENTED_YET);
+    }
+
     public ISolver getSolvingEngine() {
         throw new UnsupportedOperationException(NOT_IMPLEMENTED_YET);
     }
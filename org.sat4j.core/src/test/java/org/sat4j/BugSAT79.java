@@ -21,19 +21,34 @@ public class BugSAT79 {
         solver.addClause(new VecInt(new int[] { 1, -2, 3 }));
     }
 
+    /**
+     * @return the number of live threads used to expire the solvers timeouts.
+     */
+    private static int nbTimeoutThreads() {
+        int count = 0;
+        for (Thread thread : Thread.getAllStackTraces().keySet()) {
+            if ("Sat4j timeout".equals(thread.getName()) && thread.isAlive()) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    // the timeout thread is shared by all the solvers: the pending global
+    // timeout must keep exactly one timeout thread alive.
+
     @Test
     public void testSuccessiveCallsInGlobalTimeout() throws TimeoutException,
             InterruptedException {
-        int nbthreads = Thread.activeCount();
         for (int i = 0; i < 10; i++) {
             solver.isSatisfiable(true);
             Thread.sleep(500);
-            assertEquals(nbthreads + 1, Thread.activeCount());
+            assertEquals(1, nbTimeoutThreads());
         }
     }
 
-    // starting from here, the Timer thread exists, so it should not increase
-    // the number of available threads.
+    // the timeout thread stops once no timeout is pending, so local timeouts
+    // should not increase the number of available threads.
 
     @Test
     public void testSuccessiveCallsInLocalTimeout() throws TimeoutException,
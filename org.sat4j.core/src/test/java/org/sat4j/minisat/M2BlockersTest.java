@@ -0,0 +1,72 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat;
+
+import java.io.FileNotFoundException;
+import java.io.IOException;
+
+import org.sat4j.minisat.core.Solver;
+import org.sat4j.reader.InstanceReader;
+import org.sat4j.reader.ParseFormatException;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.TimeoutException;
+
+/**
+ * Acceptance tests for the solver using blocking literals in its watch lists.
+ */
+public class M2BlockersTest extends AbstractM2Test<ISolver> {
+
+    /**
+     * @param arg0
+     */
+    public M2BlockersTest(String arg0) {
+        super(arg0);
+    }
+
+    @Override
+    protected ISolver createSolver() {
+        return SolverFactory.newBlockers();
+    }
+
+    public void testBlockersSaveInspects() throws FileNotFoundException,
+            ParseFormatException, IOException, ContradictionException,
+            TimeoutException {
+        Solver<?> plain = (Solver<?>) SolverFactory.newGlucose21();
+        new InstanceReader(plain).parseInstance(PREFIX + "pigeons/hole6.cnf");
+        assertFalse(plain.isSatisfiable());
+        Solver<?> blockers = (Solver<?>) this.solver;
+        this.reader.parseInstance(PREFIX + "pigeons/hole6.cnf");
+        assertFalse(blockers.isSatisfiable());
+        // the clauses satisfied by their blocker are not visited
+        assertTrue(blockers.getStats().shortcuts > 0);
+        assertTrue(blockers.getStats().inspects < plain.getStats().inspects);
+    }
+}
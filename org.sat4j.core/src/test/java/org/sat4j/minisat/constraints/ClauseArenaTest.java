@@ -0,0 +1,156 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.constraints;
+
+import junit.framework.TestCase;
+
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.constraints.cnf.ArenaClause;
+import org.sat4j.minisat.constraints.cnf.ClauseArena;
+import org.sat4j.minisat.constraints.cnf.LearntArenaClause;
+import org.sat4j.minisat.constraints.cnf.Lits;
+import org.sat4j.minisat.constraints.cnf.OriginalArenaClause;
+import org.sat4j.minisat.core.ILits;
+import org.sat4j.specs.IVecInt;
+
+public class ClauseArenaTest extends TestCase {
+
+    private ILits voc;
+
+    private ClauseArena arena;
+
+    @Override
+    protected void setUp() throws Exception {
+        this.voc = new Lits();
+        this.voc.ensurePool(10);
+        this.arena = new ClauseArena(this.voc);
+    }
+
+    private IVecInt clause(int... dimacs) {
+        IVecInt clause = new VecInt();
+        for (int p : dimacs) {
+            clause.push(this.voc.getFromPool(p));
+        }
+        return clause;
+    }
+
+    public void testLiteralsAreStoredInline() {
+        IVecInt literals = clause(1, -2, 3);
+        int[] expected = literals.toArray();
+        ArenaClause c = new OriginalArenaClause(literals, this.arena);
+        assertEquals(0, literals.size());
+        assertEquals(3, c.size());
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], c.get(i));
+        }
+        assertEquals(0, c.getOffset());
+        ArenaClause d = new OriginalArenaClause(clause(4, 5), this.arena);
+        assertEquals(c.getOffset() + 2 + 3, d.getOffset());
+        assertEquals(2, this.arena.numberOfClauses());
+    }
+
+    public void testActivity() {
+        ArenaClause c = new LearntArenaClause(clause(1, 2, 3), this.arena);
+        ArenaClause d = new LearntArenaClause(clause(4, 5, 6), this.arena);
+        assertEquals(0.0, c.getActivity());
+        c.incActivity(1.5);
+        c.incActivity(1e-3);
+        d.setActivity(1e20);
+        assertEquals(1.501, c.getActivity(), 1e-6);
+        assertEquals(1e20, d.getActivity(), 1e14);
+        d.rescaleBy(1e-20);
+        assertEquals(1.0, d.getActivity(), 1e-6);
+        assertEquals(1.501, c.getActivity(), 1e-6);
+        assertEquals(3, d.size());
+    }
+
+    public void testLearntClausesAreStoredWhenRegistered() {
+        ArenaClause c = new LearntArenaClause(clause(1, -2, 3), this.arena);
+        c.setActivity(2.0);
+        assertEquals(0, this.arena.used());
+        assertEquals(0, this.arena.numberOfClauses());
+        assertEquals(3, c.size());
+        assertEquals(this.voc.getFromPool(-2), c.get(1));
+        c.remove(null);
+        assertEquals(0, this.arena.wasted());
+        ArenaClause d = new LearntArenaClause(clause(4, 5), this.arena);
+        d.setActivity(3.0);
+        d.register();
+        assertEquals(2 + 2, this.arena.used());
+        assertEquals(1, this.arena.numberOfClauses());
+        assertEquals(0, d.getOffset());
+        assertEquals(3.0, d.getActivity(), 1e-6);
+        assertEquals(2.0, c.getActivity(), 1e-6);
+        assertTrue(this.voc.watches(d.get(0) ^ 1).contains(d));
+    }
+
+    public void testCompaction() {
+        ArenaClause[] clauses = new ArenaClause[10];
+        for (int i = 0; i < clauses.length; i++) {
+            clauses[i] = new LearntArenaClause(clause(1, -2, i % 8 + 3),
+                    this.arena);
+            clauses[i].setActivity(i);
+            clauses[i].register();
+        }
+        int used = this.arena.used();
+        assertEquals(10 * 5, used);
+        for (int i = 0; i < clauses.length; i += 2) {
+            clauses[i].remove(null);
+        }
+        assertEquals(0, this.arena.numberOfCompactions());
+        assertEquals(5 * 5, this.arena.wasted());
+        clauses[1].remove(null);
+        assertEquals(1, this.arena.numberOfCompactions());
+        assertEquals(0, this.arena.wasted());
+        assertEquals(4 * 5, this.arena.used());
+        assertEquals(4, this.arena.numberOfClauses());
+        for (int i = 3; i < clauses.length; i += 2) {
+            assertEquals(i, (int) clauses[i].getActivity());
+            assertEquals(this.voc.getFromPool(i % 8 + 3), clauses[i].get(2));
+            assertTrue(this.voc.watches(clauses[i].get(0) ^ 1).contains(
+                    clauses[i]));
+        }
+        assertEquals(0, clauses[3].getOffset());
+        assertTrue(clauses[0].getOffset() < 0);
+    }
+
+    public void testArenaGrows() {
+        int capacity = this.arena.capacity();
+        int n = capacity / 4 + 1;
+        for (int i = 0; i < n; i++) {
+            new OriginalArenaClause(clause(1, 2), this.arena);
+        }
+        assertTrue(this.arena.capacity() > capacity);
+        assertEquals(n, this.arena.numberOfClauses());
+        this.arena.clear();
+        assertEquals(0, this.arena.numberOfClauses());
+        assertEquals(0, this.arena.used());
+    }
+}
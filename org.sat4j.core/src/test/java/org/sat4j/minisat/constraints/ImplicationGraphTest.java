@@ -0,0 +1,137 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.constraints;
+
+import junit.framework.TestCase;
+
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.minisat.constraints.cnf.LitsWithImplicationGraph;
+import org.sat4j.minisat.core.ILits;
+import org.sat4j.minisat.core.Solver;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IConstr;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+public class ImplicationGraphTest extends TestCase {
+
+    private Solver<?> solver;
+
+    private LitsWithImplicationGraph voc;
+
+    @Override
+    protected void setUp() {
+        this.solver = SolverFactory.newImplicationGraph();
+        this.voc = (LitsWithImplicationGraph) this.solver.getVocabulary();
+        this.solver.newVar(5);
+    }
+
+    private IConstr add(int... dimacs) throws ContradictionException {
+        return this.solver.addClause(new VecInt(dimacs));
+    }
+
+    private int lit(int dimacs) {
+        return this.voc.getFromPool(dimacs);
+    }
+
+    public void testBinaryClausesAreNotWatched()
+            throws ContradictionException {
+        add(1, 2);
+        assertEquals(0, this.voc.watches(lit(1) ^ 1).size());
+        assertEquals(0, this.voc.watches(lit(2) ^ 1).size());
+        assertEquals(1, this.voc.nbImplications(lit(-1)));
+        assertEquals(lit(2), this.voc.implications(lit(-1))[0]);
+        assertEquals(1, this.voc.nbImplications(lit(-2)));
+        assertEquals(lit(1), this.voc.implications(lit(-2))[0]);
+        add(1, 3, 4);
+        assertEquals(1, this.voc.watches(lit(1) ^ 1).size());
+    }
+
+    public void testRemoval() throws ContradictionException {
+        IConstr c = add(1, 2);
+        add(1, 3);
+        assertEquals(2, this.voc.nbImplications(lit(-1)));
+        assertTrue(this.solver.removeConstr(c));
+        assertEquals(1, this.voc.nbImplications(lit(-1)));
+        assertEquals(lit(3), this.voc.implications(lit(-1))[0]);
+        assertEquals(0, this.voc.nbImplications(lit(-2)));
+    }
+
+    public void testReasonsAreShared() throws ContradictionException,
+            TimeoutException {
+        add(-1, 2);
+        add(-1, 3);
+        add(-2, -3, 4);
+        IVecInt assumps = new VecInt(new int[] { 1 });
+        assertTrue(this.solver.isSatisfiable(assumps));
+        assertTrue(this.solver.model(2));
+        assertTrue(this.solver.model(3));
+        assertTrue(this.solver.model(4));
+        assertSame(this.voc.impliedBy(lit(1)), this.voc.impliedBy(lit(1)));
+        IVecInt reason = new VecInt();
+        this.voc.impliedBy(lit(1)).calcReason(lit(2), reason);
+        assertEquals(1, reason.size());
+        assertEquals(lit(1), reason.get(0));
+    }
+
+    public void testBinaryConflict() throws ContradictionException,
+            TimeoutException {
+        add(-1, 2);
+        add(-1, -2);
+        assertTrue(this.solver.isSatisfiable());
+        assertFalse(this.solver.model(1));
+        assertFalse(this.solver.isSatisfiable(new VecInt(new int[] { 1 })));
+        IVecInt explanation = this.solver.unsatExplanation();
+        assertEquals(1, explanation.size());
+        assertEquals(1, explanation.get(0));
+        IVecInt reason = new VecInt();
+        this.voc.binaryConflict(lit(1), lit(2)).calcReason(ILits.UNDEFINED,
+                reason);
+        assertEquals(2, reason.size());
+        assertTrue(reason.contains(lit(1)));
+        assertTrue(reason.contains(lit(-2)));
+    }
+
+    public void testPrimeImplicant() throws ContradictionException,
+            TimeoutException {
+        add(1, 2);
+        add(-1, 3);
+        add(-3, 4, 5);
+        assertTrue(this.solver.isSatisfiable());
+        int[] implicant = this.solver.primeImplicant();
+        // the implicant must satisfy all the clauses
+        IVecInt prime = new VecInt(implicant);
+        assertTrue(prime.contains(1) || prime.contains(2));
+        assertTrue(prime.contains(-1) || prime.contains(3));
+        assertTrue(prime.contains(-3) || prime.contains(4)
+                || prime.contains(5));
+    }
+}
@@ -0,0 +1,174 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.TimeoutException;
+import org.sat4j.tools.DimacsStringSolver;
+import org.sat4j.tools.ModelIterator;
+
+public class AddClausesTest {
+
+    private static final int NB_VARS = 100;
+
+    private static final String[] SOLVERS = { "Default", "Glucose21",
+            "MiniLearningHeap", "BestWL", "Arena", "Blockers",
+            "ImplicationGraph" };
+
+    private int[] flatLits;
+
+    private int[] offsets;
+
+    /**
+     * Random clauses of size 1 to 5 around the threshold, stored in flat
+     * arrays.
+     */
+    private void randomClauses(long seed, int nbClauses) {
+        Random rand = new Random(seed);
+        VecInt lits = new VecInt();
+        this.offsets = new int[nbClauses + 1];
+        for (int i = 0; i < nbClauses; i++) {
+            int size = i % 50 == 0 ? 1 + rand.nextInt(2) : 3 + rand.nextInt(3);
+            for (int j = 0; j < size; j++) {
+                int var = 1 + rand.nextInt(NB_VARS);
+                lits.push(rand.nextBoolean() ? var : -var);
+            }
+            this.offsets[i + 1] = lits.size();
+        }
+        this.flatLits = new int[lits.size()];
+        lits.copyTo(this.flatLits);
+    }
+
+    private void addOneByOne(ISolver solver) throws ContradictionException {
+        for (int i = 0; i + 1 < this.offsets.length; i++) {
+            VecInt clause = new VecInt();
+            for (int j = this.offsets[i]; j < this.offsets[i + 1]; j++) {
+                clause.push(this.flatLits[j]);
+            }
+            solver.addClause(clause);
+        }
+    }
+
+    private static ISolver solver(String name) {
+        return SolverFactory.instance().createSolverByName(name);
+    }
+
+    @Test
+    public void testSameProblemAsAddClause() throws TimeoutException {
+        int nbSat = 0;
+        for (String name : SOLVERS) {
+            for (long seed = 0; seed < 10; seed++) {
+                randomClauses(seed, 380);
+                ISolver reference = solver(name);
+                ISolver bulk = solver(name);
+                boolean contradiction = false;
+                try {
+                    addOneByOne(reference);
+                } catch (ContradictionException e) {
+                    contradiction = true;
+                }
+                try {
+                    bulk.addClauses(this.flatLits, this.offsets);
+                    assertFalse(contradiction);
+                } catch (ContradictionException e) {
+                    assertTrue(contradiction);
+                    continue;
+                }
+                assertEquals(reference.nConstraints(), bulk.nConstraints());
+                assertEquals(reference.nVars(), bulk.nVars());
+                boolean sat = reference.isSatisfiable();
+                assertEquals(sat, bulk.isSatisfiable());
+                if (sat) {
+                    nbSat++;
+                }
+            }
+        }
+        assertTrue(nbSat > 0);
+    }
+
+    @Test
+    public void testSameModels() throws ContradictionException,
+            TimeoutException {
+        this.flatLits = new int[] { 0, 0, 1, 2, 3, -1, -2, 2, 3, 0 };
+        this.offsets = new int[] { 2, 5, 7, 9 };
+        ISolver reference = new ModelIterator(solver("Default"));
+        addOneByOne(reference);
+        ISolver bulk = new ModelIterator(solver("Default"));
+        bulk.addClauses(this.flatLits, this.offsets);
+        int nbModels = 0;
+        while (reference.isSatisfiable()) {
+            assertTrue(bulk.isSatisfiable());
+            assertEquals(new VecInt(reference.model()).toString(), new VecInt(
+                    bulk.model()).toString());
+            nbModels++;
+        }
+        assertFalse(bulk.isSatisfiable());
+        assertEquals(4, nbModels);
+    }
+
+    @Test
+    public void testOutputSolver() throws ContradictionException {
+        randomClauses(3, 100);
+        DimacsStringSolver reference = new DimacsStringSolver();
+        addOneByOne(reference);
+        DimacsStringSolver bulk = new DimacsStringSolver();
+        bulk.addClauses(this.flatLits, this.offsets);
+        assertEquals(reference.toString(), bulk.toString());
+    }
+
+    @Test
+    public void testNoClause() throws ContradictionException {
+        ISolver solver = solver("Default");
+        solver.addClauses(new int[0], new int[] { 0 });
+        solver.addClauses(new int[] { 1 }, new int[0]);
+        assertEquals(0, solver.nConstraints());
+    }
+
+    @Test(expected = ContradictionException.class)
+    public void testEmptyClause() throws ContradictionException {
+        solver("Default").addClauses(new int[] { 1, 2 }, new int[] { 0, 2, 2 });
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroIsNotALiteral() throws ContradictionException {
+        solver("Default").addClauses(new int[] { 1, 0, 2 },
+                new int[] { 0, 3 });
+    }
+}
@@ -0,0 +1,286 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.sat4j.core.LiteralsUtils;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.specs.Constr;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+public class AssumptionPrefixReuseTest {
+
+    private static final int NVARS = 50;
+
+    private static final int NCLAUSES = 200;
+
+    private final IVec<IVecInt> clauses = new Vec<IVecInt>();
+
+    private final boolean[] hidden = new boolean[NVARS + 1];
+
+    private IVecInt randomLiterals(Random rand, int size) {
+        IVecInt literals = new VecInt(size);
+        while (literals.size() < size) {
+            int p = (rand.nextInt(NVARS) + 1) * (rand.nextBoolean() ? 1 : -1);
+            if (!literals.contains(p) && !literals.contains(-p)) {
+                literals.push(p);
+            }
+        }
+        return literals;
+    }
+
+    /**
+     * @return a random clause satisfied by the hidden model.
+     */
+    private IVecInt randomClause(Random rand, int size) {
+        IVecInt clause;
+        boolean satisfied;
+        do {
+            clause = randomLiterals(rand, size);
+            satisfied = false;
+            for (int i = 0; i < size; i++) {
+                int p = clause.get(i);
+                satisfied |= this.hidden[Math.abs(p)] == p > 0;
+            }
+        } while (!satisfied);
+        return clause;
+    }
+
+    /**
+     * @return a random assumption, usually satisfied by the hidden model.
+     */
+    private int randomAssumption(Random rand) {
+        int var = rand.nextInt(NVARS) + 1;
+        return this.hidden[var] == rand.nextInt(20) > 0 ? var : -var;
+    }
+
+    private static void addClause(ISolver solver, IVecInt clause) {
+        try {
+            solver.addClause(clause);
+        } catch (ContradictionException e) {
+            // the answer of the next calls will be false
+        }
+    }
+
+    private void checkModel(ISolver solver, IVecInt assumps) {
+        for (int i = 0; i < assumps.size(); i++) {
+            int p = assumps.get(i);
+            assertEquals(p > 0, solver.model(Math.abs(p)));
+        }
+        for (int i = 0; i < this.clauses.size(); i++) {
+            IVecInt clause = this.clauses.get(i);
+            boolean satisfied = false;
+            for (int j = 0; j < clause.size() && !satisfied; j++) {
+                int p = clause.get(j);
+                satisfied = solver.model(Math.abs(p)) == p > 0;
+            }
+            assertTrue(satisfied);
+        }
+    }
+
+    /**
+     * Solve a sequence of assumptions differing by their last literals with
+     * and without the reuse of the assumptions, and check that both solvers
+     * give the same answers.
+     */
+    private void checkRandomCalls(ISolver reference, ISolver solver, long seed)
+            throws TimeoutException {
+        Random rand = new Random(seed);
+        this.clauses.clear();
+        for (int i = 1; i <= NVARS; i++) {
+            this.hidden[i] = rand.nextBoolean();
+        }
+        reference.newVar(NVARS);
+        solver.newVar(NVARS);
+        solver.setKeepAssumptionPrefix(true);
+        for (int i = 0; i < NCLAUSES; i++) {
+            IVecInt clause = randomClause(rand, 3);
+            this.clauses.push(clause);
+            addClause(reference, clause);
+            addClause(solver, clause);
+        }
+        IVecInt assumps = new VecInt();
+        for (int call = 0; call < 300; call++) {
+            if (rand.nextInt(10) == 0) {
+                assumps.clear();
+            } else {
+                assumps.shrinkTo(Math.max(0,
+                        assumps.size() - rand.nextInt(4)));
+            }
+            while (assumps.size() < 12) {
+                int p = randomAssumption(rand);
+                if (!assumps.contains(p) && !assumps.contains(-p)) {
+                    assumps.push(p);
+                }
+            }
+            if (rand.nextInt(50) == 0) {
+                IVecInt clause = randomClause(rand, 4);
+                this.clauses.push(clause);
+                addClause(reference, clause);
+                addClause(solver, clause);
+            }
+            boolean expected = reference.isSatisfiable(assumps);
+            assertEquals(expected, solver.isSatisfiable(assumps));
+            if (expected) {
+                checkModel(solver, assumps);
+            } else {
+                IVecInt explanation = solver.unsatExplanation();
+                assertNotNull(explanation);
+                for (int i = 0; i < explanation.size(); i++) {
+                    assertTrue(assumps.contains(explanation.get(i)));
+                }
+            }
+        }
+    }
+
+    @Test
+    public void testSameAnswersAsWithoutReuse() throws TimeoutException {
+        for (long seed = 0; seed < 10; seed++) {
+            ISolver solver = SolverFactory.newDefault();
+            checkRandomCalls(SolverFactory.newDefault(), solver, seed);
+            assertTrue(((Solver<?>) solver).getStats().reusedAssumptions > 0);
+        }
+    }
+
+    @Test
+    public void testSameAnswersWithChronologicalBacktracking()
+            throws TimeoutException {
+        for (long seed = 0; seed < 10; seed++) {
+            checkRandomCalls(SolverFactory.newDefault(),
+                    SolverFactory.newChronologicalBacktracking(), seed);
+        }
+    }
+
+    @Test
+    public void testSameAnswersWithInprocessing() throws TimeoutException {
+        for (long seed = 0; seed < 10; seed++) {
+            checkRandomCalls(SolverFactory.newDefault(),
+                    SolverFactory.newProbing(), seed);
+        }
+    }
+
+    @Test
+    public void testCommonPrefixIsReused() throws ContradictionException,
+            TimeoutException {
+        Solver<?> solver = (Solver<?>) SolverFactory.newDefault();
+        solver.newVar(6);
+        solver.addClause(new VecInt(new int[] { -1, 2 }));
+        solver.addClause(new VecInt(new int[] { -2, 3 }));
+        solver.addClause(new VecInt(new int[] { -4, -5 }));
+        solver.setKeepAssumptionPrefix(true);
+        assertTrue(solver.isAssumptionPrefixKept());
+        assertTrue(solver.isSatisfiable(new VecInt(new int[] { 1, 4, 6 })));
+        assertEquals(0, solver.getStats().reusedAssumptions);
+        assertTrue(solver.isSatisfiable(new VecInt(new int[] { 1, 4, -6 })));
+        assertEquals(2, solver.getStats().reusedAssumptions);
+        assertFalse(solver.isSatisfiable(new VecInt(new int[] { 1, 4, 5 })));
+        assertEquals(4, solver.getStats().reusedAssumptions);
+        // the final conflict analysis gave the trail back
+        assertTrue(solver.isSatisfiable(new VecInt(new int[] { 1, -4, 5 })));
+        assertEquals(4, solver.getStats().reusedAssumptions);
+        assertTrue(solver.model(3));
+        assertTrue(solver.isSatisfiable(new VecInt(new int[] { 1, -4, 6 })));
+        assertEquals(6, solver.getStats().reusedAssumptions);
+    }
+
+    @Test
+    public void testNewClausesAreNotSimplifiedByTheAssumptions()
+            throws ContradictionException, TimeoutException {
+        ISolver solver = SolverFactory.newDefault();
+        solver.newVar(3);
+        solver.addClause(new VecInt(new int[] { 1, 2, 3 }));
+        solver.setKeepAssumptionPrefix(true);
+        assertTrue(solver.isSatisfiable(new VecInt(new int[] { 1 })));
+        // -1 is falsified by the assumption of the previous call
+        solver.addClause(new VecInt(new int[] { -1, 2 }));
+        assertTrue(solver.isSatisfiable(new VecInt(new int[] { -2 })));
+        assertFalse(solver.model(1));
+        assertFalse(solver.isSatisfiable(new VecInt(new int[] { 1, -2 })));
+    }
+
+    @Test
+    public void testNewConstrIsNotSimplifiedByTheAssumptions()
+            throws ContradictionException, TimeoutException {
+        Solver<?> solver = (Solver<?>) SolverFactory.newDefault();
+        solver.newVar(3);
+        solver.addClause(new VecInt(new int[] { 1, 2, 3 }));
+        solver.setKeepAssumptionPrefix(true);
+        assertTrue(solver.isSatisfiable(new VecInt(new int[] { 1 })));
+        // -1 is falsified by the assumption of the previous call
+        Constr constr = solver.getDSFactory().createUnregisteredClause(
+                new VecInt(new int[] { LiteralsUtils.toInternal(-1),
+                        LiteralsUtils.toInternal(2) }));
+        constr.register();
+        solver.addConstr(constr);
+        assertFalse(solver.isSatisfiable(new VecInt(new int[] { 1, -2 })));
+        // the trail was given back when the constraint was added
+        assertEquals(0, solver.getStats().reusedAssumptions);
+        assertTrue(solver.isSatisfiable(new VecInt(new int[] { -2 })));
+        assertFalse(solver.model(1));
+    }
+
+    @Test
+    public void testPrimeImplicantAfterReuse() throws ContradictionException,
+            TimeoutException {
+        ISolver solver = SolverFactory.newDefault();
+        solver.newVar(3);
+        solver.addClause(new VecInt(new int[] { 1, 2 }));
+        solver.addClause(new VecInt(new int[] { -1, 3 }));
+        solver.setKeepAssumptionPrefix(true);
+        assertTrue(solver.isSatisfiable(new VecInt(new int[] { 1 })));
+        int[] implicant = solver.primeImplicant();
+        assertEquals(2, implicant.length);
+        assertTrue(solver.isSatisfiable(new VecInt(new int[] { -1 })));
+        assertTrue(solver.model(2));
+    }
+
+    @Test
+    public void testDisabledByDefault() {
+        ISolver solver = SolverFactory.newDefault();
+        assertFalse(solver.isAssumptionPrefixKept());
+        solver.setKeepAssumptionPrefix(true);
+        assertTrue(solver.isAssumptionPrefixKept());
+        solver.setKeepAssumptionPrefix(false);
+        assertFalse(solver.isAssumptionPrefixKept());
+    }
+}
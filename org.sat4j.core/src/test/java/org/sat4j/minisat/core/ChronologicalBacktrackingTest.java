@@ -0,0 +1,165 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.Test;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+public class ChronologicalBacktrackingTest {
+
+    private static final int NVARS = 80;
+
+    private static final int NCLAUSES = 340;
+
+    private List<int[]> randomFormula(Random rand) {
+        List<int[]> clauses = new ArrayList<int[]>();
+        for (int i = 0; i < NCLAUSES; i++) {
+            int[] clause = new int[3];
+            for (int j = 0; j < 3; j++) {
+                int var = rand.nextInt(NVARS) + 1;
+                clause[j] = rand.nextBoolean() ? var : -var;
+            }
+            clauses.add(clause);
+        }
+        return clauses;
+    }
+
+    private Solver<?> chronoSolver() {
+        Solver<?> solver = (Solver<?>) SolverFactory
+                .newChronologicalBacktracking();
+        solver.getSearchParams().setChronologicalBacktrackingThreshold(0);
+        return solver;
+    }
+
+    private void load(ISolver solver, List<int[]> clauses) {
+        solver.newVar(NVARS);
+        try {
+            for (int[] clause : clauses) {
+                solver.addClause(new VecInt(clause));
+            }
+        } catch (ContradictionException e) {
+            // trivial inconsistency, detected by both solvers
+        }
+    }
+
+    private boolean satisfies(int[] model, List<int[]> clauses,
+            IVecInt assumps) {
+        boolean[] value = new boolean[NVARS + 1];
+        for (int l : model) {
+            value[Math.abs(l)] = l > 0;
+        }
+        for (int i = 0; i < assumps.size(); i++) {
+            int l = assumps.get(i);
+            if (value[Math.abs(l)] != l > 0) {
+                return false;
+            }
+        }
+        for (int[] clause : clauses) {
+            boolean sat = false;
+            for (int l : clause) {
+                sat = sat || value[Math.abs(l)] == l > 0;
+            }
+            if (!sat) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long solveAndCompare(Random rand, IVecInt assumps)
+            throws TimeoutException {
+        List<int[]> clauses = randomFormula(rand);
+        Solver<?> chrono = chronoSolver();
+        ISolver reference = SolverFactory.newDefault();
+        load(chrono, clauses);
+        load(reference, clauses);
+        boolean expected = reference.isSatisfiable(assumps);
+        assertEquals(expected, chrono.isSatisfiable(assumps));
+        if (expected) {
+            assertTrue(satisfies(chrono.model(), clauses, assumps));
+        }
+        return chrono.stats.chronologicalBacktracks;
+    }
+
+    @Test
+    public void testSameAnswersOnRandomFormulas() throws TimeoutException {
+        Random rand = new Random(12345);
+        long chronologicalBacktracks = 0;
+        for (int i = 0; i < 30; i++) {
+            chronologicalBacktracks += solveAndCompare(rand, new VecInt());
+        }
+        assertTrue(chronologicalBacktracks > 0);
+    }
+
+    @Test
+    public void testSameAnswersUnderAssumptions() throws TimeoutException {
+        Random rand = new Random(54321);
+        for (int i = 0; i < 30; i++) {
+            IVecInt assumps = new VecInt();
+            for (int j = 1; j <= 3; j++) {
+                assumps.push(rand.nextBoolean() ? j : -j);
+            }
+            solveAndCompare(rand, assumps);
+        }
+    }
+
+    @Test
+    public void testIncrementalSolving() throws TimeoutException,
+            ContradictionException {
+        Random rand = new Random(2016);
+        List<int[]> clauses = randomFormula(rand);
+        Solver<?> chrono = chronoSolver();
+        load(chrono, clauses);
+        while (chrono.isSatisfiable()) {
+            int[] model = chrono.model();
+            assertTrue(satisfies(model, clauses, new VecInt()));
+            IVecInt blocking = new VecInt();
+            for (int j = 0; j < 10; j++) {
+                blocking.push(-model[j]);
+            }
+            int[] clause = new int[blocking.size()];
+            blocking.copyTo(clause);
+            clauses.add(clause);
+            chrono.addClause(blocking);
+        }
+    }
+}
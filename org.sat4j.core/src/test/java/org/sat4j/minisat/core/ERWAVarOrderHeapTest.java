@@ -0,0 +1,176 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.minisat.constraints.cnf.Lits;
+import org.sat4j.minisat.orders.AlternatingVarOrder;
+import org.sat4j.minisat.orders.CHBVarOrderHeap;
+import org.sat4j.minisat.orders.LRBVarOrderHeap;
+import org.sat4j.minisat.orders.VarOrderHeap;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+public class ERWAVarOrderHeapTest {
+
+    private static final int NB_VARS = 100;
+
+    private Lits lits;
+
+    @Before
+    public void setUp() {
+        this.lits = new Lits();
+        this.lits.ensurePool(3);
+        for (int i = 1; i <= 3; i++) {
+            this.lits.getFromPool(i);
+        }
+    }
+
+    private void checkSelects(IOrder order, int var) {
+        int p = order.select();
+        assertEquals(var, p >> 1);
+        order.undo(var);
+    }
+
+    @Test
+    public void testLRBRewardsParticipatingVariables() {
+        IOrder order = new LRBVarOrderHeap();
+        order.setLits(this.lits);
+        order.init();
+        order.assignLiteral(2);
+        order.assignLiteral(4);
+        order.updateVar(4);
+        order.updateVar(4);
+        order.varDecayActivity();
+        order.undo(1);
+        order.undo(2);
+        assertEquals(0.0, order.varActivity(2), 0.0);
+        assertEquals(0.4, order.varActivity(4), 1e-6);
+        checkSelects(order, 2);
+    }
+
+    @Test
+    public void testLRBIgnoresUnassignedVariables() {
+        IOrder order = new LRBVarOrderHeap();
+        order.setLits(this.lits);
+        order.init();
+        order.updateVar(6);
+        order.varDecayActivity();
+        order.undo(3);
+        assertEquals(0.0, order.varActivity(6), 0.0);
+    }
+
+    @Test
+    public void testCHBRewardsConflictsMoreThanAssignments() {
+        IOrder order = new CHBVarOrderHeap();
+        order.setLits(this.lits);
+        order.init();
+        order.assignLiteral(2);
+        order.assignLiteral(4);
+        order.updateVar(6);
+        order.varDecayActivity();
+        assertTrue(order.varActivity(6) > order.varActivity(2));
+        assertEquals(order.varActivity(2), order.varActivity(4), 0.0);
+        checkSelects(order, 3);
+    }
+
+    @Test
+    public void testAlternationOnRestarts() {
+        IOrder vsids = new VarOrderHeap();
+        IOrder lrb = new LRBVarOrderHeap();
+        AlternatingVarOrder order = new AlternatingVarOrder(vsids, lrb, 2);
+        order.setLits(this.lits);
+        order.init();
+        order.varDecayActivity();
+        order.onRestart();
+        assertSame(vsids, order.getCurrentOrder());
+        order.varDecayActivity();
+        order.onRestart();
+        assertSame(lrb, order.getCurrentOrder());
+        order.varDecayActivity();
+        order.varDecayActivity();
+        order.onRestart();
+        assertSame(vsids, order.getCurrentOrder());
+    }
+
+    private static IVec<IVecInt> random3SAT(long seed) {
+        Random rand = new Random(seed);
+        IVec<IVecInt> clauses = new Vec<IVecInt>();
+        for (int i = 0; i < NB_VARS * 426 / 100; i++) {
+            IVecInt clause = new VecInt();
+            while (clause.size() < 3) {
+                int var = 1 + rand.nextInt(NB_VARS);
+                if (!clause.contains(var) && !clause.contains(-var)) {
+                    clause.push(rand.nextBoolean() ? var : -var);
+                }
+            }
+            clauses.push(clause);
+        }
+        return clauses;
+    }
+
+    private static void checkSameAnswer(Solver<?> solver)
+            throws ContradictionException, TimeoutException {
+        for (long seed = 0; seed < 10; seed++) {
+            IVec<IVecInt> clauses = random3SAT(seed);
+            solver.reset();
+            solver.newVar(NB_VARS);
+            solver.addAllClauses(clauses);
+            ISolver reference = SolverFactory.newGlucose21();
+            reference.newVar(NB_VARS);
+            reference.addAllClauses(clauses);
+            assertEquals(reference.isSatisfiable(), solver.isSatisfiable());
+        }
+    }
+
+    @Test
+    public void testSolversUsingERWAHeuristics()
+            throws ContradictionException, TimeoutException {
+        checkSameAnswer((Solver<?>) SolverFactory.newLRB());
+        checkSameAnswer((Solver<?>) SolverFactory.newCHB());
+        Solver<?> solver = (Solver<?>) SolverFactory.newGlucose21();
+        solver.setOrder(new AlternatingVarOrder(new VarOrderHeap(),
+                new CHBVarOrderHeap(), 50));
+        checkSameAnswer(solver);
+    }
+}
@@ -0,0 +1,186 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.specs.Constr;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+public class FailedLiteralProbingTest {
+
+    private Solver<?> solver;
+
+    @Before
+    public void setUp() {
+        this.solver = (Solver<?>) SolverFactory.newGlucose21();
+        this.solver.addPreprocessingStrategy(new FailedLiteralProbing(
+                this.solver));
+    }
+
+    private void addClauses(int[][] clauses) throws ContradictionException {
+        for (int[] clause : clauses) {
+            this.solver.addClause(new VecInt(clause));
+        }
+    }
+
+    private boolean learnedBinaryClause(int p, int q) {
+        for (int i = 0; i < this.solver.learnts.size(); i++) {
+            Constr c = this.solver.learnts.get(i);
+            if (c.size() == 2) {
+                int a = this.solver.voc.getFromPool(p);
+                int b = this.solver.voc.getFromPool(q);
+                if (c.get(0) == a && c.get(1) == b || c.get(0) == b
+                        && c.get(1) == a) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    @Test
+    public void testFailedLiteral() throws ContradictionException,
+            TimeoutException {
+        addClauses(new int[][] { { -1, 2 }, { -1, 3 }, { -2, -3 } });
+        assertTrue(this.solver.isSatisfiable());
+        assertEquals(1, this.solver.getStats().failedLiterals);
+        assertEquals(0, this.solver.getStats().conflicts);
+        assertFalse(this.solver.model(1));
+    }
+
+    @Test
+    public void testHyperBinaryResolventUsesTheDominator()
+            throws ContradictionException, TimeoutException {
+        addClauses(new int[][] { { -1, 2 }, { -2, 3 }, { -2, 5 },
+                { -3, -5, 4 } });
+        assertTrue(this.solver.isSatisfiable());
+        assertTrue(this.solver.getStats().hyperBinaryResolvents > 0);
+        assertTrue(learnedBinaryClause(-2, 4));
+        assertFalse(learnedBinaryClause(-1, 4));
+    }
+
+    @Test
+    public void testNecessaryAssignment() throws ContradictionException,
+            TimeoutException {
+        addClauses(new int[][] { { -1, 3 }, { -1, 4 }, { -3, -4, 2 },
+                { 1, 6 }, { 1, 7 }, { -6, -7, 2 }, { -2, 8, 9 } });
+        assertTrue(this.solver.isSatisfiable());
+        assertTrue(this.solver.getStats().necessaryAssignments > 0);
+        assertEquals(0, this.solver.getStats().conflicts);
+        assertTrue(this.solver.model(2));
+    }
+
+    @Test
+    public void testEquivalentLiterals() throws ContradictionException,
+            TimeoutException {
+        addClauses(new int[][] { { -1, 2 }, { 1, -2 }, { 2, 3, 4 } });
+        assertTrue(this.solver.isSatisfiable());
+        assertTrue(this.solver.getStats().equivalentLiterals > 0);
+    }
+
+    @Test
+    public void testAssumptions() throws ContradictionException,
+            TimeoutException {
+        addClauses(new int[][] { { -1, 2 }, { -1, 3 }, { -2, -3 } });
+        assertFalse(this.solver.isSatisfiable(new VecInt(new int[] { 1 })));
+        assertTrue(this.solver.isSatisfiable(new VecInt(new int[] { -1 })));
+        assertTrue(this.solver.isSatisfiable());
+        assertFalse(this.solver.model(1));
+    }
+
+    @Test
+    public void testIncrementalKeepHot() throws ContradictionException,
+            TimeoutException {
+        this.solver.setKeepSolverHot(true);
+        this.solver.newVar(3);
+        addClauses(new int[][] { { -1, 2 }, { -1, 3 } });
+        assertTrue(this.solver.isSatisfiable(new VecInt(new int[] { 1 })));
+        assertEquals(0, this.solver.getStats().failedLiterals);
+        addClauses(new int[][] { { -2, -3 } });
+        assertFalse(this.solver.isSatisfiable(new VecInt(new int[] { 1 })));
+        assertEquals(1, this.solver.getStats().failedLiterals);
+        assertTrue(this.solver.isSatisfiable(new VecInt(new int[] { 2 })));
+        assertFalse(this.solver.model(1));
+        assertFalse(this.solver.model(3));
+    }
+
+    /**
+     * Random formula mixing binary and ternary clauses.
+     */
+    private static IVec<IVecInt> randomFormula(long seed, int nbVars) {
+        Random rand = new Random(seed);
+        IVec<IVecInt> clauses = new Vec<IVecInt>();
+        for (int i = 0; i < nbVars * 3; i++) {
+            IVecInt clause = new VecInt();
+            int size = i % 3 == 0 ? 2 : 3;
+            while (clause.size() < size) {
+                int var = 1 + rand.nextInt(nbVars);
+                if (!clause.contains(var) && !clause.contains(-var)) {
+                    clause.push(rand.nextBoolean() ? var : -var);
+                }
+            }
+            clauses.push(clause);
+        }
+        return clauses;
+    }
+
+    @Test
+    public void testSameAnswers() throws ContradictionException,
+            TimeoutException {
+        long probed = 0;
+        for (long seed = 0; seed < 10; seed++) {
+            IVec<IVecInt> clauses = randomFormula(seed, 150);
+            Solver<?> probing = (Solver<?>) SolverFactory.newProbing();
+            probing.getSearchParams().setInprocessingEffort(1.0);
+            probing.newVar(150);
+            probing.addAllClauses(clauses);
+            ISolver reference = SolverFactory.newGlucose21();
+            reference.newVar(150);
+            reference.addAllClauses(clauses);
+            assertEquals(reference.isSatisfiable(), probing.isSatisfiable());
+            probed += probing.getStats().probedLiterals;
+        }
+        assertTrue(probed > 0);
+    }
+}
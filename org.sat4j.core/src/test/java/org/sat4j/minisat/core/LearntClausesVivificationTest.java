@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.minisat.restarts.LubyRestarts;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+public class LearntClausesVivificationTest {
+
+    private static final int NB_VARS = 120;
+
+    private static IVec<IVecInt> random3SAT(long seed) {
+        Random rand = new Random(seed);
+        IVec<IVecInt> clauses = new Vec<IVecInt>();
+        for (int i = 0; i < NB_VARS * 426 / 100; i++) {
+            IVecInt clause = new VecInt();
+            while (clause.size() < 3) {
+                int var = 1 + rand.nextInt(NB_VARS);
+                if (!clause.contains(var) && !clause.contains(-var)) {
+                    clause.push(rand.nextBoolean() ? var : -var);
+                }
+            }
+            clauses.push(clause);
+        }
+        return clauses;
+    }
+
+    private static Solver<?> newSolver(IVec<IVecInt> clauses)
+            throws ContradictionException {
+        Solver<?> solver = SolverFactory.newVivification();
+        solver.setRestartStrategy(new LubyRestarts(32));
+        solver.getSearchParams().setInprocessingEffort(1.0);
+        solver.newVar(NB_VARS);
+        solver.addAllClauses(clauses);
+        return solver;
+    }
+
+    @Test
+    public void testSameAnswerAsWithoutVivification()
+            throws ContradictionException, TimeoutException {
+        long vivified = 0;
+        for (long seed = 0; seed < 10; seed++) {
+            IVec<IVecInt> clauses = random3SAT(seed);
+            Solver<?> solver = newSolver(clauses);
+            ISolver reference = SolverFactory.newGlucose21();
+            reference.newVar(NB_VARS);
+            reference.addAllClauses(clauses);
+            boolean expected = reference.isSatisfiable();
+            assertEquals(expected, solver.isSatisfiable());
+            if (expected) {
+                IVecInt model = new VecInt(solver.model());
+                for (int i = 0; i < clauses.size(); i++) {
+                    IVecInt clause = clauses.get(i);
+                    assertTrue(model.contains(clause.get(0))
+                            || model.contains(clause.get(1))
+                            || model.contains(clause.get(2)));
+                }
+            }
+            vivified += solver.getStats().vivifiedLiterals;
+        }
+        assertTrue(vivified > 0);
+    }
+
+    @Test
+    public void testNoInprocessingUnderAssumptions()
+            throws ContradictionException, TimeoutException {
+        Solver<?> solver = newSolver(random3SAT(5));
+        IVecInt assumps = new VecInt();
+        assumps.push(1);
+        solver.isSatisfiable(assumps);
+        assertEquals(0, solver.getStats().inprocessings);
+    }
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.minisat.restarts.FixedPeriodRestarts;
+import org.sat4j.minisat.restarts.StabilizingRestarts;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+public class StabilizingRestartsTest {
+
+    private StabilizingRestarts restarts;
+
+    @Before
+    public void setUp() {
+        FixedPeriodRestarts focused = new FixedPeriodRestarts();
+        focused.setPeriod(2);
+        FixedPeriodRestarts stable = new FixedPeriodRestarts();
+        stable.setPeriod(100);
+        this.restarts = new StabilizingRestarts(focused, stable, 10, 2.0);
+        this.restarts.init(new SearchParams(), new SolverStats());
+    }
+
+    private int conflictsUntilRestart() {
+        int conflicts = 0;
+        do {
+            this.restarts.newConflict();
+            conflicts++;
+        } while (!this.restarts.shouldRestart());
+        this.restarts.onRestart();
+        return conflicts;
+    }
+
+    @Test
+    public void testModesAlternateWithGeometricLengths() {
+        assertFalse(this.restarts.isStable());
+        for (int i = 0; i < 5; i++) {
+            assertEquals(2, conflictsUntilRestart());
+        }
+        assertTrue(this.restarts.isStable());
+        assertEquals(10, conflictsUntilRestart());
+        assertFalse(this.restarts.isStable());
+        for (int i = 0; i < 10; i++) {
+            assertEquals(2, conflictsUntilRestart());
+        }
+        assertTrue(this.restarts.isStable());
+        assertEquals(20, conflictsUntilRestart());
+        assertFalse(this.restarts.isStable());
+        assertEquals(4, this.restarts.getSwitches());
+    }
+
+    @Test
+    public void testInitResetsTheModes() {
+        for (int i = 0; i < 5; i++) {
+            conflictsUntilRestart();
+        }
+        assertTrue(this.restarts.isStable());
+        this.restarts.init(new SearchParams(), new SolverStats());
+        assertFalse(this.restarts.isStable());
+        assertEquals(0, this.restarts.getSwitches());
+    }
+
+    private static IVec<IVecInt> random3SAT(long seed, int nbVars) {
+        Random rand = new Random(seed);
+        IVec<IVecInt> clauses = new Vec<IVecInt>();
+        for (int i = 0; i < nbVars * 420 / 100; i++) {
+            IVecInt clause = new VecInt();
+            while (clause.size() < 3) {
+                int var = 1 + rand.nextInt(nbVars);
+                if (!clause.contains(var) && !clause.contains(-var)) {
+                    clause.push(rand.nextBoolean() ? var : -var);
+                }
+            }
+            clauses.push(clause);
+        }
+        return clauses;
+    }
+
+    @Test
+    public void testSameAnswers() throws ContradictionException,
+            TimeoutException {
+        long stableStarts = 0;
+        for (long seed = 0; seed < 10; seed++) {
+            IVec<IVecInt> clauses = random3SAT(seed, 150);
+            Solver<?> solver = (Solver<?>) SolverFactory.newStabilization();
+            FixedPeriodRestarts focused = new FixedPeriodRestarts();
+            focused.setPeriod(20);
+            FixedPeriodRestarts stable = new FixedPeriodRestarts();
+            stable.setPeriod(200);
+            solver.setRestartStrategy(new StabilizingRestarts(focused,
+                    stable, 100, 2.0));
+            solver.newVar(150);
+            solver.addAllClauses(clauses);
+            ISolver reference = SolverFactory.newGlucose21();
+            reference.newVar(150);
+            reference.addAllClauses(clauses);
+            assertEquals(reference.isSatisfiable(), solver.isSatisfiable());
+            stableStarts += solver.getStats().stableStarts;
+        }
+        assertTrue(stableStarts > 0);
+    }
+}
@@ -0,0 +1,162 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.minisat.orders.TargetPhaseSelectionStrategy;
+import org.sat4j.minisat.orders.VarOrderHeap;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+public class TargetPhaseSelectionStrategyTest {
+
+    private TargetPhaseSelectionStrategy strategy;
+
+    @Before
+    public void setUp() {
+        this.strategy = new TargetPhaseSelectionStrategy(2);
+        this.strategy.init(5);
+    }
+
+    private static IVecInt trail(int... lits) {
+        return new VecInt(lits);
+    }
+
+    @Test
+    public void testSavedPhase() {
+        assertEquals(3, this.strategy.select(1));
+        this.strategy.assignLiteral(2);
+        assertEquals(2, this.strategy.select(1));
+    }
+
+    @Test
+    public void testTargetPhaseIsTheLongestConflictFreeTrail() {
+        this.strategy.onConflict(trail(2, 5, 6), 2);
+        this.strategy.assignLiteral(3);
+        this.strategy.assignLiteral(4);
+        assertEquals(2, this.strategy.select(1));
+        assertEquals(5, this.strategy.select(2));
+        assertEquals(7, this.strategy.select(3));
+        this.strategy.onConflict(trail(3, 4), 1);
+        assertEquals(2, this.strategy.select(1));
+        this.strategy.setTargetPhases(false);
+        assertEquals(3, this.strategy.select(1));
+        assertEquals(4, this.strategy.select(2));
+    }
+
+    @Test
+    public void testTargetIsResetOnRestart() {
+        this.strategy.onConflict(trail(2, 5, 6), 2);
+        this.strategy.onRestart();
+        this.strategy.onConflict(trail(3), 1);
+        assertEquals(3, this.strategy.select(1));
+    }
+
+    @Test
+    public void testRephasingSchedule() {
+        // best phase
+        this.strategy.onConflict(trail(2, 4, 6, 8), 4);
+        this.strategy.assignLiteral(3);
+        this.strategy.onConflict(trail(3), 1);
+        // original phase
+        this.strategy.onRestart();
+        assertEquals(1, this.strategy.getRephases());
+        assertEquals(3, this.strategy.select(1));
+        assertEquals(9, this.strategy.select(4));
+        // best phase after 4 more conflicts
+        for (int i = 0; i < 3; i++) {
+            this.strategy.onConflict(trail(3), 0);
+        }
+        this.strategy.onRestart();
+        assertEquals(1, this.strategy.getRephases());
+        this.strategy.onConflict(trail(3), 0);
+        this.strategy.onRestart();
+        assertEquals(2, this.strategy.getRephases());
+        assertEquals(2, this.strategy.select(1));
+        assertEquals(8, this.strategy.select(4));
+        // inverted phase
+        for (int i = 0; i < 6; i++) {
+            this.strategy.onConflict(trail(3), 0);
+        }
+        this.strategy.onRestart();
+        assertEquals(3, this.strategy.getRephases());
+        assertEquals(2, this.strategy.select(1));
+        assertEquals(4, this.strategy.select(2));
+    }
+
+    private static IVec<IVecInt> random3SAT(long seed, int nbVars) {
+        Random rand = new Random(seed);
+        IVec<IVecInt> clauses = new Vec<IVecInt>();
+        for (int i = 0; i < nbVars * 420 / 100; i++) {
+            IVecInt clause = new VecInt();
+            while (clause.size() < 3) {
+                int var = 1 + rand.nextInt(nbVars);
+                if (!clause.contains(var) && !clause.contains(-var)) {
+                    clause.push(rand.nextBoolean() ? var : -var);
+                }
+            }
+            clauses.push(clause);
+        }
+        return clauses;
+    }
+
+    @Test
+    public void testSameAnswers() throws ContradictionException,
+            TimeoutException {
+        int rephases = 0;
+        for (long seed = 0; seed < 10; seed++) {
+            IVec<IVecInt> clauses = random3SAT(seed, 120);
+            TargetPhaseSelectionStrategy phase = new TargetPhaseSelectionStrategy(
+                    50);
+            Solver<?> solver = (Solver<?>) SolverFactory.newGlucose21();
+            solver.setOrder(new VarOrderHeap(phase));
+            solver.newVar(120);
+            solver.addAllClauses(clauses);
+            ISolver reference = SolverFactory.newGlucose21();
+            reference.newVar(120);
+            reference.addAllClauses(clauses);
+            assertEquals(reference.isSatisfiable(), solver.isSatisfiable());
+            rephases += phase.getRephases();
+        }
+        assertTrue(rephases > 0);
+    }
+}
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.specs.Constr;
+import org.sat4j.specs.IVecInt;
+
+public class ThreeTiersLCDSTest {
+
+    private Solver<?> solver;
+
+    private ThreeTiersLCDS<?> lcds;
+
+    @Before
+    public void setUp() {
+        this.solver = (Solver<?>) SolverFactory.newThreeTiersLCDS();
+        this.solver.newVar(10);
+        this.lcds = (ThreeTiersLCDS<?>) this.solver.three_tiers_based;
+    }
+
+    private Constr learn(double activity, int... dimacs) {
+        IVecInt literals = this.solver.dimacs2internal(new VecInt(dimacs));
+        Constr c = this.solver.dsfactory.createUnregisteredClause(literals);
+        this.solver.learn(c);
+        c.setActivity(activity);
+        return c;
+    }
+
+    @Test
+    public void testCoreClausesAreKept() {
+        Constr core = learn(2, 1, 2, 3);
+        Constr local1 = learn(8, 2, 3, 4);
+        Constr local2 = learn(9, 3, 4, 5);
+        this.lcds.reduce(this.solver.learnts);
+        assertEquals(2, this.solver.learnts.size());
+        assertTrue(this.solver.learnts.contains(core));
+        assertTrue(this.solver.learnts.contains(local1));
+        assertFalse(this.solver.learnts.contains(local2));
+    }
+
+    @Test
+    public void testTier2ClausesAreKeptWhileUsed() {
+        Constr tier2 = learn(5, 1, 2, 3);
+        for (int i = 0; i < 4; i++) {
+            learn(7 + i, 2 + i, 3 + i, 4 + i);
+        }
+        this.lcds.onConflictAnalysis(tier2);
+        this.lcds.reduce(this.solver.learnts);
+        assertEquals(3, this.solver.learnts.size());
+        assertTrue(this.solver.learnts.contains(tier2));
+        assertEquals(5.0, tier2.getActivity(), 0.0);
+    }
+
+    @Test
+    public void testUsedLocalClausesArePreferred() {
+        Constr used = learn(12, 1, 2, 3);
+        for (int i = 0; i < 3; i++) {
+            learn(8, 2 + i, 3 + i, 4 + i);
+        }
+        this.lcds.onConflictAnalysis(used);
+        this.lcds.reduce(this.solver.learnts);
+        assertEquals(2, this.solver.learnts.size());
+        assertTrue(this.solver.learnts.contains(used));
+    }
+
+    @Test
+    public void testPartialSelectionKeepsTheBestHalf() {
+        for (int i = 0; i < 100; i++) {
+            learn(7 + (i * 37) % 100, 1 + i % 8, 2 + i % 8, 3 + i % 8);
+        }
+        this.lcds.reduce(this.solver.learnts);
+        assertEquals(50, this.solver.learnts.size());
+        for (int i = 0; i < this.solver.learnts.size(); i++) {
+            assertTrue(this.solver.learnts.get(i).getActivity() < 57);
+        }
+    }
+}
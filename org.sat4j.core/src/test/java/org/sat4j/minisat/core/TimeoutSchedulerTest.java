@@ -0,0 +1,128 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.TimeoutException;
+
+public class TimeoutSchedulerTest {
+
+    private static ISolver pigeonHole(int holes) throws ContradictionException {
+        ISolver solver = SolverFactory.newDefault();
+        int pigeons = holes + 1;
+        solver.newVar(pigeons * holes);
+        for (int p = 0; p < pigeons; p++) {
+            VecInt clause = new VecInt();
+            for (int h = 0; h < holes; h++) {
+                clause.push(p * holes + h + 1);
+            }
+            solver.addClause(clause);
+        }
+        for (int h = 0; h < holes; h++) {
+            for (int p = 0; p < pigeons; p++) {
+                for (int q = p + 1; q < pigeons; q++) {
+                    solver.addClause(new VecInt(new int[] {
+                            -(p * holes + h + 1), -(q * holes + h + 1) }));
+                }
+            }
+        }
+        return solver;
+    }
+
+    @Test
+    public void testNoThreadPerCall() throws ContradictionException,
+            TimeoutException {
+        ISolver solver = SolverFactory.newDefault();
+        solver.addClause(new VecInt(new int[] { 1, 2, 3 }));
+        solver.addClause(new VecInt(new int[] { -1, -2 }));
+        solver.setTimeout(60);
+        // make sure the scheduler is started
+        assertTrue(solver.isSatisfiable());
+        int threads = Thread.activeCount();
+        for (int i = 0; i < 1000; i++) {
+            assertTrue(solver.isSatisfiable(new VecInt(new int[] { 3 })));
+        }
+        assertTrue(Thread.activeCount() <= threads);
+    }
+
+    @Test
+    public void testTimeoutExpires() throws ContradictionException {
+        ISolver solver = pigeonHole(12);
+        solver.setTimeoutMs(100);
+        long begin = System.currentTimeMillis();
+        try {
+            solver.isSatisfiable();
+            fail();
+        } catch (TimeoutException e) {
+            assertTrue(System.currentTimeMillis() - begin < 10000);
+        }
+    }
+
+    @Test
+    public void testGlobalTimeoutSpansSeveralCalls()
+            throws ContradictionException {
+        ISolver solver = pigeonHole(12);
+        solver.setTimeoutMs(200);
+        long begin = System.currentTimeMillis();
+        try {
+            for (int i = 0; i < 1000; i++) {
+                solver.isSatisfiable(new VecInt(new int[] { i % 100 + 1 }),
+                        true);
+            }
+            fail();
+        } catch (TimeoutException e) {
+            assertTrue(System.currentTimeMillis() - begin < 10000);
+        }
+    }
+
+    @Test
+    public void testCallAfterTimeout() throws ContradictionException,
+            TimeoutException {
+        ISolver solver = pigeonHole(12);
+        solver.setTimeoutMs(100);
+        try {
+            solver.isSatisfiable();
+            fail();
+        } catch (TimeoutException e) {
+            // expected
+        }
+        solver.setTimeout(60);
+        assertFalse(solver.isSatisfiable(new VecInt(new int[] { -1, -2, -3,
+                -4, -5, -6, -7, -8, -9, -10, -11, -12 })));
+    }
+}
@@ -0,0 +1,143 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.minisat.restarts.ArminRestarts;
+import org.sat4j.minisat.restarts.FixedPeriodRestarts;
+import org.sat4j.minisat.restarts.Glucose21Restarts;
+import org.sat4j.minisat.restarts.LubyRestarts;
+import org.sat4j.minisat.restarts.MiniSATRestarts;
+import org.sat4j.minisat.restarts.NoRestarts;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+public class TrailReuseTest {
+
+    private static final int NB_VARS = 120;
+
+    private static IVec<IVecInt> random3SAT(long seed) {
+        Random rand = new Random(seed);
+        IVec<IVecInt> clauses = new Vec<IVecInt>();
+        for (int i = 0; i < NB_VARS * 426 / 100; i++) {
+            IVecInt clause = new VecInt();
+            while (clause.size() < 3) {
+                int var = 1 + rand.nextInt(NB_VARS);
+                if (!clause.contains(var) && !clause.contains(-var)) {
+                    clause.push(rand.nextBoolean() ? var : -var);
+                }
+            }
+            clauses.push(clause);
+        }
+        return clauses;
+    }
+
+    private static RestartStrategy[] restartStrategies() {
+        FixedPeriodRestarts fixed = new FixedPeriodRestarts();
+        fixed.setPeriod(50);
+        return new RestartStrategy[] { new LubyRestarts(16),
+                new MiniSATRestarts(), new ArminRestarts(),
+                new Glucose21Restarts(), fixed, new NoRestarts() };
+    }
+
+    private static long checkSameAnswer(Solver<?> solver,
+            IVec<IVecInt> clauses, IVecInt assumps)
+            throws ContradictionException, TimeoutException {
+        solver.getSearchParams().setTrailReuse(true);
+        solver.newVar(NB_VARS);
+        solver.addAllClauses(clauses);
+        ISolver reference = SolverFactory.newGlucose21();
+        reference.newVar(NB_VARS);
+        reference.addAllClauses(clauses);
+        boolean expected = reference.isSatisfiable(assumps);
+        assertEquals(expected, solver.isSatisfiable(assumps));
+        if (expected) {
+            IVecInt model = new VecInt(solver.model());
+            for (int i = 0; i < assumps.size(); i++) {
+                assertTrue(model.contains(assumps.get(i)));
+            }
+            for (int i = 0; i < clauses.size(); i++) {
+                IVecInt clause = clauses.get(i);
+                assertTrue(model.contains(clause.get(0))
+                        || model.contains(clause.get(1))
+                        || model.contains(clause.get(2)));
+            }
+        }
+        return solver.getStats().reusedDecisions;
+    }
+
+    @Test
+    public void testAllRestartStrategies() throws ContradictionException,
+            TimeoutException {
+        long reused = 0;
+        for (RestartStrategy restarter : restartStrategies()) {
+            for (long seed = 0; seed < 5; seed++) {
+                Solver<?> solver = (Solver<?>) SolverFactory.newGlucose21();
+                solver.setRestartStrategy(restarter);
+                reused += checkSameAnswer(solver, random3SAT(seed),
+                        new VecInt());
+            }
+        }
+        assertTrue(reused > 0);
+    }
+
+    @Test
+    public void testUnderAssumptions() throws ContradictionException,
+            TimeoutException {
+        for (long seed = 0; seed < 5; seed++) {
+            Solver<?> solver = (Solver<?>) SolverFactory.newGlucose21();
+            solver.setRestartStrategy(new LubyRestarts(16));
+            checkSameAnswer(solver, random3SAT(seed), new VecInt(new int[] {
+                    1, -2 }));
+        }
+    }
+
+    @Test
+    public void testWithInprocessing() throws ContradictionException,
+            TimeoutException {
+        for (long seed = 0; seed < 5; seed++) {
+            Solver<?> solver = SolverFactory.newVivification();
+            solver.setRestartStrategy(new LubyRestarts(16));
+            solver.getSearchParams().setInprocessingEffort(1.0);
+            checkSameAnswer(solver, random3SAT(seed), new VecInt());
+        }
+    }
+}
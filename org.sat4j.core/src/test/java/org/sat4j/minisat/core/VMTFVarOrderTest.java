@@ -0,0 +1,133 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sat4j.minisat.constraints.cnf.Lits;
+import org.sat4j.minisat.orders.NegativeLiteralSelectionStrategy;
+import org.sat4j.minisat.orders.PositiveLiteralSelectionStrategy;
+import org.sat4j.minisat.orders.VMTFVarOrder;
+
+public class VMTFVarOrderTest {
+
+    private Lits lits;
+
+    private IOrder order;
+
+    @Before
+    public void setUp() {
+        this.lits = new Lits();
+        this.lits.ensurePool(5);
+        for (int i = 1; i <= 5; i++) {
+            this.lits.getFromPool(i);
+        }
+        this.order = new VMTFVarOrder(new PositiveLiteralSelectionStrategy());
+        this.order.setLits(this.lits);
+        this.order.init();
+    }
+
+    private void assign(int var) {
+        this.lits.satisfies(var << 1);
+        this.order.assignLiteral(var << 1);
+    }
+
+    private void unassign(int var) {
+        this.lits.unassign(var << 1);
+        this.order.undo(var);
+    }
+
+    @Test
+    public void testSelectsTheFrontOfTheQueue() {
+        assertEquals(5 << 1, this.order.select());
+        assign(5);
+        assertEquals(4 << 1, this.order.select());
+        assign(4);
+        assign(3);
+        assertEquals(2 << 1, this.order.select());
+    }
+
+    @Test
+    public void testUndoMovesTheSearchPointer() {
+        assign(5);
+        assign(4);
+        assign(3);
+        assertEquals(2 << 1, this.order.select());
+        unassign(4);
+        assertEquals(4 << 1, this.order.select());
+    }
+
+    @Test
+    public void testBumpsKeepTheRelativeOrder() {
+        this.order.updateVar(2 << 1);
+        this.order.updateVar(1 << 1 | 1);
+        this.order.updateVar(2 << 1);
+        assertEquals(5 << 1, this.order.select());
+        this.order.varDecayActivity();
+        assertEquals(2 << 1, this.order.select());
+        assign(2);
+        assertEquals(1 << 1, this.order.select());
+        assign(1);
+        assertEquals(5 << 1, this.order.select());
+        assertTrue(this.order.varActivity(2 << 1) > this.order
+                .varActivity(1 << 1));
+        assertTrue(this.order.varActivity(1 << 1) > this.order
+                .varActivity(5 << 1));
+    }
+
+    @Test
+    public void testBumpedAssignedVariablesAreSkipped() {
+        assign(5);
+        this.order.updateVar(3 << 1);
+        this.order.varDecayActivity();
+        assign(3);
+        assertEquals(4 << 1, this.order.select());
+        unassign(3);
+        assertEquals(3 << 1, this.order.select());
+    }
+
+    @Test
+    public void testPhaseSelectionStrategy() {
+        this.order.setPhaseSelectionStrategy(new NegativeLiteralSelectionStrategy());
+        this.order.init();
+        assertEquals(5 << 1 | 1, this.order.select());
+    }
+
+    @Test
+    public void testEmptyQueue() {
+        for (int i = 1; i <= 5; i++) {
+            assign(i);
+        }
+        assertEquals(ILits.UNDEFINED, this.order.select());
+    }
+}
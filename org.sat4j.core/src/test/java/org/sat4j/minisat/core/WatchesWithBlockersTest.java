@@ -0,0 +1,108 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import junit.framework.TestCase;
+
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.constraints.cnf.LitsWithBlockers;
+import org.sat4j.minisat.constraints.cnf.OriginalWLClause;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.Propagatable;
+
+public class WatchesWithBlockersTest extends TestCase {
+
+    private LitsWithBlockers voc;
+
+    @Override
+    protected void setUp() {
+        this.voc = new LitsWithBlockers();
+        this.voc.ensurePool(5);
+    }
+
+    private Propagatable clause(int... dimacs) {
+        IVecInt lits = new VecInt();
+        for (int p : dimacs) {
+            lits.push(this.voc.getFromPool(p));
+        }
+        return OriginalWLClause.brandNewClause(null, this.voc, lits);
+    }
+
+    public void testBlockerIsTheOtherWatchedLiteral() {
+        Propagatable c = clause(1, -2, 3);
+        int p1 = this.voc.getFromPool(1);
+        int notp2 = this.voc.getFromPool(-2);
+        WatchesWithBlockers w1 = this.voc.blockingWatches(p1 ^ 1);
+        assertEquals(1, w1.size());
+        assertSame(c, w1.get(0));
+        assertEquals(notp2, w1.getBlocker(0));
+        WatchesWithBlockers w2 = this.voc.blockingWatches(notp2 ^ 1);
+        assertEquals(p1, w2.getBlocker(0));
+    }
+
+    public void testMoveToKeepsBlockers() {
+        Propagatable c = clause(1, 2, 3);
+        Propagatable d = clause(1, 4, 5);
+        int lit = this.voc.getFromPool(1) ^ 1;
+        WatchesWithBlockers tmp = new WatchesWithBlockers();
+        this.voc.blockingWatches(lit).moveTo(tmp);
+        assertEquals(0, this.voc.watches(lit).size());
+        assertEquals(2, tmp.size());
+        assertSame(c, tmp.get(0));
+        assertSame(d, tmp.get(1));
+        assertEquals(this.voc.getFromPool(2), tmp.getBlocker(0));
+        assertEquals(this.voc.getFromPool(4), tmp.getBlocker(1));
+        IVec<Propagatable> vec = new Vec<Propagatable>();
+        tmp.moveTo(vec);
+        assertEquals(0, tmp.size());
+        assertEquals(2, vec.size());
+        assertSame(d, vec.get(1));
+    }
+
+    public void testRemoveAndDelete() {
+        Propagatable c = clause(1, 2, 3);
+        Propagatable d = clause(1, 4, 5);
+        Propagatable e = clause(1, -4, -5);
+        WatchesWithBlockers w = this.voc.blockingWatches(this.voc
+                .getFromPool(1) ^ 1);
+        w.remove(d);
+        assertEquals(2, w.size());
+        assertSame(e, w.get(1));
+        assertEquals(this.voc.getFromPool(-4), w.getBlocker(1));
+        w.delete(0);
+        assertEquals(1, w.size());
+        assertSame(e, w.get(0));
+        assertEquals(this.voc.getFromPool(-4), w.getBlocker(0));
+        w.push(c);
+        assertEquals(ILits.UNDEFINED, w.getBlocker(1));
+    }
+}
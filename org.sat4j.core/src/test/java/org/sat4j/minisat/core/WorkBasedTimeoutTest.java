@@ -0,0 +1,149 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.minisat.core;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import org.junit.Test;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.TimeoutException;
+
+public class WorkBasedTimeoutTest {
+
+    private static final int HOLES = 8;
+
+    /**
+     * The pigeon hole problem with HOLES + 1 pigeons: unsatisfiable, and
+     * needs a few thousands conflicts to be proved so.
+     */
+    private static Solver<?> pigeonHole() throws ContradictionException {
+        Solver<?> solver = (Solver<?>) SolverFactory.newDefault();
+        int pigeons = HOLES + 1;
+        solver.newVar(pigeons * HOLES);
+        for (int p = 0; p < pigeons; p++) {
+            VecInt clause = new VecInt();
+            for (int h = 0; h < HOLES; h++) {
+                clause.push(p * HOLES + h + 1);
+            }
+            solver.addClause(clause);
+        }
+        for (int h = 0; h < HOLES; h++) {
+            for (int p = 0; p < pigeons; p++) {
+                for (int q = p + 1; q < pigeons; q++) {
+                    solver.addClause(new VecInt(new int[] {
+                            -(p * HOLES + h + 1), -(q * HOLES + h + 1) }));
+                }
+            }
+        }
+        return solver;
+    }
+
+    private static long work(Solver<?> solver) {
+        return solver.getStats().propagations + solver.getStats().inspects;
+    }
+
+    @Test
+    public void testTimeoutIsReached() throws ContradictionException {
+        Solver<?> solver = pigeonHole();
+        solver.setTimeoutOnWork(10000);
+        try {
+            solver.isSatisfiable();
+            fail();
+        } catch (TimeoutException e) {
+            assertTrue(e.getMessage().contains("ticks"));
+        }
+        assertTrue(work(solver) >= 10000);
+        assertEquals(10000, solver.getTimeout());
+    }
+
+    @Test
+    public void testTimeoutIsDeterministic() throws ContradictionException {
+        long[] conflicts = new long[3];
+        long[] work = new long[3];
+        for (int i = 0; i < conflicts.length; i++) {
+            Solver<?> solver = pigeonHole();
+            solver.setTimeoutOnWork(50000);
+            try {
+                solver.isSatisfiable();
+                fail();
+            } catch (TimeoutException e) {
+                // expected
+            }
+            conflicts[i] = solver.getStats().conflicts;
+            work[i] = work(solver);
+        }
+        for (int i = 1; i < conflicts.length; i++) {
+            assertEquals(conflicts[0], conflicts[i]);
+            assertEquals(work[0], work[i]);
+        }
+    }
+
+    @Test
+    public void testLargeEnoughBudget() throws ContradictionException,
+            TimeoutException {
+        Solver<?> solver = pigeonHole();
+        solver.setTimeoutOnWork(Long.MAX_VALUE / 2);
+        assertFalse(solver.isSatisfiable());
+    }
+
+    @Test
+    public void testBudgetIsPerCall() throws ContradictionException,
+            TimeoutException {
+        ISolver solver = SolverFactory.newDefault();
+        solver.newVar(3);
+        solver.addClause(new VecInt(new int[] { 1, 2, 3 }));
+        solver.addClause(new VecInt(new int[] { -1, 2 }));
+        solver.setTimeoutOnWork(100);
+        for (int i = 0; i < 100; i++) {
+            assertTrue(solver.isSatisfiable());
+        }
+    }
+
+    @Test
+    public void testOtherTimeoutsDisableTheWorkLimit()
+            throws ContradictionException, TimeoutException {
+        Solver<?> solver = pigeonHole();
+        solver.setTimeoutOnWork(10000);
+        try {
+            solver.isSatisfiable();
+            fail();
+        } catch (TimeoutException e) {
+            // expected
+        }
+        solver.setTimeoutOnConflicts(Integer.MAX_VALUE);
+        assertFalse(solver.isSatisfiable());
+    }
+}
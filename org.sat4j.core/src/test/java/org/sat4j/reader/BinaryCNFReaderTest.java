@@ -0,0 +1,188 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.reader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.channels.Channels;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.TimeoutException;
+import org.sat4j.tools.BinaryCNFOutputSolver;
+import org.sat4j.tools.DimacsStringSolver;
+
+public class BinaryCNFReaderTest {
+
+    private static final String PREFIX = System.getProperty("test.prefix");
+
+    private static final String[] INSTANCES = { "jnh/jnh1.cnf",
+            "aim-50-yes-ok.cnf", "pigeons/hole6.cnf", "bug001.cnf" };
+
+    private File tmp;
+
+    @Before
+    public void setUp() throws IOException {
+        this.tmp = File.createTempFile("sat4j", ".bcnf");
+    }
+
+    @After
+    public void tearDown() {
+        this.tmp.delete();
+    }
+
+    private static String expected(String filename)
+            throws ParseFormatException, IOException, ContradictionException {
+        DimacsStringSolver solver = new DimacsStringSolver();
+        new LecteurDimacs(solver).parseInstance(filename);
+        return solver.getOut().toString();
+    }
+
+    private void snapshot(String filename) throws ParseFormatException,
+            IOException, ContradictionException {
+        BinaryCNFOutputSolver out = new BinaryCNFOutputSolver(
+                this.tmp.getPath());
+        new LecteurDimacs(out).parseInstance(filename);
+        out.close();
+    }
+
+    private String reload(int windowSize) throws ParseFormatException,
+            IOException, ContradictionException {
+        DimacsStringSolver solver = new DimacsStringSolver();
+        new BinaryCNFReader(solver, windowSize).parseInstance(this.tmp
+                .getPath());
+        return solver.getOut().toString();
+    }
+
+    @Test
+    public void testSameClausesAsDimacs() throws ParseFormatException,
+            IOException, ContradictionException {
+        for (String instance : INSTANCES) {
+            String filename = PREFIX + instance;
+            snapshot(filename);
+            String expected = expected(filename);
+            assertEquals(expected,
+                    reload(MappedDimacsReader.DEFAULT_WINDOW_SIZE));
+            // the file is read through many windows
+            assertEquals(expected, reload(7));
+            assertTrue(this.tmp.length() < new File(filename).length());
+        }
+    }
+
+    @Test
+    public void testStream() throws ParseFormatException, IOException,
+            ContradictionException {
+        String filename = PREFIX + "jnh/jnh1.cnf";
+        snapshot(filename);
+        DimacsStringSolver solver = new DimacsStringSolver();
+        new BinaryCNFReader(solver).parseInstance(new BufferedInputStream(
+                new FileInputStream(this.tmp)));
+        assertEquals(expected(filename), solver.getOut().toString());
+    }
+
+    @Test
+    public void testWriteToStream() throws ParseFormatException, IOException,
+            ContradictionException, TimeoutException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        BinaryCNFOutputSolver out = new BinaryCNFOutputSolver(
+                Channels.newChannel(bytes));
+        out.newVar(2);
+        out.setExpectedNumberOfClauses(4);
+        out.addClause(new VecInt(new int[] { 1, 2 }));
+        out.addClause(new VecInt(new int[] { -1, 2 }));
+        out.addClause(new VecInt(new int[] { 1, -2 }));
+        out.addClause(new VecInt(new int[] { -1, -2 }));
+        out.close();
+        ISolver solver = SolverFactory.newDefault();
+        new BinaryCNFReader(solver).parseInstance(new ByteArrayInputStream(
+                bytes.toByteArray()));
+        assertEquals(2, solver.nVars());
+        assertEquals(4, solver.nConstraints());
+        assertFalse(solver.isSatisfiable());
+    }
+
+    @Test
+    public void testCountsUpdatedOnClose() throws ParseFormatException,
+            IOException, ContradictionException {
+        BinaryCNFOutputSolver out = new BinaryCNFOutputSolver(
+                this.tmp.getPath());
+        out.addClause(new VecInt(new int[] { 1, -300 }));
+        out.addClause(new VecInt(new int[] { 200 }));
+        out.close();
+        ISolver solver = SolverFactory.newDefault();
+        new BinaryCNFReader(solver).parseInstance(this.tmp.getPath());
+        assertEquals(300, solver.nVars());
+        assertEquals(2, solver.nConstraints());
+    }
+
+    @Test
+    public void testInstanceReader() throws ParseFormatException,
+            IOException, ContradictionException, TimeoutException {
+        snapshot(PREFIX + "pigeons/hole6.cnf");
+        ISolver solver = SolverFactory.newDefault();
+        assertFalse(new InstanceReader(solver).parseInstance(
+                this.tmp.getPath()).isSatisfiable());
+    }
+
+    @Test(expected = ParseFormatException.class)
+    public void testNotASnapshot() throws ParseFormatException, IOException,
+            ContradictionException {
+        new BinaryCNFReader(SolverFactory.newDefault())
+                .parseInstance(PREFIX + "jnh/jnh1.cnf");
+    }
+
+    @Test(expected = ParseFormatException.class)
+    public void testTruncatedSnapshot() throws ParseFormatException,
+            IOException, ContradictionException {
+        snapshot(PREFIX + "jnh/jnh1.cnf");
+        RandomAccessFile file = new RandomAccessFile(this.tmp, "rw");
+        try {
+            file.setLength(file.length() - 1);
+        } finally {
+            file.close();
+        }
+        new BinaryCNFReader(SolverFactory.newDefault()).parseInstance(this.tmp
+                .getPath());
+    }
+}
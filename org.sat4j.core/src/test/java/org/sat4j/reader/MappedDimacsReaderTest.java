@@ -0,0 +1,242 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.reader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.TimeoutException;
+import org.sat4j.tools.DimacsStringSolver;
+
+public class MappedDimacsReaderTest {
+
+    private static final String PREFIX = System.getProperty("test.prefix");
+
+    private static final String[] INSTANCES = { "jnh/jnh1.cnf",
+            "aim-50-yes-ok.cnf", "pigeons/hole6.cnf", "bug001.cnf" };
+
+    private File tmp;
+
+    @Before
+    public void setUp() throws IOException {
+        this.tmp = File.createTempFile("sat4j", ".cnf");
+    }
+
+    @After
+    public void tearDown() {
+        this.tmp.delete();
+    }
+
+    private static String readWith(Reader reader, DimacsStringSolver solver,
+            String filename) throws ParseFormatException, IOException,
+            ContradictionException {
+        reader.parseInstance(filename);
+        return solver.getOut().toString();
+    }
+
+    private static String expected(String filename)
+            throws ParseFormatException, IOException, ContradictionException {
+        DimacsStringSolver solver = new DimacsStringSolver();
+        return readWith(new LecteurDimacs(solver), solver, filename);
+    }
+
+    private static String mapped(String filename, int windowSize)
+            throws ParseFormatException, IOException, ContradictionException {
+        DimacsStringSolver solver = new DimacsStringSolver();
+        return readWith(new MappedDimacsReader(solver, windowSize), solver,
+                filename);
+    }
+
+    private static String parallel(String filename, int nbThreads)
+            throws ParseFormatException, IOException, ContradictionException {
+        DimacsStringSolver solver = new DimacsStringSolver();
+        MappedDimacsReader reader = new MappedDimacsReader(solver);
+        reader.setNbThreads(nbThreads);
+        return readWith(reader, solver, filename);
+    }
+
+    /**
+     * A random CNF of about 1MB, with comments and clauses spanning several
+     * lines.
+     */
+    private String writeLargeCnf(String end) throws IOException {
+        Random rand = new Random(20);
+        StringBuffer stb = new StringBuffer("c large\np cnf 1000 50000\n");
+        for (int i = 0; i < 50000; i++) {
+            for (int j = 0; j < 1 + rand.nextInt(6); j++) {
+                stb.append(rand.nextBoolean() ? "" : "-");
+                stb.append(1 + rand.nextInt(1000));
+                stb.append(rand.nextInt(10) == 0 ? "\n" : " ");
+            }
+            stb.append(i % 1000 == 0 ? "0\nc comment\n" : "0\n");
+        }
+        stb.append(end);
+        write(stb.toString());
+        return this.tmp.getPath();
+    }
+
+    private void write(String content) throws IOException {
+        OutputStream out = new FileOutputStream(this.tmp);
+        try {
+            out.write(content.getBytes());
+        } finally {
+            out.close();
+        }
+    }
+
+    @Test
+    public void testSameClausesAsLecteurDimacs() throws ParseFormatException,
+            IOException, ContradictionException {
+        for (String instance : INSTANCES) {
+            String filename = PREFIX + instance;
+            String expected = expected(filename);
+            assertEquals(expected, mapped(filename,
+                    MappedDimacsReader.DEFAULT_WINDOW_SIZE));
+            // the file is read through many windows
+            assertEquals(expected, mapped(filename, 7));
+            assertEquals(expected, mapped(filename, 1));
+        }
+    }
+
+    @Test
+    public void testParallelParsing() throws ParseFormatException,
+            IOException, ContradictionException {
+        String filename = writeLargeCnf("1 2");
+        String expected = expected(filename);
+        assertEquals(expected, parallel(filename, 1));
+        assertEquals(expected, parallel(filename, 2));
+        assertEquals(expected, parallel(filename, 4));
+        for (String instance : INSTANCES) {
+            assertEquals(expected(PREFIX + instance),
+                    parallel(PREFIX + instance, 3));
+        }
+    }
+
+    @Test
+    public void testParallelParsingSatlibEnd() throws ParseFormatException,
+            IOException, ContradictionException {
+        String filename = writeLargeCnf("%\n0\n");
+        String expected = mapped(filename, 1024);
+        assertEquals(expected, parallel(filename, 4));
+    }
+
+    @Test(expected = ParseFormatException.class)
+    public void testParallelParsingError() throws ParseFormatException,
+            IOException, ContradictionException {
+        parallel(writeLargeCnf("1 x 0\n"), 4);
+    }
+
+    @Test
+    public void testCompressedFile() throws ParseFormatException,
+            IOException, ContradictionException {
+        String filename = PREFIX + "jnh/jnh1.cnf";
+        File gz = File.createTempFile("sat4j", ".cnf.gz");
+        try {
+            InputStream in = new FileInputStream(filename);
+            OutputStream out = new GZIPOutputStream(new FileOutputStream(gz));
+            byte[] buffer = new byte[1024];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+            in.close();
+            out.close();
+            assertEquals(expected(filename), mapped(gz.getPath(), 7));
+        } finally {
+            gz.delete();
+        }
+    }
+
+    @Test
+    public void testStream() throws ParseFormatException,
+            ContradictionException, IOException, TimeoutException {
+        String cnfString = "c comment\np cnf 3 4\r\n1 2 3 0\n-1 -2 0\tc comment\n-1 -3 0\n-2\n-3 0";
+        ISolver solver = SolverFactory.newDefault();
+        new MappedDimacsReader(solver).parseInstance(new ByteArrayInputStream(
+                cnfString.getBytes()));
+        assertEquals(3, solver.nVars());
+        assertEquals(4, solver.nConstraints());
+        assertTrue(solver.isSatisfiable());
+    }
+
+    @Test
+    public void testInstanceReader() throws ParseFormatException,
+            IOException, ContradictionException, TimeoutException {
+        write("p cnf 2 4\n1 2 0\n-1 2 0\n1 -2 0\n-1 -2 0\n");
+        ISolver solver = SolverFactory.newDefault();
+        assertFalse(new InstanceReader(solver).parseInstance(
+                this.tmp.getPath()).isSatisfiable());
+    }
+
+    @Test
+    public void testMapping() throws ParseFormatException, IOException,
+            ContradictionException {
+        write("c 1=a\nc 2=b\np cnf 2 1\n1 2 0\n");
+        MappedDimacsReader reader = new MappedDimacsReader(
+                SolverFactory.newDefault(), 4);
+        reader.setUseMapping(true);
+        reader.parseInstance(this.tmp.getPath());
+        assertTrue(reader.hasAMapping());
+        assertEquals("b", reader.getMapping().get(2));
+    }
+
+    @Test(expected = ParseFormatException.class)
+    public void testUnknownCharacter() throws ParseFormatException,
+            IOException, ContradictionException {
+        write("p cnf 2 1\n1 x 0\n");
+        new MappedDimacsReader(SolverFactory.newDefault())
+                .parseInstance(this.tmp.getPath());
+    }
+
+    @Test(expected = ParseFormatException.class)
+    public void testMissingProblemLine() throws ParseFormatException,
+            IOException, ContradictionException {
+        write("1 2 0\n");
+        new MappedDimacsReader(SolverFactory.newDefault())
+                .parseInstance(this.tmp.getPath());
+    }
+}
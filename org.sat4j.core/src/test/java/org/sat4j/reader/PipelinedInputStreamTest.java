@@ -0,0 +1,154 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.reader;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.zip.GZIPOutputStream;
+
+import org.junit.Test;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.tools.DimacsStringSolver;
+
+public class PipelinedInputStreamTest {
+
+    private static final String PREFIX = System.getProperty("test.prefix");
+
+    private static byte[] randomBytes(int size) {
+        byte[] bytes = new byte[size];
+        new Random(size).nextBytes(bytes);
+        return bytes;
+    }
+
+    private static byte[] readBytes(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        int c;
+        while ((c = in.read()) != -1) {
+            out.write(c);
+        }
+        in.close();
+        return out.toByteArray();
+    }
+
+    private static byte[] readBlocks(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[100];
+        int n;
+        while ((n = in.read(buffer, 0, buffer.length)) != -1) {
+            out.write(buffer, 0, n);
+        }
+        in.close();
+        return out.toByteArray();
+    }
+
+    @Test
+    public void testSameBytes() throws IOException {
+        for (int size : new int[] { 0, 1, 63, 64, 65, 10000 }) {
+            byte[] bytes = randomBytes(size);
+            assertArrayEquals(bytes, readBytes(new PipelinedInputStream(
+                    new ByteArrayInputStream(bytes), 64, 3)));
+            assertArrayEquals(bytes, readBlocks(new PipelinedInputStream(
+                    new ByteArrayInputStream(bytes), 64, 1)));
+            assertArrayEquals(bytes, readBlocks(new PipelinedInputStream(
+                    new ByteArrayInputStream(bytes))));
+        }
+    }
+
+    @Test
+    public void testEndOfStream() throws IOException {
+        InputStream in = new PipelinedInputStream(new ByteArrayInputStream(
+                new byte[] { 1 }), 8, 2);
+        assertEquals(1, in.read());
+        assertEquals(-1, in.read());
+        assertEquals(-1, in.read(new byte[4], 0, 4));
+        in.close();
+    }
+
+    @Test(expected = IOException.class)
+    public void testSourceError() throws IOException {
+        InputStream failing = new InputStream() {
+            private int n = 0;
+
+            @Override
+            public int read() throws IOException {
+                if (this.n++ >= 200) {
+                    throw new IOException("Broken source");
+                }
+                return 'a';
+            }
+        };
+        readBlocks(new PipelinedInputStream(failing, 64, 2));
+    }
+
+    @Test
+    public void testCloseBeforeTheEnd() throws IOException {
+        InputStream in = new PipelinedInputStream(new ByteArrayInputStream(
+                randomBytes(10000)), 64, 2);
+        in.read();
+        in.close();
+        in.close();
+    }
+
+    @Test
+    public void testCompressedFile() throws ParseFormatException,
+            IOException, ContradictionException {
+        String filename = PREFIX + "pigeons/hole6.cnf";
+        File gz = File.createTempFile("sat4j", ".cnf.gz");
+        try {
+            InputStream in = new FileInputStream(filename);
+            OutputStream out = new GZIPOutputStream(new FileOutputStream(gz));
+            byte[] buffer = new byte[1024];
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                out.write(buffer, 0, n);
+            }
+            in.close();
+            out.close();
+            DimacsStringSolver plain = new DimacsStringSolver();
+            new LecteurDimacs(plain).parseInstance(filename);
+            DimacsStringSolver compressed = new DimacsStringSolver();
+            new LecteurDimacs(compressed).parseInstance(gz.getPath());
+            assertEquals(plain.getOut().toString(), compressed.getOut()
+                    .toString());
+        } finally {
+            gz.delete();
+        }
+    }
+}
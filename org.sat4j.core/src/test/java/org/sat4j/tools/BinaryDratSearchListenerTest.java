@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.ISolverService;
+import org.sat4j.specs.TimeoutException;
+
+public class BinaryDratSearchListenerTest {
+
+    private File binary;
+
+    private File text;
+
+    @Before
+    public void setUp() throws IOException {
+        this.binary = File.createTempFile("sat4j", ".drat");
+        this.text = File.createTempFile("sat4j", ".rupproof");
+    }
+
+    @After
+    public void tearDown() {
+        this.binary.delete();
+        this.text.delete();
+    }
+
+    private static ISolver pigeonHole(int holes) throws ContradictionException {
+        ISolver solver = SolverFactory.newDefault();
+        int pigeons = holes + 1;
+        solver.newVar(pigeons * holes);
+        for (int p = 0; p < pigeons; p++) {
+            VecInt clause = new VecInt();
+            for (int h = 0; h < holes; h++) {
+                clause.push(p * holes + h + 1);
+            }
+            solver.addClause(clause);
+        }
+        for (int h = 0; h < holes; h++) {
+            for (int p = 0; p < pigeons; p++) {
+                for (int q = p + 1; q < pigeons; q++) {
+                    solver.addClause(new VecInt(new int[] {
+                            -(p * holes + h + 1), -(q * holes + h + 1) }));
+                }
+            }
+        }
+        return solver;
+    }
+
+    /**
+     * Decode a binary DRAT proof into the lines of the equivalent text proof.
+     */
+    private static List<String> readBinary(File file) throws IOException {
+        List<String> lines = new ArrayList<String>();
+        InputStream in = new FileInputStream(file);
+        try {
+            StringBuffer line = null;
+            int b;
+            while ((b = in.read()) != -1) {
+                if (line == null) {
+                    assertTrue(b == 'a' || b == 'd');
+                    line = new StringBuffer(b == 'd' ? "d " : "");
+                    continue;
+                }
+                int x = 0;
+                int shift = 0;
+                while ((b & 0x80) != 0) {
+                    x |= (b & 0x7F) << shift;
+                    shift += 7;
+                    b = in.read();
+                }
+                x |= b << shift;
+                if (x == 0) {
+                    line.append('0');
+                    lines.add(line.toString());
+                    line = null;
+                } else {
+                    line.append((x & 1) == 0 ? x >> 1 : -(x >> 1));
+                    line.append(' ');
+                }
+            }
+            assertTrue(line == null);
+        } finally {
+            in.close();
+        }
+        return lines;
+    }
+
+    private static List<String> readText(File file) throws IOException {
+        List<String> lines = new ArrayList<String>();
+        BufferedReader in = new BufferedReader(new FileReader(file));
+        try {
+            String line;
+            while ((line = in.readLine()) != null) {
+                lines.add(line.trim());
+            }
+        } finally {
+            in.close();
+        }
+        return lines;
+    }
+
+    @SuppressWarnings("unchecked")
+    private void checkSameProofs(int bufferSize) throws ContradictionException,
+            TimeoutException, IOException {
+        ISolver solver = pigeonHole(6);
+        solver.setSearchListener(new MultiTracing<ISolverService>(
+                new BinaryDratSearchListener<ISolverService>(this.binary
+                        .getPath(), bufferSize),
+                new RupSearchListener<ISolverService>(this.text.getPath())));
+        assertFalse(solver.isSatisfiable());
+        List<String> expected = readText(this.text);
+        List<String> proof = readBinary(this.binary);
+        assertTrue(expected.size() > 100);
+        assertEquals("0", proof.get(proof.size() - 1));
+        assertEquals(expected, proof);
+        assertTrue(this.binary.length() < this.text.length());
+    }
+
+    @Test
+    public void testSameProofAsRup() throws ContradictionException,
+            TimeoutException, IOException {
+        checkSameProofs(BinaryDratSearchListener.DEFAULT_BUFFER_SIZE);
+    }
+
+    @Test
+    public void testSmallBuffers() throws ContradictionException,
+            TimeoutException, IOException {
+        checkSameProofs(16);
+    }
+
+    @Test
+    public void testLargeLiterals() throws ContradictionException,
+            TimeoutException, IOException {
+        ISolver solver = SolverFactory.newDefault();
+        BinaryDratSearchListener<ISolverService> listener = new BinaryDratSearchListener<ISolverService>(
+                this.binary.getPath(), 16);
+        solver.setSearchListener(listener);
+        solver.newVar(100000);
+        solver.addClause(new VecInt(new int[] { 100000, 1 }));
+        solver.addClause(new VecInt(new int[] { 100000, -1 }));
+        solver.addClause(new VecInt(new int[] { -100000, 64 }));
+        solver.addClause(new VecInt(new int[] { -100000, -64 }));
+        assertFalse(solver.isSatisfiable());
+        assertFalse(listener.checkError());
+        List<String> proof = readBinary(this.binary);
+        assertEquals("0", proof.get(proof.size() - 1));
+        for (String line : proof) {
+            for (String lit : line.split(" ")) {
+                int x = Math.abs(Integer.parseInt(lit));
+                assertTrue(x == 0 || x == 1 || x == 64 || x == 100000);
+            }
+        }
+    }
+
+    @Test
+    public void testNoProofForSatisfiableProblems()
+            throws ContradictionException, TimeoutException {
+        ISolver solver = SolverFactory.newDefault();
+        solver.setSearchListener(new BinaryDratSearchListener<ISolverService>(
+                this.binary.getPath()));
+        solver.newVar(2);
+        solver.addClause(new VecInt(new int[] { 1, 2 }));
+        assertTrue(solver.isSatisfiable());
+        assertFalse(this.binary.exists());
+    }
+}
@@ -0,0 +1,294 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.tools;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.nio.channels.Channels;
+import java.nio.channels.Pipe;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.reader.ParseFormatException;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.ISolverService;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+public class DratCheckerTest {
+
+    private File proof;
+
+    @Before
+    public void setUp() throws IOException {
+        this.proof = File.createTempFile("sat4j", ".proof");
+    }
+
+    @After
+    public void tearDown() {
+        this.proof.delete();
+    }
+
+    private static IVec<IVecInt> pigeonHole(int holes) {
+        IVec<IVecInt> clauses = new Vec<IVecInt>();
+        int pigeons = holes + 1;
+        for (int p = 0; p < pigeons; p++) {
+            IVecInt clause = new VecInt();
+            for (int h = 0; h < holes; h++) {
+                clause.push(p * holes + h + 1);
+            }
+            clauses.push(clause);
+        }
+        for (int h = 0; h < holes; h++) {
+            for (int p = 0; p < pigeons; p++) {
+                for (int q = p + 1; q < pigeons; q++) {
+                    clauses.push(new VecInt(new int[] { -(p * holes + h + 1),
+                            -(q * holes + h + 1) }));
+                }
+            }
+        }
+        return clauses;
+    }
+
+    private static IVec<IVecInt> random3Sat(Random rand, int nbVars,
+            int nbClauses) {
+        IVec<IVecInt> clauses = new Vec<IVecInt>();
+        for (int i = 0; i < nbClauses; i++) {
+            IVecInt clause = new VecInt();
+            while (clause.size() < 3) {
+                int v = rand.nextInt(nbVars) + 1;
+                if (!clause.contains(v) && !clause.contains(-v)) {
+                    clause.push(rand.nextBoolean() ? v : -v);
+                }
+            }
+            clauses.push(clause);
+        }
+        return clauses;
+    }
+
+    private static byte[] toDimacs(IVec<IVecInt> clauses, int nbVars) {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes);
+        out.println("c generated");
+        out.println("p cnf " + nbVars + " " + clauses.size());
+        for (int i = 0; i < clauses.size(); i++) {
+            IVecInt clause = clauses.get(i);
+            for (int j = 0; j < clause.size(); j++) {
+                out.print(clause.get(j));
+                out.print(' ');
+            }
+            out.println(0);
+        }
+        out.close();
+        return bytes.toByteArray();
+    }
+
+    private static boolean solve(ISolver solver, IVec<IVecInt> clauses)
+            throws TimeoutException {
+        try {
+            for (int i = 0; i < clauses.size(); i++) {
+                solver.addClause(clauses.get(i));
+            }
+        } catch (ContradictionException e) {
+            return false;
+        }
+        return solver.isSatisfiable();
+    }
+
+    private boolean checkFile(IVec<IVecInt> clauses) throws IOException,
+            ParseFormatException {
+        DratChecker checker = new DratChecker();
+        for (int i = 0; i < clauses.size(); i++) {
+            checker.addClause(clauses.get(i));
+        }
+        InputStream in = new FileInputStream(this.proof);
+        try {
+            checker.readProof(in);
+        } finally {
+            in.close();
+        }
+        boolean verified = checker.verify();
+        assertEquals(0, checker.getNbUnmatchedDeletions());
+        return verified;
+    }
+
+    private static boolean check(String formula, String proof)
+            throws IOException, ParseFormatException {
+        DratChecker checker = new DratChecker();
+        checker.readDimacs(new ByteArrayInputStream(formula.getBytes()));
+        checker.readProof(new ByteArrayInputStream(proof.getBytes()));
+        return checker.verify();
+    }
+
+    @Test
+    public void testTextProof() throws TimeoutException, IOException,
+            ParseFormatException {
+        IVec<IVecInt> clauses = pigeonHole(6);
+        ISolver solver = SolverFactory.newDefault();
+        solver.setSearchListener(new RupSearchListener<ISolverService>(
+                this.proof.getPath()));
+        assertFalse(solve(solver, clauses));
+        assertTrue(checkFile(clauses));
+    }
+
+    @Test
+    public void testBinaryProof() throws TimeoutException, IOException,
+            ParseFormatException {
+        IVec<IVecInt> clauses = pigeonHole(6);
+        ISolver solver = SolverFactory.newDefault();
+        solver.setSearchListener(new BinaryDratSearchListener<ISolverService>(
+                this.proof.getPath()));
+        assertFalse(solve(solver, clauses));
+        assertTrue(checkFile(clauses));
+    }
+
+    @Test
+    public void testCheckingOnTheFly() throws TimeoutException, IOException,
+            ParseFormatException {
+        IVec<IVecInt> clauses = pigeonHole(7);
+        Pipe pipe = Pipe.open();
+        DratChecker checker = new DratChecker();
+        checker.startChecking(new ByteArrayInputStream(toDimacs(clauses, 56)),
+                Channels.newInputStream(pipe.source()));
+        ISolver solver = SolverFactory.newDefault();
+        solver.setSearchListener(new BinaryDratSearchListener<ISolverService>(
+                pipe.sink(), 64));
+        assertFalse(solve(solver, clauses));
+        assertTrue(checker.verify());
+        assertTrue(checker.getNbCheckedLemmas() > 0);
+        assertTrue(checker.getNbCheckedLemmas() <= checker.getNbLemmas());
+    }
+
+    @Test
+    public void testProofsOfSeveralSolvers() throws TimeoutException,
+            IOException, ParseFormatException {
+        ISolver[] solvers = { SolverFactory.newDefault(),
+                SolverFactory.newGlucose21(),
+                SolverFactory.newChronologicalBacktracking(),
+                SolverFactory.newTrailReuse(), SolverFactory.newArena(),
+                SolverFactory.newBlockers(),
+                SolverFactory.newImplicationGraph(),
+                SolverFactory.newVivification(), SolverFactory.newProbing() };
+        Random rand = new Random(18);
+        int nbUnsat = 0;
+        for (int k = 0; k < solvers.length; k++) {
+            for (int i = 0; i < 4; i++) {
+                IVec<IVecInt> clauses = random3Sat(rand, 60, 290);
+                ISolver solver = solvers[k];
+                solver.reset();
+                solver.setSearchListener(new BinaryDratSearchListener<ISolverService>(
+                        this.proof.getPath()));
+                if (!solve(solver, clauses)) {
+                    nbUnsat++;
+                    assertTrue(solver.toString(), checkFile(clauses));
+                }
+            }
+        }
+        assertTrue(nbUnsat > solvers.length);
+    }
+
+    @Test
+    public void testRatLemma() throws IOException, ParseFormatException {
+        String formula = "p cnf 3 5\n1 2 0\n-1 2 0\n1 -2 0\n-1 -2 0\n-3 1 0\n";
+        DratChecker checker = new DratChecker();
+        checker.readDimacs(new ByteArrayInputStream(formula.getBytes()));
+        // 3 is not RUP but RAT, and leads to a conflict through -3 1
+        checker.readProof(new ByteArrayInputStream("3 0\n0\n".getBytes()));
+        assertTrue(checker.verify());
+        assertEquals(1, checker.getNbCheckedLemmas());
+        assertNull(checker.getFailedLemma());
+        assertFalse(check("p cnf 3 2\n-3 1 0\n-3 -1 0\n", "3 0\n0\n"));
+    }
+
+    @Test
+    public void testWrongLemma() throws IOException, ParseFormatException {
+        DratChecker checker = new DratChecker();
+        checker.readDimacs(new ByteArrayInputStream("p cnf 2 2\n1 2 0\n-1 2 0\n"
+                .getBytes()));
+        checker.readProof(new ByteArrayInputStream("-2 0\n0\n".getBytes()));
+        assertFalse(checker.verify());
+        assertArrayEquals(new int[] { -2 }, checker.getFailedLemma());
+    }
+
+    @Test
+    public void testIncompleteProof() throws IOException, ParseFormatException {
+        String formula = "p cnf 2 4\n1 2 0\n-1 2 0\n1 -2 0\n-1 -2 0\n";
+        assertTrue(check(formula, "2 0\n0\n"));
+        assertFalse(check(formula, ""));
+        assertFalse(check("p cnf 2 3\n1 2 0\n-1 2 0\n1 -2 0\n", "2 0\n0\n"));
+    }
+
+    @Test
+    public void testDeletions() throws IOException, ParseFormatException {
+        String formula = "p cnf 2 4\n1 2 0\n-1 2 0\n1 -2 0\n-1 -2 0\n";
+        assertTrue(check(formula, "2 0\nd 1 -2 0\n0\n"));
+        // the clauses needed to derive the empty clause are deleted
+        assertFalse(check(formula, "d 2 1 0\nd -1 2 0\n2 0\n0\n"));
+        // the lemma 2 is the reason of 2, its deletion is ignored
+        formula = "p cnf 4 6\n1 2 0\n-1 2 0\n1 -2 3 0\n-1 -2 3 0\n-3 4 0\n-3 -4 0\n";
+        DratChecker checker = new DratChecker();
+        checker.readDimacs(new ByteArrayInputStream(formula.getBytes()));
+        checker.readProof(new ByteArrayInputStream(
+                "2 0\nd 2 0\nd 3 0\n3 0\n0\n".getBytes()));
+        assertTrue(checker.verify());
+        assertEquals(2, checker.getNbCheckedLemmas());
+        assertEquals(1, checker.getNbIgnoredDeletions());
+        assertEquals(1, checker.getNbUnmatchedDeletions());
+    }
+
+    @Test
+    public void testTrivialFormula() throws IOException, ParseFormatException {
+        assertTrue(check("p cnf 1 2\n1 0\n-1 0\n", ""));
+        assertTrue(check("p cnf 1 1\n0\n", ""));
+    }
+
+    @Test(expected = ParseFormatException.class)
+    public void testMalformedProof() throws IOException, ParseFormatException {
+        check("p cnf 1 1\n1 0\n", "1 x 0\n");
+    }
+}
@@ -0,0 +1,234 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.tools;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.minisat.SolverFactory;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.ISolver;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+public class PreprocessorTest {
+
+    private Preprocessor<ISolver> solver;
+
+    private IVec<IVecInt> clauses;
+
+    @Before
+    public void setUp() {
+        this.solver = new Preprocessor<ISolver>(SolverFactory.newDefault());
+        this.clauses = new Vec<IVecInt>();
+    }
+
+    private void clause(int... lits) throws ContradictionException {
+        IVecInt clause = new VecInt(lits);
+        this.clauses.push(clause);
+        this.solver.addClause(clause);
+    }
+
+    private void assertModelSatisfiesClauses(int[] model) {
+        assertNotNull(model);
+        IVecInt literals = new VecInt(model);
+        for (int i = 0; i < this.clauses.size(); i++) {
+            boolean satisfied = false;
+            IVecInt clause = this.clauses.get(i);
+            for (int j = 0; j < clause.size(); j++) {
+                int p = clause.get(j);
+                satisfied = satisfied || literals.contains(p);
+                assertEquals(p > 0, this.solver.model(Math.abs(p)) == literals
+                        .contains(p));
+            }
+            assertTrue("clause " + clause + " is falsified", satisfied);
+        }
+    }
+
+    @Test
+    public void testEliminatedVariablesAppearInTheModel()
+            throws ContradictionException, TimeoutException {
+        this.solver.newVar(5);
+        clause(-1, 2);
+        clause(-2, 3);
+        clause(-3, 4);
+        clause(-4, 5);
+        clause(1, 5);
+        clause(-5, -1);
+        assertTrue(this.solver.isSatisfiable());
+        assertTrue(this.solver.isEliminated(2));
+        assertModelSatisfiesClauses(this.solver.model());
+        assertEquals(5, this.solver.model().length);
+    }
+
+    @Test
+    public void testVariablesOfTautologiesAppearInTheModel()
+            throws ContradictionException, TimeoutException {
+        this.solver.newVar(3);
+        clause(1, -1, 3);
+        clause(2);
+        assertTrue(this.solver.isSatisfiable());
+        int[] model = this.solver.model();
+        assertEquals(3, model.length);
+        assertModelSatisfiesClauses(model);
+        for (int var = 1; var <= 3; var++) {
+            assertEquals(var, Math.abs(model[var - 1]));
+            assertEquals(model[var - 1] > 0, this.solver.model(var));
+        }
+    }
+
+    @Test
+    public void testSubsumedClausesAreRemoved() throws ContradictionException,
+            TimeoutException {
+        this.solver.newVar(3);
+        this.solver.freeze(1);
+        this.solver.freeze(2);
+        this.solver.freeze(3);
+        clause(1, 2);
+        clause(1, 2, 3);
+        clause(-1, 2, 3);
+        clause(-2, -3);
+        assertTrue(this.solver.isSatisfiable());
+        assertEquals(1, this.solver.getStat().get("subsumedClauses")
+                .intValue());
+        assertEquals(1, this.solver.getStat().get("strengthenedClauses")
+                .intValue());
+        assertModelSatisfiesClauses(this.solver.model());
+    }
+
+    @Test
+    public void testFrozenVariablesAreNotEliminated()
+            throws ContradictionException, TimeoutException {
+        this.solver.newVar(3);
+        this.solver.freeze(2);
+        clause(-1, 2);
+        clause(-2, 3);
+        assertTrue(this.solver.isSatisfiable());
+        assertFalse(this.solver.isEliminated(2));
+        assertModelSatisfiesClauses(this.solver.model());
+    }
+
+    @Test
+    public void testContradictionFoundWhilePreprocessing()
+            throws ContradictionException, TimeoutException {
+        this.solver.newVar(3);
+        clause(1, 2);
+        clause(1, -2);
+        clause(-1, 3);
+        clause(-1, -3);
+        assertFalse(this.solver.isSatisfiable());
+        assertFalse(this.solver.isSatisfiable());
+    }
+
+    @Test
+    public void testIncrementalUseOfEliminatedVariables()
+            throws ContradictionException, TimeoutException {
+        this.solver.newVar(3);
+        this.solver.freeze(1);
+        this.solver.freeze(3);
+        clause(-1, 2);
+        clause(-2, 3);
+        assertTrue(this.solver.isSatisfiable());
+        assertTrue(this.solver.isEliminated(2));
+        IVecInt assumps = new VecInt();
+        assumps.push(2).push(-3);
+        assertFalse(this.solver.isSatisfiable(assumps));
+        assertFalse(this.solver.isEliminated(2));
+        assumps.clear();
+        assumps.push(1);
+        assertTrue(this.solver.isSatisfiable(assumps));
+        assertModelSatisfiesClauses(this.solver.model());
+        clause(-3);
+        assertFalse(this.solver.isSatisfiable(assumps));
+    }
+
+    @Test
+    public void testModelEnumeration() throws ContradictionException,
+            TimeoutException {
+        this.solver.newVar(3);
+        clause(-1, 2);
+        clause(-2, 3);
+        int nbModels = 0;
+        while (this.solver.isSatisfiable()) {
+            assertModelSatisfiesClauses(this.solver.model());
+            nbModels++;
+            try {
+                this.solver.discardCurrentModel();
+            } catch (ContradictionException e) {
+                break;
+            }
+        }
+        assertEquals(4, nbModels);
+    }
+
+    @Test
+    public void testSameAnswerAsTheDecoratedSolver()
+            throws ContradictionException, TimeoutException {
+        Random rand = new Random(17);
+        for (int k = 0; k < 200; k++) {
+            setUp();
+            ISolver plain = SolverFactory.newDefault();
+            int nbVars = 10 + rand.nextInt(20);
+            this.solver.newVar(nbVars);
+            plain.newVar(nbVars);
+            boolean contradiction = false;
+            for (int i = 0; i < 4 * nbVars; i++) {
+                int[] lits = new int[2 + rand.nextInt(2)];
+                for (int j = 0; j < lits.length; j++) {
+                    lits[j] = (1 + rand.nextInt(nbVars))
+                            * (rand.nextBoolean() ? 1 : -1);
+                }
+                try {
+                    plain.addClause(new VecInt(lits));
+                    clause(lits);
+                } catch (ContradictionException e) {
+                    contradiction = true;
+                }
+            }
+            if (contradiction) {
+                continue;
+            }
+            boolean expected = plain.isSatisfiable();
+            assertEquals(expected, this.solver.isSatisfiable());
+            if (expected) {
+                assertModelSatisfiesClauses(this.solver.model());
+            }
+        }
+    }
+}
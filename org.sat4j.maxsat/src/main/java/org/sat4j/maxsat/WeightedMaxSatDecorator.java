@@ -135,6 +135,12 @@ public class WeightedMaxSatDecorator extends PBSolverDecorator {
         return addSoftClause(1, literals);
     }
 
+    @Override
+    public void addClauses(int[] flatLits, int[] offsets)
+            throws ContradictionException {
+        addClausesOneByOne(flatLits, offsets);
+    }
+
     /**
      * Add a hard clause in the solver, i.e. a clause that must be satisfied.
      * 
@@ -0,0 +1,233 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.pb;
+
+import java.io.FileNotFoundException;
+import java.io.FileOutputStream;
+import java.math.BigInteger;
+import java.nio.channels.WritableByteChannel;
+
+import org.sat4j.core.Vec;
+import org.sat4j.pb.constraints.pb.Pseudos;
+import org.sat4j.reader.BinaryCNFReader;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IConstr;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.tools.BinaryCNFOutputSolver;
+
+/**
+ * Solver used to write down a pseudo boolean problem as a compact binary
+ * snapshot, to be reloaded quickly by a
+ * {@link org.sat4j.pb.reader.BinaryOPBReader}.
+ * 
+ * Pseudo boolean constraints are written with their coefficients, which are
+ * stored as varints when they fit in a long. Clauses are kept as clauses.
+ * 
+ * @since 2.3.6
+ */
+public class BinaryOPBOutputSolver extends BinaryCNFOutputSolver implements
+        IPBSolver {
+
+    private static final long serialVersionUID = 1L;
+
+    private ObjectiveFunction obj;
+
+    /**
+     * 
+     * @param filename
+     *            the name of the snapshot file.
+     * @throws FileNotFoundException
+     *             if the file cannot be created
+     */
+    public BinaryOPBOutputSolver(String filename) throws FileNotFoundException {
+        this(new FileOutputStream(filename).getChannel());
+    }
+
+    /**
+     * 
+     * @param channel
+     *            the channel receiving the snapshot. If it is a file channel,
+     *            the snapshot is written at its current position.
+     */
+    public BinaryOPBOutputSolver(WritableByteChannel channel) {
+        super(channel, BinaryCNFReader.PB);
+    }
+
+    public IConstr addPseudoBoolean(IVecInt lits, IVec<BigInteger> coeffs,
+            boolean moreThan, BigInteger d) throws ContradictionException {
+        if (moreThan) {
+            return addAtLeast(lits, coeffs, d);
+        }
+        return addAtMost(lits, coeffs, d);
+    }
+
+    @Override
+    public IConstr addAtMost(IVecInt literals, int degree)
+            throws ContradictionException {
+        return addConstraint(BinaryCNFReader.AT_MOST, literals, null,
+                BigInteger.valueOf(degree));
+    }
+
+    @Override
+    public IConstr addAtLeast(IVecInt literals, int degree)
+            throws ContradictionException {
+        return addConstraint(BinaryCNFReader.AT_LEAST, literals, null,
+                BigInteger.valueOf(degree));
+    }
+
+    @Override
+    public IConstr addExactly(IVecInt literals, int n)
+            throws ContradictionException {
+        return addConstraint(BinaryCNFReader.EXACTLY, literals, null,
+                BigInteger.valueOf(n));
+    }
+
+    public IConstr addAtMost(IVecInt literals, IVecInt coeffs, int degree)
+            throws ContradictionException {
+        return addConstraint(BinaryCNFReader.AT_MOST, literals,
+                toBigIntegers(coeffs), BigInteger.valueOf(degree));
+    }
+
+    public IConstr addAtMost(IVecInt literals, IVec<BigInteger> coeffs,
+            BigInteger degree) throws ContradictionException {
+        return addConstraint(BinaryCNFReader.AT_MOST, literals, coeffs, degree);
+    }
+
+    public IConstr addAtLeast(IVecInt literals, IVecInt coeffs, int degree)
+            throws ContradictionException {
+        return addConstraint(BinaryCNFReader.AT_LEAST, literals,
+                toBigIntegers(coeffs), BigInteger.valueOf(degree));
+    }
+
+    public IConstr addAtLeast(IVecInt literals, IVec<BigInteger> coeffs,
+            BigInteger degree) throws ContradictionException {
+        return addConstraint(BinaryCNFReader.AT_LEAST, literals, coeffs,
+                degree);
+    }
+
+    public IConstr addExactly(IVecInt literals, IVecInt coeffs, int weight)
+            throws ContradictionException {
+        return addConstraint(BinaryCNFReader.EXACTLY, literals,
+                toBigIntegers(coeffs), BigInteger.valueOf(weight));
+    }
+
+    public IConstr addExactly(IVecInt literals, IVec<BigInteger> coeffs,
+            BigInteger weight) throws ContradictionException {
+        return addConstraint(BinaryCNFReader.EXACTLY, literals, coeffs, weight);
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtMost(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return addAtMost(literals,
+                Pseudos.toVecBigInt(coeffs, literals.size()),
+                BigInteger.valueOf(degree));
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtLeast(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return addAtLeast(literals,
+                Pseudos.toVecBigInt(coeffs, literals.size()),
+                BigInteger.valueOf(degree));
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addExactly(IVecInt literals, long[] coeffs, long weight)
+            throws ContradictionException {
+        return addExactly(literals,
+                Pseudos.toVecBigInt(coeffs, literals.size()),
+                BigInteger.valueOf(weight));
+    }
+
+    /**
+     * The objective function is written as soon as it is given.
+     */
+    public void setObjectiveFunction(ObjectiveFunction obj) {
+        this.obj = obj;
+        if (obj != null) {
+            writeTag(BinaryCNFReader.OBJECTIVE);
+            writeLiterals(obj.getVars());
+            writeCoefficients(obj.getCoeffs());
+            writeBigInteger(obj.getCorrection());
+        }
+    }
+
+    public ObjectiveFunction getObjectiveFunction() {
+        return this.obj;
+    }
+
+    @Override
+    public String toString(String prefix) {
+        return "Binary OPB output solver";
+    }
+
+    /**
+     * 
+     * @param coeffs
+     *            the coefficients, or null for a cardinality constraint.
+     */
+    private IConstr addConstraint(int tag, IVecInt literals,
+            IVec<BigInteger> coeffs, BigInteger degree) {
+        assert coeffs == null || literals.size() == coeffs.size();
+        writeTag(tag);
+        writeLiterals(literals);
+        if (coeffs == null) {
+            for (int i = 0; i < literals.size(); i++) {
+                writeBigInteger(BigInteger.ONE);
+            }
+        } else {
+            writeCoefficients(coeffs);
+        }
+        writeBigInteger(degree);
+        return null;
+    }
+
+    private void writeCoefficients(IVec<BigInteger> coeffs) {
+        for (int i = 0; i < coeffs.size(); i++) {
+            writeBigInteger(coeffs.get(i));
+        }
+    }
+
+    private static IVec<BigInteger> toBigIntegers(IVecInt coeffs) {
+        IVec<BigInteger> result = new Vec<BigInteger>(coeffs.size());
+        for (int i = 0; i < coeffs.size(); i++) {
+            result.push(BigInteger.valueOf(coeffs.get(i)));
+        }
+        return result;
+    }
+}
@@ -59,6 +59,30 @@ public class GroupPBSelectorSolver extends GroupClauseSelectorSolver<IPBSolver>
         return decorated().addExactly(literals, coeffs, weight);
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtMost(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return decorated().addAtMost(literals, coeffs, degree);
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtLeast(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return decorated().addAtLeast(literals, coeffs, degree);
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addExactly(IVecInt literals, long[] coeffs, long weight)
+            throws ContradictionException {
+        return decorated().addExactly(literals, coeffs, weight);
+    }
+
     public void setObjectiveFunction(ObjectiveFunction obj) {
         decorated().setObjectiveFunction(obj);
 
@@ -203,6 +203,75 @@ public interface IPBSolver extends ISolver {
 	IConstr addExactly(IVecInt literals, IVec<BigInteger> coeffs,
 			BigInteger weight) throws ContradictionException;
 
+	/**
+	 * Create a pseudo boolean constraint of the type "at most" whose
+	 * coefficients fit in a long. This avoids building BigInteger objects when
+	 * loading large problems.
+	 * 
+	 * @param literals
+	 *            a set of literals The vector can be reused since the solver is
+	 *            not supposed to keep a reference to that vector.
+	 * @param coeffs
+	 *            the coefficients of the literals, only the first
+	 *            literals.size() ones being used. The array can be reused since
+	 *            the solver is not supposed to keep a reference to that array.
+	 * @param degree
+	 *            the degree of the pseudo-boolean constraint
+	 * @return a reference to the constraint added in the solver, to use in
+	 *         removeConstr().
+	 * @throws ContradictionException
+	 *             iff the constraint is found trivially unsat.
+	 * @see #removeConstr(IConstr)
+	 * @since 2.3.6
+	 */
+	IConstr addAtMost(IVecInt literals, long[] coeffs, long degree)
+			throws ContradictionException;
+
+	/**
+	 * Create a pseudo-boolean constraint of the type "at least" whose
+	 * coefficients fit in a long.
+	 * 
+	 * @param literals
+	 *            a set of literals. The vector can be reused since the solver
+	 *            is not supposed to keep a reference to that vector.
+	 * @param coeffs
+	 *            the coefficients of the literals, only the first
+	 *            literals.size() ones being used. The array can be reused since
+	 *            the solver is not supposed to keep a reference to that array.
+	 * @param degree
+	 *            the degree of the pseudo-boolean constraint
+	 * @return a reference to the constraint added in the solver, to use in
+	 *         removeConstr().
+	 * @throws ContradictionException
+	 *             iff the constraint is found trivially unsat.
+	 * @see #removeConstr(IConstr)
+	 * @since 2.3.6
+	 */
+	IConstr addAtLeast(IVecInt literals, long[] coeffs, long degree)
+			throws ContradictionException;
+
+	/**
+	 * Create a pseudo-boolean constraint of the type "subset sum" whose
+	 * coefficients fit in a long.
+	 * 
+	 * @param literals
+	 *            a set of literals. The vector can be reused since the solver
+	 *            is not supposed to keep a reference to that vector.
+	 * @param coeffs
+	 *            the coefficients of the literals, only the first
+	 *            literals.size() ones being used. The array can be reused since
+	 *            the solver is not supposed to keep a reference to that array.
+	 * @param weight
+	 *            the number of literals that must be satisfied
+	 * @return a reference to the constraint added to the solver. It might
+	 *         return an object representing a group of constraints.
+	 * @throws ContradictionException
+	 *             iff the constraint is trivially unsatisfiable.
+	 * @since 2.3.6
+	 */
+	IConstr addExactly(IVecInt literals, long[] coeffs, long weight)
+			throws ContradictionException;
+
 	/**
 	 * Provide an objective function to the solver.
 	 * 
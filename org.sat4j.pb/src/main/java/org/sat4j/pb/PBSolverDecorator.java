@@ -98,4 +98,28 @@ public class PBSolverDecorator extends SolverDecorator<IPBSolver> implements
         return decorated().addExactly(literals, coeffs, weight);
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtMost(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return decorated().addAtMost(literals, coeffs, degree);
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtLeast(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return decorated().addAtLeast(literals, coeffs, degree);
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addExactly(IVecInt literals, long[] coeffs, long weight)
+            throws ContradictionException {
+        return decorated().addExactly(literals, coeffs, weight);
+    }
+
 }
@@ -32,6 +32,7 @@ package org.sat4j.pb;
 import java.math.BigInteger;
 import java.util.Map;
 
+import org.sat4j.pb.constraints.pb.Pseudos;
 import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.IConstr;
 import org.sat4j.specs.IVec;
@@ -364,4 +365,34 @@ public class UserFriendlyPBStringSolver<T> extends DimacsStringSolver implements
         return FAKE_CONSTR;
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtMost(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return addAtMost(literals,
+                Pseudos.toVecBigInt(coeffs, literals.size()),
+                BigInteger.valueOf(degree));
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtLeast(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return addAtLeast(literals,
+                Pseudos.toVecBigInt(coeffs, literals.size()),
+                BigInteger.valueOf(degree));
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addExactly(IVecInt literals, long[] coeffs, long weight)
+            throws ContradictionException {
+        return addExactly(literals,
+                Pseudos.toVecBigInt(coeffs, literals.size()),
+                BigInteger.valueOf(weight));
+    }
+
 }
@@ -121,6 +121,31 @@ public abstract class AbstractPBClauseCardConstrDataStructure extends
         return constructPB(literals, coefs, degree);
     }
 
+    /**
+     * Clauses and cardinality constraints are detected without translating
+     * the coefficients into BigIntegers.
+     */
+    @Override
+    protected Constr constraintFactory(int[] literals, long[] coefs,
+            long degree) throws ContradictionException {
+        if (literals.length == 0 && degree <= 0) {
+            return null;
+        }
+        if (degree == 1) {
+            IVecInt v = Clauses.sanityCheck(new VecInt(literals),
+                    getVocabulary(), this.solver);
+            if (v == null) {
+                return null;
+            }
+            return constructClause(v);
+        }
+        if (coefficientsEqualTo(1, coefs)) {
+            assert degree < Integer.MAX_VALUE;
+            return constructCard(new VecInt(literals), (int) degree);
+        }
+        return super.constraintFactory(literals, coefs, degree);
+    }
+
     /*
      * (non-Javadoc)
      * 
@@ -194,6 +219,15 @@ public abstract class AbstractPBClauseCardConstrDataStructure extends
         return learntConstraintFactory(literals, coefs, degree, false);
     }
 
+    static boolean coefficientsEqualTo(long value, long[] coefs) {
+        for (int i = 0; i < coefs.length; i++) {
+            if (coefs[i] != value) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     static boolean coefficientsEqualTo(BigInteger value, BigInteger[] coefs) {
         for (int i = 0; i < coefs.length; i++) {
             if (!coefs[i].equals(value)) {
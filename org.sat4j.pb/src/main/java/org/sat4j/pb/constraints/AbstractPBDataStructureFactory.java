@@ -182,6 +182,38 @@ public abstract class AbstractPBDataStructureFactory extends
         return constraintFactory(res.lits, res.coefs, res.degree);
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public Constr createPseudoBooleanConstraint(IVecInt literals,
+            long[] coefs, boolean moreThan, long degree)
+            throws ContradictionException {
+        int size = literals.size();
+        if (getNormalizer() != FOR_COMPETITION
+                || !Pseudos.isLongSufficient(coefs, size, degree)) {
+            return createPseudoBooleanConstraint(literals,
+                    Pseudos.toVecBigInt(coefs, size), moreThan,
+                    BigInteger.valueOf(degree));
+        }
+        int nonZero = 0;
+        for (int i = 0; i < size; i++) {
+            if (coefs[i] != 0) {
+                nonZero++;
+            }
+        }
+        int[] theLits = new int[nonZero];
+        long[] theCoefs = new long[nonZero];
+        for (int i = 0, j = 0; i < size; i++) {
+            if (coefs[i] != 0) {
+                theLits[j] = literals.get(i);
+                theCoefs[j++] = coefs[i];
+            }
+        }
+        long theDegree = Pseudos.niceParametersForCompetition(theLits,
+                theCoefs, moreThan, degree);
+        return constraintFactory(theLits, theCoefs, theDegree);
+    }
+
     public Constr createAtMostPBConstraint(IVecInt literals,
             IVec<BigInteger> coefs, BigInteger degree)
             throws ContradictionException {
@@ -213,6 +245,22 @@ public abstract class AbstractPBDataStructureFactory extends
             BigInteger[] coefs, BigInteger degree)
             throws ContradictionException;
 
+    /**
+     * Create a constraint from normalized parameters fitting in a long. By
+     * default, the coefficients are translated into BigIntegers.
+     * 
+     * @since 2.3.6
+     */
+    protected Constr constraintFactory(int[] literals, long[] coefs,
+            long degree) throws ContradictionException {
+        BigInteger[] bigCoefs = new BigInteger[coefs.length];
+        for (int i = 0; i < coefs.length; i++) {
+            bigCoefs[i] = BigInteger.valueOf(coefs[i]);
+        }
+        return constraintFactory(literals, bigCoefs,
+                BigInteger.valueOf(degree));
+    }
+
     protected abstract Constr learntConstraintFactory(IDataStructurePB dspb);
 
     protected abstract Constr learntAtLeastConstraintFactory(IVecInt literals,
@@ -53,6 +53,11 @@ public class ConflictMap extends MapPb implements IConflict {
      */
     protected BigInteger currentSlack;
 
+    /**
+     * the slack of the current resolvant, while its coefficients are longs.
+     */
+    private long longSlack;
+
     protected int currentLevel;
 
     /**
@@ -80,12 +85,38 @@ public class ConflictMap extends MapPb implements IConflict {
         return new ConflictMap(cpb, level, noRemove);
     }
 
+    /**
+     * constructs the data structure needed to perform cutting planes, reusing
+     * the map of a previous conflict.
+     * 
+     * @param cpb
+     *            pseudo-boolean constraint which rosed the conflict
+     * @param level
+     *            current decision level
+     * @param noRemove
+     *            true iff satisfied literals at a higher level must be kept
+     * @param weightedLits
+     *            the map to store the literals and coefficients of the
+     *            conflict. Its previous content is lost.
+     * @return a conflict on which cutting plane can be performed.
+     * @since 2.3.6
+     */
+    public static IConflict createConflict(PBConstr cpb, int level,
+            boolean noRemove, InternalMapPBStructure weightedLits) {
+        return new ConflictMap(cpb, level, noRemove, weightedLits);
+    }
+
     ConflictMap(PBConstr cpb, int level) {
         this(cpb, level, false);
     }
 
     ConflictMap(PBConstr cpb, int level, boolean noRemove) {
-        super(cpb, level, noRemove);
+        this(cpb, level, noRemove, new InternalMapPBStructure());
+    }
+
+    ConflictMap(PBConstr cpb, int level, boolean noRemove,
+            InternalMapPBStructure weightedLits) {
+        super(cpb, level, noRemove, weightedLits);
         this.voc = cpb.getVocabulary();
         this.currentLevel = level;
         initStructures();
@@ -97,17 +128,15 @@ public class ConflictMap extends MapPb implements IConflict {
 
     private void initStructures() {
         this.currentSlack = BigInteger.ZERO;
+        this.longSlack = 0;
         this.byLevel = new VecInt[levelToIndex(this.currentLevel) + 1];
         int ilit, litLevel, index;
-        BigInteger tmp;
         for (int i = 0; i < size(); i++) {
             ilit = this.weightedLits.getLit(i);
             litLevel = this.voc.getLevel(ilit);
             // eventually add to slack
-            tmp = this.weightedLits.getCoef(i);
-            if (tmp.signum() > 0
-                    && (!this.voc.isFalsified(ilit) || litLevel == this.currentLevel)) {
-                this.currentSlack = this.currentSlack.add(tmp);
+            if (!this.voc.isFalsified(ilit) || litLevel == this.currentLevel) {
+                addToSlack(ilit);
             }
             // add to byLevel structure
             index = levelToIndex(litLevel);
@@ -118,6 +147,35 @@ public class ConflictMap extends MapPb implements IConflict {
         }
     }
 
+    /**
+     * adds the coefficient of a literal to the slack, switching to
+     * BigIntegers if the slack does not fit in a long anymore.
+     */
+    private void addToSlack(int lit) {
+        if (this.weightedLits.hasLongCoefs()) {
+            long coef = this.weightedLits.getLong(lit);
+            assert coef >= 0;
+            if (this.longSlack <= Long.MAX_VALUE - coef) {
+                this.longSlack += coef;
+                return;
+            }
+            switchToBigIntegers();
+        }
+        this.currentSlack = this.currentSlack.add(this.weightedLits.get(lit));
+    }
+
+    @Override
+    void switchToBigIntegers() {
+        this.currentSlack = BigInteger.valueOf(this.longSlack);
+        super.switchToBigIntegers();
+    }
+
+    @Override
+    boolean canMultiplyLongs(long mult) {
+        return this.longSlack <= Long.MAX_VALUE / mult
+                && super.canMultiplyLongs(mult);
+    }
+
     /**
      * convert level into an index in the byLevel structure
      * 
@@ -297,11 +355,7 @@ public class ConflictMap extends MapPb implements IConflict {
 
             // coefficients of the conflict must be multiplied by coefMult
             if (!this.coefMult.equals(BigInteger.ONE)) {
-                for (int i = 0; i < size(); i++) {
-                    changeCoef(i,
-                            this.weightedLits.getCoef(i)
-                                    .multiply(this.coefMult));
-                }
+                multiplyCoefs(this.coefMult);
             }
 
         }
@@ -470,6 +524,18 @@ public class ConflictMap extends MapPb implements IConflict {
         assert dl <= this.currentLevel;
 
         this.currentLevel = dl;
+        if (this.weightedLits.hasLongCoefs()) {
+            if (!InternalMapPBStructure.fitsInLong(this.degree)) {
+                // the slack is negative
+                return false;
+            }
+            assert this.degree.signum() > 0;
+            long slack = this.longSlack - this.degree.longValue();
+            if (slack < 0) {
+                return false;
+            }
+            return isImplyingLiteral(slack);
+        }
         BigInteger slack = this.currentSlack.subtract(this.degree);
         if (slack.signum() < 0) {
             return false;
@@ -477,6 +543,38 @@ public class ConflictMap extends MapPb implements IConflict {
         return isImplyingLiteral(slack);
     }
 
+    // long counterpart of isImplyingLiteral(BigInteger)
+    private boolean isImplyingLiteral(long slack) {
+        // unassigned literals are tried first
+        int unassigned = levelToIndex(-1);
+        int lit;
+        if (this.byLevel[unassigned] != null) {
+            for (IteratorInt iterator = this.byLevel[unassigned].iterator(); iterator
+                    .hasNext();) {
+                lit = iterator.next();
+                if (slack < this.weightedLits.getLong(lit)) {
+                    this.assertiveLiteral = this.weightedLits
+                            .getFromAllLits(lit);
+                    return true;
+                }
+            }
+        }
+        // then we have to look at every literal at a decision level >=dl
+        int level = levelToIndex(this.currentLevel);
+        if (this.byLevel[level] != null) {
+            for (IteratorInt iterator = this.byLevel[level].iterator(); iterator
+                    .hasNext();) {
+                lit = iterator.next();
+                if (slack < this.weightedLits.getLong(lit)) {
+                    this.assertiveLiteral = this.weightedLits
+                            .getFromAllLits(lit);
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
     // given the slack already computed, tests if a literal could be implied at
     // a particular level
     // uses the byLevel data structure to parse each literal by decision level
@@ -732,8 +830,7 @@ public class ConflictMap extends MapPb implements IConflict {
                     .hasNext();) {
                 lit = iterator.next();
                 if (this.voc.isFalsified(lit)) {
-                    this.currentSlack = this.currentSlack.add(this.weightedLits
-                            .get(lit));
+                    addToSlack(lit);
                 }
             }
         }
@@ -741,6 +838,7 @@ public class ConflictMap extends MapPb implements IConflict {
 
     @Override
     void increaseCoef(int lit, BigInteger incCoef) {
+        assert !this.weightedLits.hasLongCoefs();
         if (!this.voc.isFalsified(lit)
                 || this.voc.getLevel(lit) == this.currentLevel) {
             this.currentSlack = this.currentSlack.add(incCoef);
@@ -751,6 +849,7 @@ public class ConflictMap extends MapPb implements IConflict {
 
     @Override
     void decreaseCoef(int lit, BigInteger decCoef) {
+        assert !this.weightedLits.hasLongCoefs();
         if (!this.voc.isFalsified(lit)
                 || this.voc.getLevel(lit) == this.currentLevel) {
             this.currentSlack = this.currentSlack.subtract(decCoef);
@@ -761,6 +860,7 @@ public class ConflictMap extends MapPb implements IConflict {
 
     @Override
     void setCoef(int lit, BigInteger newValue) {
+        assert !this.weightedLits.hasLongCoefs();
         int litLevel = this.voc.getLevel(lit);
         if (!this.voc.isFalsified(lit) || litLevel == this.currentLevel) {
             if (this.weightedLits.containsKey(lit)) {
@@ -784,6 +884,7 @@ public class ConflictMap extends MapPb implements IConflict {
 
     @Override
     void changeCoef(int indLit, BigInteger newValue) {
+        assert !this.weightedLits.hasLongCoefs();
         int lit = this.weightedLits.getLit(indLit);
         int litLevel = this.voc.getLevel(lit);
         if (!this.voc.isFalsified(lit) || litLevel == this.currentLevel) {
@@ -800,12 +901,71 @@ public class ConflictMap extends MapPb implements IConflict {
         super.changeCoef(indLit, newValue);
     }
 
+    @Override
+    void increaseCoef(int lit, long incCoef) {
+        long slack = this.longSlack;
+        if (!this.voc.isFalsified(lit)
+                || this.voc.getLevel(lit) == this.currentLevel) {
+            slack = Math.addExact(slack, incCoef);
+        }
+        assert this.byLevel[levelToIndex(this.voc.getLevel(lit))].contains(lit);
+        super.increaseCoef(lit, incCoef);
+        this.longSlack = slack;
+    }
+
+    @Override
+    void decreaseCoef(int lit, long decCoef) {
+        if (!this.voc.isFalsified(lit)
+                || this.voc.getLevel(lit) == this.currentLevel) {
+            this.longSlack -= decCoef;
+        }
+        assert this.byLevel[levelToIndex(this.voc.getLevel(lit))].contains(lit);
+        super.decreaseCoef(lit, decCoef);
+    }
+
+    @Override
+    void setCoef(int lit, long newValue) {
+        int litLevel = this.voc.getLevel(lit);
+        if (!this.voc.isFalsified(lit) || litLevel == this.currentLevel) {
+            long slack = this.longSlack;
+            if (this.weightedLits.containsKey(lit)) {
+                slack -= this.weightedLits.getLong(lit);
+            }
+            this.longSlack = Math.addExact(slack, newValue);
+        }
+        int indLitLevel = levelToIndex(litLevel);
+        if (!this.weightedLits.containsKey(lit)) {
+            if (this.byLevel[indLitLevel] == null) {
+                this.byLevel[indLitLevel] = new VecInt();
+            }
+            this.byLevel[indLitLevel].push(lit);
+        }
+        assert this.byLevel[indLitLevel].contains(lit);
+        super.setCoef(lit, newValue);
+    }
+
+    @Override
+    void changeCoef(int indLit, long newValue) {
+        int lit = this.weightedLits.getLit(indLit);
+        int litLevel = this.voc.getLevel(lit);
+        if (!this.voc.isFalsified(lit) || litLevel == this.currentLevel) {
+            this.longSlack = Math.addExact(this.longSlack
+                    - this.weightedLits.getLongCoef(indLit), newValue);
+        }
+        assert this.byLevel[levelToIndex(litLevel)].contains(lit);
+        super.changeCoef(indLit, newValue);
+    }
+
     @Override
     void removeCoef(int lit) {
         int litLevel = this.voc.getLevel(lit);
         if (!this.voc.isFalsified(lit) || litLevel == this.currentLevel) {
-            this.currentSlack = this.currentSlack.subtract(this.weightedLits
-                    .get(lit));
+            if (this.weightedLits.hasLongCoefs()) {
+                this.longSlack -= this.weightedLits.getLong(lit);
+            } else {
+                this.currentSlack = this.currentSlack
+                        .subtract(this.weightedLits.get(lit));
+            }
         }
         int indLitLevel = levelToIndex(litLevel);
         assert indLitLevel < this.byLevel.length;
@@ -825,6 +985,9 @@ public class ConflictMap extends MapPb implements IConflict {
     }
 
     public boolean slackIsCorrect(int dl) {
+        if (this.weightedLits.hasLongCoefs()) {
+            return BigInteger.valueOf(this.longSlack).equals(computeSlack(dl));
+        }
         return this.currentSlack.equals(computeSlack(dl));
     }
 
@@ -37,10 +37,26 @@ public final class ConflictMapClause extends ConflictMap {
         super(cpb, level);
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public ConflictMapClause(PBConstr cpb, int level,
+            InternalMapPBStructure weightedLits) {
+        super(cpb, level, false, weightedLits);
+    }
+
     public static IConflict createConflict(PBConstr cpb, int level) {
         return new ConflictMapClause(cpb, level);
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public static IConflict createConflict(PBConstr cpb, int level,
+            InternalMapPBStructure weightedLits) {
+        return new ConflictMapClause(cpb, level, weightedLits);
+    }
+
     /**
      * reduces the constraint defined by wpb until the result of the cutting
      * plane is a conflict. this reduction returns a clause.
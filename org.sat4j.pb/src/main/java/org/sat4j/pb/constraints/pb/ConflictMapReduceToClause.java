@@ -43,10 +43,26 @@ public final class ConflictMapReduceToClause extends ConflictMap {
         // TODO Auto-generated constructor stub
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public ConflictMapReduceToClause(PBConstr cpb, int level,
+            InternalMapPBStructure weightedLits) {
+        super(cpb, level, false, weightedLits);
+    }
+
     public static IConflict createConflict(PBConstr cpb, int level) {
         return new ConflictMapReduceToClause(cpb, level);
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public static IConflict createConflict(PBConstr cpb, int level,
+            InternalMapPBStructure weightedLits) {
+        return new ConflictMapReduceToClause(cpb, level, weightedLits);
+    }
+
     public static final BigInteger MAXVALUE = BigInteger
             .valueOf(Long.MAX_VALUE);
 
@@ -39,10 +39,26 @@ public final class ConflictMapSwitchToClause extends ConflictMap {
         super(cpb, level);
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public ConflictMapSwitchToClause(PBConstr cpb, int level,
+            InternalMapPBStructure weightedLits) {
+        super(cpb, level, false, weightedLits);
+    }
+
     public static IConflict createConflict(PBConstr cpb, int level) {
         return new ConflictMapSwitchToClause(cpb, level);
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public static IConflict createConflict(PBConstr cpb, int level,
+            InternalMapPBStructure weightedLits) {
+        return new ConflictMapSwitchToClause(cpb, level, weightedLits);
+    }
+
     /**
      * reduces the constraint defined by wpb until the result of the cutting
      * plane is a conflict. this reduction returns either a clause if .
@@ -30,6 +30,7 @@
 package org.sat4j.pb.constraints.pb;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 
 import org.sat4j.core.Vec;
 import org.sat4j.core.VecInt;
@@ -43,9 +44,26 @@ import org.sat4j.specs.IVecInt;
  */
 public class InternalMapPBStructure {
 
+    private static final int INITIAL_CAPACITY = 16;
+
     private final IVecInt lits;
+
+    /**
+     * coefficients of the literals, once they do not fit in longs.
+     */
     private final IVec<BigInteger> coefs;
-    private IVecInt allLits;
+
+    /**
+     * coefficients of the literals, as long as all of them fit in longs.
+     */
+    private long[] longCoefs;
+
+    private boolean bigCoefs;
+
+    /**
+     * index of each literal in lits, or -1 if the literal is not in the map.
+     */
+    private int[] allLits;
     protected BigInteger degree;
 
     // temporarily : just for the case where an InternalMapPBStructure
@@ -53,22 +71,54 @@ public class InternalMapPBStructure {
     InternalMapPBStructure(IVecInt lits, IVec<BigInteger> coefs) {
         this.lits = lits;
         this.coefs = coefs;
+        this.bigCoefs = true;
     }
 
     InternalMapPBStructure(int size) {
         assert size > 0;
-        this.allLits = new VecInt(size, -1);
+        this.allLits = new int[size];
+        Arrays.fill(this.allLits, -1);
         this.coefs = new Vec<BigInteger>();
+        this.longCoefs = new long[INITIAL_CAPACITY];
+        this.lits = new VecInt();
+    }
+
+    /**
+     * Creates an empty map, meant to be reused from one conflict to the next
+     * (see {@link ConflictMap#createConflict(PBConstr, int, boolean,
+     * InternalMapPBStructure)}). Only the entries of the literals of the
+     * previous conflict are reset when a new conflict is loaded, so reusing a
+     * map costs nothing proportional to the number of variables.
+     * 
+     * @since 2.3.6
+     */
+    public InternalMapPBStructure() {
+        this.allLits = new int[0];
+        this.coefs = new Vec<BigInteger>();
+        this.longCoefs = new long[INITIAL_CAPACITY];
         this.lits = new VecInt();
     }
 
     InternalMapPBStructure(PBConstr cpb, int level, boolean noRemove) {
+        this();
+        load(cpb, level, noRemove);
+    }
+
+    /**
+     * replaces the content of the map by the literals of a constraint.
+     * 
+     * @param cpb
+     *            the constraint
+     * @param level
+     *            current decision level
+     * @param noRemove
+     *            true iff the satisfied literals below level must be kept
+     */
+    void load(PBConstr cpb, int level, boolean noRemove) {
         ILits voc = cpb.getVocabulary();
-        this.allLits = new VecInt(cpb.getVocabulary().nVars() * 2 + 2, -1);
-        this.coefs = new Vec<BigInteger>(cpb.size());
-        this.lits = new VecInt(cpb.size());
+        clear(voc.nVars() * 2 + 2);
+        this.lits.ensure(cpb.size());
         int lit;
-        int ind = 0;
         BigInteger degree = cpb.getDegree();
         BigInteger coef;
         boolean clause = degree.equals(BigInteger.ONE);
@@ -76,34 +126,83 @@ public class InternalMapPBStructure {
             assert cpb.get(i) != 0;
             assert cpb.getCoef(i).signum() > 0;
             lit = cpb.get(i);
+            coef = cpb.getCoef(i);
             if (noRemove || clause
                     || !(voc.isSatisfied(lit) && voc.getLevel(lit) < level)) {
                 // the literal is kept
-                this.lits.push(lit);
-                assert ind + 1 == this.lits.size();
-                this.allLits.set(lit, ind);
-                this.coefs.push(cpb.getCoef(i));
-                ind = ind + 1;
+                if (!this.bigCoefs && !fitsInLong(coef)) {
+                    switchToBigIntegers();
+                }
+                add(lit, coef);
             } else {
                 // the literal is forgotten
-                coef = cpb.getCoef(i);
                 degree = degree.subtract(coef);
             }
         }
         this.degree = degree;
     }
 
+    /**
+     * empties the map, making sure that literals up to size can be stored.
+     */
+    private void clear(int size) {
+        for (int i = 0; i < this.lits.size(); i++) {
+            assert this.allLits[this.lits.get(i)] == i;
+            this.allLits[this.lits.get(i)] = -1;
+        }
+        this.lits.clear();
+        this.coefs.clear();
+        this.bigCoefs = false;
+        if (this.allLits.length < size) {
+            int[] newAllLits = new int[size];
+            System.arraycopy(this.allLits, 0, newAllLits, 0,
+                    this.allLits.length);
+            Arrays.fill(newAllLits, this.allLits.length, size, -1);
+            this.allLits = newAllLits;
+        }
+    }
+
+    static boolean fitsInLong(BigInteger value) {
+        return value.bitLength() < Long.SIZE;
+    }
+
+    /**
+     * @return true iff the coefficients are stored as longs.
+     * @since 2.3.6
+     */
+    boolean hasLongCoefs() {
+        return !this.bigCoefs;
+    }
+
+    /**
+     * stores the coefficients as BigIntegers from now on, until the next
+     * conflict is loaded.
+     */
+    void switchToBigIntegers() {
+        assert !this.bigCoefs;
+        this.coefs.ensure(this.lits.size());
+        for (int i = 0; i < this.lits.size(); i++) {
+            this.coefs.push(BigInteger.valueOf(this.longCoefs[i]));
+        }
+        this.bigCoefs = true;
+    }
+
     public BigInteger getComputedDegree() {
         return this.degree;
     }
 
     BigInteger get(int lit) {
-        assert this.allLits.get(lit) != -1;
-        return this.coefs.get(this.allLits.get(lit));
+        assert this.allLits[lit] != -1;
+        return getCoef(this.allLits[lit]);
+    }
+
+    long getLong(int lit) {
+        assert this.allLits[lit] != -1;
+        return getLongCoef(this.allLits[lit]);
     }
 
     int getFromAllLits(int lit) {
-        return this.allLits.get(lit);
+        return this.allLits[lit];
     }
 
     int getLit(int indLit) {
@@ -112,51 +211,131 @@ public class InternalMapPBStructure {
     }
 
     BigInteger getCoef(int indLit) {
-        assert indLit < this.coefs.size();
-        return this.coefs.get(indLit);
+        assert indLit < this.lits.size();
+        if (this.bigCoefs) {
+            return this.coefs.get(indLit);
+        }
+        return BigInteger.valueOf(this.longCoefs[indLit]);
+    }
+
+    long getLongCoef(int indLit) {
+        assert !this.bigCoefs;
+        assert indLit < this.lits.size();
+        return this.longCoefs[indLit];
     }
 
     boolean containsKey(int lit) {
-        return this.allLits.get(lit) != -1;
+        return this.allLits[lit] != -1;
     }
 
     int size() {
         return this.lits.size();
     }
 
+    /**
+     * sets the coefficient of a literal. The coefficients are stored as
+     * BigIntegers from now on if it does not fit in a long.
+     */
     void put(int lit, BigInteger newValue) {
-        int indLit = this.allLits.get(lit);
+        if (!this.bigCoefs) {
+            if (fitsInLong(newValue)) {
+                put(lit, newValue.longValue());
+                return;
+            }
+            switchToBigIntegers();
+        }
+        int indLit = this.allLits[lit];
         if (indLit != -1) {
             this.coefs.set(indLit, newValue);
         } else {
+            add(lit, newValue);
+        }
+    }
+
+    void put(int lit, long newValue) {
+        assert !this.bigCoefs;
+        int indLit = this.allLits[lit];
+        if (indLit != -1) {
+            this.longCoefs[indLit] = newValue;
+        } else {
+            this.allLits[lit] = this.lits.size();
             this.lits.push(lit);
-            this.coefs.push(newValue);
-            this.allLits.set(lit, this.lits.size() - 1);
+            pushLong(newValue);
+        }
+    }
+
+    private void add(int lit, BigInteger coef) {
+        assert this.allLits[lit] == -1;
+        this.allLits[lit] = this.lits.size();
+        this.lits.push(lit);
+        if (this.bigCoefs) {
+            this.coefs.push(coef);
+        } else {
+            pushLong(coef.longValue());
+        }
+    }
+
+    private void pushLong(long coef) {
+        int ind = this.lits.size() - 1;
+        if (ind == this.longCoefs.length) {
+            long[] newLongCoefs = new long[ind * 2];
+            System.arraycopy(this.longCoefs, 0, newLongCoefs, 0, ind);
+            this.longCoefs = newLongCoefs;
         }
+        this.longCoefs[ind] = coef;
     }
 
     void changeCoef(int indLit, BigInteger newValue) {
-        assert indLit <= this.coefs.size();
+        assert indLit < this.lits.size();
+        if (!this.bigCoefs) {
+            if (fitsInLong(newValue)) {
+                this.longCoefs[indLit] = newValue.longValue();
+                return;
+            }
+            switchToBigIntegers();
+        }
         this.coefs.set(indLit, newValue);
     }
 
+    void changeCoef(int indLit, long newValue) {
+        assert !this.bigCoefs;
+        assert indLit < this.lits.size();
+        this.longCoefs[indLit] = newValue;
+    }
+
     void remove(int lit) {
-        int indLit = this.allLits.get(lit);
+        int indLit = this.allLits[lit];
         if (indLit != -1) {
             int tmp = this.lits.last();
-            this.coefs.delete(indLit);
+            if (this.bigCoefs) {
+                this.coefs.delete(indLit);
+            } else {
+                this.longCoefs[indLit] = this.longCoefs[this.lits.size() - 1];
+            }
             this.lits.delete(indLit);
-            this.allLits.set(tmp, indLit);
-            this.allLits.set(lit, -1);
+            this.allLits[tmp] = indLit;
+            this.allLits[lit] = -1;
         }
     }
 
     void copyCoefs(IVec<BigInteger> dest) {
-        this.coefs.copyTo(dest);
+        if (this.bigCoefs) {
+            this.coefs.copyTo(dest);
+        } else {
+            for (int i = 0; i < this.lits.size(); i++) {
+                dest.push(BigInteger.valueOf(this.longCoefs[i]));
+            }
+        }
     }
 
     void copyCoefs(BigInteger[] dest) {
-        this.coefs.copyTo(dest);
+        if (this.bigCoefs) {
+            this.coefs.copyTo(dest);
+        } else {
+            for (int i = 0; i < this.lits.size(); i++) {
+                dest[i] = BigInteger.valueOf(this.longCoefs[i]);
+            }
+        }
     }
 
     void copyLits(IVecInt dest) {
@@ -45,7 +45,9 @@ public class MapPb implements IDataStructurePB {
     /*
      * During the process of cutting planes, pseudo-boolean constraints are
      * coded with a HashMap <literal, coefficient> and a BigInteger for the
-     * degree.
+     * degree. The coefficients are handled as longs until one of them, or a
+     * sum computed from them, does not fit in a long: the map then switches
+     * to BigIntegers for the rest of the conflict.
      */
     protected InternalMapPBStructure weightedLits;
 
@@ -58,7 +60,13 @@ public class MapPb implements IDataStructurePB {
     private BigInteger cardDegree;
 
     MapPb(PBConstr cpb, int level, boolean noRemove) {
-        this.weightedLits = new InternalMapPBStructure(cpb, level, noRemove);
+        this(cpb, level, noRemove, new InternalMapPBStructure());
+    }
+
+    MapPb(PBConstr cpb, int level, boolean noRemove,
+            InternalMapPBStructure weightedLits) {
+        weightedLits.load(cpb, level, noRemove);
+        this.weightedLits = weightedLits;
         this.degree = this.weightedLits.getComputedDegree();
     }
 
@@ -115,6 +123,12 @@ public class MapPb implements IDataStructurePB {
 
     public BigInteger saturation() {
         assert this.degree.signum() > 0;
+        if (this.weightedLits.hasLongCoefs()) {
+            if (InternalMapPBStructure.fitsInLong(this.degree)) {
+                return longSaturation();
+            }
+            switchToBigIntegers();
+        }
         BigInteger minimum = this.degree;
         for (int ind = 0; ind < size(); ind++) {
             assert this.weightedLits.getCoef(ind).signum() >= 0;
@@ -137,6 +151,31 @@ public class MapPb implements IDataStructurePB {
         return this.degree;
     }
 
+    private BigInteger longSaturation() {
+        final long degree = this.degree.longValue();
+        long minimum = degree;
+        long coef;
+        for (int ind = 0; ind < size(); ind++) {
+            coef = this.weightedLits.getLongCoef(ind);
+            assert coef >= 0;
+            if (degree < coef) {
+                changeCoef(ind, degree);
+                coef = degree;
+            }
+            if (coef > 0) {
+                minimum = Math.min(minimum, coef);
+            }
+        }
+        // a clause has been learned
+        if (minimum == degree && minimum > 1) {
+            this.degree = BigInteger.ONE;
+            for (int ind = 0; ind < size(); ind++) {
+                changeCoef(ind, 1L);
+            }
+        }
+        return this.degree;
+    }
+
     public BigInteger cuttingPlane(PBConstr cpb, BigInteger deg,
             BigInteger[] reducedCoefs, VarActivityListener val) {
         return cuttingPlane(cpb, deg, reducedCoefs, BigInteger.ONE, val);
@@ -151,14 +190,12 @@ public class MapPb implements IDataStructurePB {
         if (reducedCoefs == null) {
             for (int i = 0; i < cpb.size(); i++) {
                 val.varBumpActivity(cpb.get(i));
-                cuttingPlaneStep(cpb.get(i),
-                        multiplyCoefficient(cpb.getCoef(i), coefMult));
+                cuttingPlaneStep(cpb.get(i), cpb.getCoef(i), coefMult);
             }
         } else {
             for (int i = 0; i < cpb.size(); i++) {
                 val.varBumpActivity(cpb.get(i));
-                cuttingPlaneStep(cpb.get(i),
-                        multiplyCoefficient(reducedCoefs[i], coefMult));
+                cuttingPlaneStep(cpb.get(i), reducedCoefs[i], coefMult);
             }
         }
 
@@ -176,12 +213,124 @@ public class MapPb implements IDataStructurePB {
         assert this.degree.signum() > 0;
 
         for (int i = 0; i < lits.length; i++) {
-            cuttingPlaneStep(lits[i], reducedCoefs[i].multiply(coefMult));
+            cuttingPlaneStep(lits[i], reducedCoefs[i], coefMult);
         }
 
         return this.degree;
     }
 
+    /**
+     * adds coef * coefMult * lit to the current constraint, using longs as
+     * long as possible.
+     */
+    private void cuttingPlaneStep(final int lit, final BigInteger coef,
+            final BigInteger coefMult) {
+        if (this.weightedLits.hasLongCoefs()) {
+            if (InternalMapPBStructure.fitsInLong(coef)
+                    && InternalMapPBStructure.fitsInLong(coefMult)) {
+                try {
+                    cuttingPlaneStep(lit, Math.multiplyExact(
+                            coef.longValue(), coefMult.longValue()));
+                    return;
+                } catch (ArithmeticException e) {
+                    // nothing has been changed yet
+                }
+            }
+            switchToBigIntegers();
+        }
+        cuttingPlaneStep(lit, multiplyCoefficient(coef, coefMult));
+    }
+
+    /**
+     * long counterpart of {@link #cuttingPlaneStep(int, BigInteger)}.
+     * 
+     * @throws ArithmeticException
+     *             if a coefficient overflows, in which case the constraint
+     *             is left unchanged.
+     */
+    private void cuttingPlaneStep(final int lit, final long coef) {
+        assert coef >= 0;
+        int nlit = lit ^ 1;
+        if (coef > 0) {
+            if (this.weightedLits.containsKey(nlit)) {
+                assert !this.weightedLits.containsKey(lit);
+                long tmp = this.weightedLits.getLong(nlit);
+                if (tmp < coef) {
+                    setCoef(lit, coef - tmp);
+                    assert this.weightedLits.getLong(lit) > 0;
+                    this.degree = this.degree.subtract(BigInteger.valueOf(tmp));
+                    removeCoef(nlit);
+                } else {
+                    if (tmp == coef) {
+                        this.degree = this.degree.subtract(BigInteger
+                                .valueOf(coef));
+                        removeCoef(nlit);
+                    } else {
+                        decreaseCoef(nlit, coef);
+                        assert this.weightedLits.getLong(nlit) > 0;
+                        this.degree = this.degree.subtract(BigInteger
+                                .valueOf(coef));
+                    }
+                }
+            } else {
+                assert !this.weightedLits.containsKey(lit)
+                        || this.weightedLits.getLong(lit) > 0;
+                if (this.weightedLits.containsKey(lit)) {
+                    increaseCoef(lit, coef);
+                } else {
+                    setCoef(lit, coef);
+                }
+                assert this.weightedLits.getLong(lit) > 0;
+            }
+        }
+        assert !this.weightedLits.containsKey(nlit)
+                || !this.weightedLits.containsKey(lit);
+    }
+
+    /**
+     * multiplies all the coefficients of the constraint (but not its degree).
+     * 
+     * @param coefMult
+     *            a positive coefficient
+     */
+    void multiplyCoefs(BigInteger coefMult) {
+        if (this.weightedLits.hasLongCoefs()) {
+            if (InternalMapPBStructure.fitsInLong(coefMult)
+                    && canMultiplyLongs(coefMult.longValue())) {
+                long mult = coefMult.longValue();
+                for (int i = 0; i < size(); i++) {
+                    changeCoef(i, this.weightedLits.getLongCoef(i) * mult);
+                }
+                return;
+            }
+            switchToBigIntegers();
+        }
+        for (int i = 0; i < size(); i++) {
+            changeCoef(i, this.weightedLits.getCoef(i).multiply(coefMult));
+        }
+    }
+
+    /**
+     * @param mult
+     *            a positive coefficient
+     * @return true iff the coefficients still fit in longs once multiplied by
+     *         mult.
+     */
+    boolean canMultiplyLongs(long mult) {
+        long max = 0;
+        for (int i = 0; i < size(); i++) {
+            max = Math.max(max, this.weightedLits.getLongCoef(i));
+        }
+        return max <= Long.MAX_VALUE / mult;
+    }
+
+    /**
+     * handles the coefficients as BigIntegers until the end of the conflict.
+     */
+    void switchToBigIntegers() {
+        this.weightedLits.switchToBigIntegers();
+    }
+
     private void cuttingPlaneStep(final int lit, final BigInteger coef) {
         assert coef.signum() >= 0;
         int nlit = lit ^ 1;
@@ -289,6 +438,28 @@ public class MapPb implements IDataStructurePB {
         this.weightedLits.remove(lit);
     }
 
+    /**
+     * @throws ArithmeticException
+     *             if the coefficient overflows, in which case the constraint
+     *             is left unchanged.
+     */
+    void increaseCoef(int lit, long incCoef) {
+        this.weightedLits.put(lit,
+                Math.addExact(this.weightedLits.getLong(lit), incCoef));
+    }
+
+    void decreaseCoef(int lit, long decCoef) {
+        this.weightedLits.put(lit, this.weightedLits.getLong(lit) - decCoef);
+    }
+
+    void setCoef(int lit, long newValue) {
+        this.weightedLits.put(lit, newValue);
+    }
+
+    void changeCoef(int indLit, long newValue) {
+        this.weightedLits.changeCoef(indLit, newValue);
+    }
+
     public BigInteger getCardDegree() {
         return this.cardDegree;
     }
@@ -145,6 +145,88 @@ public abstract class Pseudos {
         return bigVec;
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public static IVec<BigInteger> toVecBigInt(long[] values, int size) {
+        IVec<BigInteger> bigVec = new Vec<BigInteger>(size);
+        for (int i = 0; i < size; ++i) {
+            bigVec.push(BigInteger.valueOf(values[i]));
+        }
+        return bigVec;
+    }
+
+    /**
+     * Check that the normalization of a constraint given with long
+     * coefficients cannot overflow, i.e. that the sum of the absolute values
+     * of its coefficients and of its degree fits in a long.
+     * 
+     * @since 2.3.6
+     */
+    public static boolean isLongSufficient(long[] coefs, int size,
+            long degree) {
+        if (degree == Long.MIN_VALUE) {
+            return false;
+        }
+        long sum = Math.abs(degree);
+        for (int i = 0; i < size; i++) {
+            long c = coefs[i];
+            if (c == Long.MIN_VALUE) {
+                return false;
+            }
+            sum += Math.abs(c);
+            if (sum < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Same as
+     * {@link #niceParametersForCompetition(int[], BigInteger[], boolean, BigInteger)}
+     * using long arithmetic. The caller is responsible for checking that the
+     * computation cannot overflow (see
+     * {@link #isLongSufficient(long[], int, long)}).
+     * 
+     * @since 2.3.6
+     */
+    public static long niceParametersForCompetition(int[] ps, long[] coefs,
+            boolean moreThan, long deg) throws ContradictionException {
+        if (ps.length == 0) {
+            if (moreThan && deg > 0 || !moreThan && deg < 0) {
+                throw new ContradictionException("Creating Empty clause ?");
+            }
+            // ignoring tautological constraint
+            return deg;
+        }
+        if (ps.length != coefs.length) {
+            throw new IllegalArgumentException(
+                    "Contradiction dans la taille des tableaux ps=" + ps.length
+                            + " coefs=" + coefs.length + ".");
+        }
+        long degree = deg;
+        if (!moreThan) {
+            for (int i = 0; i < ps.length; i++) {
+                coefs[i] = -coefs[i];
+            }
+            degree = -degree;
+        }
+        for (int i = 0; i < coefs.length; i++) {
+            if (coefs[i] < 0) {
+                ps[i] = ps[i] ^ 1;
+                coefs[i] = -coefs[i];
+                degree += coefs[i];
+            }
+        }
+        for (int i = 0; i < coefs.length; i++) {
+            if (coefs[i] > degree) {
+                coefs[i] = degree;
+            }
+        }
+        return degree;
+    }
+
     public static BigInteger toBigInt(int i) {
         return BigInteger.valueOf(i);
     }
@@ -10,6 +10,7 @@ import org.sat4j.pb.IIntegerPBSolver;
 import org.sat4j.pb.IPBSolver;
 import org.sat4j.pb.ObjectiveFunction;
 import org.sat4j.pb.PBSolverDecorator;
+import org.sat4j.pb.constraints.pb.Pseudos;
 import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.IConstr;
 import org.sat4j.specs.IVec;
@@ -101,6 +102,30 @@ public class IntegerPBSolverDecorator extends PBSolverDecorator implements
         return decorated.addExactly(literals, coeffs, weight);
     }
 
+    @Override
+    public IConstr addAtMost(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return addAtMost(literals,
+                Pseudos.toVecBigInt(coeffs, literals.size()),
+                BigInteger.valueOf(degree));
+    }
+
+    @Override
+    public IConstr addAtLeast(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return addAtLeast(literals,
+                Pseudos.toVecBigInt(coeffs, literals.size()),
+                BigInteger.valueOf(degree));
+    }
+
+    @Override
+    public IConstr addExactly(IVecInt literals, long[] coeffs, long weight)
+            throws ContradictionException {
+        return addExactly(literals,
+                Pseudos.toVecBigInt(coeffs, literals.size()),
+                BigInteger.valueOf(weight));
+    }
+
     public IConstr addExactly(IVecInt literals, IVecInt coeffs,
             IVec<IntegerVariable> integerVars,
             IVec<BigInteger> integerVarsCoeffs, int weight)
@@ -202,6 +202,11 @@ public class ObjectiveReducerPBSolverDecorator implements IPBSolver {
         }
     }
 
+    public void addClauses(int[] flatLits, int[] offsets)
+            throws ContradictionException {
+        decorated.addClauses(flatLits, offsets);
+    }
+
     public IConstr addExactly(IVecInt literals, IVecInt coeffs, int weight)
             throws ContradictionException {
         return decorated.addExactly(literals, coeffs, weight);
@@ -229,6 +234,30 @@ public class ObjectiveReducerPBSolverDecorator implements IPBSolver {
         return decorated.addExactly(literals, coeffs, weight);
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtMost(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return decorated.addAtMost(literals, coeffs, degree);
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtLeast(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return decorated.addAtLeast(literals, coeffs, degree);
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addExactly(IVecInt literals, long[] coeffs, long weight)
+            throws ContradictionException {
+        return decorated.addExactly(literals, coeffs, weight);
+    }
+
     public void printInfos(PrintWriter out) {
         decorated.printInfos(out);
     }
@@ -323,6 +352,10 @@ public class ObjectiveReducerPBSolverDecorator implements IPBSolver {
         decorated.setTimeoutOnConflicts(count);
     }
 
+    public void setTimeoutOnWork(long ticks) {
+        decorated.setTimeoutOnWork(ticks);
+    }
+
     public void setTimeoutMs(long t) {
         decorated.setTimeoutMs(t);
     }
@@ -422,6 +455,14 @@ public class ObjectiveReducerPBSolverDecorator implements IPBSolver {
         decorated.setKeepSolverHot(keepHot);
     }
 
+    public boolean isAssumptionPrefixKept() {
+        return decorated.isAssumptionPrefixKept();
+    }
+
+    public void setKeepAssumptionPrefix(boolean keepPrefix) {
+        decorated.setKeepAssumptionPrefix(keepPrefix);
+    }
+
     public ISolver getSolvingEngine() {
         return decorated.getSolvingEngine();
     }
@@ -44,6 +44,19 @@ public interface PBDataStructureFactory extends DataStructureFactory {
             IVec<BigInteger> coefs, boolean moreThan, BigInteger degree)
             throws ContradictionException;
 
+    /**
+     * Create a pseudo boolean constraint whose coefficients fit in a long.
+     * 
+     * @param literals
+     *            the literals, in internal representation
+     * @param coefs
+     *            the coefficients of the literals, only the first
+     *            literals.size() ones being used
+     * @since 2.3.6
+     */
+    Constr createPseudoBooleanConstraint(IVecInt literals, long[] coefs,
+            boolean moreThan, long degree) throws ContradictionException;
+
     Constr createAtMostPBConstraint(IVecInt literals, IVec<BigInteger> coefs,
             BigInteger degree) throws ContradictionException;
 
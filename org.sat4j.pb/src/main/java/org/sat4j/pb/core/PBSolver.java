@@ -84,6 +84,7 @@ public abstract class PBSolver extends Solver<PBDataStructureFactory> implements
 
     public IConstr addPseudoBoolean(IVecInt literals, IVec<BigInteger> coeffs,
             boolean moreThan, BigInteger degree) throws ContradictionException {
+        cancelKeptAssumptions();
         IVecInt vlits = dimacs2internal(literals);
         assert vlits.size() == literals.size();
         assert literals.size() == coeffs.size();
@@ -115,6 +116,7 @@ public abstract class PBSolver extends Solver<PBDataStructureFactory> implements
 
     public IConstr addAtMost(IVecInt literals, IVec<BigInteger> coeffs,
             BigInteger degree) throws ContradictionException {
+        cancelKeptAssumptions();
         IVecInt vlits = dimacs2internal(literals);
         assert vlits.size() == literals.size();
         assert literals.size() == coeffs.size();
@@ -134,6 +136,7 @@ public abstract class PBSolver extends Solver<PBDataStructureFactory> implements
 
     public IConstr addAtLeast(IVecInt literals, IVec<BigInteger> coeffs,
             BigInteger degree) throws ContradictionException {
+        cancelKeptAssumptions();
         IVecInt vlits = dimacs2internal(literals);
         assert vlits.size() == literals.size();
         assert literals.size() == coeffs.size();
@@ -153,6 +156,7 @@ public abstract class PBSolver extends Solver<PBDataStructureFactory> implements
 
     public IConstr addExactly(IVecInt literals, IVec<BigInteger> coeffs,
             BigInteger weight) throws ContradictionException {
+        cancelKeptAssumptions();
         IVecInt vlits = dimacs2internal(literals);
         assert vlits.size() == literals.size();
         assert literals.size() == coeffs.size();
@@ -164,6 +168,49 @@ public abstract class PBSolver extends Solver<PBDataStructureFactory> implements
         return group;
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtMost(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        cancelKeptAssumptions();
+        IVecInt vlits = dimacs2internal(literals);
+        assert vlits.size() == literals.size();
+        assert literals.size() <= coeffs.length;
+        return addConstr(this.dsfactory.createPseudoBooleanConstraint(vlits,
+                coeffs, false, degree));
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtLeast(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        cancelKeptAssumptions();
+        IVecInt vlits = dimacs2internal(literals);
+        assert vlits.size() == literals.size();
+        assert literals.size() <= coeffs.length;
+        return addConstr(this.dsfactory.createPseudoBooleanConstraint(vlits,
+                coeffs, true, degree));
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addExactly(IVecInt literals, long[] coeffs, long weight)
+            throws ContradictionException {
+        cancelKeptAssumptions();
+        IVecInt vlits = dimacs2internal(literals);
+        assert vlits.size() == literals.size();
+        assert literals.size() <= coeffs.length;
+        ConstrGroup group = new ConstrGroup(false);
+        group.add(addConstr(this.dsfactory.createPseudoBooleanConstraint(vlits,
+                coeffs, false, weight)));
+        group.add(addConstr(this.dsfactory.createPseudoBooleanConstraint(vlits,
+                coeffs, true, weight)));
+        return group;
+    }
+
     public IConstr addAtMostOnTheFly(IVecInt literals, IVec<BigInteger> coefs,
             BigInteger degree) {
         IVecInt vlits = dimacs2internal(literals);
@@ -200,6 +247,7 @@ public abstract class PBSolver extends Solver<PBDataStructureFactory> implements
 
     @Override
     public int[] primeImplicant() {
+        cancelKeptAssumptions();
         String primeApproach = System.getProperty("prime");
         PrimeImplicantStrategy strategy;
         if ("OBJECTIVE".equals(primeApproach)) {
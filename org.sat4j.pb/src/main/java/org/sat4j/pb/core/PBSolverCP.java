@@ -39,6 +39,7 @@ import org.sat4j.minisat.core.SearchParams;
 import org.sat4j.minisat.restarts.MiniSATRestarts;
 import org.sat4j.pb.constraints.pb.ConflictMap;
 import org.sat4j.pb.constraints.pb.IConflict;
+import org.sat4j.pb.constraints.pb.InternalMapPBStructure;
 import org.sat4j.pb.constraints.pb.PBConstr;
 import org.sat4j.specs.Constr;
 import org.sat4j.specs.IVec;
@@ -58,6 +59,12 @@ public class PBSolverCP extends PBSolver {
      */
     private boolean noRemove = true;
 
+    /**
+     * map holding the literals and coefficients of the conflict, reused from
+     * one conflict analysis to the next.
+     */
+    private transient InternalMapPBStructure conflictMap;
+
     /**
      * @param acg
      * @param learner
@@ -177,7 +184,15 @@ public class PBSolverCP extends PBSolver {
     }
 
     IConflict chooseConflict(PBConstr myconfl, int level) {
-        return ConflictMap.createConflict(myconfl, level, noRemove);
+        return ConflictMap.createConflict(myconfl, level, noRemove,
+                conflictMap());
+    }
+
+    InternalMapPBStructure conflictMap() {
+        if (this.conflictMap == null) {
+            this.conflictMap = new InternalMapPBStructure();
+        }
+        return this.conflictMap;
     }
 
     @Override
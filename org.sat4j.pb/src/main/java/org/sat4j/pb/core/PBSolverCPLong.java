@@ -52,7 +52,8 @@ public class PBSolverCPLong extends PBSolverCP {
 
     @Override
     IConflict chooseConflict(PBConstr myconfl, int level) {
-        return ConflictMapReduceToClause.createConflict(myconfl, level);
+        return ConflictMapReduceToClause.createConflict(myconfl, level,
+                conflictMap());
     }
 
     @Override
@@ -54,7 +54,8 @@ public class PBSolverCautious extends PBSolverCP {
 
     @Override
     IConflict chooseConflict(PBConstr myconfl, int level) {
-        return ConflictMapSwitchToClause.createConflict(myconfl, level);
+        return ConflictMapSwitchToClause.createConflict(myconfl, level,
+                conflictMap());
     }
 
     @Override
@@ -49,7 +49,8 @@ public class PBSolverClause extends PBSolverCP {
 
     @Override
     IConflict chooseConflict(PBConstr myconfl, int level) {
-        return ConflictMapClause.createConflict(myconfl, level);
+        return ConflictMapClause.createConflict(myconfl, level,
+                conflictMap());
     }
 
     @Override
@@ -55,6 +55,7 @@ public class PBSolverWithImpliedClause extends PBSolverCP {
     @Override
     public IConstr addPseudoBoolean(IVecInt literals, IVec<BigInteger> coeffs,
             boolean moreThan, BigInteger degree) throws ContradictionException {
+        cancelKeptAssumptions();
         IVecInt vlits = dimacs2internal(literals);
         assert vlits.size() == literals.size();
         assert literals.size() == coeffs.size();
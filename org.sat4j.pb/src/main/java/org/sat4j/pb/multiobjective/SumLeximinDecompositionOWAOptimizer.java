@@ -468,6 +468,14 @@ public class SumLeximinDecompositionOWAOptimizer implements
         solver.setKeepSolverHot(keepHot);
     }
 
+    public boolean isAssumptionPrefixKept() {
+        return solver.isAssumptionPrefixKept();
+    }
+
+    public void setKeepAssumptionPrefix(boolean keepPrefix) {
+        solver.setKeepAssumptionPrefix(keepPrefix);
+    }
+
     public ISolver getSolvingEngine() {
         return solver.getSolvingEngine();
     }
@@ -539,6 +547,30 @@ public class SumLeximinDecompositionOWAOptimizer implements
                 integerVarsCoeffs, weight);
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtMost(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return solver.addAtMost(literals, coeffs, degree);
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtLeast(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return solver.addAtLeast(literals, coeffs, degree);
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addExactly(IVecInt literals, long[] coeffs, long weight)
+            throws ContradictionException {
+        return solver.addExactly(literals, coeffs, weight);
+    }
+
     public IConstr addPseudoBoolean(IVecInt lits, IVec<BigInteger> coeffs,
             boolean moreThan, BigInteger d) throws ContradictionException {
         return solver.addPseudoBoolean(lits, coeffs, moreThan, d);
@@ -632,6 +664,11 @@ public class SumLeximinDecompositionOWAOptimizer implements
         solver.addAllClauses(clauses);
     }
 
+    public void addClauses(int[] flatLits, int[] offsets)
+            throws ContradictionException {
+        solver.addClauses(flatLits, offsets);
+    }
+
     public void printInfos(PrintWriter out, String prefix) {
         solver.printInfos(out, prefix);
     }
@@ -680,6 +717,10 @@ public class SumLeximinDecompositionOWAOptimizer implements
         solver.setTimeoutOnConflicts(count);
     }
 
+    public void setTimeoutOnWork(long ticks) {
+        solver.setTimeoutOnWork(ticks);
+    }
+
     public void setTimeoutMs(long t) {
         solver.setTimeoutMs(t);
     }
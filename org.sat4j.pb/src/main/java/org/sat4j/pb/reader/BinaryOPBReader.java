@@ -0,0 +1,178 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.pb.reader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintWriter;
+import java.math.BigInteger;
+
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.pb.IPBSolver;
+import org.sat4j.pb.ObjectiveFunction;
+import org.sat4j.reader.BinaryCNFReader;
+import org.sat4j.reader.ParseFormatException;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IProblem;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+
+/**
+ * Reader for the compact binary snapshots of pseudo boolean problems produced
+ * by {@link org.sat4j.pb.BinaryOPBOutputSolver}. Snapshots of CNF are also
+ * accepted.
+ * 
+ * @since 2.3.6
+ */
+public class BinaryOPBReader extends BinaryCNFReader {
+
+    private static final long serialVersionUID = 1L;
+
+    private final IPBSolver solver;
+
+    private final IVecInt lits = new VecInt();
+
+    private final IVec<BigInteger> coeffs = new Vec<BigInteger>();
+
+    private ObjectiveFunction obj;
+
+    public BinaryOPBReader(IPBSolver solver) {
+        super(solver);
+        this.solver = solver;
+    }
+
+    /**
+     * 
+     * @param solver
+     *            the solver to feed
+     * @param windowSize
+     *            the size of the part of the file mapped in memory, in bytes.
+     */
+    public BinaryOPBReader(IPBSolver solver, int windowSize) {
+        super(solver, windowSize);
+        this.solver = solver;
+    }
+
+    @Override
+    public IProblem parseInstance(InputStream input)
+            throws ParseFormatException, ContradictionException, IOException {
+        this.obj = null;
+        return super.parseInstance(input);
+    }
+
+    @Override
+    protected boolean isKnownKind(int kind) {
+        return kind == PB || kind == CNF;
+    }
+
+    @Override
+    protected void readConstraint(int tag) throws IOException,
+            ParseFormatException, ContradictionException {
+        switch (tag) {
+        case AT_LEAST:
+            readCoefficients();
+            this.solver.addAtLeast(this.lits, this.coeffs, readBigInteger());
+            break;
+        case AT_MOST:
+            readCoefficients();
+            this.solver.addAtMost(this.lits, this.coeffs, readBigInteger());
+            break;
+        case EXACTLY:
+            readCoefficients();
+            this.solver.addExactly(this.lits, this.coeffs, readBigInteger());
+            break;
+        case OBJECTIVE:
+            IVecInt vars = new VecInt();
+            readLiterals(vars);
+            IVec<BigInteger> weights = new Vec<BigInteger>(vars.size());
+            for (int i = 0; i < vars.size(); i++) {
+                weights.push(readBigInteger());
+            }
+            this.obj = new ObjectiveFunction(vars, weights);
+            this.obj.setCorrection(readBigInteger());
+            break;
+        default:
+            super.readConstraint(tag);
+        }
+    }
+
+    private void readCoefficients() throws IOException, ParseFormatException {
+        readLiterals(this.lits);
+        this.coeffs.clear();
+        for (int i = 0; i < this.lits.size(); i++) {
+            this.coeffs.push(readBigInteger());
+        }
+    }
+
+    @Override
+    protected void endOfInstance() {
+        this.solver.setObjectiveFunction(this.obj);
+    }
+
+    /**
+     * 
+     * @return true iff the last snapshot read contains an objective function.
+     */
+    public boolean hasObjectiveFunction() {
+        return this.obj != null;
+    }
+
+    @Deprecated
+    @Override
+    public String decode(int[] model) {
+        StringBuffer stb = new StringBuffer();
+        for (int i = 0; i < model.length; i++) {
+            if (model[i] < 0) {
+                stb.append("-x");
+                stb.append(-model[i]);
+            } else {
+                stb.append("x");
+                stb.append(model[i]);
+            }
+            stb.append(" ");
+        }
+        return stb.toString();
+    }
+
+    @Override
+    public void decode(int[] model, PrintWriter out) {
+        for (int i = 0; i < model.length; i++) {
+            if (model[i] < 0) {
+                out.print("-x");
+                out.print(-model[i]);
+            } else {
+                out.print("x");
+                out.print(model[i]);
+            }
+            out.print(" ");
+        }
+    }
+}
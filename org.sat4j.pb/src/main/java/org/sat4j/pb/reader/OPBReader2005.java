@@ -103,6 +103,22 @@ public class OPBReader2005 extends Reader implements Serializable {
 
     protected BigInteger d;
 
+    /**
+     * The coefficients of the current constraint, as long as they fit in a
+     * long. Only the first lits.size() ones are meaningful.
+     */
+    private long[] longCoeffs = new long[16];
+
+    private long longDegree;
+
+    /**
+     * True iff the coefficients and the degree of the current constraint are
+     * stored as BigIntegers (in coeffs and d).
+     */
+    private boolean bigCoefficients;
+
+    private long parsedLong;
+
     protected String operator;
 
     private final IVecInt objectiveVars = new VecInt();
@@ -157,6 +173,7 @@ public class OPBReader2005 extends Reader implements Serializable {
     protected void beginConstraint() {
         this.lits.clear();
         this.coeffs.clear();
+        this.bigCoefficients = false;
         assert this.lits.size() == 0;
         assert this.coeffs.size() == 0;
     }
@@ -170,10 +187,21 @@ public class OPBReader2005 extends Reader implements Serializable {
     protected void endConstraint() throws ContradictionException {
 
         assert !(this.lits.size() == 0);
-        assert !(this.coeffs.size() == 0);
-        assert this.lits.size() == this.coeffs.size();
-
-        if ("=".equals(this.operator)) {
+        assert !this.bigCoefficients || this.lits.size() == this.coeffs.size();
+
+        if (!this.bigCoefficients) {
+            if ("=".equals(this.operator)) {
+                this.solver.addExactly(this.lits, this.longCoeffs,
+                        this.longDegree);
+            } else if ("<=".equals(this.operator)) {
+                this.solver.addAtMost(this.lits, this.longCoeffs,
+                        this.longDegree);
+            } else {
+                assert ">=".equals(this.operator);
+                this.solver.addAtLeast(this.lits, this.longCoeffs,
+                        this.longDegree);
+            }
+        } else if ("=".equals(this.operator)) {
             this.solver.addExactly(this.lits, this.coeffs, this.d);
         } else if ("<=".equals(this.operator)) {
             this.solver.addAtMost(this.lits, this.coeffs, this.d);
@@ -199,6 +227,81 @@ public class OPBReader2005 extends Reader implements Serializable {
         this.lits.push(translateVarToId(var));
     }
 
+    /**
+     * callback called when we read a term of a constraint, the coefficient
+     * being kept as a long unless it does not fit in a long.
+     * 
+     * @param coeff
+     *            the coefficient of the term, as read in the file
+     * @param var
+     *            the identifier of the variable
+     * @throws ParseFormatException
+     */
+    private void constraintTerm(StringBuffer coeff, String var)
+            throws ParseFormatException {
+        if (this.bigCoefficients || !parseLong(coeff)) {
+            useBigCoefficients();
+            constraintTerm(new BigInteger(coeff.toString()), var);
+            return;
+        }
+        int n = this.lits.size();
+        if (n == this.longCoeffs.length) {
+            long[] newCoeffs = new long[n << 1];
+            System.arraycopy(this.longCoeffs, 0, newCoeffs, 0, n);
+            this.longCoeffs = newCoeffs;
+        }
+        this.longCoeffs[n] = this.parsedLong;
+        this.lits.push(translateVarToId(var));
+    }
+
+    /**
+     * Store the coefficients and the degree of the current constraint as
+     * BigIntegers (in coeffs and d) from now on.
+     * 
+     * @since 2.3.6
+     */
+    protected void useBigCoefficients() {
+        if (this.bigCoefficients) {
+            return;
+        }
+        this.coeffs.clear();
+        for (int i = 0; i < this.lits.size(); i++) {
+            this.coeffs.push(BigInteger.valueOf(this.longCoeffs[i]));
+        }
+        this.d = BigInteger.valueOf(this.longDegree);
+        this.bigCoefficients = true;
+    }
+
+    /**
+     * Parse an integer read by {@link #readInteger(StringBuffer)} into
+     * parsedLong.
+     * 
+     * @return false iff the integer does not fit in a long (or is not a well
+     *         formed integer, the error being reported by BigInteger).
+     */
+    private boolean parseLong(StringBuffer s) {
+        int n = s.length();
+        int i = 0;
+        boolean negative = n > 0 && s.charAt(0) == '-';
+        if (negative) {
+            i++;
+        }
+        if (i == n) {
+            return false;
+        }
+        long value = 0;
+        for (; i < n; i++) {
+            int digit = s.charAt(i) - '0';
+            if (digit < 0 || digit > 9
+                    || value > (Long.MAX_VALUE - digit) / 10) {
+                return false;
+            }
+            value = value * 10 + digit;
+        }
+        this.parsedLong = negative ? -value : value;
+        return true;
+    }
+
     protected int translateVarToId(String var) throws ParseFormatException {
         int id = Integer.parseInt(var.substring(1));
         return (this.savedChar == '-' ? -1 : 1) * id;
@@ -225,6 +328,18 @@ public class OPBReader2005 extends Reader implements Serializable {
         this.d = val;
     }
 
+    /**
+     * callback called when we read the right term of a constraint whose
+     * coefficients fit in a long
+     * 
+     * @param val
+     *            the degree of the constraint
+     * @since 2.3.6
+     */
+    protected void constraintRightTerm(long val) {
+        this.longDegree = val;
+    }
+
     transient BufferedReader in; // the stream we're reading from
 
     char savedChar; // a character read from the file but not yet consumed
@@ -643,7 +758,7 @@ public class OPBReader2005 extends Reader implements Serializable {
 
         while (!eof()) {
             readTerm(coeff, var);
-            constraintTerm(new BigInteger(coeff.toString()), var.toString());
+            constraintTerm(coeff, var.toString());
 
             skipSpaces();
             c = get();
@@ -672,7 +787,12 @@ public class OPBReader2005 extends Reader implements Serializable {
         }
         constraintRelOp(relop);
         readInteger(coeff);
-        constraintRightTerm(new BigInteger(coeff.toString()));
+        if (!this.bigCoefficients && parseLong(coeff)) {
+            constraintRightTerm(this.parsedLong);
+        } else {
+            useBigCoefficients();
+            constraintRightTerm(new BigInteger(coeff.toString()));
+        }
 
         skipSpaces();
         c = get();
@@ -175,6 +175,7 @@ public class OPBReader2010 extends OPBReader2007 {
     @Override
     protected void endConstraint() throws ContradictionException {
         if (this.softConstraint) {
+            useBigCoefficients();
             int varId = getVars().last();
             BigInteger constrWeight = this.d;
             for (Iterator<BigInteger> it = this.coeffs.iterator(); it.hasNext();) {
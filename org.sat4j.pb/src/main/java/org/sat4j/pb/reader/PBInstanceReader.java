@@ -44,6 +44,10 @@ public class PBInstanceReader extends InstanceReader {
 
     private OPBReader2012 opb;
 
+    private BinaryOPBReader binaryOpb;
+
+    private boolean binary;
+
     private final IPBSolver solver;
 
     public PBInstanceReader(IPBSolver solver) {
@@ -58,12 +62,26 @@ public class PBInstanceReader extends InstanceReader {
         return this.opb;
     }
 
+    private Reader getBinaryOPBReader() {
+        if (this.binaryOpb == null) {
+            this.binaryOpb = new BinaryOPBReader(this.solver);
+        }
+        return this.binaryOpb;
+    }
+
     public boolean hasObjectiveFunction() {
+        if (this.binary) {
+            return this.binaryOpb.hasObjectiveFunction();
+        }
         return this.opb.hasObjFunc;
     }
 
     @Override
     protected Reader handleFileName(String fname, String prefix) {
+        this.binary = fname.endsWith(".bopb");
+        if (this.binary) {
+            return getBinaryOPBReader();
+        }
         if (fname.endsWith(".opb") || "PB".equals(prefix)) {
             return getDefaultOPBReader();
         }
@@ -11,10 +11,12 @@ import java.util.List;
 import java.util.Map;
 
 import org.sat4j.core.ASolverFactory;
+import org.sat4j.core.VecInt;
 import org.sat4j.minisat.orders.VarOrderHeap;
 import org.sat4j.pb.IPBSolver;
 import org.sat4j.pb.SolverFactory;
 import org.sat4j.pb.constraints.PBMaxClauseCardConstrDataStructure;
+import org.sat4j.pb.constraints.pb.Pseudos;
 import org.sat4j.specs.ContradictionException;
 import org.sat4j.specs.IConstr;
 import org.sat4j.specs.ISolverService;
@@ -179,6 +181,19 @@ public class CardConstrLearningSolver<S extends IPBSolver> extends
         }
     }
 
+    @Override
+    public void addClauses(int[] flatLits, int[] offsets)
+            throws ContradictionException {
+        IVecInt clause = new VecInt();
+        for (int i = 0; i + 1 < offsets.length; i++) {
+            clause.clear();
+            for (int j = offsets[i]; j < offsets[i + 1]; j++) {
+                clause.push(flatLits[j]);
+            }
+            addClause(clause);
+        }
+    }
+
     @Override
     public IConstr addPseudoBoolean(IVecInt lits, IVec<BigInteger> coeffs,
             boolean moreThan, BigInteger d) throws ContradictionException {
@@ -218,6 +233,14 @@ public class CardConstrLearningSolver<S extends IPBSolver> extends
         return super.addAtLeast(literals, coeffs, degree);
     }
 
+    @Override
+    public IConstr addAtLeast(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        return addAtLeast(literals,
+                Pseudos.toVecBigInt(coeffs, literals.size()),
+                BigInteger.valueOf(degree));
+    }
+
     @Override
     public void expireTimeout() {
         this.solvers.get(solverIndex).expireTimeout();
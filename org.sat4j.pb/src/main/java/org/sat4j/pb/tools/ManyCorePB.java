@@ -128,4 +128,40 @@ public class ManyCorePB<S extends IPBSolver> extends ManyCore<S> implements
         return group;
     }
 
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtMost(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        ConstrGroup group = new ConstrGroup(false);
+        for (int i = 0; i < this.numberOfSolvers; i++) {
+            group.add(this.solvers.get(i).addAtMost(literals, coeffs, degree));
+        }
+        return group;
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtLeast(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        ConstrGroup group = new ConstrGroup(false);
+        for (int i = 0; i < this.numberOfSolvers; i++) {
+            group.add(this.solvers.get(i).addAtLeast(literals, coeffs, degree));
+        }
+        return group;
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addExactly(IVecInt literals, long[] coeffs, long weight)
+            throws ContradictionException {
+        ConstrGroup group = new ConstrGroup(false);
+        for (int i = 0; i < this.numberOfSolvers; i++) {
+            group.add(this.solvers.get(i).addExactly(literals, coeffs, weight));
+        }
+        return group;
+    }
+
 }
@@ -203,4 +203,28 @@ public class XplainPB extends Xplain<IPBSolver> implements IPBSolver {
             BigInteger weight) throws ContradictionException {
         throw new UnsupportedOperationException();
     }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtMost(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addAtLeast(IVecInt literals, long[] coeffs, long degree)
+            throws ContradictionException {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @since 2.3.6
+     */
+    public IConstr addExactly(IVecInt literals, long[] coeffs, long weight)
+            throws ContradictionException {
+        throw new UnsupportedOperationException();
+    }
 }
@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.pb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.pb.reader.BinaryOPBReader;
+import org.sat4j.pb.reader.OPBReader2010;
+import org.sat4j.pb.reader.PBInstanceReader;
+import org.sat4j.reader.ParseFormatException;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.TimeoutException;
+import org.sat4j.tools.BinaryCNFOutputSolver;
+
+public class BinaryOPBReaderTest {
+
+    private File tmp;
+
+    private File opb;
+
+    @Before
+    public void setUp() throws IOException {
+        this.tmp = File.createTempFile("sat4j", ".bopb");
+        this.opb = File.createTempFile("sat4j", ".opb");
+        writeRandomOpb();
+    }
+
+    @After
+    public void tearDown() {
+        this.tmp.delete();
+        this.opb.delete();
+    }
+
+    /**
+     * A random satisfiable optimization problem with 50 variables and 200
+     * constraints.
+     */
+    private void writeRandomOpb() throws IOException {
+        Random rand = new Random(21);
+        StringBuffer stb = new StringBuffer(
+                "* #variable= 50 #constraint= 200\nmin:");
+        for (int i = 1; i <= 50; i += 1 + rand.nextInt(3)) {
+            stb.append(" ").append(rand.nextInt(20) - 5).append(" x")
+                    .append(i);
+        }
+        stb.append(" ;\n");
+        for (int i = 0; i < 200; i++) {
+            int first = 1 + rand.nextInt(40);
+            int last = first + rand.nextInt(10);
+            for (int j = first; j <= last; j++) {
+                stb.append(rand.nextBoolean() ? "+" : "-")
+                        .append(1 + rand.nextInt(1000)).append(" x")
+                        .append(j).append(" ");
+            }
+            // satisfied when all the variables are false
+            stb.append(i % 10 == 0 ? "= 0" : ">= " + -rand.nextInt(250))
+                    .append(" ;\n");
+        }
+        Writer out = new FileWriter(this.opb);
+        try {
+            out.write(stb.toString());
+        } finally {
+            out.close();
+        }
+    }
+
+    private void snapshot() throws ParseFormatException, IOException,
+            ContradictionException {
+        BinaryOPBOutputSolver out = new BinaryOPBOutputSolver(
+                this.tmp.getPath());
+        new OPBReader2010(out).parseInstance(this.opb.getPath());
+        out.close();
+    }
+
+    @Test
+    public void testSameConstraintsAsOPB() throws ParseFormatException,
+            IOException, ContradictionException {
+        snapshot();
+        OPBStringSolver expected = new OPBStringSolver();
+        new OPBReader2010(expected).parseInstance(this.opb.getPath());
+        OPBStringSolver reloaded = new OPBStringSolver();
+        BinaryOPBReader reader = new BinaryOPBReader(reloaded, 5);
+        reader.parseInstance(this.tmp.getPath());
+        assertTrue(reader.hasObjectiveFunction());
+        assertEquals(expected.toString(), reloaded.toString());
+        assertTrue(this.tmp.length() < this.opb.length());
+    }
+
+    @Test
+    public void testLargeCoefficients() throws ParseFormatException,
+            IOException, ContradictionException {
+        BigInteger large = BigInteger.ONE.shiftLeft(100).add(BigInteger.TEN);
+        IVec<BigInteger> coeffs = new Vec<BigInteger>();
+        coeffs.push(large).push(BigInteger.valueOf(-3))
+                .push(BigInteger.valueOf(Long.MIN_VALUE))
+                .push(BigInteger.valueOf(Long.MAX_VALUE));
+        BinaryOPBOutputSolver out = new BinaryOPBOutputSolver(
+                this.tmp.getPath());
+        out.addAtLeast(new VecInt(new int[] { 1, -2, 3, 4 }), coeffs,
+                large.negate());
+        out.addClause(new VecInt(new int[] { -1, 4 }));
+        ObjectiveFunction obj = new ObjectiveFunction(new VecInt(new int[] {
+                2, -3 }), new Vec<BigInteger>(new BigInteger[] {
+                BigInteger.ONE, large }));
+        obj.setCorrection(BigInteger.valueOf(-7));
+        out.setObjectiveFunction(obj);
+        out.close();
+        OPBStringSolver reloaded = new OPBStringSolver();
+        BinaryOPBReader reader = new BinaryOPBReader(reloaded);
+        reader.parseInstance(this.tmp.getPath());
+        assertTrue(reader.hasObjectiveFunction());
+        assertEquals(obj, reloaded.getObjectiveFunction());
+        assertEquals(BigInteger.valueOf(-7), reloaded.getObjectiveFunction()
+                .getCorrection());
+        assertEquals(4, reloaded.nVars());
+        assertEquals(2, reloaded.nConstraints());
+        assertEquals(large + " x1 -3 x-2 " + Long.MIN_VALUE + " x3 "
+                + Long.MAX_VALUE + " x4 >= " + large.negate() + " ;", reloaded
+                .getOut().toString().trim().split("\n")[0]);
+    }
+
+    @Test
+    public void testPBInstanceReader() throws ParseFormatException,
+            IOException, ContradictionException, TimeoutException {
+        snapshot();
+        IPBSolver expected = new PseudoOptDecorator(SolverFactory
+                .newDefault());
+        PBInstanceReader text = new PBInstanceReader(expected);
+        text.parseInstance(this.opb.getPath());
+        IPBSolver solver = new PseudoOptDecorator(SolverFactory
+                .newDefault());
+        PBInstanceReader reader = new PBInstanceReader(solver);
+        reader.parseInstance(this.tmp.getPath());
+        assertEquals(text.hasObjectiveFunction(), reader.hasObjectiveFunction());
+        assertEquals(expected.nVars(), solver.nVars());
+        assertEquals(expected.nConstraints(), solver.nConstraints());
+        assertEquals(expected.isSatisfiable(), solver.isSatisfiable());
+    }
+
+    @Test
+    public void testCNFSnapshot() throws ParseFormatException, IOException,
+            ContradictionException, TimeoutException {
+        BinaryCNFOutputSolver out = new BinaryCNFOutputSolver(this.tmp
+                .getPath());
+        out.addClause(new VecInt(new int[] { 1, 2 }));
+        out.addClause(new VecInt(new int[] { -1 }));
+        out.addClause(new VecInt(new int[] { -2 }));
+        out.close();
+        IPBSolver solver = SolverFactory.newDefault();
+        BinaryOPBReader reader = new BinaryOPBReader(solver);
+        reader.parseInstance(this.tmp.getPath());
+        assertFalse(reader.hasObjectiveFunction());
+        assertFalse(solver.isSatisfiable());
+    }
+}
@@ -0,0 +1,142 @@
+package org.sat4j.pb;
+
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+
+import org.junit.Test;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+/**
+ * The cutting planes solvers reuse the same map from one conflict to the next.
+ * Solving several problems with the same solver, with more and more
+ * variables, must not be affected by the previous conflicts.
+ */
+public class ConflictMapReuseTest {
+
+    private static final int HOLES = 5;
+
+    /**
+     * adds a pigeon hole problem with HOLES+1 pigeons, enabled by the negation
+     * of a selector variable.
+     *
+     * @return the selector variable
+     */
+    private int addPigeonHole(IPBSolver solver) throws ContradictionException {
+        return addPigeonHole(solver, BigInteger.ONE);
+    }
+
+    /**
+     * adds a pigeon hole problem with HOLES+1 pigeons, enabled by the negation
+     * of a selector variable. The coefficients of the at most constraint of
+     * the j-th hole are multiplied by unit+j.
+     *
+     * @return the selector variable
+     */
+    private int addPigeonHole(IPBSolver solver, BigInteger unit)
+            throws ContradictionException {
+        int first = solver.nVars() + 1;
+        int selector = first + (HOLES + 1) * HOLES;
+        solver.newVar(selector);
+        for (int i = 0; i <= HOLES; i++) {
+            IVecInt lits = new VecInt();
+            for (int j = 0; j < HOLES; j++) {
+                lits.push(first + i * HOLES + j);
+            }
+            lits.push(selector);
+            solver.addClause(lits);
+        }
+        for (int j = 0; j < HOLES; j++) {
+            IVecInt lits = new VecInt();
+            IVec<BigInteger> coefs = new Vec<BigInteger>();
+            BigInteger holeUnit = unit.add(BigInteger.valueOf(j));
+            for (int i = 0; i <= HOLES; i++) {
+                lits.push(first + i * HOLES + j);
+                coefs.push(holeUnit.multiply(BigInteger.valueOf(2)));
+            }
+            solver.addAtMost(lits, coefs,
+                    holeUnit.multiply(BigInteger.valueOf(3)));
+        }
+        return selector;
+    }
+
+    private void checkSeveralProblems(IPBSolver solver)
+            throws ContradictionException, TimeoutException {
+        int selector1 = addPigeonHole(solver);
+        assertFalse(solver
+                .isSatisfiable(new VecInt(new int[] { -selector1 })));
+        assertTrue(solver.isSatisfiable());
+        solver.newVar(solver.nVars() + 1000);
+        int selector2 = addPigeonHole(solver);
+        assertFalse(solver
+                .isSatisfiable(new VecInt(new int[] { -selector2 })));
+        assertFalse(solver
+                .isSatisfiable(new VecInt(new int[] { -selector1 })));
+        assertTrue(solver.isSatisfiable(new VecInt(new int[] { selector1,
+                selector2 })));
+    }
+
+    /**
+     * the coefficients of the conflicts overflow longs, so the conflict map
+     * has to switch to BigIntegers in the middle of a conflict analysis, and
+     * back to longs for the next one.
+     */
+    private void checkOverflowingConflicts(IPBSolver solver)
+            throws ContradictionException, TimeoutException {
+        int small = addPigeonHole(solver);
+        int big = addPigeonHole(solver,
+                BigInteger.valueOf(Long.MAX_VALUE / 4));
+        int huge = addPigeonHole(solver, BigInteger.ONE.shiftLeft(100));
+        assertFalse(solver.isSatisfiable(new VecInt(new int[] { -big })));
+        assertFalse(solver.isSatisfiable(new VecInt(new int[] { -small })));
+        assertFalse(solver.isSatisfiable(new VecInt(new int[] { -huge })));
+        assertFalse(solver.isSatisfiable(new VecInt(new int[] { -small })));
+        assertTrue(solver.isSatisfiable(new VecInt(new int[] { small, big,
+                huge })));
+    }
+
+    @Test
+    public void testCuttingPlanes() throws ContradictionException,
+            TimeoutException {
+        checkSeveralProblems(SolverFactory
+                .newCompetPBCPMixedConstraintsObjective());
+    }
+
+    @Test
+    public void testCuttingPlanesLong() throws ContradictionException,
+            TimeoutException {
+        checkSeveralProblems(SolverFactory
+                .newCompetPBCPRemoveSatisfiedMixedConstraintsLongMaxObjective());
+    }
+
+    @Test
+    public void testReduceToClause() throws ContradictionException,
+            TimeoutException {
+        checkSeveralProblems(SolverFactory
+                .newPBCPMixedConstraintsReduceToClause());
+    }
+
+    @Test
+    public void testCautious() throws ContradictionException, TimeoutException {
+        checkSeveralProblems(SolverFactory.newPBCPMixedConstraintsCautious());
+    }
+
+    @Test
+    public void testOverflowingConflicts() throws ContradictionException,
+            TimeoutException {
+        checkOverflowingConflicts(SolverFactory
+                .newCompetPBCPMixedConstraintsObjective());
+        checkOverflowingConflicts(SolverFactory
+                .newCompetPBCPRemoveSatisfiedMixedConstraintsLongMaxObjective());
+        checkOverflowingConflicts(SolverFactory
+                .newPBCPMixedConstraintsReduceToClause());
+        checkOverflowingConflicts(SolverFactory
+                .newPBCPMixedConstraintsCautious());
+    }
+}
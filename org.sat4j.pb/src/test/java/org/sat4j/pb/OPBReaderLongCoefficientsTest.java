@@ -0,0 +1,112 @@
+package org.sat4j.pb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.pb.reader.OPBReader2010;
+import org.sat4j.reader.ParseFormatException;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+public class OPBReaderLongCoefficientsTest {
+
+    private static InputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes());
+    }
+
+    private static String[] parse(String content) throws ParseFormatException,
+            ContradictionException, IOException {
+        OPBStringSolver solver = new OPBStringSolver();
+        new OPBReader2010(solver).parseInstance(stream(content));
+        return solver.getOut().toString().trim().split("\n");
+    }
+
+    @Test
+    public void testCoefficientsOverflowingLongs()
+            throws ParseFormatException, ContradictionException, IOException {
+        String[] lines = parse("* #variable= 4 #constraint= 6\n"
+                + "+9223372036854775807 x1 +2 x2 >= 3 ;\n"
+                + "+3 x1 +4611686018427387904 x2 +4611686018427387904 x3 >= 5 ;\n"
+                + "+1 x1 +1 x2 +1 x3 >= 9223372036854775808 ;\n"
+                + "-9223372036854775808 x1 +5 x4 >= -3 ;\n"
+                + "+1180591620717411303424 x1 +3 x2 = 3 ;\n"
+                + "+2 x3 -3 x4 <= 1 ;\n");
+        assertEquals(6, lines.length);
+        assertEquals("9223372036854775807 x1 2 x2 >= 3 ;", lines[0]);
+        assertEquals(
+                "3 x1 4611686018427387904 x2 4611686018427387904 x3 >= 5 ;",
+                lines[1]);
+        assertEquals("1 x1 1 x2 1 x3 >= 9223372036854775808 ;", lines[2]);
+        assertEquals("-9223372036854775808 x1 5 x4 >= -3 ;", lines[3]);
+        assertEquals("1180591620717411303424 x1 3 x2 = 3 ;", lines[4]);
+        assertEquals("-2 x3 3 x4 >= -1 ;", lines[5]);
+    }
+
+    @Test
+    public void testSoftConstraints() throws ParseFormatException,
+            ContradictionException, IOException {
+        String[] lines = parse("* #variable= 3 #constraint= 3 #soft= 2 "
+                + "mincost= 1 maxcost= 5 sumcost= 6\n" + "soft: 10 ;\n"
+                + "[5] +1 x1 +1 x2 >= 2 ;\n"
+                + "[1] +2 x1 +2 x3 >= 2 ;\n" + "+1 x1 +1 x3 <= 1 ;\n");
+        assertEquals("1 x1 1 x2 4 x4 >= 2 ;", lines[0]);
+        assertEquals("2 x1 2 x3 6 x5 >= 2 ;", lines[1]);
+        assertEquals("-1 x1 -1 x3 >= -1 ;", lines[2]);
+        assertEquals("-5 x4 -1 x5 >= -9 ;", lines[3]);
+    }
+
+    @Test
+    public void testSameSolverAsBigIntegers() throws ContradictionException,
+            TimeoutException {
+        Random rand = new Random(24);
+        boolean[] polarity = new boolean[50];
+        for (int i = 0; i < polarity.length; i++) {
+            polarity[i] = rand.nextBoolean();
+        }
+        IPBSolver longs = SolverFactory.newDefault();
+        IPBSolver bigs = SolverFactory.newDefault();
+        for (int i = 0; i < 300; i++) {
+            IVecInt lits = new VecInt();
+            int size = 1 + rand.nextInt(6);
+            long[] coeffs = new long[size];
+            IVec<BigInteger> bigCoeffs = new Vec<BigInteger>();
+            int first = 1 + rand.nextInt(40);
+            long sum = 0;
+            for (int j = 0; j < size; j++) {
+                lits.push(polarity[first + j] ? first + j : -first - j);
+                // clauses, cardinality constraints and general ones
+                coeffs[j] = i % 3 == 0 ? 1 : rand.nextInt(20) - 5;
+                sum += coeffs[j];
+                bigCoeffs.push(BigInteger.valueOf(coeffs[j]));
+            }
+            // satisfied when all the literals are true
+            long degree = i % 3 == 0 ? 1 : sum - rand.nextInt(10);
+            if (i % 10 == 0) {
+                longs.addExactly(lits, coeffs, sum);
+                bigs.addExactly(lits, bigCoeffs, BigInteger.valueOf(sum));
+            } else if (i % 2 == 0) {
+                longs.addAtMost(lits, coeffs, 2 * sum - degree);
+                bigs.addAtMost(lits, bigCoeffs,
+                        BigInteger.valueOf(2 * sum - degree));
+            } else {
+                longs.addAtLeast(lits, coeffs, degree);
+                bigs.addAtLeast(lits, bigCoeffs, BigInteger.valueOf(degree));
+            }
+        }
+        assertEquals(bigs.nVars(), longs.nVars());
+        assertEquals(bigs.nConstraints(), longs.nConstraints());
+        assertTrue(bigs.isSatisfiable());
+        assertTrue(longs.isSatisfiable());
+    }
+}
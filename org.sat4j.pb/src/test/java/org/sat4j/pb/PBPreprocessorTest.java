@@ -0,0 +1,118 @@
+/*******************************************************************************
+ * SAT4J: a SATisfiability library for Java Copyright (C) 2004, 2012 Artois University and CNRS
+ *
+ * All rights reserved. This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License v1.0
+ * which accompanies this distribution, and is available at
+ *  http://www.eclipse.org/legal/epl-v10.html
+ *
+ * Alternatively, the contents of this file may be used under the terms of
+ * either the GNU Lesser General Public License Version 2.1 or later (the
+ * "LGPL"), in which case the provisions of the LGPL are applicable instead
+ * of those above. If you wish to allow use of your version of this file only
+ * under the terms of the LGPL, and not to allow others to use your version of
+ * this file under the terms of the EPL, indicate your decision by deleting
+ * the provisions above and replace them with the notice and other provisions
+ * required by the LGPL. If you do not delete the provisions above, a recipient
+ * may use your version of this file under the terms of the EPL or the LGPL.
+ *
+ * Based on the original MiniSat specification from:
+ *
+ * An extensible SAT solver. Niklas Een and Niklas Sorensson. Proceedings of the
+ * Sixth International Conference on Theory and Applications of Satisfiability
+ * Testing, LNCS 2919, pp 502-518, 2003.
+ *
+ * See www.minisat.se for the original solver in C++.
+ *
+ * Contributors:
+ *   CRIL - initial API and implementation
+ *******************************************************************************/
+package org.sat4j.pb;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.math.BigInteger;
+import java.util.Random;
+
+import org.junit.Test;
+import org.sat4j.core.Vec;
+import org.sat4j.core.VecInt;
+import org.sat4j.pb.tools.PBPreprocessor;
+import org.sat4j.specs.ContradictionException;
+import org.sat4j.specs.IVec;
+import org.sat4j.specs.IVecInt;
+import org.sat4j.specs.TimeoutException;
+
+public class PBPreprocessorTest {
+
+    private static Number optimum(IPBSolver solver, IVec<IVecInt> clauses,
+            int nbVars) throws ContradictionException, TimeoutException {
+        PseudoOptDecorator optimizer = new PseudoOptDecorator(solver);
+        optimizer.newVar(nbVars);
+        for (int i = 0; i < clauses.size(); i++) {
+            optimizer.addClause(clauses.get(i));
+        }
+        IVecInt lits = new VecInt();
+        IVec<BigInteger> coeffs = new Vec<BigInteger>();
+        for (int i = 1; i <= nbVars / 2; i++) {
+            lits.push(i);
+            coeffs.push(BigInteger.valueOf(i));
+        }
+        optimizer.setObjectiveFunction(new ObjectiveFunction(lits, coeffs));
+        boolean satisfiable = false;
+        while (optimizer.admitABetterSolution()) {
+            satisfiable = true;
+            try {
+                optimizer.discardCurrentSolution();
+            } catch (ContradictionException e) {
+                break;
+            }
+        }
+        return satisfiable ? optimizer.getObjectiveValue() : null;
+    }
+
+    @Test
+    public void testSameOptimumAsTheDecoratedSolver()
+            throws ContradictionException, TimeoutException {
+        Random rand = new Random(7);
+        for (int k = 0; k < 50; k++) {
+            int nbVars = 10 + rand.nextInt(10);
+            IVec<IVecInt> clauses = new Vec<IVecInt>();
+            for (int i = 0; i < 3 * nbVars; i++) {
+                IVecInt clause = new VecInt();
+                for (int j = 0; j < 3; j++) {
+                    clause.push((1 + rand.nextInt(nbVars))
+                            * (rand.nextBoolean() ? 1 : -1));
+                }
+                clauses.push(clause);
+            }
+            PBPreprocessor preprocessor = new PBPreprocessor(
+                    SolverFactory.newDefault());
+            assertEquals(optimum(SolverFactory.newDefault(), clauses, nbVars),
+                    optimum(preprocessor, clauses, nbVars));
+            for (int i = 1; i <= nbVars / 2; i++) {
+                assertFalse(preprocessor.isEliminated(i));
+            }
+        }
+    }
+
+    @Test
+    public void testPseudoBooleanConstraintsFreezeTheirVariables()
+            throws ContradictionException, TimeoutException {
+        PBPreprocessor solver = new PBPreprocessor(SolverFactory.newDefault());
+        solver.newVar(3);
+        IVecInt clause = new VecInt();
+        clause.push(-1).push(2);
+        solver.addClause(clause);
+        clause.clear();
+        clause.push(-2).push(3);
+        solver.addClause(clause);
+        IVecInt lits = new VecInt(new int[] { 1, 2, 3 });
+        IVecInt coeffs = new VecInt(new int[] { 1, 1, 1 });
+        solver.addAtLeast(lits, coeffs, 1);
+        assertTrue(solver.isSatisfiable());
+        assertFalse(solver.isEliminated(2));
+    }
+}
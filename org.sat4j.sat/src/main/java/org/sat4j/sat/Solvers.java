@@ -204,6 +204,8 @@ public final class Solvers {
                 "specifies the timeout (in milliseconds)");
         options.addOption("C", "conflictbased", false,
                 "conflict based timeout (for deterministic behavior)");
+        options.addOption("W", "workbased", false,
+                "work based timeout, in propagations and inspections (for deterministic behavior)");
         options.addOption("d", "dot", true,
                 "creates a sat4j.dot file in current directory representing the search");
         options.addOption("f", FILENAME, true,
@@ -371,6 +373,8 @@ public final class Solvers {
             } else {
                 if (cmd.hasOption("C")) {
                     asolver.setTimeoutOnConflicts(Integer.parseInt(timeout));
+                } else if (cmd.hasOption("W")) {
+                    asolver.setTimeoutOnWork(Long.parseLong(timeout));
                 } else {
                     asolver.setTimeout(Integer.parseInt(timeout));
                 }